@@ -27,13 +27,16 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
@@ -47,11 +50,20 @@ import software.amazon.awssdk.services.s3.model.S3Object;
 public class MetricsDataS3Client {
     private static final Logger LOG = LoggerFactory.getLogger(MetricsDataS3Client.class);
     private final S3Client s3; // The S3Client is thread-safe
+    private final S3AsyncClient s3Async;
     private final String bucketName;
 
     public MetricsDataS3Client(String bucketName, S3Client s3Client) {
+        this(bucketName, s3Client, null);
+    }
+
+    /**
+     * @param s3AsyncClient client that uploads metrics data, or null to upload with the synchronous client
+     */
+    public MetricsDataS3Client(String bucketName, S3Client s3Client, S3AsyncClient s3AsyncClient) {
         this.bucketName = bucketName;
         this.s3 = s3Client;
+        this.s3Async = s3AsyncClient;
     }
 
     public MetricsDataS3Client(String bucketName, String endpointOverride) throws URISyntaxException {
@@ -80,8 +92,22 @@ public class MetricsDataS3Client {
                 .metadata(metadata)
                 .contentType(MediaType.APPLICATION_JSON)
                 .build();
-        RequestBody requestBody = RequestBody.fromString(metricsData);
-        s3.putObject(request, requestBody);
+        if (s3Async == null) {
+            s3.putObject(request, RequestBody.fromString(metricsData));
+            return;
+        }
+        try {
+            s3Async.putObject(request, AsyncRequestBody.fromString(metricsData)).join();
+        } catch (CompletionException e) {
+            // Surface the same exceptions as the synchronous client
+            if (e.getCause() instanceof AwsServiceException awsServiceException) {
+                throw awsServiceException;
+            }
+            if (e.getCause() instanceof SdkClientException sdkClientException) {
+                throw sdkClientException;
+            }
+            throw SdkClientException.create("Could not upload metrics data", e.getCause());
+        }
     }
 
     /**
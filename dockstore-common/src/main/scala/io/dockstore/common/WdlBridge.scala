@@ -61,9 +61,16 @@ class WdlBridge {
     * @param filePath absolute path to file
     */
   @throws(classOf[WdlParser.SyntaxError])
-  def validateWorkflow(filePath: String, sourceFilePath: String) = {
-    val bundle = getBundle(filePath, sourceFilePath)
+  def validateWorkflow(filePath: String, sourceFilePath: String): Unit = {
+    validateWorkflow(getBundle(filePath, sourceFilePath))
+  }
 
+  /**
+    * Validates an already parsed workflow
+    * @param bundle the parsed workflow
+    */
+  @throws(classOf[WdlParser.SyntaxError])
+  def validateWorkflow(bundle: WomBundle): Unit = {
     if (!bundle.primaryCallable.isDefined) {
       throw new WdlParser.SyntaxError("This file is missing a workflow declaration.")
     }
@@ -74,9 +81,18 @@ class WdlBridge {
     * @param filePath absolute path to file
     */
   @throws(classOf[WdlParser.SyntaxError])
-  def validateTool(filePath: String, sourceFilePath: String) = {
-    validateWorkflow(filePath, sourceFilePath)
-    val executableCallable = convertFilePathToExecutableCallable(filePath, sourceFilePath)
+  def validateTool(filePath: String, sourceFilePath: String): Unit = {
+    validateTool(getBundle(filePath, sourceFilePath))
+  }
+
+  /**
+    * Validates an already parsed tool
+    * @param bundle the parsed tool
+    */
+  @throws(classOf[WdlParser.SyntaxError])
+  def validateTool(bundle: WomBundle): Unit = {
+    validateWorkflow(bundle)
+    val executableCallable = convertBundleToExecutableCallable(bundle)
     val numberOfTaskCalls = executableCallable.taskCallNodes.seq.size
 
     if (numberOfTaskCalls > 1) {
@@ -99,7 +115,16 @@ class WdlBridge {
     * @return list of metadata mappings
     */
   @throws(classOf[WdlParser.SyntaxError])
-  def getMetadata(filePath: String, sourceFilePath: String) = {
+  def getMetadata(filePath: String, sourceFilePath: String): util.List[util.Map[String, String]] = {
+    getMetadata(getBundle(filePath, sourceFilePath))
+  }
+
+  /**
+    * Retrieves the metadata with string values for an already parsed workflow
+    * @param bundle the parsed workflow
+    * @return list of metadata mappings
+    */
+  def getMetadata(bundle: WomBundle): util.List[util.Map[String, String]] = {
 
     def getStringValueMetadata(metadata: Map[String, MetaValueElement]): java.util.Map[String, String] = {
       // Metadata is sometimes not a string (booleans for example), ignoring those
@@ -107,7 +132,6 @@ class WdlBridge {
       convertedWorkflowMap.asJava
     }
 
-    val bundle = getBundle(filePath, sourceFilePath)
     val metadataList = new util.ArrayList[util.Map[String, String]]()
     bundle.allCallables.foreach(callable => {
       callable._2 match {
@@ -144,9 +168,19 @@ class WdlBridge {
     */
   @throws(classOf[WdlParser.SyntaxError])
   def getInputFiles(filePath: String, sourceFilePath: String):  util.HashMap[String, String] = {
+    getInputFiles(getBundle(filePath, sourceFilePath))
+  }
+
+  /**
+    * Create a map of file input names to types for an already parsed workflow
+    * @param bundle the parsed workflow
+    * @throws wdl.draft3.parser.WdlParser.SyntaxError
+    * @return mapping of file input name to type
+    */
+  @throws(classOf[WdlParser.SyntaxError])
+  def getInputFiles(bundle: WomBundle):  util.HashMap[String, String] = {
     val fileStrings: List[String] = List("File", "File?", "Array[File]", "Array[File]?")
     val inputList = new util.HashMap[String, String]()
-    val bundle = getBundle(filePath, sourceFilePath)
     val primaryCallable = bundle.primaryCallable.orNull
     if (primaryCallable == null) {
       throw new WdlParser.SyntaxError("Error parsing WDL file.")
@@ -198,8 +232,11 @@ class WdlBridge {
     * @return map of call names to import path
     */
   def getImportMap(filePath: String, sourceFilePath: String): util.LinkedHashMap[String, String] = {
+    getImportMap(convertFilePathToExecutableCallable(filePath, sourceFilePath))
+  }
+
+  def getImportMap(executableCallable: ExecutableCallable): util.LinkedHashMap[String, String] = {
     val importMap = new util.LinkedHashMap[String, String]()
-    val executableCallable = convertFilePathToExecutableCallable(filePath, sourceFilePath)
     executableCallable.taskCallNodes
       .foreach(call => {
         val callName = call.identifier.localName.value
@@ -215,8 +252,11 @@ class WdlBridge {
     * @return mapping of call to a list of dependencies
     */
   def getCallsToDependencies(filePath: String, sourceFilePath: String): util.LinkedHashMap[String, util.List[String]] = {
+    getCallsToDependencies(convertFilePathToExecutableCallable(filePath, sourceFilePath))
+  }
+
+  def getCallsToDependencies(executableCallable: ExecutableCallable): util.LinkedHashMap[String, util.List[String]] = {
     val dependencyMap = new util.LinkedHashMap[String, util.List[String]]()
-    val executableCallable = convertFilePathToExecutableCallable(filePath, sourceFilePath)
 
     executableCallable.taskCallNodes
       .foreach(call => {
@@ -263,7 +303,7 @@ class WdlBridge {
   }
 
 
-  def getCallsToDockerMap(executableCallable: ExecutableCallable) = {
+  def getCallsToDockerMap(executableCallable: ExecutableCallable): util.LinkedHashMap[String, DockerParameter] = {
 
     def imageReference(call: CommandCallNode, dockerAttribute: Option[WomExpression]) = {
       dockerAttribute match {
@@ -328,7 +368,8 @@ class WdlBridge {
     convertBundleToExecutableCallable(bundle)
   }
 
-  def convertBundleToExecutableCallable(bundle: WomBundle) = {
+  @throws(classOf[WdlParser.SyntaxError])
+  def convertBundleToExecutableCallable(bundle: WomBundle): ExecutableCallable = {
     val executableCallable = bundle.toExecutableCallable.right.getOrElse(null)
     if (executableCallable == null) {
       throw new WdlParser.SyntaxError("Error parsing WDL file")
@@ -376,13 +417,28 @@ class WdlBridge {
     * @return WomBundle
     */
   def getBundleFromContent(content: String, filePath: String, sourceFilePath: String): WomBundle = {
-    val factory = getLanguageFactory(content)
     val filePathObj = DefaultPathBuilder.build(filePath).get
     // Resolve from mapping, local filesystem, or http import
+    parseBundle(content, sourceFilePath, DirectoryResolver.localFilesystemResolvers(Some(filePathObj)) :+ HttpResolver(relativeTo = None))
+  }
+
+  /**
+    * Get the WomBundle for a workflow held in memory, resolving its imports from the secondary files or over http.
+    * Nothing is read from the local filesystem.
+    * @param content content of the primary descriptor
+    * @param sourceFilePath the path of the source file
+    * @return WomBundle
+    */
+  @throws(classOf[WdlParser.SyntaxError])
+  def getBundleFromContent(content: String, sourceFilePath: String): WomBundle = {
+    parseBundle(content, sourceFilePath, List(HttpResolver(relativeTo = None)))
+  }
+
+  private def parseBundle(content: String, sourceFilePath: String, resolvers: List[ImportResolver]): WomBundle = {
+    val factory = getLanguageFactory(content)
     val mapResolver = MapResolver(sourceFilePath)
     mapResolver.setSecondaryFiles(secondaryWdlFiles)
-    lazy val importResolvers: List[ImportResolver] =
-      DirectoryResolver.localFilesystemResolvers(Some(filePathObj)) :+ HttpResolver(relativeTo = None) :+ mapResolver
+    lazy val importResolvers: List[ImportResolver] = resolvers :+ mapResolver
     try {
       val bundle = factory.getWomBundle(content, workflowSourceOrigin = None,  "{}", importResolvers, List(factory))
       if (bundle.isRight) {
@@ -427,17 +483,27 @@ class WdlBridge {
     try {
       getBundle(filePath, sourceFilePath)
     } catch {
-      case ex: WdlParser.SyntaxError =>
-        val error = ex.getMessage
-        val firstCodeLine = getFirstCodeLine(readFile(filePath))
-        // Need to check if the error is a parsing error because other syntax errors could be in the first line if there is no 'version' field
-        val errorContainsFirstCodeLine = firstCodeLine.isPresent && error.contains(firstCodeLine.get) && error.contains("Finished parsing without consuming all tokens")
-        val errorContainsVersion = error.contains("version")
-        return !errorContainsVersion && !errorContainsFirstCodeLine
+      case ex: WdlParser.SyntaxError => return isVersionFieldValid(readFile(filePath), ex)
     }
     true
   }
 
+  /**
+    * Whether the error from parsing a workflow leaves its 'version' field valid, see isVersionFieldValid(filePath, sourceFilePath)
+    *
+    * @param content the content of the primary descriptor
+    * @param parseError the error from parsing the workflow
+    * @return Boolean indicating if the 'version' field is valid in the workflow
+    */
+  def isVersionFieldValid(content: String, parseError: WdlParser.SyntaxError): Boolean = {
+    val error = parseError.getMessage
+    val firstCodeLine = getFirstCodeLine(content)
+    // Need to check if the error is a parsing error because other syntax errors could be in the first line if there is no 'version' field
+    val errorContainsFirstCodeLine = firstCodeLine.isPresent && error.contains(firstCodeLine.get) && error.contains("Finished parsing without consuming all tokens")
+    val errorContainsVersion = error.contains("version")
+    !errorContainsVersion && !errorContainsFirstCodeLine
+  }
+
   /**
     * Read the given file into a string
     * @param filePath absolute path to file
@@ -18,9 +18,22 @@
 package io.dockstore.common.metrics;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 import io.dockstore.common.S3ClientHelper;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
 class MetricsDataS3ClientTest {
 
@@ -65,4 +78,32 @@ class MetricsDataS3ClientTest {
         assertEquals(platform, metricsData.platform());
         assertEquals(fileName, metricsData.fileName());
     }
+
+    @Test
+    void testAsyncUploadFailuresAreUnwrapped() {
+        final S3Client s3Client = mock(S3Client.class);
+        final S3AsyncClient s3AsyncClient = mock(S3AsyncClient.class);
+        final MetricsDataS3Client metricsDataS3Client = new MetricsDataS3Client("bucket", s3Client, s3AsyncClient);
+        final String toolId = "#workflow/github.com/ENCODE-DCC/pipeline-container";
+
+        // The exceptions of the asynchronous client are the ones the synchronous client would throw
+        final S3Exception serviceException = (S3Exception)S3Exception.builder().message("Access Denied").statusCode(403).build();
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class))).thenReturn(CompletableFuture.failedFuture(serviceException));
+        assertSame(serviceException, assertThrows(S3Exception.class,
+            () -> metricsDataS3Client.createS3Object(toolId, "1.0", "terra", "1.json", 1L, null, "{}")));
+
+        final SdkClientException clientException = SdkClientException.create("Unable to execute HTTP request");
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class))).thenReturn(CompletableFuture.failedFuture(clientException));
+        assertSame(clientException, assertThrows(SdkClientException.class,
+            () -> metricsDataS3Client.createS3Object(toolId, "1.0", "terra", "1.json", 1L, null, "{}")));
+
+        // Any other failure is wrapped in an SdkClientException, which the submission endpoint reports
+        final IllegalStateException otherException = new IllegalStateException("Connection pool shut down");
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class))).thenReturn(CompletableFuture.failedFuture(otherException));
+        assertSame(otherException, assertThrows(SdkClientException.class,
+            () -> metricsDataS3Client.createS3Object(toolId, "1.0", "terra", "1.json", 1L, null, "{}")).getCause());
+
+        // Uploads never fall back to the synchronous client
+        verifyNoInteractions(s3Client);
+    }
 }
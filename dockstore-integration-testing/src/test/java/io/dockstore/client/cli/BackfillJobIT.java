@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.client.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.dockstore.client.cli.BaseIT.TestStatus;
+import io.dockstore.common.CommonTestUtilities;
+import io.dockstore.common.MuteForSuccessfulTests;
+import io.dockstore.openapi.client.ApiException;
+import io.dockstore.openapi.client.api.BackfillJobsApi;
+import io.dockstore.openapi.client.model.BackfillJob;
+import java.util.List;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import uk.org.webcompere.systemstubs.jupiter.SystemStub;
+import uk.org.webcompere.systemstubs.jupiter.SystemStubsExtension;
+import uk.org.webcompere.systemstubs.stream.SystemErr;
+import uk.org.webcompere.systemstubs.stream.SystemOut;
+
+@ExtendWith(SystemStubsExtension.class)
+@ExtendWith(MuteForSuccessfulTests.class)
+@ExtendWith(TestStatus.class)
+class BackfillJobIT extends BaseIT {
+
+    private static final long POLL_MILLIS = 500L;
+    private static final int MAX_POLLS = 120;
+
+    @SystemStub
+    public final SystemOut systemOut = new SystemOut();
+    @SystemStub
+    public final SystemErr systemErr = new SystemErr();
+
+    @BeforeEach
+    @Override
+    public void resetDBBetweenTests() throws Exception {
+        CommonTestUtilities.addAdditionalToolsWithPrivate2(SUPPORT, false, testingPostgres);
+    }
+
+    @Test
+    void testLanguageVersionsJob() throws InterruptedException {
+        final BackfillJobsApi adminBackfillJobsApi = new BackfillJobsApi(getOpenAPIWebClient(ADMIN_USERNAME, testingPostgres));
+        final BackfillJobsApi memberBackfillJobsApi = new BackfillJobsApi(getOpenAPIWebClient(OTHER_USERNAME, testingPostgres));
+
+        ApiException exception = assertThrows(ApiException.class, () -> memberBackfillJobsApi.submitBackfillJob("LANGUAGE_VERSIONS", true));
+        assertEquals(HttpStatus.SC_FORBIDDEN, exception.getCode(), "Only admins can start backfill jobs");
+
+        final BackfillJob submitted = adminBackfillJobsApi.submitBackfillJob("LANGUAGE_VERSIONS", true);
+        assertTrue(submitted.getPartitionCount() > 0);
+
+        final BackfillJob finished = waitForJob(adminBackfillJobsApi, submitted.getId());
+        assertEquals(BackfillJob.StatusEnum.COMPLETED, finished.getStatus());
+        assertEquals(finished.getPartitionCount(), finished.getCompletedPartitions());
+        assertEquals(0, finished.getFailedPartitions());
+        final long entries = testingPostgres.runSelectStatement("select (select count(*) from tool) + (select count(*) from workflow)", Long.class);
+        assertEquals(entries, finished.getProcessedItems());
+        assertEquals(testingPostgres.runSelectStatement("select count(*) from backfill_partition where status = 'COMPLETED'", Long.class).intValue(),
+            finished.getPartitionCount());
+
+        final List<BackfillJob> jobs = adminBackfillJobsApi.getBackfillJobs();
+        assertEquals(submitted.getId(), jobs.get(0).getId());
+
+        exception = assertThrows(ApiException.class, () -> adminBackfillJobsApi.getBackfillJob(Long.MAX_VALUE));
+        assertEquals(HttpStatus.SC_NOT_FOUND, exception.getCode());
+    }
+
+    private BackfillJob waitForJob(BackfillJobsApi backfillJobsApi, long jobId) throws InterruptedException {
+        BackfillJob job = backfillJobsApi.getBackfillJob(jobId);
+        for (int i = 0; i < MAX_POLLS && job.getStatus() == BackfillJob.StatusEnum.RUNNING; i++) {
+            Thread.sleep(POLL_MILLIS);
+            job = backfillJobsApi.getBackfillJob(jobId);
+        }
+        return job;
+    }
+}
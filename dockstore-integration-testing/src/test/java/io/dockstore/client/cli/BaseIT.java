@@ -23,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.codahale.metrics.Gauge;
+import com.google.common.util.concurrent.Uninterruptibles;
 import io.dockstore.client.cli.BaseIT.TestStatus;
 import io.dockstore.common.CommonTestUtilities;
 import io.dockstore.common.CommonTestUtilities.TestUser;
@@ -39,6 +40,7 @@ import io.dockstore.webservice.DockstoreWebserviceConfiguration;
 import io.dockstore.webservice.resources.WorkflowSubClass;
 import io.dropwizard.testing.DropwizardTestSupport;
 import io.swagger.client.ApiClient;
+import io.swagger.client.ApiException;
 import io.swagger.client.api.ContainersApi;
 import io.swagger.client.api.WorkflowsApi;
 import io.swagger.client.auth.ApiKeyAuth;
@@ -54,8 +56,10 @@ import java.util.List;
 import java.util.Objects;
 import java.util.SortedMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import org.apache.commons.configuration2.INIConfiguration;
 import org.apache.commons.io.FileUtils;
+import org.apache.http.HttpStatus;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -91,6 +95,8 @@ public class BaseIT {
     public static final String SERVICE = WorkflowSubClass.SERVICE.toString();
     public static final String BIOWORKFLOW = WorkflowSubClass.BIOWORKFLOW.toString();
     public static final String APPTOOL = WorkflowSubClass.APPTOOL.toString();
+    private static final long PROCESSING_POLL_MILLIS = 500L;
+    private static final int MAX_PROCESSING_POLLS = 120;
 
     @SuppressWarnings("checkstyle:ParameterNumber")
     static DockstoreTool manualRegisterAndPublish(ContainersApi containersApi, String namespace, String name, String toolName,
@@ -271,6 +277,33 @@ public class BaseIT {
         return workflow.getWorkflowVersions().stream().filter(v -> v.getName().equals(versionName)).findFirst().get();
     }
 
+    /**
+     * Gets the DAG of a workflow version, waiting for it to be computed in the background
+     */
+    static String getWorkflowDag(WorkflowsApi workflowsApi, long workflowId, long workflowVersionId) {
+        return retryWhileProcessing(() -> workflowsApi.getWorkflowDag(workflowId, workflowVersionId));
+    }
+
+    /**
+     * Gets the tool table of a workflow version, waiting for it to be computed in the background
+     */
+    static String getTableToolContent(WorkflowsApi workflowsApi, long workflowId, long workflowVersionId) {
+        return retryWhileProcessing(() -> workflowsApi.getTableToolContent(workflowId, workflowVersionId));
+    }
+
+    private static String retryWhileProcessing(Supplier<String> request) {
+        for (int i = 1; ; i++) {
+            try {
+                return request.get();
+            } catch (ApiException e) {
+                if (e.getCode() != HttpStatus.SC_SERVICE_UNAVAILABLE || i >= MAX_PROCESSING_POLLS) {
+                    throw e;
+                }
+            }
+            Uninterruptibles.sleepUninterruptibly(PROCESSING_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
 
 
     protected final String curatorUsername = "curator@curator.com";
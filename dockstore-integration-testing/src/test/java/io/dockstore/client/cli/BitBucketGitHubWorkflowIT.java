@@ -162,7 +162,7 @@ class BitBucketGitHubWorkflowIT extends BaseIT {
                 DescriptorLanguage.CWL.getShortName(), "/test.json");
         workflowApi.manualRegister(SourceControl.BITBUCKET.name(), "dockstore_testuser2/dockstore-workflow", "/Dockstore.cwl", "",
                 DescriptorLanguage.CWL.getShortName(), "/test.json");
-        List<Workflow> workflows = usersApi.userWorkflows(user.getId());
+        List<Workflow> workflows = usersApi.userWorkflows(user.getId(), null, null, null);
 
         for (Workflow workflow : workflows) {
             assertNotSame("", workflow.getWorkflowName());
@@ -86,7 +86,7 @@ class DAGWorkflowTestIT extends BaseIT {
             .findFirst();
 
         //getting the dag json string
-        String workflowDag = workflowApi.getWorkflowDag(githubWorkflow.getId(), master.get().getId());
+        String workflowDag = getWorkflowDag(workflowApi, githubWorkflow.getId(), master.get().getId());
         return Lists.newArrayList(workflowDag);
     }
 
@@ -57,7 +57,7 @@ class EntryResourceIT extends BaseIT {
         workflowsApi.manualRegister(SourceControl.GITHUB.name(), "DockstoreTestUser/dockstore-whalesay-wdl", "/dockstore.wdl", "",
             DescriptorLanguage.WDL.getShortName(), "");
 
-        List<Workflow> workflows = usersApi.userWorkflows(user.getId());
+        List<Workflow> workflows = usersApi.userWorkflows(user.getId(), null, null, null);
         Long workflowId = workflows.get(0).getId();
         workflowsApi.refresh1(workflowId, false);
 
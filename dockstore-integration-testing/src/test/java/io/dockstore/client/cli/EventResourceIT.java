@@ -119,7 +119,7 @@ class EventResourceIT extends BaseIT {
         // test in openapi and whether jsonfilters work
         final io.dockstore.openapi.client.ApiClient webClient = getOpenAPIWebClient(USER_1_USERNAME, testingPostgres);
         io.dockstore.openapi.client.api.EventsApi openEventsApi = new io.dockstore.openapi.client.api.EventsApi(webClient);
-        final List<io.dockstore.openapi.client.model.Event> openEvents = openEventsApi.getEvents(EventSearchType.STARRED_ENTRIES.toString(), EventDAO.MAX_LIMIT, 0);
+        final List<io.dockstore.openapi.client.model.Event> openEvents = openEventsApi.getEvents(EventSearchType.STARRED_ENTRIES.toString(), EventDAO.MAX_LIMIT, 0, null);
         // getting the versions though events leads to null versions (i.e. grabbing an event that links to a tool, shouldn't grab all versions too)
         assertTrue(openEvents.size() > 10);
         assertTrue(openEvents.stream().allMatch(event -> event.getTool().getWorkflowVersions() == null));
@@ -129,6 +129,23 @@ class EventResourceIT extends BaseIT {
             final List<io.dockstore.openapi.client.model.Tag> tagsByPath = openTagApi.getTagsByPath(e.getTool().getId());
             assertTrue(tagsByPath.size() > 0);
         });
+
+        // paging with the id of the last event of the previous page should walk the same events as paging with an offset
+        final int pageSize = 7;
+        List<Long> keysetIds = new ArrayList<>();
+        List<io.dockstore.openapi.client.model.Event> page = openEventsApi.getEvents(EventSearchType.ALL_STARRED.toString(), pageSize, 0, null);
+        while (!page.isEmpty()) {
+            page.forEach(event -> keysetIds.add(event.getId()));
+            page = openEventsApi.getEvents(EventSearchType.ALL_STARRED.toString(), pageSize, 0, page.get(page.size() - 1).getId());
+        }
+        List<Long> offsetIds = new ArrayList<>();
+        for (int offset = 0; offset <= keysetIds.size(); offset += pageSize) {
+            openEventsApi.getEvents(EventSearchType.ALL_STARRED.toString(), pageSize, offset, null).forEach(event -> offsetIds.add(event.getId()));
+        }
+        assertTrue(keysetIds.size() > EventDAO.MAX_LIMIT);
+        assertEquals(offsetIds, keysetIds);
+        assertEquals(2, openEventsApi.getEvents(EventSearchType.ALL_STARRED.toString(), pageSize, pageSize - 2, keysetIds.get(pageSize - 1)).size(),
+            "An offset should apply after the before cursor");
     }
 
     private List<Tag> getRandomTags(String name) {
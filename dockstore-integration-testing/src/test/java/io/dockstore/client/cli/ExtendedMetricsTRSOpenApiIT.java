@@ -65,10 +65,12 @@ import io.dockstore.common.metrics.MetricsDataMetadata;
 import io.dockstore.common.metrics.MetricsDataS3Client;
 import io.dockstore.openapi.client.ApiClient;
 import io.dockstore.openapi.client.ApiException;
+import io.dockstore.openapi.client.api.BackfillJobsApi;
 import io.dockstore.openapi.client.api.ContainersApi;
 import io.dockstore.openapi.client.api.ExtendedGa4GhApi;
 import io.dockstore.openapi.client.api.UsersApi;
 import io.dockstore.openapi.client.api.WorkflowsApi;
+import io.dockstore.openapi.client.model.BackfillJob;
 import io.dockstore.openapi.client.model.Cost;
 import io.dockstore.openapi.client.model.CpuMetric;
 import io.dockstore.openapi.client.model.DockstoreTool;
@@ -135,6 +137,8 @@ class ExtendedMetricsTRSOpenApiIT extends BaseIT {
     private static final Gson GSON = new Gson();
     private static final Logger LOGGER = LoggerFactory.getLogger(ExtendedMetricsTRSOpenApiIT.class);
     public static final String MINUTES_EXECUTION = "5";
+    private static final long BACKFILL_POLL_MILLIS = 500L;
+    private static final int MAX_BACKFILL_POLLS = 120;
 
     private static String bucketName;
     private static MetricsDataS3Client metricsDataClient;
@@ -523,6 +527,98 @@ class ExtendedMetricsTRSOpenApiIT extends BaseIT {
         assertTrue(responseBody.getExecutionResponses().get(0).getError().contains(EXECUTION_NOT_FOUND_ERROR));
     }
 
+    @Test
+    void testUpdateExecutionsInDifferentFiles() {
+        final ApiClient webClient = getOpenAPIWebClient(USER_2_USERNAME, testingPostgres);
+        final WorkflowsApi workflowApi = new WorkflowsApi(webClient);
+        final ExtendedGa4GhApi extendedGa4GhApi = new ExtendedGa4GhApi(webClient);
+        final String platform = Partner.TERRA.name();
+        final String workflowId = "#workflow/github.com/DockstoreTestUser2/dockstore_workflow_cnv/my-workflow";
+        final String workflowVersionId = "master";
+        Workflow workflow = workflowApi.manualRegister(SourceControl.GITHUB.name(), "DockstoreTestUser2/dockstore_workflow_cnv", "/workflow/cnv.cwl", "my-workflow", "cwl",
+                "/test.json");
+        workflow = workflowApi.refresh1(workflow.getId(), false);
+        workflowApi.publish1(workflow.getId(), CommonTestUtilities.createOpenAPIPublishRequest(true));
+
+        // Submit three files of two executions each
+        final List<RunExecution> executionsToUpdate = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            final List<RunExecution> executions = createRunExecutions(2);
+            extendedGa4GhApi.executionMetricsPost(new ExecutionsRequestBody().runExecutions(executions), platform, workflowId, workflowVersionId, "");
+            executionsToUpdate.add(executions.get(0));
+        }
+        assertEquals(6, testingPostgres.runSelectStatement("select count(*) from execution_s3_key", long.class), "Every execution should be indexed");
+        assertEquals(3, testingPostgres.runSelectStatement("select count(distinct filename) from execution_s3_key", long.class), "Each execution should be indexed with its own file");
+
+        // Update one execution of each file in one request, which looks up all of their files at once
+        executionsToUpdate.forEach(execution -> execution.setExecutionTime("PT10M"));
+        ExecutionsResponseBody responseBody = extendedGa4GhApi.executionMetricsUpdate(new ExecutionsRequestBody().runExecutions(executionsToUpdate), platform, workflowId,
+                workflowVersionId, "");
+        assertEquals(3, responseBody.getExecutionResponses().size());
+        responseBody.getExecutionResponses().forEach(response -> assertEquals(HttpStatus.SC_OK, response.getStatus()));
+        for (RunExecution execution : executionsToUpdate) {
+            final ExecutionsRequestBody file = extendedGa4GhApi.executionGet(workflowId, workflowVersionId, platform, execution.getExecutionId());
+            assertEquals(2, getNumberOfExecutions(file), "The update should not move executions between files");
+            assertEquals("PT10M", getRunExecution(file, execution.getExecutionId()).getExecutionTime());
+        }
+        assertEquals(6, testingPostgres.runSelectStatement("select count(*) from execution_s3_key", long.class), "Updates should not index executions again");
+
+        // Executions missing from the index are still found, alongside ones that are indexed
+        testingPostgres.runUpdateStatement(String.format("delete from execution_s3_key where executionid = '%s'", executionsToUpdate.get(1).getExecutionId()));
+        executionsToUpdate.forEach(execution -> execution.setExecutionTime("PT15M"));
+        responseBody = extendedGa4GhApi.executionMetricsUpdate(new ExecutionsRequestBody().runExecutions(executionsToUpdate), platform, workflowId, workflowVersionId, "");
+        responseBody.getExecutionResponses().forEach(response -> assertEquals(HttpStatus.SC_OK, response.getStatus()));
+        final String unindexedExecutionId = executionsToUpdate.get(1).getExecutionId();
+        assertEquals("PT15M", getRunExecution(extendedGa4GhApi.executionGet(workflowId, workflowVersionId, platform, unindexedExecutionId), unindexedExecutionId).getExecutionTime());
+    }
+
+    @Test
+    void testExecutionIndexBackfillJob() throws InterruptedException {
+        final ApiClient webClient = getOpenAPIWebClient(USER_2_USERNAME, testingPostgres);
+        final WorkflowsApi workflowApi = new WorkflowsApi(webClient);
+        final ExtendedGa4GhApi extendedGa4GhApi = new ExtendedGa4GhApi(webClient);
+        final BackfillJobsApi adminBackfillJobsApi = new BackfillJobsApi(getOpenAPIWebClient(ADMIN_USERNAME, testingPostgres));
+        final String platform = Partner.TERRA.name();
+        final String workflowId = "#workflow/github.com/DockstoreTestUser2/dockstore_workflow_cnv/my-workflow";
+        final String workflowVersionId = "master";
+        Workflow workflow = workflowApi.manualRegister(SourceControl.GITHUB.name(), "DockstoreTestUser2/dockstore_workflow_cnv", "/workflow/cnv.cwl", "my-workflow", "cwl",
+                "/test.json");
+        workflow = workflowApi.refresh1(workflow.getId(), false);
+        workflowApi.publish1(workflow.getId(), CommonTestUtilities.createOpenAPIPublishRequest(true));
+
+        final List<RunExecution> firstExecutions = createRunExecutions(3);
+        extendedGa4GhApi.executionMetricsPost(new ExecutionsRequestBody().runExecutions(firstExecutions), platform, workflowId, workflowVersionId, "");
+        extendedGa4GhApi.executionMetricsPost(new ExecutionsRequestBody().runExecutions(createRunExecutions(2)), platform, workflowId, workflowVersionId, "");
+        final String firstFileName = testingPostgres.runSelectStatement(
+                String.format("select filename from execution_s3_key where executionid = '%s'", firstExecutions.get(0).getExecutionId()), String.class);
+
+        // Forget the index, as if the executions had been submitted before it existed
+        testingPostgres.runUpdateStatement("delete from execution_s3_key");
+        final BackfillJob submitted = adminBackfillJobsApi.submitBackfillJob("EXECUTION_INDEX", true);
+        BackfillJob job = adminBackfillJobsApi.getBackfillJob(submitted.getId());
+        for (int i = 0; i < MAX_BACKFILL_POLLS && job.getStatus() == BackfillJob.StatusEnum.RUNNING; i++) {
+            Thread.sleep(BACKFILL_POLL_MILLIS);
+            job = adminBackfillJobsApi.getBackfillJob(submitted.getId());
+        }
+        assertEquals(BackfillJob.StatusEnum.COMPLETED, job.getStatus());
+        assertEquals(0, job.getFailedPartitions());
+
+        assertEquals(5, testingPostgres.runSelectStatement("select count(*) from execution_s3_key", long.class), "Every submitted execution should be indexed again");
+        assertEquals(firstFileName, testingPostgres.runSelectStatement(
+                String.format("select filename from execution_s3_key where executionid = '%s'", firstExecutions.get(0).getExecutionId()), String.class),
+                "Executions should be indexed with the file they were submitted in");
+
+        // Running the job again leaves the index as it is
+        final BackfillJob resubmitted = adminBackfillJobsApi.submitBackfillJob("EXECUTION_INDEX", true);
+        job = adminBackfillJobsApi.getBackfillJob(resubmitted.getId());
+        for (int i = 0; i < MAX_BACKFILL_POLLS && job.getStatus() == BackfillJob.StatusEnum.RUNNING; i++) {
+            Thread.sleep(BACKFILL_POLL_MILLIS);
+            job = adminBackfillJobsApi.getBackfillJob(resubmitted.getId());
+        }
+        assertEquals(BackfillJob.StatusEnum.COMPLETED, job.getStatus());
+        assertEquals(5, testingPostgres.runSelectStatement("select count(*) from execution_s3_key", long.class));
+    }
+
     @Test
     void testAggregatedMetrics() {
         final ApiClient webClient = getOpenAPIWebClient(USER_2_USERNAME, testingPostgres);
@@ -863,6 +959,12 @@ class ExtendedMetricsTRSOpenApiIT extends BaseIT {
         assertEquals(1, getNumberOfExecutions(retrievedExecutionsRequestBody), "There should only be one execution in each file");
         assertEquals(1, retrievedExecutionsRequestBody.getRunExecutions().size());
         assertEquals(workflowExecution, retrievedExecutionsRequestBody.getRunExecutions().get(0));
+        assertEquals(1, testingPostgres.runSelectStatement("select count(*) from execution_s3_key", long.class), "The execution should be indexed when it is submitted");
+
+        // An execution submitted before executions were indexed is still found by searching the S3 files of its version
+        testingPostgres.runUpdateStatement("delete from execution_s3_key");
+        retrievedExecutionsRequestBody = extendedGa4GhApi.executionGet(workflowId, workflowVersionId, platform, executionId);
+        assertEquals(workflowExecution, retrievedExecutionsRequestBody.getRunExecutions().get(0));
 
         // Test that an anonymous user can't access the execution
         exception = assertThrows(ApiException.class, () -> anonExtendedGa4GhApi.executionGet(workflowId, workflowVersionId, platform, executionId));
@@ -1048,6 +1150,10 @@ class ExtendedMetricsTRSOpenApiIT extends BaseIT {
         });
     }
 
+    private RunExecution getRunExecution(ExecutionsRequestBody executionsRequestBody, String executionId) {
+        return executionsRequestBody.getRunExecutions().stream().filter(execution -> execution.getExecutionId().equals(executionId)).findFirst().orElseThrow();
+    }
+
     private ExecutionsRequestBody getExecution(ExtendedGa4GhApi extendedGa4GhApi, String trsId, String versionId, String platform, String executionId) {
         ExecutionsRequestBody executionsRequestBodyFromS3 = extendedGa4GhApi.executionGet(trsId, versionId, platform, executionId);
         assertEquals(1, getNumberOfExecutions(executionsRequestBodyFromS3), "Each file should only contain one execution");
@@ -39,6 +39,7 @@ import io.dockstore.openapi.client.api.ExtendedGa4GhApi;
 import io.dockstore.openapi.client.api.WorkflowsApi;
 import io.dockstore.openapi.client.model.DockstoreTool;
 import io.dockstore.openapi.client.model.EntryLiteAndVersionName;
+import io.dockstore.openapi.client.model.ReindexStatus;
 import io.dockstore.openapi.client.model.UpdateAITopicRequest;
 import io.dockstore.openapi.client.model.Workflow;
 import io.dockstore.openapi.client.model.Workflow.TopicSelectionEnum;
@@ -138,6 +139,10 @@ class ExtendedTRSApiIT extends BaseIT {
         // test json results
         final Integer integer = api.updateTheWorkflowsAndToolsIndices();
         assertTrue(integer > 0);
+        final ReindexStatus reindexStatus = api.getIndexStatus();
+        assertEquals(ReindexStatus.StateEnum.COMPLETED, reindexStatus.getState());
+        assertEquals(0L, reindexStatus.getEntriesFailed());
+        assertTrue(reindexStatus.getEntriesIndexed() > 0);
         // test text results
         final String textResults = webClient
             .invokeAPI("/api/ga4gh/v2/extended/tools/index", "POST", new ArrayList<>(), null, new HashMap<>(), new HashMap<>(), MediaType.TEXT_PLAIN, MediaType.TEXT_PLAIN,
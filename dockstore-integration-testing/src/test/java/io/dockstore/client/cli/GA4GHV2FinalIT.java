@@ -19,6 +19,7 @@ import static io.dockstore.common.FixtureUtility.fixture;
 import static io.openapi.api.impl.ServiceInfoApiServiceImpl.getService;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -35,9 +36,14 @@ import jakarta.ws.rs.core.GenericType;
 import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
+import java.util.ArrayList;
 import java.util.List;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author dyuen
@@ -45,6 +51,16 @@ import org.junit.jupiter.api.Test;
  */
 class GA4GHV2FinalIT extends GA4GHIT {
     private static final String API_VERSION = "ga4gh/trs/v2/";
+    private static final Logger LOG = LoggerFactory.getLogger(GA4GHV2FinalIT.class);
+    /**
+     * The batch size of the lazy collections of entries and versions
+     */
+    private static final int BATCH_SIZE = 25;
+    /**
+     * The collections of entries and versions that the listing reads without fetching them in its queries: the labels, users, default
+     * paths and file formats of entries, and the file formats and authors of versions
+     */
+    private static final int BATCH_LOADED_COLLECTIONS = 9;
 
     public String getApiVersion() {
         return API_VERSION;
@@ -90,6 +106,40 @@ class GA4GHV2FinalIT extends GA4GHIT {
         assertEquals(count, responseObject.size());
     }
 
+    /**
+     * Benchmarks the number of database statements needed to render a page of the TRS tool listing.
+     * The page is loaded with a fixed number of set-based queries, and the collections that are not fetched by those queries are
+     * loaded in batches, so a full page may only cost one extra statement per batch of each batch loaded collection.
+     */
+    @Test
+    void testToolsListingQueryCount() {
+        final Statistics statistics = SUPPORT.getApplication().getHibernate().getSessionFactory().getStatistics();
+        final boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            List<Tool> singleEntryPage = checkedResponse(baseURL + "tools?limit=1").readEntity(new GenericType<>() {
+            });
+            final long singleEntryPageQueries = statistics.getPrepareStatementCount();
+
+            statistics.clear();
+            List<Tool> fullPage = checkedResponse(baseURL + "tools?limit=100").readEntity(new GenericType<>() {
+            });
+            final long fullPageQueries = statistics.getPrepareStatementCount();
+
+            LOG.info("TRS tool listing: {} queries for a page of {}, {} queries for a page of {}", singleEntryPageQueries, singleEntryPage.size(), fullPageQueries, fullPage.size());
+            assertEquals(1, singleEntryPage.size());
+            assertTrue(fullPage.size() > 1);
+            final int versionCount = fullPage.stream().mapToInt(tool -> tool.getVersions().size()).sum();
+            final int batches = (Math.max(fullPage.size(), versionCount) + BATCH_SIZE - 1) / BATCH_SIZE;
+            assertTrue(fullPageQueries <= singleEntryPageQueries + (long) BATCH_LOADED_COLLECTIONS * batches,
+                "a page of " + fullPage.size() + " entries with " + versionCount + " versions took " + fullPageQueries + " statements, "
+                    + "but a page of one entry took " + singleEntryPageQueries);
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
     /**
      * TODO: Test organization
      */
@@ -436,6 +486,50 @@ class GA4GHV2FinalIT extends GA4GHIT {
         CommonTestUtilities.dropAndCreateWithTestData(SUPPORT, false);
     }
 
+    @Test
+    void testCursorPaging() {
+        List<Tool> allTools = checkedResponse(baseURL + "tools").readEntity(new GenericType<>() {
+        });
+        assertTrue(allTools.size() > 1);
+
+        // walk the listing a single entry at a time by following the next_page links
+        assertEquals(allTools.stream().map(Tool::getId).toList(), cursorPagedIds(1));
+
+        // the docker tools are listed first, so a page that holds exactly all of them ends at an entry type boundary
+        final int numDockerTools = (int)allTools.stream().takeWhile(tool -> !tool.getId().startsWith("#")).count();
+        assertTrue(numDockerTools > 0 && numDockerTools < allTools.size());
+        assertEquals(allTools.stream().map(Tool::getId).toList(), cursorPagedIds(numDockerTools));
+
+        // filters are carried through the cursor pages
+        Response response = checkedResponse(baseURL + "tools?toolClass=Workflow&limit=1&offset=cursor");
+        assertTrue(response.getHeaderString("self_link").contains("toolClass=Workflow"));
+        if (response.getHeaderString("next_page") != null) {
+            assertTrue(response.getHeaderString("next_page").contains("toolClass=Workflow"));
+        }
+
+        // page numbers keep working and garbage cursors are rejected
+        assertEquals(1, checkedResponse(baseURL + "tools?limit=1&offset=1").readEntity(new GenericType<List<Tool>>() {
+        }).size());
+        checkedResponse(baseURL + "tools?limit=1&offset=cursorgarbage", HttpStatus.SC_BAD_REQUEST);
+    }
+
+    private List<String> cursorPagedIds(int limit) {
+        List<String> pagedIds = new ArrayList<>();
+        String offset = "cursor";
+        while (offset != null) {
+            Response response = checkedResponse(baseURL + "tools?limit=" + limit + "&offset=" + offset);
+            List<Tool> page = response.readEntity(new GenericType<>() {
+            });
+            assertTrue(page.size() <= limit);
+            page.forEach(tool -> pagedIds.add(tool.getId()));
+            assertNull(response.getHeaderString("last_page"), "cursor paging should not count entries");
+            String nextPage = response.getHeaderString("next_page");
+            offset = nextPage == null ? null : StringUtils.substringBefore(StringUtils.substringAfter(nextPage, "offset="), "&");
+            assertTrue(nextPage == null || offset.startsWith("cursor"));
+        }
+        return pagedIds;
+    }
+
     private <T> String toJson(T value) throws Exception {
         return SUPPORT.getObjectMapper().writeValueAsString(value);
     }
@@ -214,7 +214,7 @@ class Ga4GhTRSAPIWorkflowIT extends BaseIT {
         io.dockstore.openapi.client.api.WorkflowsApi openAPIWorkflowApi = new io.dockstore.openapi.client.api.WorkflowsApi(openAPIWebClient);
         refreshByOrganizationReplacement(openAPIWorkflowApi, openAPIWebClient);
 
-        List<Workflow> workflows = usersApi.userWorkflows(userId);
+        List<Workflow> workflows = usersApi.userWorkflows(userId, null, null, null);
 
         // Check that there are multiple workflows
         final long count = testingPostgres.runSelectStatement("select count(*) from workflow", long.class);
@@ -732,7 +732,7 @@ class GeneralWorkflowIT extends BaseIT {
 
         // Tests that a frozen version without a saved DAG could generate a DAG does not try to save it
         testingPostgres.runUpdateStatement("update workflowversion set frozen='t'");
-        String workflowDag = workflowsApi.getWorkflowDag(workflow.getId(), defaultVersionNumber);
+        String workflowDag = getWorkflowDag(workflowsApi, workflow.getId(), defaultVersionNumber);
         assertTrue(workflowDag.contains("nodes"));
         assertTrue(workflowDag.contains("edges"));
     }
@@ -64,7 +64,7 @@ public class OpenAPIOrganizationIT extends BaseIT {
         organization = organizationsApiAdmin.createOrganization(organization);
 
         EventsApi eventsApi = new EventsApi(webClientOpenApiUser);
-        List<Event> events = eventsApi.getEvents(EventSearchType.SELF_ORGANIZATIONS.toString(), 10, 0);
+        List<Event> events = eventsApi.getEvents(EventSearchType.SELF_ORGANIZATIONS.toString(), 10, 0, null);
         assertTrue(events.size() == 1 && events.stream().allMatch(e -> e.getType() == TypeEnum.CREATE_ORG));
 
         organizationsApiAdmin.updateOrganizationDescription("something new", organization.getId());
@@ -72,7 +72,7 @@ public class OpenAPIOrganizationIT extends BaseIT {
         assertEquals("something new", organization.getDescription());
 
         // test to see that we can see events on an organization the user is a part of
-        events = eventsApi.getEvents(EventSearchType.SELF_ORGANIZATIONS.toString(), 10, 0);
+        events = eventsApi.getEvents(EventSearchType.SELF_ORGANIZATIONS.toString(), 10, 0, null);
         assertTrue(events.size() > 0 && events.stream().anyMatch(e -> e.getType() == TypeEnum.CREATE_ORG) && events.stream().anyMatch(e -> e.getType() == TypeEnum.MODIFY_ORG));
     }
 
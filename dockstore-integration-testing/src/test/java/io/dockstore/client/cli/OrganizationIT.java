@@ -443,29 +443,29 @@ public class OrganizationIT extends BaseIT {
         final io.dockstore.openapi.client.ApiClient openAPIWebClientUser2 = getOpenAPIWebClient(USER_2_USERNAME, testingPostgres);
         EventsApi eventsApi = new EventsApi(openAPIWebClientUser2);
         List<io.dockstore.openapi.client.model.Event> events = eventsApi
-                .getEvents(EventSearchType.STARRED_ORGANIZATION.toString(), null, null);
+                .getEvents(EventSearchType.STARRED_ORGANIZATION.toString(), null, null, null);
         assertEquals(0, events.size(), "Should have the correct amount of events");
 
         organizationsApiUser2.starOrganization(organization.getId(), STAR_REQUEST);
 
         events = eventsApi
-                .getEvents(EventSearchType.STARRED_ORGANIZATION.toString(), null, null);
+                .getEvents(EventSearchType.STARRED_ORGANIZATION.toString(), null, null, null);
         assertEquals(6, events.size(), "Should have the correct amount of events (STARRED_ORGANIZATION)");
         events = eventsApi
-                .getEvents(EventSearchType.ALL_STARRED.toString(), null, null);
+                .getEvents(EventSearchType.ALL_STARRED.toString(), null, null, null);
         assertEquals(6, events.size(), "Should have the correct amount of events (ALL_STARRED)");
-        events = eventsApi.getEvents(EventSearchType.STARRED_ORGANIZATION.toString(), 5, null);
+        events = eventsApi.getEvents(EventSearchType.STARRED_ORGANIZATION.toString(), 5, null, null);
         assertEquals(5, events.size(), "Should have the correct amount of events");
         assertFalse(events.stream().anyMatch(event -> event.getType().equals(io.dockstore.openapi.client.model.Event.TypeEnum.CREATE_ORG)),
             "The create org event is the oldest, it should not be returned");
         try {
-            eventsApi.getEvents(EventSearchType.STARRED_ORGANIZATION.toString(), EventDAO.MAX_LIMIT + 1, 0);
+            eventsApi.getEvents(EventSearchType.STARRED_ORGANIZATION.toString(), EventDAO.MAX_LIMIT + 1, 0, null);
             fail("Should've failed because it's over the limit");
         } catch (io.dockstore.openapi.client.ApiException e) {
             assertEquals("{\"errors\":[\"query param limit must be less than or equal to " + EventDAO.MAX_LIMIT + "\"]}", e.getMessage());
         }
         try {
-            eventsApi.getEvents(EventSearchType.STARRED_ORGANIZATION.toString(), 0, 0);
+            eventsApi.getEvents(EventSearchType.STARRED_ORGANIZATION.toString(), 0, 0, null);
             fail("Should've failed because it's under the limit");
         } catch (io.dockstore.openapi.client.ApiException e) {
             assertEquals("{\"errors\":[\"query param limit must be greater than or equal to 1\"]}", e.getMessage());
@@ -2778,8 +2778,8 @@ public class OrganizationIT extends BaseIT {
         Workflow workflow = createWorkflow1();
 
         // Check original number of events for each profile
-        Integer originalEventCount = eventsApi.getEvents(EventSearchType.PROFILE.toString(), null, null).size();
-        Integer originalAdminEventCount = eventsApiAdmin.getEvents(EventSearchType.PROFILE.toString(), null, null).size();
+        Integer originalEventCount = eventsApi.getEvents(EventSearchType.PROFILE.toString(), null, null, null).size();
+        Integer originalAdminEventCount = eventsApiAdmin.getEvents(EventSearchType.PROFILE.toString(), null, null, null).size();
 
         // Add workflow to each category and check category names.
         expectedNames = new HashSet<>();
@@ -2788,8 +2788,8 @@ public class OrganizationIT extends BaseIT {
             expectedNames.add(name);
             assertEquals(expectedNames, extractNames(entriesApi.entryCategories(workflow.getId())));
         }
-        assertEquals(originalEventCount, eventsApi.getEvents(EventSearchType.PROFILE.toString(), null, null).size()); //all events regarding categories should be hidden from regular users
-        assertEquals(expectedNames.size() + originalAdminEventCount, eventsApiAdmin.getEvents(EventSearchType.PROFILE.toString(), null, null).size()); //admin accounts should see category events
+        assertEquals(originalEventCount, eventsApi.getEvents(EventSearchType.PROFILE.toString(), null, null, null).size()); //all events regarding categories should be hidden from regular users
+        assertEquals(expectedNames.size() + originalAdminEventCount, eventsApiAdmin.getEvents(EventSearchType.PROFILE.toString(), null, null, null).size()); //admin accounts should see category events
 
         // Remove workflow from each category and check category names.
         for (String name: categoryNames) {
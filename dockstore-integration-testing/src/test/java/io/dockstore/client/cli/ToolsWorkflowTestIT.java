@@ -82,7 +82,7 @@ class ToolsWorkflowTestIT extends BaseIT {
             .findFirst();
 
         //getting the dag json string
-        return Lists.newArrayList(workflowApi.getTableToolContent(githubWorkflow.getId(), master.get().getId()));
+        return Lists.newArrayList(getTableToolContent(workflowApi, githubWorkflow.getId(), master.get().getId()));
     }
 
     private int countToolInJSON(List<String> strings) {
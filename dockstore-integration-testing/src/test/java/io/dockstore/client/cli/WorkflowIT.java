@@ -279,7 +279,7 @@ public class WorkflowIT extends BaseIT {
         workflowApi.manualRegister(SourceControl.GITHUB.name(), "DockstoreTestUser/dockstore-whalesay-wdl", "/dockstore.wdl", "",
                 DescriptorLanguage.WDL.getShortName(), "");
 
-        final List<Workflow> workflows = usersApi.userWorkflows(user.getId());
+        final List<Workflow> workflows = usersApi.userWorkflows(user.getId(), null, null, null);
 
         for (Workflow workflow : workflows) {
             assertNotSame("", workflow.getWorkflowName());
@@ -303,7 +303,7 @@ public class WorkflowIT extends BaseIT {
         WorkflowVersion tagVersion = workflow.getWorkflowVersions().stream().filter(wv -> wv.getName().equals("test")).findFirst().get();
 
         // test getting tool table json on a branch and that it clears after refresh workflow
-        String branchToolJsonFromApi = workflowApi.getTableToolContent(workflow.getId(), branchVersion.getId());
+        String branchToolJsonFromApi = getTableToolContent(workflowApi, workflow.getId(), branchVersion.getId());
         String branchToolJson = testingPostgres.runSelectStatement(String.format("select tooltablejson from workflowversion where id = '%s'", branchVersion.getId()), String.class);
         assertNotNull(branchToolJson);
         assertFalse(branchToolJson.isEmpty());
@@ -314,13 +314,13 @@ public class WorkflowIT extends BaseIT {
         assertNull(branchToolJson);
 
         // Test getting tool table json for a tag and that only that version is cleared after a refreshVersion.
-        String tagToolJsonFromApi = workflowApi.getTableToolContent(workflow.getId(), tagVersion.getId());
+        String tagToolJsonFromApi = getTableToolContent(workflowApi, workflow.getId(), tagVersion.getId());
         String tagToolJson = testingPostgres.runSelectStatement(String.format("select tooltablejson from workflowversion where id = '%s'", tagVersion.getId()), String.class);
         assertNotNull(tagToolJson);
         assertFalse(tagToolJson.isEmpty());
         assertEquals(tagToolJsonFromApi, tagToolJson);
 
-        workflowApi.getTableToolContent(workflow.getId(), branchVersion.getId());
+        getTableToolContent(workflowApi, workflow.getId(), branchVersion.getId());
         workflow = workflowApi.refreshVersion(workflow.getId(), tagVersion.getName(), true);
         tagToolJson = testingPostgres.runSelectStatement(String.format("select tooltablejson from workflowversion where id = '%s'", tagVersion.getId()), String.class);
         assertNull(tagToolJson);
@@ -328,7 +328,7 @@ public class WorkflowIT extends BaseIT {
         assertNotNull(branchToolJson);
 
         // Test getting dag json for a branch and that it clears after a refresh workflow
-        String branchDagJsonFromApi = workflowApi.getWorkflowDag(workflow.getId(), branchVersion.getId());
+        String branchDagJsonFromApi = getWorkflowDag(workflowApi, workflow.getId(), branchVersion.getId());
         String branchDagJson = testingPostgres.runSelectStatement(String.format("select dagjson from workflowversion where id = '%s'", branchVersion.getId()), String.class);
         assertNotNull(branchDagJson);
         assertFalse(branchDagJson.isEmpty());
@@ -339,13 +339,13 @@ public class WorkflowIT extends BaseIT {
         assertNull(branchDagJson);
 
         // Test getting dag json for a tag that only that version is cleared after a refreshVersion
-        String tagDagJsonFromApi = workflowApi.getWorkflowDag(workflow.getId(), tagVersion.getId());
+        String tagDagJsonFromApi = getWorkflowDag(workflowApi, workflow.getId(), tagVersion.getId());
         String tagDagJson = testingPostgres.runSelectStatement(String.format("select dagjson from workflowversion where id = '%s'", tagVersion.getId()), String.class);
         assertNotNull(tagDagJson);
         assertFalse(tagDagJson.isEmpty());
         assertEquals(tagDagJsonFromApi, tagDagJson);
 
-        workflowApi.getWorkflowDag(workflow.getId(), branchVersion.getId());
+        getWorkflowDag(workflowApi, workflow.getId(), branchVersion.getId());
         workflowApi.refreshVersion(workflow.getId(), tagVersion.getName(), true);
         tagDagJson = testingPostgres.runSelectStatement(String.format("select dagjson from workflowversion where id = '%s'", tagVersion.getId()), String.class);
         assertNull(tagDagJson);
@@ -357,7 +357,7 @@ public class WorkflowIT extends BaseIT {
         long userId = 1;
         workflow = workflowApi.refresh(workflow.getId(), true);
 
-        final List<Workflow> workflows = usersApi.userWorkflows(userId);
+        final List<Workflow> workflows = usersApi.userWorkflows(userId, null, null, null);
         branchDagJson = testingPostgres.runSelectStatement(String.format("select dagjson from workflowversion where id = '%s'", branchVersion.getId()), String.class);
         assertNull(branchDagJson);
         branchToolJson = testingPostgres.runSelectStatement(String.format("select tooltablejson from workflowversion where id = '%s'", branchVersion.getId()), String.class);
@@ -383,13 +383,13 @@ public class WorkflowIT extends BaseIT {
         // Test getting the tool table and dag for a nextflow workflow that has a nextflow.config and main.nf
         Workflow workflow = manualRegisterAndPublish(workflowApi, "DockstoreTestUser2/hello-nextflow-workflow", "", "nfl", SourceControl.GITHUB, "/nextflow.config", false);
         WorkflowVersion masterVersion = workflow.getWorkflowVersions().stream().filter(wv -> wv.getName().equals("master")).findFirst().get();
-        String masterToolJsonFromApi = workflowApi.getTableToolContent(workflow.getId(), masterVersion.getId());
+        String masterToolJsonFromApi = getTableToolContent(workflowApi, workflow.getId(), masterVersion.getId());
         String masterToolJson = testingPostgres.runSelectStatement(String.format("select tooltablejson from workflowversion where id = '%s'", masterVersion.getId()), String.class);
         assertNotNull(masterToolJson);
         assertFalse(masterToolJson.isEmpty());
         assertEquals(masterToolJsonFromApi, masterToolJson);
 
-        String masterDagJsonFromApi = workflowApi.getWorkflowDag(workflow.getId(), masterVersion.getId());
+        String masterDagJsonFromApi = getWorkflowDag(workflowApi, workflow.getId(), masterVersion.getId());
         String masterDagJson = testingPostgres.runSelectStatement(String.format("select dagjson from workflowversion where id = '%s'", masterVersion.getId()), String.class);
         assertNotNull(masterDagJson);
         assertFalse(masterDagJson.isEmpty());
@@ -397,13 +397,13 @@ public class WorkflowIT extends BaseIT {
 
         // Test getting the tool table and dag for a nextflow workflow that has a nextflow.config but is missing main.nf
         WorkflowVersion missingMainScriptVersion = workflow.getWorkflowVersions().stream().filter(wv -> wv.getName().equals("missingMainScriptFile")).findFirst().get();
-        String missingMainScriptToolJsonFromApi = workflowApi.getTableToolContent(workflow.getId(), missingMainScriptVersion.getId());
+        String missingMainScriptToolJsonFromApi = getTableToolContent(workflowApi, workflow.getId(), missingMainScriptVersion.getId());
         String missingMainScriptToolJson = testingPostgres.runSelectStatement(String.format("select tooltablejson from workflowversion where id = '%s'", missingMainScriptVersion.getId()), String.class);
         assertNotNull(missingMainScriptToolJson);
         assertFalse(missingMainScriptToolJson.isEmpty());
         assertEquals(missingMainScriptToolJsonFromApi, missingMainScriptToolJson);
 
-        String missingMainScriptDagJsonFromApi = workflowApi.getWorkflowDag(workflow.getId(), missingMainScriptVersion.getId());
+        String missingMainScriptDagJsonFromApi = getWorkflowDag(workflowApi, workflow.getId(), missingMainScriptVersion.getId());
         String missingMainScriptDagJson = testingPostgres.runSelectStatement(String.format("select dagjson from workflowversion where id = '%s'", missingMainScriptVersion.getId()), String.class);
         assertNotNull(missingMainScriptDagJson);
         assertFalse(missingMainScriptDagJson.isEmpty());
@@ -669,7 +669,7 @@ public class WorkflowIT extends BaseIT {
         // check that container is properly parsed
         Optional<WorkflowVersion> nextflow = refreshGithub.getWorkflowVersions().stream()
             .filter(workflow -> workflow.getName().equals("master")).findFirst();
-        String workflowDag = workflowApi.getWorkflowDag(refreshGithub.getId(), nextflow.get().getId());
+        String workflowDag = getWorkflowDag(workflowApi, refreshGithub.getId(), nextflow.get().getId());
         ArrayList<String> dagList = Lists.newArrayList(workflowDag);
 
         assertTrue(dagList.get(0)
@@ -740,8 +740,8 @@ public class WorkflowIT extends BaseIT {
         assertSame(ModeEnum.FULL, refreshGithub.getMode(), "github workflow is not in full mode");
         Optional<WorkflowVersion> first = refreshGithub.getWorkflowVersions().stream().filter(version -> version.getName().equals("1.0"))
             .findFirst();
-        String tableToolContent = workflowApi.getTableToolContent(refreshGithub.getId(), first.get().getId());
-        String workflowDag = workflowApi.getWorkflowDag(refreshGithub.getId(), first.get().getId());
+        String tableToolContent = getTableToolContent(workflowApi, refreshGithub.getId(), first.get().getId());
+        String workflowDag = getWorkflowDag(workflowApi, refreshGithub.getId(), first.get().getId());
         assertFalse(tableToolContent.isEmpty());
         assertFalse(workflowDag.isEmpty());
         Gson gson = new Gson();
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.dockstore.client.cli.BaseIT;
+import io.dockstore.client.cli.BaseIT.TestStatus;
+import io.dockstore.common.BenchmarkTest;
+import io.dockstore.common.DescriptorLanguage;
+import io.dockstore.common.MuteForSuccessfulTests;
+import io.dockstore.common.SourceControl;
+import io.dockstore.webservice.core.BioWorkflow;
+import io.dockstore.webservice.core.Event;
+import io.dockstore.webservice.core.User;
+import io.dockstore.webservice.core.WorkflowMode;
+import io.dockstore.webservice.helpers.TransactionHelper;
+import io.dockstore.webservice.jdbi.BioWorkflowDAO;
+import io.dockstore.webservice.jdbi.EventDAO;
+import io.dockstore.webservice.jdbi.UserDAO;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.context.internal.ManagedSessionContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.org.webcompere.systemstubs.jupiter.SystemStub;
+import uk.org.webcompere.systemstubs.jupiter.SystemStubsExtension;
+import uk.org.webcompere.systemstubs.stream.SystemErr;
+import uk.org.webcompere.systemstubs.stream.SystemOut;
+
+/**
+ * Generates 2 million events about 10k published workflows and 1000 organizations, stars a few hundred of them for a user,
+ * and reports the p50 and p99 latency of the first page of that user's feeds, and of a deep page reached with an offset and with a cursor.
+ */
+@ExtendWith(SystemStubsExtension.class)
+@ExtendWith(MuteForSuccessfulTests.class)
+@ExtendWith(TestStatus.class)
+@Tag(BenchmarkTest.NAME)
+class EventFeedBenchmarkIT extends BaseIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EventFeedBenchmarkIT.class);
+    private static final int ENTRIES = 10_000;
+    private static final int ENTRIES_PER_TRANSACTION = 1000;
+    private static final int ORGANIZATIONS = 1000;
+    private static final int EVENTS = 2_000_000;
+    /**
+     * Every ORGANIZATION_EVENT_EVERY-th event is about an organization, the others are about entries
+     */
+    private static final int ORGANIZATION_EVENT_EVERY = 4;
+    private static final int STARRED_ENTRIES = 500;
+    private static final int STARRED_ORGANIZATIONS = 100;
+    private static final int ITERATIONS = 100;
+    private static final int PAGE_SIZE = 10;
+    private static final int DEEP_OFFSET = 5000;
+
+    @SystemStub
+    public final SystemOut systemOut = new SystemOut();
+    @SystemStub
+    public final SystemErr systemErr = new SystemErr();
+
+    @Test
+    void testFeedLatency() {
+        final SessionFactory sessionFactory = SUPPORT.getApplication().getHibernate().getSessionFactory();
+        try (Session session = sessionFactory.openSession()) {
+            ManagedSessionContext.bind(session);
+            generateEntries(sessionFactory, session);
+            generateEvents();
+            final User user = new UserDAO(sessionFactory).findByUsername(USER_2_USERNAME);
+            starSubjects(user.getId());
+            testingPostgres.runUpdateStatement("analyze");
+            final long subjects = testingPostgres.runSelectStatement("select count(*) from event where organizationid is not null", long.class)
+                + testingPostgres.runSelectStatement("select count(*) from event where coalesce(toolid, workflowid, apptoolid, serviceid, notebookid) is not null", long.class);
+            assertEquals(subjects, testingPostgres.runSelectStatement("select count(*) from event_subject", long.class), "every event should be indexed under its subjects");
+
+            final EventDAO eventDAO = new EventDAO(sessionFactory);
+            final Map<String, Feed> feeds = Map.of(
+                "starred entries", (before, offset) -> eventDAO.findEventsForStarredEntries(user, user.getId(), before, offset, PAGE_SIZE),
+                "starred organizations", (before, offset) -> eventDAO.findEventsForStarredOrganizations(user, user.getId(), before, offset, PAGE_SIZE),
+                "all starred", (before, offset) -> eventDAO.findEventsForAllStarred(user, user.getId(), before, offset, PAGE_SIZE));
+            feeds.forEach((name, feed) -> {
+                final List<Event> deepPage = feed.page(null, DEEP_OFFSET);
+                final long cursor = feed.page(null, DEEP_OFFSET - 1).get(0).getId();
+                assertEquals(deepPage.stream().map(Event::getId).toList(), feed.page(cursor, 0).stream().map(Event::getId).toList(),
+                    "a page after a cursor should match the page at the same offset");
+                final Latency first = measure(() -> feed.page(null, 0).size());
+                final Latency offset = measure(() -> feed.page(null, DEEP_OFFSET).size());
+                final Latency keyset = measure(() -> feed.page(cursor, 0).size());
+                LOG.info("Feed '{}': first page p50 {} ms p99 {} ms, page at offset {} p50 {} ms p99 {} ms, same page after a cursor p50 {} ms p99 {} ms",
+                    name, first.p50(), first.p99(), DEEP_OFFSET, offset.p50(), offset.p99(), keyset.p50(), keyset.p99());
+                session.clear();
+            });
+        } finally {
+            ManagedSessionContext.unbind(sessionFactory);
+        }
+    }
+
+    /**
+     * Creates the published workflows, in transactions of ENTRIES_PER_TRANSACTION so that the session does not hold all of them
+     */
+    private static void generateEntries(SessionFactory sessionFactory, Session session) {
+        final BioWorkflowDAO bioWorkflowDAO = new BioWorkflowDAO(sessionFactory);
+        final TransactionHelper transactionHelper = new TransactionHelper(session);
+        for (int start = 0; start < ENTRIES; start += ENTRIES_PER_TRANSACTION) {
+            final int first = start;
+            transactionHelper.transaction(() -> {
+                for (int i = first; i < first + ENTRIES_PER_TRANSACTION; i++) {
+                    BioWorkflow workflow = new BioWorkflow();
+                    workflow.setSourceControl(SourceControl.GITHUB);
+                    workflow.setDescriptorType(DescriptorLanguage.CWL);
+                    workflow.setMode(WorkflowMode.DOCKSTORE_YML);
+                    workflow.setOrganization("benchmark");
+                    workflow.setRepository("feed-" + i);
+                    workflow.setIsPublished(true);
+                    bioWorkflowDAO.create(workflow);
+                }
+            });
+            session.clear();
+        }
+    }
+
+    /**
+     * Creates the organizations and events in SQL, interleaving events about entries and organizations, so that the event_subject trigger indexes every one
+     */
+    private void generateEvents() {
+        testingPostgres.runUpdateStatement("insert into organization (name, displayname, status) select 'BenchmarkOrg' || i, 'Benchmark Org ' || i, 'APPROVED' from generate_series(1, "
+            + ORGANIZATIONS + ") i");
+        testingPostgres.runUpdateStatement("insert into event (type, workflowid, organizationid, dbcreatedate, dbupdatedate) select "
+            + "case when i % " + ORGANIZATION_EVENT_EVERY + " = 0 then 'MODIFY_ORG' else 'ADD_VERSION_TO_ENTRY' end, "
+            + "case when i % " + ORGANIZATION_EVENT_EVERY + " = 0 then null else w.ids[1 + (i * 7919) % array_length(w.ids, 1)] end, "
+            + "case when i % " + ORGANIZATION_EVENT_EVERY + " = 0 then o.ids[1 + (i * 7919) % array_length(o.ids, 1)] end, now(), now() "
+            + "from generate_series(1, " + EVENTS + ") i, "
+            + "(select array_agg(id) ids from workflow where organization = 'benchmark') w, "
+            + "(select array_agg(id) ids from organization where name like 'BenchmarkOrg%') o");
+        LOG.info("Generated {} events", EVENTS);
+    }
+
+    private void starSubjects(long userId) {
+        testingPostgres.runUpdateStatement("insert into starred (userid, entryid) select " + userId + ", id from workflow where organization = 'benchmark' order by id limit " + STARRED_ENTRIES);
+        testingPostgres.runUpdateStatement("insert into starred_organizations (userid, organizationid) select " + userId + ", id from organization where name like 'BenchmarkOrg%' order by id limit "
+            + STARRED_ORGANIZATIONS);
+    }
+
+    /**
+     * Runs the call ITERATIONS times, after one warm up call
+     */
+    private static Latency measure(LongSupplier call) {
+        call.getAsLong();
+        List<Long> nanos = new ArrayList<>(ITERATIONS);
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long startTime = System.nanoTime();
+            call.getAsLong();
+            nanos.add(System.nanoTime() - startTime);
+        }
+        Collections.sort(nanos);
+        return new Latency(percentileMillis(nanos, 50), percentileMillis(nanos, 99));
+    }
+
+    private static double percentileMillis(List<Long> sortedNanos, int percentile) {
+        final int index = Math.max(0, (int)Math.ceil(percentile / 100.0 * sortedNanos.size()) - 1);
+        return sortedNanos.get(index) / 1_000_000.0;
+    }
+
+    private interface Feed {
+        List<Event> page(Long before, int offset);
+    }
+
+    private record Latency(double p50, double p99) {
+    }
+}
@@ -268,10 +268,10 @@ class NotebookIT extends BaseIT {
         UsersApi usersApi = new UsersApi(apiClient);
         final long userId = testingPostgres.runSelectStatement("select userid from user_entry where entryid = '" + notebook.getId() + "'", long.class);
 
-        List<Workflow> notebooks = usersApi.userNotebooks(userId);
+        List<Workflow> notebooks = usersApi.userNotebooks(userId, null, null, null);
         assertEquals(1, notebooks.size());
         assertEquals(notebook.getId(), notebooks.get(0).getId());
-        List<Workflow> workflows = usersApi.userWorkflows(userId);
+        List<Workflow> workflows = usersApi.userWorkflows(userId, null, null, null);
         assertEquals(0, workflows.size());
     }
 
@@ -361,7 +361,7 @@ class NotebookIT extends BaseIT {
         Workflow notebook = workflowsApi.getWorkflowByPath(simpleRepoPath, WorkflowSubClass.NOTEBOOK, "versions");
 
         EventsApi eventsApi = new EventsApi(apiClient);
-        List<Event> events = eventsApi.getEvents(EventSearchType.PROFILE.toString(), null, null);
+        List<Event> events = eventsApi.getEvents(EventSearchType.PROFILE.toString(), null, null, null);
         assertTrue(events.stream().anyMatch(e -> e.getNotebook() != null && Objects.equals(e.getNotebook().getId(), notebook.getId())));
     }
 
@@ -586,9 +586,9 @@ class NotebookIT extends BaseIT {
         assertTrue(countEvents(id) > unpublishedCount);
 
         // Star the notebook, then check that the getEvents endpoint returns the correct number of events
-        // getEvents(STARRED_ENTRIES, ...) uses eventDAO.findEventsByEntryIDs internally, which is what we're trying to test
+        // getEvents(STARRED_ENTRIES, ...) uses eventDAO.findEventsForStarredEntries internally, which is what we're trying to test
         workflowsApi.starEntry1(id, new StarRequest().star(true));
-        assertEquals(countEvents(id), eventsApi.getEvents(EventSearchType.STARRED_ENTRIES.toString(), null, null).size());
+        assertEquals(countEvents(id), eventsApi.getEvents(EventSearchType.STARRED_ENTRIES.toString(), null, null, null).size());
 
         // Delete the user, which in the process will delete the Events referencing the notebook
         workflowsApi.publish1(id, CommonTestUtilities.createOpenAPIPublishRequest(false));
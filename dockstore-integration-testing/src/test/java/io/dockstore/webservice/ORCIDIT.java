@@ -135,7 +135,7 @@ public class ORCIDIT extends BaseIT {
         workflowsApi.manualRegister(SourceControl.GITHUB.name(), "DockstoreTestUser/dockstore-whalesay-wdl", "/dockstore.wdl", "",
                 DescriptorLanguage.WDL.getShortName(), "");
 
-        List<Workflow> workflows = usersApi.userWorkflows(user.getId());
+        List<Workflow> workflows = usersApi.userWorkflows(user.getId(), null, null, null);
         Long workflowId = workflows.get(0).getId();
         workflowsApi.refresh1(workflowId, false);
         assertTrue(workflows.size() > 0);
@@ -248,9 +248,9 @@ public class ORCIDIT extends BaseIT {
         Long workflowVersionId = workflowVersions.get(0).getId();
 
         // Give otherUser access to the workflow to mimic being part of the same GitHub organization as the first user
-        assertEquals(0, otherUsersApi.userWorkflows(otherUser.getId()).size(), "Other user should have no workflows");
+        assertEquals(0, otherUsersApi.userWorkflows(otherUser.getId(), null, null, null).size(), "Other user should have no workflows");
         testingPostgres.runUpdateStatement(String.format("insert into user_entry (userid, entryid) values (%s, %s)", otherUser.getId(), workflowId));
-        List<Workflow> workflows = otherUsersApi.userWorkflows(otherUser.getId());
+        List<Workflow> workflows = otherUsersApi.userWorkflows(otherUser.getId(), null, null, null);
         assertEquals(1, workflows.size(), "Other user should have one workflow");
 
         // Give user 1 a fake ORCID token
@@ -126,7 +126,7 @@ public class OpenAPIServiceIT extends BaseIT {
         UsersApi usersApi = new UsersApi(webClient);
         final long userId = testingPostgres.runSelectStatement("select userid from user_entry where entryid = '" + service.getId() + "'", long.class);
         List<Workflow> services = usersApi.userServices(userId);
-        List<Workflow> workflows = usersApi.userWorkflows(userId);
+        List<Workflow> workflows = usersApi.userWorkflows(userId, null, null, null);
         assertEquals(1, services.size(), "There should be one service");
         assertEquals(0, workflows.size(), "There should be no workflows");
 
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.dockstore.client.cli.BaseIT;
+import io.dockstore.client.cli.BaseIT.TestStatus;
+import io.dockstore.common.BenchmarkTest;
+import io.dockstore.common.DescriptorLanguage;
+import io.dockstore.common.MuteForSuccessfulTests;
+import io.dockstore.common.SourceControl;
+import io.dockstore.webservice.core.Author;
+import io.dockstore.webservice.core.BioWorkflow;
+import io.dockstore.webservice.core.WorkflowMode;
+import io.dockstore.webservice.core.WorkflowVersion;
+import io.dockstore.webservice.helpers.TransactionHelper;
+import io.dockstore.webservice.jdbi.BioWorkflowDAO;
+import io.dockstore.webservice.jdbi.WorkflowVersionDAO;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.LongSupplier;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.context.internal.ManagedSessionContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.org.webcompere.systemstubs.jupiter.SystemStub;
+import uk.org.webcompere.systemstubs.jupiter.SystemStubsExtension;
+import uk.org.webcompere.systemstubs.stream.SystemErr;
+import uk.org.webcompere.systemstubs.stream.SystemOut;
+
+/**
+ * Generates 100k published workflows with random names, a tenth of them with an authored default version, and reports the p50 and p99 latency
+ * of filtering them the way /workflows/published does, with the total counted exactly and with it estimated.
+ */
+@ExtendWith(SystemStubsExtension.class)
+@ExtendWith(MuteForSuccessfulTests.class)
+@ExtendWith(TestStatus.class)
+@Tag(BenchmarkTest.NAME)
+class PublishedEntrySearchBenchmarkIT extends BaseIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PublishedEntrySearchBenchmarkIT.class);
+    private static final int ENTRIES = 100_000;
+    private static final int ENTRIES_PER_TRANSACTION = 1000;
+    private static final int AUTHORED_EVERY = 10;
+    private static final int ORGANIZATIONS = 500;
+    private static final int AUTHORS = 2000;
+    private static final int ITERATIONS = 100;
+    private static final int PAGE_SIZE = 10;
+    private static final long ESTIMATED_COUNT_THRESHOLD = 10000;
+    private static final String LEXICON = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final String BENCHMARK_AUTHOR = "Benchmark Author";
+    /**
+     * A rare term, a term that matches one organization's worth of entries, an author, and a term that matches every generated entry
+     */
+    private static final List<String> FILTERS = List.of("QX7", "org42-", BENCHMARK_AUTHOR + " 7", "org");
+
+    @SystemStub
+    public final SystemOut systemOut = new SystemOut();
+    @SystemStub
+    public final SystemErr systemErr = new SystemErr();
+
+    @Test
+    void testFilterLatency() {
+        final SessionFactory sessionFactory = SUPPORT.getApplication().getHibernate().getSessionFactory();
+        try (Session session = sessionFactory.openSession()) {
+            ManagedSessionContext.bind(session);
+            generate(sessionFactory, session);
+            testingPostgres.runUpdateStatement("analyze");
+            final BioWorkflowDAO bioWorkflowDAO = new BioWorkflowDAO(sessionFactory);
+
+            for (String filter : FILTERS) {
+                final long exactCount = bioWorkflowDAO.countAllPublished(Optional.of(filter), BioWorkflow.class);
+                assertEquals(exactCount, bioWorkflowDAO.estimateAllPublished(Optional.of(filter), BioWorkflow.class, 0), "a threshold of 0 should always count");
+                final Latency page = measure(() -> bioWorkflowDAO.findAllPublished(0, PAGE_SIZE, filter, "", "", BioWorkflow.class).size());
+                final Latency exact = measure(() -> bioWorkflowDAO.countAllPublished(Optional.of(filter), BioWorkflow.class));
+                final Latency estimated = measure(() -> bioWorkflowDAO.estimateAllPublished(Optional.of(filter), BioWorkflow.class, ESTIMATED_COUNT_THRESHOLD));
+                LOG.info("Filter '{}' matches {} of {} entries: page p50 {} ms p99 {} ms, exact count p50 {} ms p99 {} ms, estimated count p50 {} ms p99 {} ms",
+                    filter, exactCount, ENTRIES, page.p50(), page.p99(), exact.p50(), exact.p99(), estimated.p50(), estimated.p99());
+            }
+            assertFalse(bioWorkflowDAO.findAllPublished(0, PAGE_SIZE, BENCHMARK_AUTHOR + " 7", "", "", BioWorkflow.class).isEmpty(), "entries should be found by author");
+            assertTrue(bioWorkflowDAO.estimateAllPublished(Optional.of("org"), BioWorkflow.class, ESTIMATED_COUNT_THRESHOLD) >= ESTIMATED_COUNT_THRESHOLD,
+                "a filter matching every entry should be estimated");
+
+            final String plan = testingPostgres.runSelectStatement(
+                "explain select 1 from workflow where ispublished and (upper(workflowname) like '%QX7%' or upper(repository) like '%QX7%' or upper(organization) like '%QX7%')",
+                String.class);
+            assertTrue(plan.startsWith("Bitmap Heap Scan"), "a selective filter should be answered through the trigram indexes, not " + plan);
+        } finally {
+            ManagedSessionContext.unbind(sessionFactory);
+        }
+    }
+
+    /**
+     * Creates the published workflows, in transactions of ENTRIES_PER_TRANSACTION so that the session does not hold all of them
+     */
+    private static void generate(SessionFactory sessionFactory, Session session) {
+        final BioWorkflowDAO bioWorkflowDAO = new BioWorkflowDAO(sessionFactory);
+        final WorkflowVersionDAO workflowVersionDAO = new WorkflowVersionDAO(sessionFactory);
+        final TransactionHelper transactionHelper = new TransactionHelper(session);
+        final Random random = new Random(0);
+        for (int start = 0; start < ENTRIES; start += ENTRIES_PER_TRANSACTION) {
+            final int first = start;
+            transactionHelper.transaction(() -> {
+                for (int i = first; i < first + ENTRIES_PER_TRANSACTION; i++) {
+                    BioWorkflow workflow = new BioWorkflow();
+                    workflow.setSourceControl(SourceControl.GITHUB);
+                    workflow.setDescriptorType(DescriptorLanguage.CWL);
+                    workflow.setMode(WorkflowMode.DOCKSTORE_YML);
+                    workflow.setOrganization("org" + (i % ORGANIZATIONS) + "-" + randomWord(random));
+                    workflow.setRepository(randomWord(random) + "-" + i);
+                    workflow.setWorkflowName(randomWord(random));
+                    workflow.setIsPublished(true);
+                    bioWorkflowDAO.create(workflow);
+                    if (i % AUTHORED_EVERY == 0) {
+                        WorkflowVersion version = new WorkflowVersion();
+                        version.setName("main");
+                        version.setReference("main");
+                        version.setWorkflowPath("/Dockstore.cwl");
+                        version.addAuthor(new Author(BENCHMARK_AUTHOR + " " + random.nextInt(AUTHORS)));
+                        workflow.addWorkflowVersion(version);
+                        workflowVersionDAO.create(version);
+                        workflow.setActualDefaultVersion(version);
+                    }
+                }
+            });
+            LOG.info("Generated {} of {} entries", start + ENTRIES_PER_TRANSACTION, ENTRIES);
+        }
+    }
+
+    private static String randomWord(Random random) {
+        final int length = 5 + random.nextInt(6);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(LEXICON.charAt(random.nextInt(LEXICON.length())));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Runs the call ITERATIONS times, after one warm up call
+     */
+    private static Latency measure(LongSupplier call) {
+        call.getAsLong();
+        List<Long> nanos = new ArrayList<>(ITERATIONS);
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long startTime = System.nanoTime();
+            call.getAsLong();
+            nanos.add(System.nanoTime() - startTime);
+        }
+        Collections.sort(nanos);
+        return new Latency(percentileMillis(nanos, 50), percentileMillis(nanos, 99));
+    }
+
+    private static double percentileMillis(List<Long> sortedNanos, int percentile) {
+        final int index = Math.max(0, (int)Math.ceil(percentile / 100.0 * sortedNanos.size()) - 1);
+        return sortedNanos.get(index) / 1_000_000.0;
+    }
+
+    private record Latency(double p50, double p99) {
+    }
+}
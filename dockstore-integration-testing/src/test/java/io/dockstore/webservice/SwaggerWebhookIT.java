@@ -93,13 +93,13 @@ class SwaggerWebhookIT extends BaseIT {
 
         // Disassociate all entries from all users
         testingPostgres.runUpdateStatement("DELETE from user_entry");
-        assertEquals(0, usersApi.getUserEntries(10, null, null).size(), "User should have 0 entries");
+        assertEquals(0, usersApi.getUserEntries(10, null, null, null).size(), "User should have 0 entries");
 
         // Discover again
         usersApi.addUserToDockstoreWorkflows(usersApi.getUser().getId(), "");
 
         //
-        assertEquals(3, usersApi.getUserEntries(10, null, null).size(), "User should have 3 entries, 2 from DockstoreTestUser2 org and one from DockstoreTestUser/dockstore-whalesay-wdl");
+        assertEquals(3, usersApi.getUserEntries(10, null, null, null).size(), "User should have 3 entries, 2 from DockstoreTestUser2 org and one from DockstoreTestUser/dockstore-whalesay-wdl");
     }
 
     /**
@@ -124,7 +124,7 @@ class SwaggerWebhookIT extends BaseIT {
             String.format("INSERT INTO user_entry(userid, entryid) VALUES (%s, %s)", userId,
                 entryId);
         testingPostgres.runUpdateStatement(userEntrySql);
-        assertEquals(4, usersApi.getUserEntries(10, null, WORKFLOWS_ENTRY_SEARCH_TYPE).size(), "User should have 4 workflows");
+        assertEquals(4, usersApi.getUserEntries(10, null, WORKFLOWS_ENTRY_SEARCH_TYPE, null).size(), "User should have 4 workflows");
 
         final io.dockstore.openapi.client.api.UsersApi adminUsersApi =
             new io.dockstore.openapi.client.api.UsersApi(
@@ -132,7 +132,7 @@ class SwaggerWebhookIT extends BaseIT {
 
         // This should drop the most recently added workflow; user doesn't have corresponding GitHub permissions
         adminUsersApi.checkWorkflowOwnership();
-        assertEquals(3, usersApi.getUserEntries(10, null, WORKFLOWS_ENTRY_SEARCH_TYPE).size(), "User should now have 3 workflows");
+        assertEquals(3, usersApi.getUserEntries(10, null, WORKFLOWS_ENTRY_SEARCH_TYPE, null).size(), "User should now have 3 workflows");
 
     }
 
@@ -156,7 +156,7 @@ class SwaggerWebhookIT extends BaseIT {
         testingPostgres.addUnpublishedWorkflow(SourceControl.GITHUB, USER_1_USERNAME, DOCKSTORE_WHALESAY_WDL, DescriptorLanguage.WDL);
 
         final io.dockstore.openapi.client.api.UsersApi usersApi = new io.dockstore.openapi.client.api.UsersApi(webClient);
-        assertEquals(3, usersApi.getUserEntries(10, null, WORKFLOWS_ENTRY_SEARCH_TYPE).size(),
+        assertEquals(3, usersApi.getUserEntries(10, null, WORKFLOWS_ENTRY_SEARCH_TYPE, null).size(),
             "User should have 3 workflows, 2 from DockstoreTestUser2 org and one from DockstoreTestUser/dockstore-whalesay-wdl");
 
     }
@@ -37,6 +37,7 @@ import io.dockstore.common.RepositoryConstants.DockstoreTestUser2;
 import io.dockstore.common.SourceControl;
 import io.dockstore.openapi.client.ApiClient;
 import io.dockstore.openapi.client.ApiException;
+import io.dockstore.openapi.client.ApiResponse;
 import io.dockstore.openapi.client.api.UsersApi;
 import io.dockstore.openapi.client.api.WorkflowsApi;
 import io.dockstore.openapi.client.model.EntryType;
@@ -276,7 +277,7 @@ class UserResourceOpenApiIT extends BaseIT {
         // Add service
         handleGitHubRelease(workflowsApi, SERVICE_REPO, "refs/tags/1.0", USER_2_USERNAME);
         assertEquals(1, usersApi.userServices(userId).size());
-        assertEquals(0, usersApi.userWorkflows(userId).size());
+        assertEquals(0, usersApi.userWorkflows(userId, null, null, null).size());
 
         // Star service
         Workflow service = workflowsApi.getWorkflowByPath("github.com/" + SERVICE_REPO, WorkflowSubClass.SERVICE, "");
@@ -290,7 +291,7 @@ class UserResourceOpenApiIT extends BaseIT {
             "/Dockstore.cwl", "", DescriptorLanguage.CWL.getShortName(), "");
         workflow = workflowsApi.refresh1(workflow.getId(), false);
         assertEquals(1, usersApi.userServices(userId).size());
-        assertEquals(1, usersApi.userWorkflows(userId).size());
+        assertEquals(1, usersApi.userWorkflows(userId, null, null, null).size());
 
         // Star workflow
         workflowsApi.starEntry1(workflow.getId(), starRequest);
@@ -337,18 +338,56 @@ class UserResourceOpenApiIT extends BaseIT {
 
         workflowsApi.manualRegister("gitlab", "dockstore.test.user2/dockstore-workflow-md5sum-unified", "/Dockstore.cwl", "", "cwl", "/test.json");
 
-        assertEquals(1, userApi.getUserEntries(10, null, "WORKFLOWS").size());
-        assertEquals(5, userApi.getUserEntries(10, null, null).size());
-        assertEquals(0, userApi.getUserEntries(10, null, "SERVICES").size());
-        assertEquals(4, userApi.getUserEntries(10, null, "TOOLS").size());
+        assertEquals(1, userApi.getUserEntries(10, null, "WORKFLOWS", null).size());
+        assertEquals(5, userApi.getUserEntries(10, null, null, null).size());
+        assertEquals(0, userApi.getUserEntries(10, null, "SERVICES", null).size());
+        assertEquals(4, userApi.getUserEntries(10, null, "TOOLS", null).size());
 
         // Add an app tool, which should appear when specifying the TOOLS type
         GitHubAppHelper.registerAppTool(client);
-        final List<EntryUpdateTime> tools = userApi.getUserEntries(10, null, "TOOLS");
+        final List<EntryUpdateTime> tools = userApi.getUserEntries(10, null, "TOOLS", null);
         assertEquals(5, tools.size());
         assertEquals(1L, tools.stream().filter(t -> t.getEntryType() == EntryType.APPTOOL).count());
     }
 
+    @Test
+    void testUserEntrySummaryPagesAndETags() {
+        ApiClient client = getOpenAPIWebClient(USER_2_USERNAME, testingPostgres);
+        UsersApi userApi = new UsersApi(client);
+        WorkflowsApi workflowsApi = new WorkflowsApi(client);
+        final long userId = userApi.getUser().getId();
+
+        workflowsApi.manualRegister("gitlab", "dockstore.test.user2/dockstore-workflow-md5sum-unified", "/Dockstore.cwl", "", "cwl", "/test.json");
+
+        // pages of the entries add up to all of them, in the same order
+        final List<EntryUpdateTime> allEntries = userApi.getUserEntries(null, null, null, null);
+        assertEquals(5, allEntries.size());
+        final ApiResponse<List<EntryUpdateTime>> firstPage = userApi.getUserEntriesWithHttpInfo(2, null, null, null);
+        assertEquals(allEntries.subList(0, 2), firstPage.getData());
+        assertEquals("5", getHeader(firstPage, "X-total-count"));
+        assertEquals(allEntries.subList(2, 4), userApi.getUserEntries(2, null, null, 2));
+        assertEquals(1, userApi.getUserEntries(null, "workflow-md5sum-unified", null, null).size());
+        assertEquals(1, userApi.userWorkflows(userId, 0, 1, "WORKFLOW-MD5SUM").size());
+        assertEquals(0, userApi.userWorkflows(userId, 1, null, null).size());
+
+        // an unchanged page is not sent again
+        client.addDefaultHeader("If-None-Match", getHeader(firstPage, "ETag"));
+        ApiException notModified = assertThrows(ApiException.class, () -> userApi.getUserEntries(2, null, null, null));
+        assertEquals(HttpStatus.SC_NOT_MODIFIED, notModified.getCode());
+
+        // the summaries follow changes to the entries made outside of the webservice too
+        testingPostgres.runUpdateStatement("update workflow set description = 'changed' where repository = 'dockstore-workflow-md5sum-unified'");
+        assertEquals(2, userApi.getUserEntries(2, null, null, null).size());
+    }
+
+    private static String getHeader(ApiResponse<?> response, String name) {
+        return response.getHeaders().entrySet().stream()
+            .filter(entry -> name.equalsIgnoreCase(entry.getKey()))
+            .map(entry -> entry.getValue().get(0))
+            .findFirst()
+            .orElseThrow(() -> new RuntimeException("response contained no " + name + " header"));
+    }
+
     @Test
     void testSelfDestruct() throws ApiException {
         ApiClient client = getAnonymousOpenAPIWebClient();
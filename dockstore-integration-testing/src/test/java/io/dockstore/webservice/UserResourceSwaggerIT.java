@@ -102,7 +102,7 @@ class UserResourceSwaggerIT extends BaseIT {
         // Remove an association with an entry
         long numberOfWorkflows = workflows.size();
         testingPostgres.runUpdateStatement("delete from user_entry where entryid = " + id);
-        long newNumberOfWorkflows = userApi.userWorkflows((long)1).size();
+        long newNumberOfWorkflows = userApi.userWorkflows((long)1, null, null, null).size();
         assertEquals(numberOfWorkflows - 1, newNumberOfWorkflows, "Should have one less workflow");
 
         // Add user back to workflow
@@ -298,7 +298,7 @@ class UserResourceSwaggerIT extends BaseIT {
 
         workflowsApi.manualRegister("gitlab", "dockstore.test.user2/dockstore-workflow-md5sum-unified", "/Dockstore.cwl", "", "cwl", "/test.json");
 
-        List<EntryUpdateTime> entries = userApi.getUserEntries(10, null, null);
+        List<EntryUpdateTime> entries = userApi.getUserEntries(10, null, null, null);
         assertFalse(entries.isEmpty());
         assertTrue(entries.stream().anyMatch(e -> e.getPath().contains("gitlab.com/dockstore.test.user2/dockstore-workflow-md5sum-unified")));
         assertTrue(entries.stream().anyMatch(e -> e.getPath().contains("dockstore-workflow-md5sum-unified")));
@@ -311,7 +311,7 @@ class UserResourceSwaggerIT extends BaseIT {
         assertTrue(refreshedWorkflow.getDescription().contains("To demonstrate the checker workflow proposal"));
 
         // Entry should now be at the top
-        entries = userApi.getUserEntries(10, null, null);
+        entries = userApi.getUserEntries(10, null, null, null);
         assertEquals("gitlab.com/dockstore.test.user2/dockstore-workflow-md5sum-unified", entries.get(0).getPath());
         assertEquals("dockstore-workflow-md5sum-unified", entries.get(0).getPrettyPath());
 
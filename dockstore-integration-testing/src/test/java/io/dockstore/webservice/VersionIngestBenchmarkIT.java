@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.dockstore.client.cli.BaseIT;
+import io.dockstore.client.cli.BaseIT.TestStatus;
+import io.dockstore.common.ConfidentialTest;
+import io.dockstore.common.DescriptorLanguage;
+import io.dockstore.common.MuteForSuccessfulTests;
+import io.dockstore.common.SourceControl;
+import io.dockstore.webservice.core.BioWorkflow;
+import io.dockstore.webservice.core.SourceFile;
+import io.dockstore.webservice.core.Validation;
+import io.dockstore.webservice.core.Workflow;
+import io.dockstore.webservice.core.WorkflowMode;
+import io.dockstore.webservice.core.WorkflowVersion;
+import io.dockstore.webservice.helpers.TransactionHelper;
+import io.dockstore.webservice.jdbi.FileDAO;
+import io.dockstore.webservice.jdbi.WorkflowDAO;
+import io.dockstore.webservice.jdbi.WorkflowVersionDAO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.context.internal.ManagedSessionContext;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.org.webcompere.systemstubs.jupiter.SystemStub;
+import uk.org.webcompere.systemstubs.jupiter.SystemStubsExtension;
+import uk.org.webcompere.systemstubs.stream.SystemErr;
+import uk.org.webcompere.systemstubs.stream.SystemOut;
+
+/**
+ * Benchmarks the number of statements needed to ingest the versions of a large, synthetic multi-workflow .dockstore.yml repository,
+ * with JDBC batching turned off (one statement per row) and on (the configured default).
+ */
+@ExtendWith(SystemStubsExtension.class)
+@ExtendWith(MuteForSuccessfulTests.class)
+@ExtendWith(TestStatus.class)
+@Tag(ConfidentialTest.NAME)
+class VersionIngestBenchmarkIT extends BaseIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VersionIngestBenchmarkIT.class);
+    private static final int WORKFLOWS = 10;
+    private static final int VERSIONS_PER_WORKFLOW = 5;
+    private static final int FILES_PER_VERSION = 20;
+
+    @SystemStub
+    public final SystemOut systemOut = new SystemOut();
+    @SystemStub
+    public final SystemErr systemErr = new SystemErr();
+
+    @Test
+    void testStatementsPerVersion() {
+        final SessionFactory sessionFactory = SUPPORT.getApplication().getHibernate().getSessionFactory();
+        final Statistics statistics = sessionFactory.getStatistics();
+        final boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try {
+            final IngestCost unbatched = ingest(sessionFactory, statistics, "unbatched", 1);
+            final IngestCost batched = ingest(sessionFactory, statistics, "batched", null);
+            final int versions = WORKFLOWS * VERSIONS_PER_WORKFLOW;
+            LOG.info("Importing {} versions with {} files each: {} statements per version unbatched, {} batched", versions, FILES_PER_VERSION,
+                (double)unbatched.importStatements() / versions, (double)batched.importStatements() / versions);
+            LOG.info("Replacing half of the files of {} versions: {} statements per version unbatched, {} batched", versions,
+                (double)unbatched.replaceStatements() / versions, (double)batched.replaceStatements() / versions);
+
+            assertTrue(batched.importStatements() < unbatched.importStatements() / 2, "batching should at least halve the statements needed to import versions");
+            assertTrue(batched.replaceStatements() < unbatched.replaceStatements() / 2, "batching should at least halve the statements needed to replace source files");
+            assertTrue(batched.importStatements() / versions < FILES_PER_VERSION, "importing a version should not cost a statement for each of its files");
+            assertEquals(versions * FILES_PER_VERSION, testingPostgres.runSelectStatement(
+                "select count(*) from version_sourcefile vs join workflowversion v on v.id = vs.versionid join workflow w on w.id = v.parentid where w.repository = 'batched'", Long.class).intValue());
+        } finally {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    /**
+     * Imports the synthetic repository, then replaces half of the source files of each version, in separate transactions.
+     *
+     * @param repository name of the repository to create the workflows in
+     * @param jdbcBatchSize batch size for the session, or null to use the configured one
+     * @return the number of statements prepared by each step
+     */
+    private IngestCost ingest(SessionFactory sessionFactory, Statistics statistics, String repository, Integer jdbcBatchSize) {
+        try (Session session = sessionFactory.openSession()) {
+            ManagedSessionContext.bind(session);
+            session.setJdbcBatchSize(jdbcBatchSize);
+            final WorkflowDAO workflowDAO = new WorkflowDAO(sessionFactory);
+            final WorkflowVersionDAO workflowVersionDAO = new WorkflowVersionDAO(sessionFactory);
+            final FileDAO fileDAO = new FileDAO(sessionFactory);
+            final TransactionHelper transactionHelper = new TransactionHelper(session);
+
+            statistics.clear();
+            final List<WorkflowVersion> versions = transactionHelper.transaction(() -> {
+                List<WorkflowVersion> created = new ArrayList<>();
+                for (int i = 0; i < WORKFLOWS; i++) {
+                    Workflow workflow = createWorkflow(repository, "workflow" + i);
+                    workflowDAO.create(workflow);
+                    for (int j = 0; j < VERSIONS_PER_WORKFLOW; j++) {
+                        WorkflowVersion version = new WorkflowVersion();
+                        version.setName("version" + j);
+                        version.setReference("version" + j);
+                        version.setWorkflowPath("/workflow" + i + "/file0.cwl");
+                        workflow.addWorkflowVersion(version);
+                        workflowVersionDAO.create(version);
+                        for (int k = 0; k < FILES_PER_VERSION; k++) {
+                            SourceFile file = createSourceFile("/workflow" + i, k, "version" + j);
+                            fileDAO.create(file);
+                            version.getSourceFiles().add(file);
+                        }
+                        version.addOrUpdateValidation(new Validation(DescriptorLanguage.FileType.DOCKSTORE_CWL, true, Map.of()));
+                        created.add(version);
+                    }
+                }
+                return created;
+            });
+            final long importStatements = statistics.getPrepareStatementCount();
+
+            statistics.clear();
+            transactionHelper.continueSession().transaction(() -> {
+                for (WorkflowVersion version : versions) {
+                    final String directory = StringUtils.substringBeforeLast(version.getWorkflowPath(), "/");
+                    version.getSourceFiles().removeIf(file -> fileNumber(file) < FILES_PER_VERSION / 2);
+                    for (int k = FILES_PER_VERSION; k < FILES_PER_VERSION + FILES_PER_VERSION / 2; k++) {
+                        SourceFile file = createSourceFile(directory, k, version.getName());
+                        fileDAO.create(file);
+                        version.getSourceFiles().add(file);
+                    }
+                }
+            });
+            final long replaceStatements = statistics.getPrepareStatementCount();
+            return new IngestCost(importStatements, replaceStatements);
+        } finally {
+            ManagedSessionContext.unbind(sessionFactory);
+        }
+    }
+
+    private static Workflow createWorkflow(String repository, String workflowName) {
+        Workflow workflow = new BioWorkflow();
+        workflow.setSourceControl(SourceControl.GITHUB);
+        workflow.setDescriptorType(DescriptorLanguage.CWL);
+        workflow.setMode(WorkflowMode.DOCKSTORE_YML);
+        workflow.setOrganization("ingest-benchmark");
+        workflow.setRepository(repository);
+        workflow.setWorkflowName(workflowName);
+        return workflow;
+    }
+
+    private static SourceFile createSourceFile(String directory, int number, String versionName) {
+        final String path = directory + "/file" + number + ".cwl";
+        SourceFile sourceFile = new SourceFile();
+        sourceFile.setType(DescriptorLanguage.FileType.DOCKSTORE_CWL);
+        sourceFile.setPath(path);
+        sourceFile.setAbsolutePath(path);
+        sourceFile.setContent("cwlVersion: v1.2\nclass: Workflow\nid: " + versionName + path + "\n");
+        return sourceFile;
+    }
+
+    private static int fileNumber(SourceFile sourceFile) {
+        final String path = sourceFile.getPath();
+        return Integer.parseInt(path.substring(path.lastIndexOf("/file") + "/file".length(), path.length() - ".cwl".length()));
+    }
+
+    private record IngestCost(long importStatements, long replaceStatements) {
+    }
+}
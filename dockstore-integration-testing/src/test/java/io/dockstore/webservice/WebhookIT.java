@@ -1528,7 +1528,7 @@ class WebhookIT extends BaseIT {
         assertEquals(1, workflow.getWorkflowVersions().size());
 
         Long userId = usersApi.getUser().getId();
-        List<Workflow> usersAppTools = usersApi.userAppTools(userId);
+        List<Workflow> usersAppTools = usersApi.userAppTools(userId, null, null, null);
         assertEquals(1, usersAppTools.size());
 
         handleGitHubRelease(client, DockstoreTestUser2.TEST_WORKFLOW_AND_TOOLS, "refs/heads/invalid-workflow", USER_2_USERNAME);
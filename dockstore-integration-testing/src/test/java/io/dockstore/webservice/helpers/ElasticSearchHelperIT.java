@@ -1,5 +1,6 @@
 package io.dockstore.webservice.helpers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -11,6 +12,8 @@ import io.dockstore.webservice.DockstoreWebserviceConfiguration;
 import io.dockstore.webservice.helpers.statelisteners.ElasticListener;
 import io.dropwizard.testing.DropwizardTestSupport;
 import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
@@ -44,6 +47,11 @@ class ElasticSearchHelperIT extends BaseIT {
     void testDoMappingsExist() throws IOException {
         RestHighLevelClient esClient = ElasticSearchHelper.restHighLevelClient();
         assertTrue(ElasticSearchHelper.doMappingsExist(), "Should return true because mappings should exist upon startup");
+        for (String alias : List.of(ElasticListener.TOOLS_INDEX, ElasticListener.WORKFLOWS_INDEX, ElasticListener.NOTEBOOKS_INDEX)) {
+            Set<String> indices = ElasticSearchHelper.getAliasedIndices(alias);
+            assertEquals(1, indices.size(), "Each alias should point to the single index loaded by the startup reindex");
+            assertTrue(indices.iterator().next().startsWith(alias + "_"), "The aliased index should be a versioned index");
+        }
         deleteIndex(ElasticListener.TOOLS_INDEX, esClient);
         assertFalse(ElasticSearchHelper.doMappingsExist(), "Should return false if one of the indices are missing its mapping");
         deleteIndex(ElasticListener.WORKFLOWS_INDEX, esClient);
@@ -60,7 +68,8 @@ class ElasticSearchHelperIT extends BaseIT {
     }
 
     private void deleteIndex(String index, RestHighLevelClient esClient) throws IOException {
-        DeleteIndexRequest deleteIndexRequest = new DeleteIndexRequest(index);
+        // Indices can't be deleted through an alias, so delete the versioned indices that it points to
+        DeleteIndexRequest deleteIndexRequest = new DeleteIndexRequest(ElasticSearchHelper.getAliasedIndices(index).toArray(new String[0]));
         esClient.indices().delete(deleteIndexRequest, RequestOptions.DEFAULT);
     }
 }
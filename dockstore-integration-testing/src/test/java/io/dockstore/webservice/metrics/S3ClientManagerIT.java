@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.metrics;
+
+import static io.dockstore.common.LocalStackTestUtilities.IMAGE_TAG;
+import static io.dockstore.common.LocalStackTestUtilities.LocalStackEnvironmentVariables;
+import static io.dockstore.common.LocalStackTestUtilities.createBucket;
+import static io.dockstore.common.LocalStackTestUtilities.deleteBucketContents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import cloud.localstack.ServiceName;
+import cloud.localstack.awssdkv2.TestUtils;
+import cloud.localstack.docker.LocalstackDockerExtension;
+import cloud.localstack.docker.annotation.LocalstackDockerProperties;
+import com.codahale.metrics.MetricRegistry;
+import io.dockstore.common.LocalStackTest;
+import io.dockstore.common.LocalStackTestUtilities;
+import io.dockstore.common.metrics.MetricsDataS3Client;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import io.dockstore.webservice.helpers.S3ClientManager;
+import java.io.IOException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+
+/**
+ * Uploads and reads execution metrics data through the S3 clients of {@link S3ClientManager}, checking the metrics it records per S3 operation.
+ */
+@ExtendWith(LocalstackDockerExtension.class)
+@Tag(LocalStackTest.NAME)
+@LocalstackDockerProperties(imageTag = IMAGE_TAG, services = { ServiceName.S3 }, environmentVariableProvider = LocalStackEnvironmentVariables.class)
+class S3ClientManagerIT {
+    private static final String BUCKET_NAME = "s3-client-manager-it";
+    private static final String TOOL_ID = "#workflow/github.com/DockstoreTestUser2/dockstore_workflow_cnv";
+    private static final String VERSION_NAME = "master";
+    private static final String PLATFORM = "TERRA";
+    private static final String METRICS_DATA = "{\"runExecutions\": []}";
+
+    private static S3Client s3Client;
+
+    private MetricRegistry metricRegistry;
+    private S3ClientManager s3ClientManager;
+
+    @BeforeAll
+    public static void setup() {
+        s3Client = TestUtils.getClientS3V2(); // Use localstack S3Client
+        createBucket(s3Client, BUCKET_NAME);
+        deleteBucketContents(s3Client, BUCKET_NAME); // This is here just in case a test was stopped before tearDown could clean up the bucket
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (s3ClientManager != null) {
+            s3ClientManager.stop();
+        }
+        deleteBucketContents(s3Client, BUCKET_NAME);
+    }
+
+    @Test
+    void testSynchronousUpload() throws IOException {
+        final MetricsDataS3Client metricsDataS3Client = createMetricsDataS3Client(BUCKET_NAME, false);
+        metricsDataS3Client.createS3Object(TOOL_ID, VERSION_NAME, PLATFORM, "1.json", 1L, "sync", METRICS_DATA);
+        assertEquals(METRICS_DATA, metricsDataS3Client.getMetricsDataFileContent(TOOL_ID, VERSION_NAME, PLATFORM, "1.json"));
+        assertEquals(1, metricRegistry.timer(MetricRegistry.name(S3ClientManager.class, "PutObject")).getCount());
+        assertEquals(1, metricRegistry.timer(MetricRegistry.name(S3ClientManager.class, "GetObject")).getCount());
+        assertEquals(0, metricRegistry.meter(MetricRegistry.name(S3ClientManager.class, "PutObject", "errors")).getCount());
+    }
+
+    @Test
+    void testAsynchronousUpload() throws IOException {
+        final MetricsDataS3Client metricsDataS3Client = createMetricsDataS3Client(BUCKET_NAME, true);
+        metricsDataS3Client.createS3Object(TOOL_ID, VERSION_NAME, PLATFORM, "1.json", 1L, "async", METRICS_DATA);
+        assertEquals(METRICS_DATA, metricsDataS3Client.getMetricsDataFileContent(TOOL_ID, VERSION_NAME, PLATFORM, "1.json"));
+        assertEquals("async", metricsDataS3Client.getMetricsData(TOOL_ID, VERSION_NAME).stream()
+            .map(metricsDataS3Client::getMetricsDataMetadata).findFirst().orElseThrow().description());
+        // The upload is timed by the interceptor of the asynchronous client, and the reads by the synchronous client
+        assertEquals(1, metricRegistry.timer(MetricRegistry.name(S3ClientManager.class, "PutObject")).getCount());
+        assertEquals(1, metricRegistry.timer(MetricRegistry.name(S3ClientManager.class, "GetObject")).getCount());
+        assertEquals(1, metricRegistry.timer(MetricRegistry.name(S3ClientManager.class, "HeadObject")).getCount());
+    }
+
+    @Test
+    void testFailedUploadsAreCounted() {
+        // The asynchronous client fails with the same exception as the synchronous client
+        for (boolean asyncUploads : new boolean[] { false, true }) {
+            final MetricsDataS3Client metricsDataS3Client = createMetricsDataS3Client("missing-bucket", asyncUploads);
+            assertThrows(NoSuchBucketException.class,
+                () -> metricsDataS3Client.createS3Object(TOOL_ID, VERSION_NAME, PLATFORM, "1.json", 1L, "", METRICS_DATA));
+            assertEquals(1, metricRegistry.meter(MetricRegistry.name(S3ClientManager.class, "PutObject", "errors")).getCount());
+            assertEquals(1, metricRegistry.timer(MetricRegistry.name(S3ClientManager.class, "PutObject")).getCount());
+            s3ClientManager.stop();
+        }
+    }
+
+    private MetricsDataS3Client createMetricsDataS3Client(String bucketName, boolean asyncUploads) {
+        final DockstoreWebserviceConfiguration configuration = new DockstoreWebserviceConfiguration();
+        configuration.getMetricsConfig().setS3BucketName(bucketName);
+        configuration.getMetricsConfig().setS3EndpointOverride(LocalStackTestUtilities.ENDPOINT_OVERRIDE);
+        configuration.getS3ClientConfig().setAsyncUploads(asyncUploads);
+        metricRegistry = new MetricRegistry();
+        s3ClientManager = new S3ClientManager(configuration, metricRegistry);
+        return s3ClientManager.requireMetricsDataS3Client();
+    }
+}
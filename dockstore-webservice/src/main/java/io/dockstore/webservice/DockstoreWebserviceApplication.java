@@ -42,6 +42,8 @@ import io.dockstore.language.MinimalLanguageInterface;
 import io.dockstore.language.RecommendedLanguageInterface;
 import io.dockstore.webservice.core.AppTool;
 import io.dockstore.webservice.core.Author;
+import io.dockstore.webservice.core.BackfillJob;
+import io.dockstore.webservice.core.BackfillPartition;
 import io.dockstore.webservice.core.BioWorkflow;
 import io.dockstore.webservice.core.Category;
 import io.dockstore.webservice.core.Checksum;
@@ -52,7 +54,10 @@ import io.dockstore.webservice.core.DeletedUsername;
 import io.dockstore.webservice.core.Doi;
 import io.dockstore.webservice.core.EntryVersion;
 import io.dockstore.webservice.core.Event;
+import io.dockstore.webservice.core.EventSubject;
+import io.dockstore.webservice.core.ExecutionS3Key;
 import io.dockstore.webservice.core.FileFormat;
+import io.dockstore.webservice.core.FrozenVersionJson;
 import io.dockstore.webservice.core.Image;
 import io.dockstore.webservice.core.Label;
 import io.dockstore.webservice.core.LambdaEvent;
@@ -68,7 +73,9 @@ import io.dockstore.webservice.core.SourceFileMetadata;
 import io.dockstore.webservice.core.Tag;
 import io.dockstore.webservice.core.Token;
 import io.dockstore.webservice.core.Tool;
+import io.dockstore.webservice.core.UrlVerdict;
 import io.dockstore.webservice.core.User;
+import io.dockstore.webservice.core.UserEntrySummary;
 import io.dockstore.webservice.core.Validation;
 import io.dockstore.webservice.core.Version;
 import io.dockstore.webservice.core.VersionMetadata;
@@ -76,6 +83,7 @@ import io.dockstore.webservice.core.Workflow;
 import io.dockstore.webservice.core.WorkflowVersion;
 import io.dockstore.webservice.core.metrics.CostStatisticMetric;
 import io.dockstore.webservice.core.metrics.CpuStatisticMetric;
+import io.dockstore.webservice.core.metrics.ExecutionMetricsSketch;
 import io.dockstore.webservice.core.metrics.ExecutionStatusCountMetric;
 import io.dockstore.webservice.core.metrics.ExecutionTimeStatisticMetric;
 import io.dockstore.webservice.core.metrics.MemoryStatisticMetric;
@@ -88,22 +96,36 @@ import io.dockstore.webservice.doi.DOIGeneratorFactory;
 import io.dockstore.webservice.filters.AdminPrivilegesFilter;
 import io.dockstore.webservice.filters.AuthenticatedUserFilter;
 import io.dockstore.webservice.filters.UsernameRenameRequiredFilter;
+import io.dockstore.webservice.helpers.BackfillJobExecutor;
 import io.dockstore.webservice.helpers.CacheConfigManager;
+import io.dockstore.webservice.helpers.CommitFileCache;
+import io.dockstore.webservice.helpers.CredentialCache;
 import io.dockstore.webservice.helpers.DiagnosticsHelper;
 import io.dockstore.webservice.helpers.ElasticSearchHelper;
+import io.dockstore.webservice.helpers.ElasticSearchUpdateQueue;
 import io.dockstore.webservice.helpers.EmailPropertyFilter;
+import io.dockstore.webservice.helpers.ExecutionMetricsAggregator;
+import io.dockstore.webservice.helpers.GitHubWebhookExecutor;
 import io.dockstore.webservice.helpers.GoogleHelper;
+import io.dockstore.webservice.helpers.ImageResolver;
+import io.dockstore.webservice.helpers.LambdaUrlChecker;
 import io.dockstore.webservice.helpers.MetadataResourceHelper;
 import io.dockstore.webservice.helpers.ORCIDHelper;
 import io.dockstore.webservice.helpers.PersistenceExceptionMapper;
 import io.dockstore.webservice.helpers.PublicStateManager;
 import io.dockstore.webservice.helpers.PublicUserFilter;
+import io.dockstore.webservice.helpers.S3ClientManager;
+import io.dockstore.webservice.helpers.UrlVerdictCache;
+import io.dockstore.webservice.helpers.VersionJsonPrecomputer;
 import io.dockstore.webservice.helpers.ZenodoHelper;
+import io.dockstore.webservice.helpers.ZipGitHubFileTree;
 import io.dockstore.webservice.helpers.statelisteners.PopulateEntryListener;
 import io.dockstore.webservice.jdbi.AppToolDAO;
 import io.dockstore.webservice.jdbi.BioWorkflowDAO;
 import io.dockstore.webservice.jdbi.DeletedUsernameDAO;
 import io.dockstore.webservice.jdbi.EventDAO;
+import io.dockstore.webservice.jdbi.ExecutionMetricsSketchDAO;
+import io.dockstore.webservice.jdbi.ExecutionS3KeyDAO;
 import io.dockstore.webservice.jdbi.FileDAO;
 import io.dockstore.webservice.jdbi.NotebookDAO;
 import io.dockstore.webservice.jdbi.ServiceDAO;
@@ -118,6 +140,7 @@ import io.dockstore.webservice.languages.LanguageHandlerFactory;
 import io.dockstore.webservice.permissions.PermissionsFactory;
 import io.dockstore.webservice.permissions.PermissionsInterface;
 import io.dockstore.webservice.resources.AliasResource;
+import io.dockstore.webservice.resources.BackfillJobResource;
 import io.dockstore.webservice.resources.CategoryResource;
 import io.dockstore.webservice.resources.CloudInstanceResource;
 import io.dockstore.webservice.resources.CollectionResource;
@@ -201,6 +224,7 @@ import org.glassfish.jersey.server.monitoring.RequestEvent;
 import org.glassfish.jersey.server.monitoring.RequestEventListener;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.context.internal.ManagedSessionContext;
 import org.kohsuke.github.extras.okhttp3.ObsoleteUrlFactory;
 import org.pf4j.DefaultPluginManager;
@@ -248,6 +272,7 @@ public class DockstoreWebserviceApplication extends Application<DockstoreWebserv
     private static final int BYTES_IN_KILOBYTE = 1024;
     private static final int KILOBYTES_IN_MEGABYTE = 1024;
     private static final int CACHE_IN_MB = 100;
+    private static final int HIBERNATE_BATCH_SIZE = 50;
     private static Cache cache = null;
 
     static {
@@ -260,11 +285,31 @@ public class DockstoreWebserviceApplication extends Application<DockstoreWebserv
             Organization.class, Notification.class, OrganizationUser.class, Event.class, Collection.class, Validation.class, BioWorkflow.class, Service.class, VersionMetadata.class, Image.class, Checksum.class, LambdaEvent.class,
             ParsedInformation.class, EntryVersion.class, DeletedUsername.class, CloudInstance.class, Author.class, OrcidAuthor.class,
             AppTool.class, Category.class, FullWorkflowPath.class, Notebook.class, SourceFileMetadata.class, Metrics.class, CpuStatisticMetric.class, MemoryStatisticMetric.class, ExecutionTimeStatisticMetric.class, CostStatisticMetric.class,
-            ExecutionStatusCountMetric.class, ValidationStatusCountMetric.class, ValidatorInfo.class, ValidatorVersionInfo.class, MetricsByStatus.class, Doi.class) {
+            ExecutionStatusCountMetric.class, ValidationStatusCountMetric.class, ValidatorInfo.class, ValidatorVersionInfo.class, MetricsByStatus.class, Doi.class, FrozenVersionJson.class,
+            UrlVerdict.class, BackfillJob.class, BackfillPartition.class, UserEntrySummary.class, EventSubject.class,
+            ExecutionS3Key.class, ExecutionMetricsSketch.class) {
         @Override
         public DataSourceFactory getDataSourceFactory(DockstoreWebserviceConfiguration configuration) {
             return configuration.getDataSourceFactory();
         }
+
+        /**
+         * Batch inserts and updates by default so that ingesting a version with many source files does not cost a round trip per row.
+         * Values set in the database properties of the configuration file take precedence.
+         */
+        @Override
+        protected void configure(org.hibernate.cfg.Configuration configuration) {
+            setDefaultProperty(configuration, AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(HIBERNATE_BATCH_SIZE));
+            setDefaultProperty(configuration, AvailableSettings.ORDER_INSERTS, "true");
+            setDefaultProperty(configuration, AvailableSettings.ORDER_UPDATES, "true");
+            setDefaultProperty(configuration, AvailableSettings.BATCH_VERSIONED_DATA, "true");
+        }
+
+        private void setDefaultProperty(org.hibernate.cfg.Configuration configuration, String key, String value) {
+            if (configuration.getProperty(key) == null) {
+                configuration.setProperty(key, value);
+            }
+        }
     };
     private MetricRegistry metricRegistry;
 
@@ -409,11 +454,20 @@ public class DockstoreWebserviceApplication extends Application<DockstoreWebserv
         final PublicStateManager publicStateManager = PublicStateManager.getInstance();
         publicStateManager.reset();
         publicStateManager.setConfig(configuration);
+        publicStateManager.setSessionFactory(hibernate.getSessionFactory());
 
         environment.jersey().property(CommonProperties.FEATURE_AUTO_DISCOVERY_DISABLE, true);
         environment.jersey().register(new JsonProcessingExceptionMapper(true));
 
         environment.lifecycle().manage(new ElasticSearchHelper(configuration.getEsConfiguration()));
+        if (configuration.getEsConfiguration().isUpdateQueueEnabled()) {
+            // Managed objects are stopped in reverse order, so the queue is drained before the Elasticsearch client is closed
+            final ElasticSearchUpdateQueue elasticSearchUpdateQueue = new ElasticSearchUpdateQueue(configuration.getEsConfiguration(), environment.metrics());
+            environment.lifecycle().manage(elasticSearchUpdateQueue);
+            publicStateManager.getElasticListener().setUpdateQueue(elasticSearchUpdateQueue);
+        } else {
+            publicStateManager.getElasticListener().setUpdateQueue(null);
+        }
         final UserDAO userDAO = new UserDAO(hibernate.getSessionFactory());
         final TokenDAO tokenDAO = new TokenDAO(hibernate.getSessionFactory());
         final DeletedUsernameDAO deletedUsernameDAO = new DeletedUsernameDAO(hibernate.getSessionFactory());
@@ -435,8 +489,9 @@ public class DockstoreWebserviceApplication extends Application<DockstoreWebserv
         LOG.info("This is our custom logger saying that we're about to load authenticators");
         // setup authentication to allow session access in authenticators, see https://github.com/dropwizard/dropwizard/pull/1361
         UnitOfWorkAwareProxyFactory unitOfWorkAwareProxyFactory = new UnitOfWorkAwareProxyFactory(getHibernate());
+        final CredentialCache credentialCache = new CredentialCache(configuration.getCredentialCacheConfig(), environment.metrics());
         SimpleAuthenticator authenticator = unitOfWorkAwareProxyFactory
-                .create(SimpleAuthenticator.class, new Class[] { TokenDAO.class, UserDAO.class }, new Object[] { tokenDAO, userDAO });
+                .create(SimpleAuthenticator.class, new Class[] { TokenDAO.class, UserDAO.class, CredentialCache.class }, new Object[] { tokenDAO, userDAO, credentialCache });
         CachingAuthenticator<String, User> cachingAuthenticator = new CachingAuthenticator<>(environment.metrics(), authenticator,
                 configuration.getAuthenticationCachePolicy());
         environment.jersey().register(new AuthDynamicFeature(
@@ -456,19 +511,40 @@ public class DockstoreWebserviceApplication extends Application<DockstoreWebserv
         environment.jersey().register(workflowResource);
         final ServiceResource serviceResource = new ServiceResource(httpClient, hibernate.getSessionFactory(), entryResource, configuration);
         environment.jersey().register(serviceResource);
+        final VersionJsonPrecomputer versionJsonPrecomputer = new VersionJsonPrecomputer(hibernate.getSessionFactory(), configuration.getPrecomputeConfig());
+        environment.lifecycle().manage(versionJsonPrecomputer);
+        workflowResource.setVersionJsonPrecomputer(versionJsonPrecomputer);
+        serviceResource.setVersionJsonPrecomputer(versionJsonPrecomputer);
+        if (configuration.getWebhookConfig().isAsynchronous()) {
+            final GitHubWebhookExecutor gitHubWebhookExecutor = new GitHubWebhookExecutor(hibernate.getSessionFactory(), configuration.getWebhookConfig(), environment.metrics());
+            environment.lifecycle().manage(gitHubWebhookExecutor);
+            workflowResource.setGitHubWebhookExecutor(gitHubWebhookExecutor);
+        }
 
         // Note workflow resource must be passed to the docker repo resource, as the workflow resource refresh must be called for checker workflows
         final DockerRepoResource dockerRepoResource = new DockerRepoResource(httpClient, hibernate.getSessionFactory(), configuration, workflowResource, entryResource);
 
         environment.jersey().register(dockerRepoResource);
         environment.jersey().register(new DockerRepoTagResource(toolDAO, tagDAO, eventDAO, fileDAO, versionDAO));
-        environment.jersey().register(new TokenResource(tokenDAO, userDAO, deletedUsernameDAO, httpClient, cachingAuthenticator, configuration));
+        environment.jersey().register(new TokenResource(tokenDAO, userDAO, deletedUsernameDAO, httpClient, cachingAuthenticator, credentialCache, configuration));
+
+        final UserResource userResource = new UserResource(httpClient, getHibernate().getSessionFactory(), workflowResource, dockerRepoResource, cachingAuthenticator, credentialCache, authorizer, configuration);
+        environment.jersey().register(userResource);
 
-        environment.jersey().register(new UserResource(httpClient, getHibernate().getSessionFactory(), workflowResource, dockerRepoResource, cachingAuthenticator, authorizer, configuration));
+        final BackfillJobExecutor backfillJobExecutor = new BackfillJobExecutor(hibernate.getSessionFactory(), configuration.getBackfillConfig(), environment.metrics());
+        entryResource.registerBackfillTasks(backfillJobExecutor);
+        userResource.registerBackfillTasks(backfillJobExecutor);
+        environment.lifecycle().manage(backfillJobExecutor);
+        environment.jersey().register(new BackfillJobResource(hibernate.getSessionFactory(), backfillJobExecutor));
 
         MetadataResourceHelper.init(configuration);
         ORCIDHelper.init(configuration);
         ZenodoHelper.init(configuration, httpClient, getHibernate().getSessionFactory());
+        ZipGitHubFileTree.init(configuration.getZipFileTreeConfig(), environment.metrics());
+        CommitFileCache.init(configuration.getFileTreeCacheConfig());
+        UrlVerdictCache.init(configuration.getUrlCheckConfig(), getHibernate().getSessionFactory(), environment.metrics());
+        LambdaUrlChecker.init(configuration.getUrlCheckConfig(), environment.metrics());
+        ImageResolver.init(configuration.getImageResolverConfig(), okHttpClient, environment.metrics());
         environment.jersey().register(new UserResourceDockerRegistries(getHibernate().getSessionFactory()));
         final MetadataResource metadataResource = new MetadataResource(getHibernate().getSessionFactory(), configuration);
         environment.jersey().register(metadataResource);
@@ -479,7 +555,9 @@ public class DockstoreWebserviceApplication extends Application<DockstoreWebserv
         environment.jersey().register(new NotificationResource(getHibernate().getSessionFactory()));
         environment.jersey().register(new CollectionResource(getHibernate().getSessionFactory()));
         environment.jersey().register(new EventResource(eventDAO, userDAO));
-        environment.jersey().register(new ToolTesterResource(configuration));
+        final S3ClientManager s3ClientManager = new S3ClientManager(configuration, environment.metrics());
+        environment.lifecycle().manage(s3ClientManager);
+        environment.jersey().register(new ToolTesterResource(s3ClientManager));
         environment.jersey().register(new CloudInstanceResource(getHibernate().getSessionFactory()));
         environment.jersey().register(new CategoryResource(getHibernate().getSessionFactory()));
 
@@ -506,6 +584,7 @@ public class DockstoreWebserviceApplication extends Application<DockstoreWebserv
         ToolsApiServiceImpl.setAuthorizer(authorizer);
 
         ToolsApiExtendedServiceImpl.setStateManager(publicStateManager);
+        ToolsApiExtendedServiceImpl.setSessionFactory(hibernate.getSessionFactory());
         ToolsApiExtendedServiceImpl.setToolDAO(toolDAO);
         ToolsApiExtendedServiceImpl.setWorkflowDAO(workflowDAO);
         ToolsApiExtendedServiceImpl.setAppToolDAO(appToolDAO);
@@ -513,7 +592,11 @@ public class DockstoreWebserviceApplication extends Application<DockstoreWebserv
         ToolsApiExtendedServiceImpl.setBioWorkflowDAO(bioWorkflowDAO);
         ToolsApiExtendedServiceImpl.setServiceDAO(serviceDAO);
         ToolsApiExtendedServiceImpl.setWorkflowVersionDAO(workflowVersionDAO);
+        ToolsApiExtendedServiceImpl.setExecutionS3KeyDAO(new ExecutionS3KeyDAO(hibernate.getSessionFactory()));
+        ToolsApiExtendedServiceImpl.setExecutionMetricsAggregator(new ExecutionMetricsAggregator(new ExecutionMetricsSketchDAO(hibernate.getSessionFactory())));
         ToolsApiExtendedServiceImpl.setConfig(configuration);
+        ToolsApiExtendedServiceImpl.setS3ClientManager(s3ClientManager);
+        ToolsApiExtendedServiceImpl.registerBackfillTasks(backfillJobExecutor);
 
         DOIGeneratorFactory.setConfig(configuration);
 
@@ -58,6 +58,36 @@ public class DockstoreWebserviceConfiguration extends Configuration {
     @Valid
     private DiagnosticsConfig diagnosticsConfig = new DiagnosticsConfig();
 
+    @Valid
+    private PrecomputeConfig precomputeConfig = new PrecomputeConfig();
+
+    @Valid
+    private ZipFileTreeConfig zipFileTreeConfig = new ZipFileTreeConfig();
+
+    @Valid
+    private FileTreeCacheConfig fileTreeCacheConfig = new FileTreeCacheConfig();
+
+    @Valid
+    private WebhookConfig webhookConfig = new WebhookConfig();
+
+    @Valid
+    private CredentialCacheConfig credentialCacheConfig = new CredentialCacheConfig();
+
+    @Valid
+    private UrlCheckConfig urlCheckConfig = new UrlCheckConfig();
+
+    @Valid
+    private BackfillConfig backfillConfig = new BackfillConfig();
+
+    @Valid
+    private EntrySearchConfig entrySearchConfig = new EntrySearchConfig();
+
+    @Valid
+    private ImageResolverConfig imageResolverConfig = new ImageResolverConfig();
+
+    @Valid
+    private S3ClientConfig s3ClientConfig = new S3ClientConfig();
+
     @NotEmpty
     private String template;
 
@@ -574,6 +604,96 @@ public class DockstoreWebserviceConfiguration extends Configuration {
         this.diagnosticsConfig = diagnosticsConfig;
     }
 
+    @JsonProperty
+    public PrecomputeConfig getPrecomputeConfig() {
+        return precomputeConfig;
+    }
+
+    public void setPrecomputeConfig(PrecomputeConfig precomputeConfig) {
+        this.precomputeConfig = precomputeConfig;
+    }
+
+    @JsonProperty
+    public ZipFileTreeConfig getZipFileTreeConfig() {
+        return zipFileTreeConfig;
+    }
+
+    public void setZipFileTreeConfig(ZipFileTreeConfig zipFileTreeConfig) {
+        this.zipFileTreeConfig = zipFileTreeConfig;
+    }
+
+    @JsonProperty
+    public FileTreeCacheConfig getFileTreeCacheConfig() {
+        return fileTreeCacheConfig;
+    }
+
+    public void setFileTreeCacheConfig(FileTreeCacheConfig fileTreeCacheConfig) {
+        this.fileTreeCacheConfig = fileTreeCacheConfig;
+    }
+
+    @JsonProperty
+    public WebhookConfig getWebhookConfig() {
+        return webhookConfig;
+    }
+
+    public void setWebhookConfig(WebhookConfig webhookConfig) {
+        this.webhookConfig = webhookConfig;
+    }
+
+    @JsonProperty
+    public CredentialCacheConfig getCredentialCacheConfig() {
+        return credentialCacheConfig;
+    }
+
+    public void setCredentialCacheConfig(CredentialCacheConfig credentialCacheConfig) {
+        this.credentialCacheConfig = credentialCacheConfig;
+    }
+
+    @JsonProperty
+    public UrlCheckConfig getUrlCheckConfig() {
+        return urlCheckConfig;
+    }
+
+    public void setUrlCheckConfig(UrlCheckConfig urlCheckConfig) {
+        this.urlCheckConfig = urlCheckConfig;
+    }
+
+    @JsonProperty
+    public BackfillConfig getBackfillConfig() {
+        return backfillConfig;
+    }
+
+    public void setBackfillConfig(BackfillConfig backfillConfig) {
+        this.backfillConfig = backfillConfig;
+    }
+
+    @JsonProperty
+    public EntrySearchConfig getEntrySearchConfig() {
+        return entrySearchConfig;
+    }
+
+    public void setEntrySearchConfig(EntrySearchConfig entrySearchConfig) {
+        this.entrySearchConfig = entrySearchConfig;
+    }
+
+    @JsonProperty
+    public ImageResolverConfig getImageResolverConfig() {
+        return imageResolverConfig;
+    }
+
+    public void setImageResolverConfig(ImageResolverConfig imageResolverConfig) {
+        this.imageResolverConfig = imageResolverConfig;
+    }
+
+    @JsonProperty
+    public S3ClientConfig getS3ClientConfig() {
+        return s3ClientConfig;
+    }
+
+    public void setS3ClientConfig(S3ClientConfig s3ClientConfig) {
+        this.s3ClientConfig = s3ClientConfig;
+    }
+
     @JsonProperty
     public UIConfig getUiConfig() {
         return uiConfig;
@@ -688,12 +808,30 @@ public class DockstoreWebserviceConfiguration extends Configuration {
     }
 
     public static class ElasticSearchConfig {
+        private static final int DEFAULT_REINDEX_WORKERS = 4;
+        private static final int DEFAULT_REINDEX_BATCH_SIZE = 100;
+        private static final int DEFAULT_REINDEX_QUEUE_CAPACITY = 16;
+        private static final int DEFAULT_BULK_CONCURRENT_REQUESTS = 2;
+        private static final int DEFAULT_UPDATE_QUEUE_FLUSH_SIZE = 100;
+        private static final long DEFAULT_UPDATE_QUEUE_FLUSH_INTERVAL_MILLIS = 500L;
+        private static final int DEFAULT_UPDATE_QUEUE_MAX_RETRIES = 5;
+        private static final long DEFAULT_UPDATE_QUEUE_INITIAL_BACKOFF_MILLIS = 1000L;
+
         private String hostname;
         private int port;
         private String protocol;
         private String user;
         private String password;
         private Integer maxConcurrentSessions;
+        private int reindexWorkers = DEFAULT_REINDEX_WORKERS;
+        private int reindexBatchSize = DEFAULT_REINDEX_BATCH_SIZE;
+        private int reindexQueueCapacity = DEFAULT_REINDEX_QUEUE_CAPACITY;
+        private int bulkConcurrentRequests = DEFAULT_BULK_CONCURRENT_REQUESTS;
+        private boolean updateQueueEnabled = false;
+        private int updateQueueFlushSize = DEFAULT_UPDATE_QUEUE_FLUSH_SIZE;
+        private long updateQueueFlushIntervalMillis = DEFAULT_UPDATE_QUEUE_FLUSH_INTERVAL_MILLIS;
+        private int updateQueueMaxRetries = DEFAULT_UPDATE_QUEUE_MAX_RETRIES;
+        private long updateQueueInitialBackoffMillis = DEFAULT_UPDATE_QUEUE_INITIAL_BACKOFF_MILLIS;
 
         public String getProtocol() {
             return protocol;
@@ -741,10 +879,114 @@ public class DockstoreWebserviceConfiguration extends Configuration {
         public Integer getMaxConcurrentSessions() {
             return this.maxConcurrentSessions;
         }
+
+        /**
+         * @return the number of threads that load and serialize entries during a full reindex
+         */
+        public int getReindexWorkers() {
+            return reindexWorkers;
+        }
+
+        public void setReindexWorkers(int reindexWorkers) {
+            this.reindexWorkers = reindexWorkers;
+        }
+
+        /**
+         * @return the number of entry ids handed to a worker at a time during a full reindex
+         */
+        public int getReindexBatchSize() {
+            return reindexBatchSize;
+        }
+
+        public void setReindexBatchSize(int reindexBatchSize) {
+            this.reindexBatchSize = reindexBatchSize;
+        }
+
+        /**
+         * @return the number of batches that may be waiting for a worker before the producer blocks
+         */
+        public int getReindexQueueCapacity() {
+            return reindexQueueCapacity;
+        }
+
+        public void setReindexQueueCapacity(int reindexQueueCapacity) {
+            this.reindexQueueCapacity = reindexQueueCapacity;
+        }
+
+        /**
+         * @return the number of bulk requests each index's bulk processor may have in flight at once
+         */
+        public int getBulkConcurrentRequests() {
+            return bulkConcurrentRequests;
+        }
+
+        public void setBulkConcurrentRequests(int bulkConcurrentRequests) {
+            this.bulkConcurrentRequests = bulkConcurrentRequests;
+        }
+
+        /**
+         * @return whether individual entry updates are queued and written to Elasticsearch in the background, rather than in the request that made them.
+         *     Off by default, because search results then lag behind the requests that changed them, so deployments opt in.
+         */
+        public boolean isUpdateQueueEnabled() {
+            return updateQueueEnabled;
+        }
+
+        public void setUpdateQueueEnabled(boolean updateQueueEnabled) {
+            this.updateQueueEnabled = updateQueueEnabled;
+        }
+
+        /**
+         * @return the number of queued documents that triggers a flush before the flush interval has elapsed
+         */
+        public int getUpdateQueueFlushSize() {
+            return updateQueueFlushSize;
+        }
+
+        public void setUpdateQueueFlushSize(int updateQueueFlushSize) {
+            this.updateQueueFlushSize = updateQueueFlushSize;
+        }
+
+        /**
+         * @return how often the update queue is flushed, in milliseconds
+         */
+        public long getUpdateQueueFlushIntervalMillis() {
+            return updateQueueFlushIntervalMillis;
+        }
+
+        public void setUpdateQueueFlushIntervalMillis(long updateQueueFlushIntervalMillis) {
+            this.updateQueueFlushIntervalMillis = updateQueueFlushIntervalMillis;
+        }
+
+        /**
+         * @return how many times a queued document is retried before it is dropped
+         */
+        public int getUpdateQueueMaxRetries() {
+            return updateQueueMaxRetries;
+        }
+
+        public void setUpdateQueueMaxRetries(int updateQueueMaxRetries) {
+            this.updateQueueMaxRetries = updateQueueMaxRetries;
+        }
+
+        /**
+         * @return how long to wait before the first retry of a queued document, in milliseconds, doubled for each subsequent retry
+         */
+        public long getUpdateQueueInitialBackoffMillis() {
+            return updateQueueInitialBackoffMillis;
+        }
+
+        public void setUpdateQueueInitialBackoffMillis(long updateQueueInitialBackoffMillis) {
+            this.updateQueueInitialBackoffMillis = updateQueueInitialBackoffMillis;
+        }
     }
 
     public static class SamConfiguration {
+        private static final long DEFAULT_DECISION_CACHE_SECONDS = 30;
+        private static final long DEFAULT_MAX_CACHED_DECISIONS = 10000;
         private String basepath;
+        private long decisionCacheSeconds = DEFAULT_DECISION_CACHE_SECONDS;
+        private long maxCachedDecisions = DEFAULT_MAX_CACHED_DECISIONS;
 
         public String getBasepath() {
             return basepath;
@@ -753,6 +995,28 @@ public class DockstoreWebserviceConfiguration extends Configuration {
         public void setBasepath(String basepath) {
             this.basepath = basepath;
         }
+
+        /**
+         * @return how long an answer from SAM about whether a user can perform an action on a workflow is reused
+         */
+        public long getDecisionCacheSeconds() {
+            return decisionCacheSeconds;
+        }
+
+        public void setDecisionCacheSeconds(long decisionCacheSeconds) {
+            this.decisionCacheSeconds = decisionCacheSeconds;
+        }
+
+        /**
+         * @return the number of answers from SAM that are remembered
+         */
+        public long getMaxCachedDecisions() {
+            return maxCachedDecisions;
+        }
+
+        public void setMaxCachedDecisions(long maxCachedDecisions) {
+            this.maxCachedDecisions = maxCachedDecisions;
+        }
     }
 
     public static class LimitConfig {
@@ -781,6 +1045,10 @@ public class DockstoreWebserviceConfiguration extends Configuration {
 
         private String s3EndpointOverride;
 
+        private boolean searchUnindexedExecutions = true;
+
+        private boolean aggregateOnSubmit = false;
+
         public String getS3BucketName() {
             return s3BucketName;
         }
@@ -796,6 +1064,31 @@ public class DockstoreWebserviceConfiguration extends Configuration {
         public void setS3EndpointOverride(String s3EndpointOverride) {
             this.s3EndpointOverride = s3EndpointOverride;
         }
+
+        /**
+         * @return whether an execution that is missing from the execution_s3_key index is searched for by reading every S3 file of its version.
+         * Turn this off once the EXECUTION_INDEX backfill job has completed.
+         */
+        public boolean isSearchUnindexedExecutions() {
+            return searchUnindexedExecutions;
+        }
+
+        public void setSearchUnindexedExecutions(boolean searchUnindexedExecutions) {
+            this.searchUnindexedExecutions = searchUnindexedExecutions;
+        }
+
+        /**
+         * @return whether submitted executions are folded into the execution_metrics_sketch of their version, so that its aggregated metrics
+         * are updated without waiting for the metrics aggregator. Versions with earlier submissions are updated once the EXECUTION_METRICS
+         * backfill job has rebuilt their sketches.
+         */
+        public boolean isAggregateOnSubmit() {
+            return aggregateOnSubmit;
+        }
+
+        public void setAggregateOnSubmit(boolean aggregateOnSubmit) {
+            this.aggregateOnSubmit = aggregateOnSubmit;
+        }
     }
 
     public static class DiagnosticsConfig {
@@ -833,6 +1126,566 @@ public class DockstoreWebserviceConfiguration extends Configuration {
         }
     }
 
+    /**
+     * Configures the background computation of workflow version DAGs and tool tables after ingest
+     */
+    public static class PrecomputeConfig {
+        private static final int DEFAULT_WORKERS = 2;
+        private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+        private int workers = DEFAULT_WORKERS;
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+        /**
+         * @return the number of versions that are computed at the same time
+         */
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        /**
+         * @return the number of versions that can wait to be computed, versions beyond that are computed when they are first requested
+         */
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * Configures how GitHub repository zipballs are held while their file trees are read
+     */
+    public static class ZipFileTreeConfig {
+        private static final long DEFAULT_MAX_TOTAL_BYTES = 1024L * 1024L * 1024L;
+        private static final long DEFAULT_MAX_WAIT_SECONDS = 60L;
+        private static final long DEFAULT_MAX_ZIP_BYTES = 256L * 1024L * 1024L;
+        private boolean diskBacked = true;
+        private String tempDirectory;
+        private long maxTotalBytes = DEFAULT_MAX_TOTAL_BYTES;
+        private long maxWaitSeconds = DEFAULT_MAX_WAIT_SECONDS;
+        private long maxZipBytes = DEFAULT_MAX_ZIP_BYTES;
+
+        /**
+         * @return true if zipballs are streamed to temporary files, false if they are held on the heap
+         */
+        public boolean isDiskBacked() {
+            return diskBacked;
+        }
+
+        public void setDiskBacked(boolean diskBacked) {
+            this.diskBacked = diskBacked;
+        }
+
+        /**
+         * @return the directory temporary zipball files are written to, or null for the default temporary directory
+         */
+        public String getTempDirectory() {
+            return tempDirectory;
+        }
+
+        public void setTempDirectory(String tempDirectory) {
+            this.tempDirectory = tempDirectory;
+        }
+
+        /**
+         * @return the number of zipball bytes that may be held at once, across all open file trees
+         */
+        public long getMaxTotalBytes() {
+            return maxTotalBytes;
+        }
+
+        public void setMaxTotalBytes(long maxTotalBytes) {
+            this.maxTotalBytes = maxTotalBytes;
+        }
+
+        /**
+         * @return how long a download waits for other file trees to release bytes before it fails
+         */
+        public long getMaxWaitSeconds() {
+            return maxWaitSeconds;
+        }
+
+        public void setMaxWaitSeconds(long maxWaitSeconds) {
+            this.maxWaitSeconds = maxWaitSeconds;
+        }
+
+        /**
+         * @return the number of bytes reserved for a zipball before it is downloaded, which bounds how many downloads run at once.
+         * A larger zipball can still be read if the rest of the budget is free when it outgrows its reservation.
+         */
+        public long getMaxZipBytes() {
+            return maxZipBytes;
+        }
+
+        public void setMaxZipBytes(long maxZipBytes) {
+            this.maxZipBytes = maxZipBytes;
+        }
+    }
+
+    /**
+     * Configures the process-wide cache of GitHub file content, keyed by commit SHA
+     */
+    public static class FileTreeCacheConfig {
+        private static final long DEFAULT_MAX_BYTES = 256L * 1024L * 1024L;
+        private static final long DEFAULT_MAX_SPILL_BYTES = 1024L * 1024L * 1024L;
+        private long maxBytes = DEFAULT_MAX_BYTES;
+        private String spillDirectory;
+        private long maxSpillBytes = DEFAULT_MAX_SPILL_BYTES;
+
+        /**
+         * @return the number of content characters held in memory
+         */
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        /**
+         * @return the directory that entries evicted from memory are written to, or null to discard them
+         */
+        public String getSpillDirectory() {
+            return spillDirectory;
+        }
+
+        public void setSpillDirectory(String spillDirectory) {
+            this.spillDirectory = spillDirectory;
+        }
+
+        /**
+         * @return the number of content characters that may be written to the spill directory
+         */
+        public long getMaxSpillBytes() {
+            return maxSpillBytes;
+        }
+
+        public void setMaxSpillBytes(long maxSpillBytes) {
+            this.maxSpillBytes = maxSpillBytes;
+        }
+    }
+
+    /**
+     * Configures how GitHub webhook deliveries are processed
+     */
+    public static class WebhookConfig {
+        private static final int DEFAULT_WORKERS = 4;
+        private static final int DEFAULT_MAX_QUEUED_DELIVERIES = 1000;
+        private boolean asynchronous = false;
+        private int workers = DEFAULT_WORKERS;
+        private int maxQueuedDeliveries = DEFAULT_MAX_QUEUED_DELIVERIES;
+
+        /**
+         * @return true if push deliveries are accepted right away and processed in the background, false if they are processed on the request thread
+         */
+        public boolean isAsynchronous() {
+            return asynchronous;
+        }
+
+        public void setAsynchronous(boolean asynchronous) {
+            this.asynchronous = asynchronous;
+        }
+
+        /**
+         * @return the number of deliveries that are processed at the same time
+         */
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        /**
+         * @return the number of deliveries that can wait to be processed, further deliveries are refused so that they are retried later
+         */
+        public int getMaxQueuedDeliveries() {
+            return maxQueuedDeliveries;
+        }
+
+        public void setMaxQueuedDeliveries(int maxQueuedDeliveries) {
+            this.maxQueuedDeliveries = maxQueuedDeliveries;
+        }
+    }
+
+    /**
+     * Configures the caches that sit in front of the token table and Google when authenticating a request
+     */
+    public static class CredentialCacheConfig {
+        private static final long DEFAULT_MAX_REJECTED_CREDENTIALS = 10000;
+        private static final long DEFAULT_REJECTED_CREDENTIAL_SECONDS = 60;
+        private static final long DEFAULT_MAX_GOOGLE_USERINFO = 10000;
+        private static final long DEFAULT_GOOGLE_USERINFO_SECONDS = 60;
+        private long maxRejectedCredentials = DEFAULT_MAX_REJECTED_CREDENTIALS;
+        private long rejectedCredentialSeconds = DEFAULT_REJECTED_CREDENTIAL_SECONDS;
+        private long maxGoogleUserinfo = DEFAULT_MAX_GOOGLE_USERINFO;
+        private long googleUserinfoSeconds = DEFAULT_GOOGLE_USERINFO_SECONDS;
+
+        /**
+         * @return the number of rejected credentials that are remembered
+         */
+        public long getMaxRejectedCredentials() {
+            return maxRejectedCredentials;
+        }
+
+        public void setMaxRejectedCredentials(long maxRejectedCredentials) {
+            this.maxRejectedCredentials = maxRejectedCredentials;
+        }
+
+        /**
+         * @return how long a rejected credential is refused without looking it up again
+         */
+        public long getRejectedCredentialSeconds() {
+            return rejectedCredentialSeconds;
+        }
+
+        public void setRejectedCredentialSeconds(long rejectedCredentialSeconds) {
+            this.rejectedCredentialSeconds = rejectedCredentialSeconds;
+        }
+
+        /**
+         * @return the number of Google userinfo responses that are remembered
+         */
+        public long getMaxGoogleUserinfo() {
+            return maxGoogleUserinfo;
+        }
+
+        public void setMaxGoogleUserinfo(long maxGoogleUserinfo) {
+            this.maxGoogleUserinfo = maxGoogleUserinfo;
+        }
+
+        /**
+         * @return how long the Google userinfo for an accepted Google token is reused
+         */
+        public long getGoogleUserinfoSeconds() {
+            return googleUserinfoSeconds;
+        }
+
+        public void setGoogleUserinfoSeconds(long googleUserinfoSeconds) {
+            this.googleUserinfoSeconds = googleUserinfoSeconds;
+        }
+    }
+
+    /**
+     * Configures how URLs in test parameter files are checked for open data, see checkUrlLambdaUrl
+     */
+    public static class UrlCheckConfig {
+        private static final long DEFAULT_VERDICT_SECONDS = 24L * 60L * 60L;
+        private static final long DEFAULT_MAX_CACHED_VERDICTS = 10000;
+        private static final int DEFAULT_THREADS = 8;
+        private static final int DEFAULT_MAX_REQUESTS_PER_HOST = 4;
+        private static final long DEFAULT_REQUEST_TIMEOUT_SECONDS = 60;
+        private long verdictSeconds = DEFAULT_VERDICT_SECONDS;
+        private long maxCachedVerdicts = DEFAULT_MAX_CACHED_VERDICTS;
+        private int threads = DEFAULT_THREADS;
+        private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+        private long requestTimeoutSeconds = DEFAULT_REQUEST_TIMEOUT_SECONDS;
+
+        /**
+         * @return how long a URL verdict is reused before the URL is checked again
+         */
+        public long getVerdictSeconds() {
+            return verdictSeconds;
+        }
+
+        public void setVerdictSeconds(long verdictSeconds) {
+            this.verdictSeconds = verdictSeconds;
+        }
+
+        /**
+         * @return the number of URL verdicts held in memory in front of the url_verdict table
+         */
+        public long getMaxCachedVerdicts() {
+            return maxCachedVerdicts;
+        }
+
+        public void setMaxCachedVerdicts(long maxCachedVerdicts) {
+            this.maxCachedVerdicts = maxCachedVerdicts;
+        }
+
+        /**
+         * @return the number of threads that the shared HTTP client uses to call the lambda
+         */
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        /**
+         * @return the number of URLs of a single host that may be checked at the same time
+         */
+        public int getMaxRequestsPerHost() {
+            return maxRequestsPerHost;
+        }
+
+        public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+            this.maxRequestsPerHost = maxRequestsPerHost;
+        }
+
+        /**
+         * @return how long to wait for the lambda to check a URL
+         */
+        public long getRequestTimeoutSeconds() {
+            return requestTimeoutSeconds;
+        }
+
+        public void setRequestTimeoutSeconds(long requestTimeoutSeconds) {
+            this.requestTimeoutSeconds = requestTimeoutSeconds;
+        }
+    }
+
+    /**
+     * Configures the background jobs that backfill all entries or users, see BackfillJobExecutor
+     */
+    public static class BackfillConfig {
+        private static final int DEFAULT_WORKERS = 2;
+        private static final long DEFAULT_PARTITION_SIZE = 100;
+        private static final long DEFAULT_CLAIM_TIMEOUT_MINUTES = 60;
+        private int workers = DEFAULT_WORKERS;
+        private long partitionSize = DEFAULT_PARTITION_SIZE;
+        private long claimTimeoutMinutes = DEFAULT_CLAIM_TIMEOUT_MINUTES;
+
+        /**
+         * @return the number of partitions processed at the same time
+         */
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        /**
+         * @return the width of the id range that is processed, and checkpointed, in one transaction
+         */
+        public long getPartitionSize() {
+            return partitionSize;
+        }
+
+        public void setPartitionSize(long partitionSize) {
+            this.partitionSize = partitionSize;
+        }
+
+        /**
+         * @return how long a partition may run before it is assumed to be left over from a stopped webservice instance, and is claimed again
+         */
+        public long getClaimTimeoutMinutes() {
+            return claimTimeoutMinutes;
+        }
+
+        public void setClaimTimeoutMinutes(long claimTimeoutMinutes) {
+            this.claimTimeoutMinutes = claimTimeoutMinutes;
+        }
+    }
+
+    /**
+     * Configures finding published entries, by filter in EntryDAO.estimateAllPublished and by path in EntryPathListener
+     */
+    public static class EntrySearchConfig {
+        private static final long DEFAULT_ESTIMATED_COUNT_THRESHOLD = 10000;
+        private static final long DEFAULT_MAX_CACHED_PATHS = 100000;
+        private long estimatedCountThreshold = DEFAULT_ESTIMATED_COUNT_THRESHOLD;
+        private long maxCachedPaths = DEFAULT_MAX_CACHED_PATHS;
+
+        /**
+         * @return the number of matching entries the planner must expect before the total count is estimated rather than counted, or 0 to always count
+         */
+        public long getEstimatedCountThreshold() {
+            return estimatedCountThreshold;
+        }
+
+        public void setEstimatedCountThreshold(long estimatedCountThreshold) {
+            this.estimatedCountThreshold = estimatedCountThreshold;
+        }
+
+        /**
+         * @return the number of entry paths whose published entry is remembered
+         */
+        public long getMaxCachedPaths() {
+            return maxCachedPaths;
+        }
+
+        public void setMaxCachedPaths(long maxCachedPaths) {
+            this.maxCachedPaths = maxCachedPaths;
+        }
+    }
+
+    /**
+     * Configures how the images of a tool table are looked up in their registries, see ImageResolver
+     */
+    public static class ImageResolverConfig {
+        private static final long DEFAULT_TAG_SECONDS = 60L * 60L;
+        private static final long DEFAULT_NOT_FOUND_SECONDS = 5L * 60L;
+        private static final long DEFAULT_MAX_CACHED_LOOKUPS = 10000;
+        private static final int DEFAULT_MAX_LOOKUPS_PER_REGISTRY = 4;
+        private static final int DEFAULT_MAX_RATE_LIMIT_RETRIES = 3;
+        private static final long DEFAULT_LOOKUP_TIMEOUT_SECONDS = 5L * 60L;
+        private long tagSeconds = DEFAULT_TAG_SECONDS;
+        private long notFoundSeconds = DEFAULT_NOT_FOUND_SECONDS;
+        private long maxCachedLookups = DEFAULT_MAX_CACHED_LOOKUPS;
+        private int maxLookupsPerRegistry = DEFAULT_MAX_LOOKUPS_PER_REGISTRY;
+        private int maxRateLimitRetries = DEFAULT_MAX_RATE_LIMIT_RETRIES;
+        private long lookupTimeoutSeconds = DEFAULT_LOOKUP_TIMEOUT_SECONDS;
+
+        /**
+         * @return how long the images of a tag are reused before the tag is looked up again. Lookups by digest are reused until evicted.
+         */
+        public long getTagSeconds() {
+            return tagSeconds;
+        }
+
+        public void setTagSeconds(long tagSeconds) {
+            this.tagSeconds = tagSeconds;
+        }
+
+        /**
+         * @return how long a lookup that found no images is reused before the image is looked up again
+         */
+        public long getNotFoundSeconds() {
+            return notFoundSeconds;
+        }
+
+        public void setNotFoundSeconds(long notFoundSeconds) {
+            this.notFoundSeconds = notFoundSeconds;
+        }
+
+        /**
+         * @return the number of lookups whose images are held in memory
+         */
+        public long getMaxCachedLookups() {
+            return maxCachedLookups;
+        }
+
+        public void setMaxCachedLookups(long maxCachedLookups) {
+            this.maxCachedLookups = maxCachedLookups;
+        }
+
+        /**
+         * @return the number of images that may be looked up in the same registry at the same time
+         */
+        public int getMaxLookupsPerRegistry() {
+            return maxLookupsPerRegistry;
+        }
+
+        public void setMaxLookupsPerRegistry(int maxLookupsPerRegistry) {
+            this.maxLookupsPerRegistry = maxLookupsPerRegistry;
+        }
+
+        /**
+         * @return the number of times a registry request is retried after the registry answered that it is rate limited
+         */
+        public int getMaxRateLimitRetries() {
+            return maxRateLimitRetries;
+        }
+
+        public void setMaxRateLimitRetries(int maxRateLimitRetries) {
+            this.maxRateLimitRetries = maxRateLimitRetries;
+        }
+
+        /**
+         * @return how long to wait for the images of a tool table to be looked up
+         */
+        public long getLookupTimeoutSeconds() {
+            return lookupTimeoutSeconds;
+        }
+
+        public void setLookupTimeoutSeconds(long lookupTimeoutSeconds) {
+            this.lookupTimeoutSeconds = lookupTimeoutSeconds;
+        }
+    }
+
+    public static class S3ClientConfig {
+        private static final int DEFAULT_MAX_CONNECTIONS = 200;
+        private static final long DEFAULT_CONNECTION_ACQUISITION_TIMEOUT_SECONDS = 10L;
+        private static final long DEFAULT_CONNECTION_TIMEOUT_SECONDS = 2L;
+        private static final long DEFAULT_SOCKET_TIMEOUT_SECONDS = 30L;
+        private static final int DEFAULT_MAX_ASYNC_CONCURRENCY = 200;
+        private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+        private long connectionAcquisitionTimeoutSeconds = DEFAULT_CONNECTION_ACQUISITION_TIMEOUT_SECONDS;
+        private long connectionTimeoutSeconds = DEFAULT_CONNECTION_TIMEOUT_SECONDS;
+        private long socketTimeoutSeconds = DEFAULT_SOCKET_TIMEOUT_SECONDS;
+        private boolean asyncUploads = false;
+        private int maxAsyncConcurrency = DEFAULT_MAX_ASYNC_CONCURRENCY;
+
+        /**
+         * @return the number of pooled connections each S3 client may hold open
+         */
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        /**
+         * @return how long a request waits for a pooled connection when all of them are in use
+         */
+        public long getConnectionAcquisitionTimeoutSeconds() {
+            return connectionAcquisitionTimeoutSeconds;
+        }
+
+        public void setConnectionAcquisitionTimeoutSeconds(long connectionAcquisitionTimeoutSeconds) {
+            this.connectionAcquisitionTimeoutSeconds = connectionAcquisitionTimeoutSeconds;
+        }
+
+        /**
+         * @return how long to wait for a new connection to S3 to be established
+         */
+        public long getConnectionTimeoutSeconds() {
+            return connectionTimeoutSeconds;
+        }
+
+        public void setConnectionTimeoutSeconds(long connectionTimeoutSeconds) {
+            this.connectionTimeoutSeconds = connectionTimeoutSeconds;
+        }
+
+        /**
+         * @return how long to wait for data on an established connection
+         */
+        public long getSocketTimeoutSeconds() {
+            return socketTimeoutSeconds;
+        }
+
+        public void setSocketTimeoutSeconds(long socketTimeoutSeconds) {
+            this.socketTimeoutSeconds = socketTimeoutSeconds;
+        }
+
+        /**
+         * @return whether execution metrics are uploaded with an asynchronous client on the AWS CRT HTTP client, which uploads large files as parallel multipart uploads
+         */
+        public boolean isAsyncUploads() {
+            return asyncUploads;
+        }
+
+        public void setAsyncUploads(boolean asyncUploads) {
+            this.asyncUploads = asyncUploads;
+        }
+
+        /**
+         * @return the number of requests the asynchronous client may have in flight
+         */
+        public int getMaxAsyncConcurrency() {
+            return maxAsyncConcurrency;
+        }
+
+        public void setMaxAsyncConcurrency(int maxAsyncConcurrency) {
+            this.maxAsyncConcurrency = maxAsyncConcurrency;
+        }
+    }
+
     /**
      * A subset of properties returned to the UI. Only a subset because some properties that will
      * be used by the UI are also used by the web service and predate the existences of this class.
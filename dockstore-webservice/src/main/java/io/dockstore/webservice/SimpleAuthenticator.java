@@ -16,14 +16,18 @@
 
 package io.dockstore.webservice;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.api.services.oauth2.model.Userinfoplus;
 import io.dockstore.webservice.core.Token;
 import io.dockstore.webservice.core.User;
+import io.dockstore.webservice.helpers.CredentialCache;
 import io.dockstore.webservice.helpers.GoogleHelper;
 import io.dockstore.webservice.jdbi.TokenDAO;
 import io.dockstore.webservice.jdbi.UserDAO;
 import io.dropwizard.auth.Authenticator;
 import io.dropwizard.hibernate.UnitOfWork;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Optional;
 import org.hibernate.Hibernate;
 import org.slf4j.Logger;
@@ -37,17 +41,25 @@ public class SimpleAuthenticator implements Authenticator<String, User> {
 
     private final TokenDAO dao;
     private final UserDAO userDAO;
+    private final CredentialCache credentialCache;
 
     SimpleAuthenticator(TokenDAO dao, UserDAO userDAO) {
+        this(dao, userDAO, new CredentialCache(new DockstoreWebserviceConfiguration.CredentialCacheConfig(), new MetricRegistry()));
+    }
+
+    SimpleAuthenticator(TokenDAO dao, UserDAO userDAO, CredentialCache credentialCache) {
         this.dao = dao;
         this.userDAO = userDAO;
+        this.credentialCache = credentialCache;
     }
 
     /**
      * Authenticates the credentials.
      * <p>
      * Valid credentials can either be a Dockstore token or a Google token, if the Google token
-     * is issued against a whitelisted Google client id.
+     * is issued against a whitelisted Google client id. Credentials that were rejected recently are
+     * refused without looking them up again. Credentials that could not be checked because Google could not
+     * be reached are refused, but not remembered as rejected, so that they are checked again on the next request.
      *
      * @param credentials
      * @return an optional user
@@ -56,7 +68,24 @@ public class SimpleAuthenticator implements Authenticator<String, User> {
     @Override
     public Optional<User> authenticate(String credentials) {
         LOG.debug("SimpleAuthenticator called with {}", credentials);
-        final Token token = dao.findByContent(credentials);
+        if (credentialCache.isRejected(credentials)) {
+            return Optional.empty();
+        }
+        final Optional<User> user;
+        try {
+            user = authenticateUncached(credentials);
+        } catch (UncheckedIOException e) {
+            LOG.warn("Could not check credentials with Google", e);
+            return Optional.empty();
+        }
+        if (user.isEmpty()) {
+            credentialCache.reject(credentials);
+        }
+        return user;
+    }
+
+    private Optional<User> authenticateUncached(String credentials) {
+        final Token token = credentialCache.timeTokenLookup(() -> dao.findByContent(credentials));
         if (token != null) { // It's a valid Dockstore token
             User byId = userDAO.findById(token.getUserId());
             if (byId.isBanned()) {
@@ -65,7 +94,7 @@ public class SimpleAuthenticator implements Authenticator<String, User> {
             initializeUserProfiles(byId);
             return Optional.of(byId);
         } else { // It might be a Google token
-            return userinfoPlusFromToken(credentials)
+            return credentialCache.getGoogleUserinfo(credentials, this::userinfoPlusFromToken)
                     .map(userinfoPlus -> {
                         final String email = userinfoPlus.getEmail();
                         User user = userDAO.findByGoogleEmail(email);
@@ -85,8 +114,16 @@ public class SimpleAuthenticator implements Authenticator<String, User> {
         Hibernate.initialize(user.getUserProfiles());
     }
 
+    /**
+     * @return the userinfo, or empty if Google rejected the token
+     * @throws UncheckedIOException if Google could not be asked
+     */
     Optional<Userinfoplus> userinfoPlusFromToken(String credentials) {
-        return GoogleHelper.userinfoplusFromToken(credentials);
+        try {
+            return GoogleHelper.userinfoplusFromTokenIfAccepted(credentials);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     User createUser(Userinfoplus userinfoPlus) {
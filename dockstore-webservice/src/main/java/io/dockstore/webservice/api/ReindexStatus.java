@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.sql.Timestamp;
+
+/**
+ * A snapshot of the progress of the most recent full Elasticsearch reindex.
+ */
+@Schema(description = "Progress of the most recent full Elasticsearch reindex")
+public class ReindexStatus {
+
+    @Schema(description = "The state of the reindex")
+    private State state;
+
+    @Schema(description = "When the reindex started")
+    private Timestamp startTime;
+
+    @Schema(description = "When the reindex finished, null if it is still running")
+    private Timestamp endTime;
+
+    @Schema(description = "The number of entries read from the database and queued for indexing")
+    private long entriesQueued;
+
+    @Schema(description = "The number of entries successfully written to Elasticsearch")
+    private long entriesIndexed;
+
+    @Schema(description = "The number of entries that could not be serialized or written to Elasticsearch")
+    private long entriesFailed;
+
+    @Schema(description = "The average number of entries indexed per second since the reindex started")
+    private double entriesPerSecond;
+
+    public ReindexStatus() {
+        this.state = State.NOT_STARTED;
+    }
+
+    @JsonProperty
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    @JsonProperty
+    public Timestamp getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Timestamp startTime) {
+        this.startTime = startTime;
+    }
+
+    @JsonProperty
+    public Timestamp getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(Timestamp endTime) {
+        this.endTime = endTime;
+    }
+
+    @JsonProperty
+    public long getEntriesQueued() {
+        return entriesQueued;
+    }
+
+    public void setEntriesQueued(long entriesQueued) {
+        this.entriesQueued = entriesQueued;
+    }
+
+    @JsonProperty
+    public long getEntriesIndexed() {
+        return entriesIndexed;
+    }
+
+    public void setEntriesIndexed(long entriesIndexed) {
+        this.entriesIndexed = entriesIndexed;
+    }
+
+    @JsonProperty
+    public long getEntriesFailed() {
+        return entriesFailed;
+    }
+
+    public void setEntriesFailed(long entriesFailed) {
+        this.entriesFailed = entriesFailed;
+    }
+
+    @JsonProperty
+    public double getEntriesPerSecond() {
+        return entriesPerSecond;
+    }
+
+    public void setEntriesPerSecond(double entriesPerSecond) {
+        this.entriesPerSecond = entriesPerSecond;
+    }
+
+    public enum State {
+        NOT_STARTED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -23,6 +23,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.io.Serializable;
 import java.sql.Timestamp;
@@ -33,10 +36,14 @@ import org.hibernate.annotations.UpdateTimestamp;
 @ApiModel(value = "Author", description = "This describes a non-ORCID author of a version in Dockstore")
 @Entity
 @Table(name = "author")
+@NamedQueries({
+    @NamedQuery(name = "io.dockstore.webservice.core.Author.findVersionIdsByName", query = "SELECT DISTINCT a.versionid FROM Author a WHERE upper(a.name) LIKE :name")
+})
 public class Author implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_id_seq")
+    @SequenceGenerator(name = "author_id_seq", sequenceName = "author_id_seq", allocationSize = 50)
     @ApiModelProperty(value = "Implementation specific ID for the author in this web service", required = true, position = 0)
     private long id;
 
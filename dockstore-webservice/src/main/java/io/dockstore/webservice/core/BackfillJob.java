@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.core;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import java.sql.Timestamp;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * An admin job that goes through all rows of a table in the background, such as updating the open data status of all workflow versions.
+ * The id range of the table is split into partitions, see {@link BackfillPartition}, that are processed and checkpointed one at a time,
+ * so that a job resumes where it left off after a restart.
+ */
+@Entity
+@ApiModel(value = "BackfillJob", description = "A background job that processes all entries or users")
+@Schema(description = "A background job that processes all entries or users")
+@Table(name = "backfill_job")
+@NamedQueries({
+    @NamedQuery(name = "io.dockstore.webservice.core.BackfillJob.findRecent", query = "SELECT j FROM BackfillJob j ORDER BY j.id DESC"),
+    @NamedQuery(name = "io.dockstore.webservice.core.BackfillJob.recordPartition", query = "UPDATE BackfillJob j SET j.completedPartitions = j.completedPartitions + :completed, "
+        + "j.failedPartitions = j.failedPartitions + :failed, j.processedItems = j.processedItems + :processedItems WHERE j.id = :id")
+})
+public class BackfillJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ApiModelProperty(value = "Implementation specific ID for the job in this web service")
+    @Schema(description = "Implementation specific ID for the job in this web service")
+    private long id;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @ApiModelProperty(value = "What the job does", required = true)
+    @Schema(description = "What the job does", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Type type;
+
+    @Column(nullable = false)
+    @ApiModelProperty(value = "Whether all versions are processed, or only those that have not been processed before")
+    @Schema(description = "Whether all versions are processed, or only those that have not been processed before")
+    private boolean allVersions;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @ApiModelProperty(value = "The state of the job", required = true)
+    @Schema(description = "The state of the job", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Status status = Status.RUNNING;
+
+    @Column(nullable = false)
+    @ApiModelProperty(value = "The number of id ranges the work is split into")
+    @Schema(description = "The number of id ranges the work is split into")
+    private int partitionCount;
+
+    @Column(nullable = false)
+    @ApiModelProperty(value = "The number of id ranges that have been processed")
+    @Schema(description = "The number of id ranges that have been processed")
+    private int completedPartitions;
+
+    @Column(nullable = false)
+    @ApiModelProperty(value = "The number of id ranges that could not be processed")
+    @Schema(description = "The number of id ranges that could not be processed")
+    private int failedPartitions;
+
+    @Column(nullable = false)
+    @ApiModelProperty(value = "The number of entries or users processed so far")
+    @Schema(description = "The number of entries or users processed so far")
+    private long processedItems;
+
+    @Column
+    @ApiModelProperty(value = "When the last partition was processed")
+    @Schema(description = "When the last partition was processed")
+    private Timestamp finishedAt;
+
+    @Column(updatable = false)
+    @CreationTimestamp
+    private Timestamp dbCreateDate;
+
+    @Column
+    @UpdateTimestamp
+    private Timestamp dbUpdateDate;
+
+    public BackfillJob() {
+    }
+
+    public BackfillJob(Type type, boolean allVersions) {
+        this.type = type;
+        this.allVersions = allVersions;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public boolean isAllVersions() {
+        return allVersions;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public void setPartitionCount(int partitionCount) {
+        this.partitionCount = partitionCount;
+    }
+
+    public int getCompletedPartitions() {
+        return completedPartitions;
+    }
+
+    public int getFailedPartitions() {
+        return failedPartitions;
+    }
+
+    public long getProcessedItems() {
+        return processedItems;
+    }
+
+    public Timestamp getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Timestamp finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    @JsonProperty
+    public Timestamp getDbCreateDate() {
+        return dbCreateDate;
+    }
+
+    /**
+     * @return the number of items processed per second, from when the job was submitted until it finished or until now
+     */
+    @JsonProperty
+    @ApiModelProperty(value = "The number of entries or users processed per second")
+    @Schema(description = "The number of entries or users processed per second")
+    public double getItemsPerSecond() {
+        if (dbCreateDate == null) {
+            return 0;
+        }
+        final long end = finishedAt == null ? System.currentTimeMillis() : finishedAt.getTime();
+        final long elapsedMillis = Math.max(1, end - dbCreateDate.getTime());
+        return processedItems * 1000.0 / elapsedMillis;
+    }
+
+    public enum Type {
+        /**
+         * Parses the primary descriptor of tool and workflow versions to update their language versions
+         */
+        LANGUAGE_VERSIONS,
+        /**
+         * Checks the test parameter files of workflow versions for open data
+         */
+        OPEN_DATA,
+        /**
+         * Removes users from the GitHub workflows they no longer have access to
+         */
+        USER_WORKFLOWS,
+        /**
+         * Indexes the S3 file of every execution metrics submission made before executions were indexed on submit
+         */
+        EXECUTION_INDEX,
+        /**
+         * Rebuilds the execution metrics sketch of every version whose sketch is missing or incomplete from its S3 files
+         */
+        EXECUTION_METRICS
+    }
+
+    public enum Status {
+        RUNNING,
+        /**
+         * All partitions were processed
+         */
+        COMPLETED,
+        /**
+         * All partitions were attempted, but some could not be processed
+         */
+        FAILED
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.core;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import java.sql.Timestamp;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * An id range of a {@link BackfillJob}. A partition is claimed by a worker, which marks it as running, and is marked as completed in the
+ * transaction that finishes its work, which makes it the checkpoint that a job resumes from.
+ */
+@Entity
+@Table(name = "backfill_partition")
+@NamedQueries({
+    @NamedQuery(name = "io.dockstore.webservice.core.BackfillPartition.findClaimableIds", query = "SELECT p.id FROM BackfillPartition p WHERE p.status = :pending OR (p.status = :running AND p.claimedAt < :claimedBefore) ORDER BY p.jobId, p.startId")
+})
+public class BackfillPartition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "jobid", nullable = false)
+    private long jobId;
+
+    /**
+     * First id of the range, inclusive
+     */
+    @Column(name = "startid", nullable = false)
+    private long startId;
+
+    /**
+     * Last id of the range, exclusive
+     */
+    @Column(name = "endid", nullable = false)
+    private long endId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int processedItems;
+
+    /**
+     * When a worker last claimed the partition. A running partition whose claim is older than the claim timeout is left over from a stopped
+     * webservice instance, and can be claimed again.
+     */
+    @Column
+    private Timestamp claimedAt;
+
+    @Column(updatable = false)
+    @CreationTimestamp
+    private Timestamp dbCreateDate;
+
+    @Column
+    @UpdateTimestamp
+    private Timestamp dbUpdateDate;
+
+    public BackfillPartition() {
+    }
+
+    public BackfillPartition(long jobId, long startId, long endId) {
+        this.jobId = jobId;
+        this.startId = startId;
+        this.endId = endId;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getJobId() {
+        return jobId;
+    }
+
+    public long getStartId() {
+        return startId;
+    }
+
+    public long getEndId() {
+        return endId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getProcessedItems() {
+        return processedItems;
+    }
+
+    public void setProcessedItems(int processedItems) {
+        this.processedItems = processedItems;
+    }
+
+    public Timestamp getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(Timestamp claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -138,17 +138,11 @@ import org.hibernate.annotations.UpdateTimestamp;
 // TODO: Replace this with JPA when possible
 @NamedNativeQueries({
     @NamedNativeQuery(name = "Entry.getEntryByPath", query =
-        "SELECT 'tool' as type, id from tool where registry = :one and namespace = :two and name = :three and toolname = :four union"
-            + " select 'workflow' as type, id from workflow where sourcecontrol = :one and organization = :two and repository = :three and workflowname = :four"),
-    @NamedNativeQuery(name = "Entry.getEntryByPathNullName", query =
-        "SELECT 'tool' as type, id from tool where registry = :one and namespace = :two and name = :three and toolname IS NULL union"
-            + " select 'workflow' as type, id from workflow where sourcecontrol = :one and organization = :two and repository = :three and workflowname IS NULL"),
+        "SELECT 'tool' as type, id, nullif(toolname, '') IS NOT NULL as named from tool where entrypath = :path union all"
+            + " select 'workflow' as type, id, nullif(workflowname, '') IS NOT NULL as named from workflow where entrypath = :path order by named desc"),
     @NamedNativeQuery(name = "Entry.getPublishedEntryByPath", query =
-        "SELECT 'tool' as type, id from tool where registry = :one and namespace = :two and name = :three and toolname = :four and ispublished = TRUE union"
-            + " select 'workflow' as type, id from workflow where sourcecontrol = :one and organization = :two and repository = :three and workflowname = :four and ispublished = TRUE"),
-    @NamedNativeQuery(name = "Entry.getPublishedEntryByPathNullName", query =
-        "SELECT 'tool' as type, id from tool where registry = :one and namespace = :two and name = :three and toolname IS NULL and ispublished = TRUE union"
-            + " select 'workflow' as type, id from workflow where sourcecontrol = :one and organization = :two and repository = :three and workflowname IS NULL and ispublished = TRUE"),
+        "SELECT 'tool' as type, id, nullif(toolname, '') IS NOT NULL as named from tool where entrypath = :path and ispublished = TRUE union all"
+            + " select 'workflow' as type, id, nullif(workflowname, '') IS NOT NULL as named from workflow where entrypath = :path and ispublished = TRUE order by named desc"),
     @NamedNativeQuery(name = "Entry.hostedWorkflowCount", query = "select (select count(*) from tool t, user_entry ue where mode = 'HOSTED' and ue.userid = :userid and ue.entryid = t.id) + (select count(*) from workflow w, user_entry ue where mode = 'HOSTED' and ue.userid = :userid and ue.entryid = w.id) as count;")})
 public abstract class Entry<S extends Entry, T extends Version> implements Comparable<Entry>, Aliasable {
 
@@ -357,6 +351,13 @@ public abstract class Entry<S extends Entry, T extends Version> implements Compa
     @Enumerated(EnumType.STRING)
     private GitVisibility gitVisibility;
 
+    /**
+     * The same as getEntryPath(), generated by the database so that it can be indexed. Only used in queries.
+     */
+    @JsonIgnore
+    @Column(name = "entrypath", insertable = false, updatable = false, columnDefinition = "text")
+    private String indexedEntryPath;
+
     public enum GitVisibility {
         /**
          * There was a failed attempt to determine visibility
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.core;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.NamedNativeQueries;
+import jakarta.persistence.NamedNativeQuery;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.util.Objects;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Indexes an event under each entry or organization it is about, so that the events about a set of subjects, like the entries a user starred,
+ * are read newest first from one index range per subject rather than by filtering every event.
+ * Rows are written by a trigger on the event table, and deleted along with their event.
+ */
+@Entity
+@Immutable
+@Table(name = "event_subject")
+@NamedNativeQueries({
+    @NamedNativeQuery(name = "io.dockstore.webservice.core.EventSubject.findEventIdsForStarredEntries", query = EventSubject.SELECT_EVENT_IDS + EventSubject.STARRED_ENTRIES + EventSubject.NEWEST_EVENTS_OF_EACH_SUBJECT),
+    @NamedNativeQuery(name = "io.dockstore.webservice.core.EventSubject.findEventIdsForStarredOrganizations", query = EventSubject.SELECT_EVENT_IDS + EventSubject.STARRED_ORGANIZATIONS + EventSubject.NEWEST_EVENTS_OF_EACH_SUBJECT),
+    @NamedNativeQuery(name = "io.dockstore.webservice.core.EventSubject.findEventIdsForAllStarred", query = EventSubject.SELECT_EVENT_IDS + EventSubject.STARRED_ENTRIES + " UNION ALL "
+        + EventSubject.STARRED_ORGANIZATIONS + EventSubject.NEWEST_EVENTS_OF_EACH_SUBJECT),
+    @NamedNativeQuery(name = "io.dockstore.webservice.core.EventSubject.findEventIdsForOwnOrganizations", query = EventSubject.SELECT_EVENT_IDS + EventSubject.OWN_ORGANIZATIONS + EventSubject.NEWEST_EVENTS_OF_EACH_SUBJECT)
+})
+public class EventSubject {
+
+    static final String SELECT_EVENT_IDS = "SELECT x.eventid FROM (";
+    static final String STARRED_ENTRIES = "SELECT 'ENTRY' AS subjecttype, st.entryid AS subjectid FROM starred st WHERE st.userid = :userId";
+    static final String STARRED_ORGANIZATIONS = "SELECT 'ORGANIZATION' AS subjecttype, so.organizationid AS subjectid FROM starred_organizations so WHERE so.userid = :userId";
+    static final String OWN_ORGANIZATIONS = "SELECT 'ORGANIZATION' AS subjecttype, ou.organizationid AS subjectid FROM organization_user ou WHERE ou.userid = :userId";
+    /**
+     * Takes at most batchSize events before the cursor from each subject, so that the work done does not depend on how many events the subjects have
+     */
+    static final String NEWEST_EVENTS_OF_EACH_SUBJECT = ") subject CROSS JOIN LATERAL (SELECT es.eventid FROM event_subject es "
+        + "WHERE es.subjecttype = subject.subjecttype AND es.subjectid = subject.subjectid AND es.eventid < :before ORDER BY es.eventid DESC LIMIT :batchSize) x "
+        + "GROUP BY x.eventid ORDER BY x.eventid DESC LIMIT :batchSize";
+
+    @EmbeddedId
+    private EventSubjectId id;
+
+    @MapsId("eventId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "eventid", nullable = false)
+    private Event event;
+
+    public EventSubject() {
+    }
+
+    public EventSubjectId getId() {
+        return id;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public enum SubjectType {
+        ENTRY, ORGANIZATION
+    }
+
+    @Embeddable
+    public static class EventSubjectId implements Serializable {
+        @Column(name = "subjecttype", nullable = false, columnDefinition = "TEXT")
+        @Enumerated(EnumType.STRING)
+        private SubjectType subjectType;
+
+        @Column(name = "subjectid", nullable = false)
+        private Long subjectId;
+
+        @Column(name = "eventid", nullable = false)
+        private Long eventId;
+
+        public EventSubjectId() {
+        }
+
+        public EventSubjectId(SubjectType subjectType, Long subjectId, Long eventId) {
+            this.subjectType = subjectType;
+            this.subjectId = subjectId;
+            this.eventId = eventId;
+        }
+
+        public SubjectType getSubjectType() {
+            return subjectType;
+        }
+
+        public Long getSubjectId() {
+            return subjectId;
+        }
+
+        public Long getEventId() {
+            return eventId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(subjectType, subjectId, eventId);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object instanceof EventSubjectId otherId) {
+                return subjectType == otherId.subjectType && Objects.equals(subjectId, otherId.subjectId) && Objects.equals(eventId, otherId.eventId);
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.core;
+
+import com.google.common.hash.Hashing;
+import io.dockstore.common.Partner;
+import io.dockstore.common.metrics.MetricsDataS3Client;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * The S3 file of execution metrics that an execution was submitted in, so that an execution can be found with one indexed read
+ * instead of downloading every file of the tool version and platform.
+ */
+@Entity
+@Table(name = "execution_s3_key")
+@NamedQueries({
+    @NamedQuery(name = "io.dockstore.webservice.core.ExecutionS3Key.findByKeyHashes",
+        query = "SELECT k FROM ExecutionS3Key k WHERE k.keyHash IN (:keyHashes)")
+})
+public class ExecutionS3Key {
+
+    /**
+     * Keyed by the digest of the TRS id, version name, platform and execution id, which together can be longer than a btree index entry allows
+     */
+    @Id
+    @Column(name = "keyhash", columnDefinition = "TEXT")
+    private String keyHash;
+
+    @Column(name = "executionid", nullable = false, columnDefinition = "TEXT")
+    private String executionId;
+
+    @Column(name = "filename", nullable = false, columnDefinition = "TEXT")
+    private String fileName;
+
+    @Column(updatable = false)
+    @CreationTimestamp
+    private Timestamp dbCreateDate;
+
+    @Column
+    @UpdateTimestamp
+    private Timestamp dbUpdateDate;
+
+    public ExecutionS3Key() {
+    }
+
+    public ExecutionS3Key(String keyHash, String executionId, String fileName) {
+        this.keyHash = keyHash;
+        this.executionId = executionId;
+        this.fileName = fileName;
+    }
+
+    /**
+     * @param trsId the GA4GH tool id
+     * @param versionName the GA4GH tool version name
+     * @param platform the platform the execution was submitted for
+     * @param executionId the id of the execution
+     * @return hex encoded SHA-256 digest of the S3 key the execution would have if it were a file of its own
+     */
+    public static String hashKey(String trsId, String versionName, Partner platform, String executionId) {
+        return Hashing.sha256().hashString(MetricsDataS3Client.generateKey(trsId, versionName, platform.name(), executionId), StandardCharsets.UTF_8).toString();
+    }
+
+    public String getKeyHash() {
+        return keyHash;
+    }
+
+    public String getExecutionId() {
+        return executionId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+}
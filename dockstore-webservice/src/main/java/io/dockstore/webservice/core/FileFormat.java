@@ -57,7 +57,7 @@ public class FileFormat implements Comparable<FileFormat> {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fileformat_id_seq")
-    @SequenceGenerator(name = "fileformat_id_seq", sequenceName = "fileformat_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "fileformat_id_seq", sequenceName = "fileformat_id_seq", allocationSize = 50)
     @ApiModelProperty(value = "Implementation specific ID for file format in this web service", position = 0)
     @Column(columnDefinition = "bigint default nextval('fileformat_id_seq')")
     private long id;
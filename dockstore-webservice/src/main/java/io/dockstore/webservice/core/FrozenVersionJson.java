@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.core;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.sql.Timestamp;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * The DAG and tool table JSON of a frozen workflow version. Frozen versions cannot be updated, so JSON that is computed after a
+ * version was frozen is kept here instead of in the workflowversion table.
+ */
+@Entity
+@Table(name = "frozen_version_json")
+public class FrozenVersionJson {
+
+    @Id
+    @Column(name = "versionid")
+    private long versionId;
+
+    @Column(columnDefinition = "TEXT")
+    private String dagJson;
+
+    @Column(columnDefinition = "TEXT")
+    private String toolTableJson;
+
+    @Column(updatable = false)
+    @CreationTimestamp
+    private Timestamp dbCreateDate;
+
+    @Column
+    @UpdateTimestamp
+    private Timestamp dbUpdateDate;
+
+    public FrozenVersionJson() {
+    }
+
+    public FrozenVersionJson(long versionId) {
+        this.versionId = versionId;
+    }
+
+    public long getVersionId() {
+        return versionId;
+    }
+
+    public String getDagJson() {
+        return dagJson;
+    }
+
+    public void setDagJson(String dagJson) {
+        this.dagJson = dagJson;
+    }
+
+    public String getToolTableJson() {
+        return toolTableJson;
+    }
+
+    public void setToolTableJson(String toolTableJson) {
+        this.toolTableJson = toolTableJson;
+    }
+}
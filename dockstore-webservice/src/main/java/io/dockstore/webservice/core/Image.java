@@ -44,7 +44,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 public class Image {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "image_id_seq")
-    @SequenceGenerator(name = "image_id_seq", sequenceName = "image_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "image_id_seq", sequenceName = "image_id_seq", allocationSize = 50)
     @ApiModelProperty(value = "Implementation specific ID for the image in this webservice", position = 0)
     @Column(columnDefinition = "bigint default nextval('image_id_seq')")
     private long id;
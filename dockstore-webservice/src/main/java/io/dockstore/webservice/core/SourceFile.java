@@ -65,6 +65,7 @@ import org.apache.http.HttpStatus;
 import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cascade;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Formula;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -114,7 +115,7 @@ public class SourceFile implements Comparable<SourceFile> {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sourcefile_id_seq")
-    @SequenceGenerator(name = "sourcefile_id_seq", sequenceName = "sourcefile_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "sourcefile_id_seq", sequenceName = "sourcefile_id_seq", allocationSize = 50)
     @ApiModelProperty(value = "Implementation specific ID for the source file in this web service", position = 0)
     @Column(columnDefinition = "bigint default nextval('sourcefile_id_seq')")
     private long id;
@@ -124,10 +125,27 @@ public class SourceFile implements Comparable<SourceFile> {
     @Schema(description = "Enumerates the type of file", requiredMode = RequiredMode.REQUIRED)
     private DescriptorLanguage.FileType type;
 
+    /**
+     * Content that is written with this source file. The database moves it to the sourcefile_content table, which holds
+     * each distinct content once, keyed by its SHA-256, so this is null once the source file has been loaded back.
+     * Because of that, a null content on its own leaves the stored content unchanged; {@link #setContent(String)} clears
+     * the digest as well to remove it. Empty content is kept in the source file, and both it and no content have the
+     * digest of the empty string.
+     *
+     * <p>A row of sourcefile_content is deleted by the database once the last source file that refers to it is deleted or
+     * changed.
+     */
     @Column(columnDefinition = "TEXT")
     @ApiModelProperty(value = "Cache for the contents of the target file", position = 2)
     private String content;
 
+    /**
+     * Content that was stored by an earlier write, read from the sourcefile_content table.
+     */
+    @Formula("(select c.content from sourcefile_content c where c.sha256 = sha256)")
+    @JsonIgnore
+    private String storedContent;
+
     @Column(nullable = false, columnDefinition = "TEXT")
     @ApiModelProperty(value = "Path to sourcefile relative to its parent", required = true, position = 3)
     @Schema(description = "Path to sourcefile relative to its parent", requiredMode = RequiredMode.REQUIRED)
@@ -142,6 +160,14 @@ public class SourceFile implements Comparable<SourceFile> {
     @ApiModelProperty(value = "When true, this version cannot be affected by refreshes to the content or updates to its metadata", position = 5)
     private boolean frozen = false;
 
+    /**
+     * The digest that refers to the stored content. The database sets it whenever content is written, so it is only written by
+     * Hibernate to keep it as loaded, or to clear it along with the content.
+     */
+    @Column(columnDefinition = "TEXT", name = "sha256", insertable = false)
+    @JsonIgnore
+    private String sha256;
+
     @Column(columnDefinition = "TEXT", name = "sha256", updatable = false, insertable = false)
     @Convert(converter = Sha256Converter.class)
     @ApiModelProperty(value = "The checksum(s) of the sourcefile's content", position = 6)
@@ -189,6 +215,9 @@ public class SourceFile implements Comparable<SourceFile> {
         final SourceFile sourceFile = GSON.fromJson(json, SourceFile.class);
         // Parent was not serialized, need to explicitly set it. See PARENT_FIELD_EXCLUSION_STRATEGY, above.
         sourceFile.getMetadata().setParent(sourceFile);
+        // The copy is a new source file, so its content has to be written with it
+        sourceFile.content = otherSourceFile.getContent();
+        sourceFile.storedContent = null;
         return sourceFile;
     }
 
@@ -217,11 +246,17 @@ public class SourceFile implements Comparable<SourceFile> {
     }
 
     public String getContent() {
-        return content;
+        return content != null ? content : storedContent;
     }
 
     public void setContent(String content) {
         this.content = content;
+        if (content == null) {
+            // the database only replaces the digest when there is new content, so clear it explicitly to remove the stored content,
+            // the database then sets it to the digest of the empty string
+            this.sha256 = null;
+            this.storedContent = null;
+        }
     }
 
     public String getPath() {
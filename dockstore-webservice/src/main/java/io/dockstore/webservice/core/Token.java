@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonView;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ComparisonChain;
+import com.google.common.hash.Hashing;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -35,6 +36,7 @@ import jakarta.persistence.NamedQueries;
 import jakarta.persistence.NamedQuery;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.Objects;
@@ -51,7 +53,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 @Table(name = "token")
 @NamedQueries({
     @NamedQuery(name = "io.dockstore.webservice.core.Token.findByContent",
-        query = "SELECT t FROM Token t WHERE t.content = :content"),
+        query = "SELECT t FROM Token t WHERE t.contentHash = :contentHash AND t.content = :content"),
     @NamedQuery(name = "io.dockstore.webservice.core.Token.findByUserId",
         query = "SELECT t FROM Token t WHERE t.userId = :userId"),
     @NamedQuery(name = "io.dockstore.webservice.core.Token.findDockstoreByUserId",
@@ -103,6 +105,14 @@ public class Token implements Comparable<Token> {
     @JsonView(TokenViews.Auth.class)
     private String content;
 
+    /**
+     * Hex encoded SHA-256 digest of the content, generated by the database and indexed so that tokens can be looked up by content
+     * without comparing long strings.
+     */
+    @Column(columnDefinition = "TEXT", updatable = false, insertable = false)
+    @JsonIgnore
+    private String contentHash;
+
     @Column(nullable = false)
     @ApiModelProperty(value = "When an integrated service is not aware of the username, we store it", position = 3)
     @JsonView(TokenViews.User.class)
@@ -169,6 +179,16 @@ public class Token implements Comparable<Token> {
         return null;
     }
 
+    /**
+     * Computes the digest that tokens are indexed by, matching the contenthash column generated by the database.
+     *
+     * @param content token content
+     * @return hex encoded SHA-256 digest of the content
+     */
+    public static String hashContent(String content) {
+        return Hashing.sha256().hashString(content, StandardCharsets.UTF_8).toString();
+    }
+
     public long getId() {
         return id;
     }
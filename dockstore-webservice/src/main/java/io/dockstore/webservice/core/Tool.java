@@ -83,15 +83,8 @@ import org.hibernate.annotations.Filter;
     @NamedQuery(name = "io.dockstore.webservice.core.Tool.findPublishedByNamespace", query = "SELECT c FROM Tool c WHERE lower(c.namespace) = lower(:namespace) AND c.isPublished = true ORDER BY gitUrl"),
     @NamedQuery(name = "io.dockstore.webservice.core.Tool.findByPath", query = "SELECT c FROM Tool c WHERE c.registry = :registry AND c.namespace = :namespace AND c.name = :name"),
     @NamedQuery(name = "io.dockstore.webservice.core.Tool.findPublishedByPath", query = "SELECT c FROM Tool c WHERE c.registry = :registry AND c.namespace = :namespace AND c.name = :name AND c.isPublished = true"),
-    @NamedQuery(name = "io.dockstore.webservice.core.Tool.findByToolPath", query = "SELECT c FROM Tool c WHERE c.registry = :registry AND c.namespace = :namespace AND c.name = :name AND c.toolname = :toolname"),
-    @NamedQuery(name = "io.dockstore.webservice.core.Tool.findPublishedByToolPath", query = "SELECT c FROM Tool c WHERE c.registry = :registry AND c.namespace = :namespace AND c.name = :name AND c.toolname = :toolname AND c.isPublished = true"),
-    @NamedQuery(name = "io.dockstore.webservice.core.Tool.findByToolPathNullToolName", query = "SELECT c FROM Tool c WHERE c.registry = :registry AND c.namespace = :namespace AND c.name = :name AND c.toolname IS NULL"),
-    @NamedQuery(name = "io.dockstore.webservice.core.Tool.findPublishedByToolPathNullToolName", query = "SELECT c FROM Tool c WHERE c.registry = :registry AND c.namespace = :namespace AND c.name = :name AND c.toolname IS NULL AND c.isPublished = true"),
-    @NamedQuery(name = "io.dockstore.webservice.core.Tool.getEntryLiteByUserId", query =
-        "SELECT new io.dockstore.webservice.core.database.EntryLite$EntryLiteTool(t.registry, t.namespace, t.name, t.toolname, t.dbUpdateDate as entryUpdated, MAX(v.dbUpdateDate) as versionUpdated) "
-            + "FROM Tool t LEFT JOIN t.workflowVersions v "
-            + "WHERE t.id in (SELECT ue.id FROM User u INNER JOIN u.entries ue where u.id = :userId) "
-            + "GROUP BY t.registry, t.namespace, t.name, t.toolname, t.dbUpdateDate"),
+    @NamedQuery(name = "io.dockstore.webservice.core.Tool.findByToolPath", query = "SELECT c FROM Tool c WHERE c.indexedEntryPath = :path ORDER BY CASE WHEN c.toolname IS NULL OR c.toolname = '' THEN 1 ELSE 0 END"),
+    @NamedQuery(name = "io.dockstore.webservice.core.Tool.findPublishedByToolPath", query = "SELECT c FROM Tool c WHERE c.indexedEntryPath = :path AND c.isPublished = true ORDER BY CASE WHEN c.toolname IS NULL OR c.toolname = '' THEN 1 ELSE 0 END"),
     @NamedQuery(name = "io.dockstore.webservice.core.Tool.getEntryLiteVersionsToAggregate", query =
         "SELECT new io.dockstore.webservice.core.Entry$EntryLiteAndVersionName(new io.dockstore.webservice.core.database.EntryLite$EntryLiteTool(e.registry, e.namespace, e.name, e.toolname), v.name) "
             + "FROM Tool e, Version v where e.id = v.parent.id and (v.versionMetadata.latestMetricsSubmissionDate > v.versionMetadata.latestMetricsAggregationDate or (v.versionMetadata.latestMetricsSubmissionDate is not null and v.versionMetadata.latestMetricsAggregationDate is null))"),
@@ -100,7 +93,11 @@ import org.hibernate.annotations.Filter;
     @NamedQuery(name = "io.dockstore.webservice.core.Tool.getEntriesByUserId", query = "SELECT t FROM Tool t WHERE t.id in (SELECT ue.id FROM User u INNER JOIN u.entries ue where u.id = :userId)"),
     @NamedQuery(name = "io.dockstore.webservice.core.Tool.getPublishedNamespaces", query = "SELECT distinct lower(namespace) FROM Tool c WHERE c.isPublished = true"),
     @NamedQuery(name = "io.dockstore.webservice.core.Tool.getPublishedEntriesByUserId", query = "SELECT t FROM Tool t WHERE t.isPublished = true AND t.id in (SELECT ue.id FROM User u INNER JOIN u.entries ue where u.id = :userId)"),
-    @NamedQuery(name = "io.dockstore.webservice.core.Tool.findAllTools", query = "SELECT t from Tool t order by t.id")
+    @NamedQuery(name = "io.dockstore.webservice.core.Tool.findAllTools", query = "SELECT t from Tool t order by t.id"),
+    @NamedQuery(name = "io.dockstore.webservice.core.Tool.findToolsByIdRange", query = "SELECT t from Tool t WHERE t.id >= :startId AND t.id < :endId order by t.id"),
+    @NamedQuery(name = "io.dockstore.webservice.core.Tool.findMaxId", query = "SELECT max(t.id) from Tool t"),
+    @NamedQuery(name = "io.dockstore.webservice.core.Tool.findByIdsWithAliases", query = "SELECT DISTINCT t FROM Tool t LEFT JOIN FETCH t.aliases WHERE t.id IN (:ids)"),
+    @NamedQuery(name = "io.dockstore.webservice.core.Tool.findByIdsWithVersions", query = "SELECT DISTINCT t FROM Tool t LEFT JOIN FETCH t.workflowVersions WHERE t.id IN (:ids)")
 })
 
 @Check(constraints = "(toolname NOT LIKE '\\_%')")
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.core;
+
+import com.google.common.hash.Hashing;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * Whether a URL referenced by a test parameter file was found to be openly accessible, as reported by the check URL lambda.
+ * Verdicts are shared by all versions that reference the URL, and are checked again once they are older than the configured TTL.
+ */
+@Entity
+@Table(name = "url_verdict")
+@NamedQueries({
+    @NamedQuery(name = "io.dockstore.webservice.core.UrlVerdict.findCheckedSince",
+        query = "SELECT v FROM UrlVerdict v WHERE v.urlHash IN (:urlHashes) AND v.checkedAt > :since")
+})
+public class UrlVerdict {
+
+    /**
+     * URLs can be longer than a btree index entry allows, so they are keyed by their digest
+     */
+    @Id
+    @Column(name = "urlhash", columnDefinition = "TEXT")
+    private String urlHash;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String url;
+
+    @Column(name = "opendata", nullable = false)
+    private boolean openData;
+
+    @Column(name = "checkedat", nullable = false)
+    private Timestamp checkedAt;
+
+    @Column(updatable = false)
+    @CreationTimestamp
+    private Timestamp dbCreateDate;
+
+    @Column
+    @UpdateTimestamp
+    private Timestamp dbUpdateDate;
+
+    public UrlVerdict() {
+    }
+
+    public UrlVerdict(String url) {
+        this.url = url;
+        this.urlHash = hashUrl(url);
+    }
+
+    /**
+     * @param url a URL
+     * @return hex encoded SHA-256 digest of the URL, which verdicts are keyed by
+     */
+    public static String hashUrl(String url) {
+        return Hashing.sha256().hashString(url, StandardCharsets.UTF_8).toString();
+    }
+
+    public String getUrlHash() {
+        return urlHash;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public boolean isOpenData() {
+        return openData;
+    }
+
+    public void setOpenData(boolean openData) {
+        this.openData = openData;
+    }
+
+    public Timestamp getCheckedAt() {
+        return checkedAt;
+    }
+
+    public void setCheckedAt(Timestamp checkedAt) {
+        this.checkedAt = checkedAt;
+    }
+}
@@ -92,6 +92,8 @@ import org.hibernate.annotations.UpdateTimestamp;
     @NamedQuery(name = "io.dockstore.webservice.core.User.findByGitHubUserId", query = "SELECT t FROM User t JOIN t.userProfiles p where(KEY(p) = 'github.com' AND p.onlineProfileId = :id)"),
     @NamedQuery(name = "io.dockstore.webservice.core.User.findAllGitHubUsers", query = "SELECT t FROM User t JOIN t.userProfiles p where(KEY(p) = 'github.com')"),
     @NamedQuery(name = "io.dockstore.webservice.core.User.findAllGitHubUserIds", query = "SELECT t.id FROM User t JOIN t.userProfiles p where(KEY(p) = 'github.com')"),
+    @NamedQuery(name = "io.dockstore.webservice.core.User.findGitHubUserIdsByIdRange", query = "SELECT t.id FROM User t JOIN t.userProfiles p where(KEY(p) = 'github.com' AND t.id >= :startId AND t.id < :endId) ORDER BY t.id"),
+    @NamedQuery(name = "io.dockstore.webservice.core.User.findMaxId", query = "SELECT max(t.id) FROM User t"),
     @NamedQuery(name = "io.dockstore.webservice.core.database.UserInfo.findAllGoogleUserInfo", query =
         "SELECT new io.dockstore.webservice.core.database.UserInfo(user.username, userProfiles.username, userProfiles.email, KEY(userProfiles))"
             + " FROM User user INNER JOIN user.userProfiles as userProfiles WHERE( KEY(userProfiles) = 'google.com' )"),
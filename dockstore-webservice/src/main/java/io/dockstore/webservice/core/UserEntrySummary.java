@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.core;
+
+import io.dockstore.common.EntryType;
+import io.dockstore.common.SourceControl;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.util.Objects;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Synchronize;
+
+/**
+ * The columns of an entry that a user's dashboard shows, one row per entry and user that owns it.
+ * Rows are maintained by database triggers on user_entry, the entry tables and the version tables, within the transaction
+ * that changes them, so they are read-only here. Tools keep their namespace, name and toolname in organization, repository
+ * and entryName, and have no source control.
+ */
+@Entity
+@Immutable
+@Table(name = "user_entry_summary")
+@Synchronize({ "user_entry", "tool", "workflow", "apptool", "notebook", "service", "tag", "workflowversion" })
+@NamedQueries({
+    @NamedQuery(name = "io.dockstore.webservice.core.UserEntrySummary.findByUserOrderByPath", query = "SELECT s FROM UserEntrySummary s WHERE s.id.userId = :userId AND s.entryType IN (:entryTypes) "
+        + "AND lower(coalesce(s.path, '')) LIKE :filter ORDER BY s.path, s.id.entryId"),
+    @NamedQuery(name = "io.dockstore.webservice.core.UserEntrySummary.findByUserOrderByLastUpdated", query = "SELECT s FROM UserEntrySummary s WHERE s.id.userId = :userId AND s.entryType IN (:entryTypes) "
+        + "AND lower(coalesce(s.path, '')) LIKE :filter ORDER BY s.lastUpdated DESC NULLS LAST, s.id.entryId"),
+    @NamedQuery(name = "io.dockstore.webservice.core.UserEntrySummary.countByUser", query = "SELECT count(s) FROM UserEntrySummary s WHERE s.id.userId = :userId AND s.entryType IN (:entryTypes) "
+        + "AND lower(coalesce(s.path, '')) LIKE :filter"),
+    @NamedQuery(name = "io.dockstore.webservice.core.UserEntrySummary.getChangeMarker", query = "SELECT count(s), max(s.dbUpdateDate) FROM UserEntrySummary s WHERE s.id.userId = :userId AND s.entryType IN (:entryTypes)")
+})
+public class UserEntrySummary {
+
+    @EmbeddedId
+    private UserEntrySummaryId id;
+
+    @Column(name = "entrytype", nullable = false, columnDefinition = "TEXT")
+    @Enumerated(EnumType.STRING)
+    private EntryType entryType;
+
+    @Column(name = "sourcecontrol", columnDefinition = "TEXT")
+    private SourceControl sourceControl;
+
+    @Column(columnDefinition = "TEXT")
+    private String organization;
+
+    @Column(columnDefinition = "TEXT")
+    private String repository;
+
+    @Column(name = "entryname", columnDefinition = "TEXT")
+    private String entryName;
+
+    @Column(columnDefinition = "TEXT")
+    private String path;
+
+    @Column(name = "ispublished", nullable = false)
+    private boolean isPublished;
+
+    @Column(columnDefinition = "TEXT")
+    private String mode;
+
+    @Column(name = "giturl", columnDefinition = "TEXT")
+    private String gitUrl;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(nullable = false)
+    private boolean archived;
+
+    @Column(name = "lastupdated")
+    private Timestamp lastUpdated;
+
+    /**
+     * When the trigger last wrote this row, which changes whenever anything the dashboard shows does
+     */
+    @Column(name = "dbupdatedate", nullable = false)
+    private Timestamp dbUpdateDate;
+
+    public UserEntrySummary() {
+    }
+
+    public long getEntryId() {
+        return id.getEntryId();
+    }
+
+    public EntryType getEntryType() {
+        return entryType;
+    }
+
+    public SourceControl getSourceControl() {
+        return sourceControl;
+    }
+
+    public String getOrganization() {
+        return organization;
+    }
+
+    public String getRepository() {
+        return repository;
+    }
+
+    public String getEntryName() {
+        return entryName;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the path without its registry or source control and organization, as the dashboard displays it
+     */
+    public String getPrettyPath() {
+        if (path == null) {
+            return null;
+        }
+        String[] pathElements = path.split("/", 3);
+        return pathElements.length < 3 ? "" : pathElements[2];
+    }
+
+    public boolean isPublished() {
+        return isPublished;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public String getGitUrl() {
+        return gitUrl;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+
+    /**
+     * @return the later of when the entry and its most recently updated version were last updated
+     */
+    public Timestamp getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public Timestamp getDbUpdateDate() {
+        return dbUpdateDate;
+    }
+
+    @Embeddable
+    public static class UserEntrySummaryId implements Serializable {
+        @Column(name = "userid")
+        private Long userId;
+
+        @Column(name = "entryid")
+        private Long entryId;
+
+        public UserEntrySummaryId() {
+        }
+
+        public UserEntrySummaryId(Long userId, Long entryId) {
+            this.userId = userId;
+            this.entryId = entryId;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public Long getEntryId() {
+            return entryId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, entryId);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object instanceof UserEntrySummaryId otherId) {
+                return Objects.equals(otherId.userId, userId) && Objects.equals(otherId.entryId, entryId);
+            }
+            return false;
+        }
+    }
+}
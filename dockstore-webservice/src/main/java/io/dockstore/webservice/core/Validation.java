@@ -51,7 +51,7 @@ public class Validation implements Comparable<Validation> {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "validation_id_seq")
-    @SequenceGenerator(name = "validation_id_seq", sequenceName = "validation_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "validation_id_seq", sequenceName = "validation_id_seq", allocationSize = 50)
     @ApiModelProperty(value = "Implementation specific ID for the source file in this web service", required = true, position = 0)
     @Column(columnDefinition = "bigint default nextval('validation_id_seq')")
     private long id;
@@ -97,7 +97,9 @@ import org.hibernate.annotations.UpdateTimestamp;
                 + "version.parent.id = :entryId"),
     @NamedQuery(name = "io.dockstore.webservice.core.Version.getCountVersionFrozenByEntryID", query = "SELECT sum (case when v.frozen = true then 1 else 0 end) FROM Version v WHERE v.parent.id = :id"),
     @NamedQuery(name = "io.dockstore.webservice.core.Version.getCountByEntryId", query = "SELECT Count(v) FROM Version v WHERE v.parent.id = :id"),
-    @NamedQuery(name = "io.dockstore.webservice.core.Version.getPublicCountByEntryId", query = "SELECT Count(v) FROM Version v WHERE v.parent.id = :id and v.versionMetadata.hidden = false")
+    @NamedQuery(name = "io.dockstore.webservice.core.Version.getPublicCountByEntryId", query = "SELECT Count(v) FROM Version v WHERE v.parent.id = :id and v.versionMetadata.hidden = false"),
+    @NamedQuery(name = "io.dockstore.webservice.core.Version.findByEntryIdsWithSourceFiles", query = "SELECT DISTINCT v FROM Version v LEFT JOIN FETCH v.versionMetadata LEFT JOIN FETCH v.sourceFiles WHERE v.parent.id IN (:entryIds)"),
+    @NamedQuery(name = "io.dockstore.webservice.core.Version.findByEntryIdsWithImages", query = "SELECT DISTINCT v FROM Version v LEFT JOIN FETCH v.images WHERE v.parent.id IN (:entryIds)")
 })
 
 @FilterDef(name = "versionNameFilter", parameters = @ParamDef(name = "name", type = String.class), defaultCondition = "LOWER(:name) = LOWER(name)")
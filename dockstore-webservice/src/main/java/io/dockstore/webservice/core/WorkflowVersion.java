@@ -58,7 +58,8 @@ import org.apache.commons.io.FilenameUtils;
 @NamedQueries({
     @NamedQuery(name = "io.dockstore.webservice.core.WorkflowVersion.getByAlias", query = "SELECT e from WorkflowVersion e JOIN e.aliases a WHERE KEY(a) IN :alias"),
     @NamedQuery(name = "io.dockstore.webservice.core.WorkflowVersion.getByWorkflowIdAndVersionName", query = "select v FROM WorkflowVersion v WHERE v.parent.id = :id And v.name = :name"),
-    @NamedQuery(name = "io.dockstore.webservice.core.WorkflowVersion.getTagsByWorkflowIdOrderedByLastModified", query = "SELECT v FROM WorkflowVersion v WHERE v.parent.id = :id AND v.referenceType = 'TAG' ORDER BY v.lastModified DESC")
+    @NamedQuery(name = "io.dockstore.webservice.core.WorkflowVersion.getTagsByWorkflowIdOrderedByLastModified", query = "SELECT v FROM WorkflowVersion v WHERE v.parent.id = :id AND v.referenceType = 'TAG' ORDER BY v.lastModified DESC"),
+    @NamedQuery(name = "io.dockstore.webservice.core.WorkflowVersion.updateDagAndToolTableJson", query = "UPDATE WorkflowVersion v SET v.dagJson = :dagJson, v.toolTableJson = :toolTableJson WHERE v.id = :id AND v.frozen = false")
 })
 
 @SuppressWarnings("checkstyle:magicnumber")
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.core.metrics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tdunning.math.stats.MergingDigest;
+import io.dockstore.common.Partner;
+import io.dockstore.common.metrics.ExecutionStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * The mergeable summary of the executions submitted for a version on a platform, from which its aggregated {@link Metrics} are computed.
+ * Newly submitted executions are folded into the sketch, so that the aggregated metrics don't have to be computed from every submission again.
+ *
+ * <p>A sketch is complete if it has every execution submitted for the version and platform. A sketch started after executions had already been
+ * submitted, or whose executions were updated since, is incomplete until it is rebuilt from the submissions in S3.
+ *
+ * <p>The sketch of a version for {@link Partner#ALL} is the merge of the sketches of its platforms, and is complete if they all are. It is locked
+ * before the sketch of any platform, so that the sketches of a version are changed by one transaction at a time.
+ */
+@Entity
+@Table(name = "execution_metrics_sketch")
+@NamedQueries({
+    @NamedQuery(name = "io.dockstore.webservice.core.metrics.ExecutionMetricsSketch.findByVersionId",
+        query = "SELECT s FROM ExecutionMetricsSketch s WHERE s.id.versionId = :versionId")
+})
+public class ExecutionMetricsSketch {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<EnumMap<ExecutionStatus, StatusSketch>> STATUSES_TYPE = new TypeReference<>() { };
+
+    @EmbeddedId
+    private ExecutionMetricsSketchId id;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String sketch = "{}";
+
+    @Column(nullable = false)
+    private boolean complete;
+
+    @Column(updatable = false)
+    @CreationTimestamp
+    private Timestamp dbCreateDate;
+
+    @Column
+    @UpdateTimestamp
+    private Timestamp dbUpdateDate;
+
+    @Transient
+    private Map<ExecutionStatus, StatusSketch> statuses;
+
+    public ExecutionMetricsSketch() {
+    }
+
+    public ExecutionMetricsSketch(long versionId, Partner platform, boolean complete) {
+        this.id = new ExecutionMetricsSketchId(versionId, platform);
+        this.complete = complete;
+    }
+
+    public ExecutionMetricsSketchId getId() {
+        return id;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    /**
+     * @return the sketch of the executions of each status. Changes are only saved by {@link #setStatuses(Map)}.
+     */
+    public Map<ExecutionStatus, StatusSketch> getStatuses() {
+        if (statuses == null) {
+            try {
+                statuses = OBJECT_MAPPER.readValue(sketch, STATUSES_TYPE);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not read execution metrics sketch", e);
+            }
+        }
+        return statuses;
+    }
+
+    public void setStatuses(Map<ExecutionStatus, StatusSketch> statuses) {
+        try {
+            this.sketch = OBJECT_MAPPER.writeValueAsString(statuses);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write execution metrics sketch", e);
+        }
+        this.statuses = statuses;
+    }
+
+    /**
+     * The number of executions with a status, and the sketches of their data points
+     */
+    public static class StatusSketch {
+        private int count;
+        private StatisticSketch executionTime = new StatisticSketch();
+        private StatisticSketch memory = new StatisticSketch();
+        private StatisticSketch cpu = new StatisticSketch();
+        private StatisticSketch cost = new StatisticSketch();
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public StatisticSketch getExecutionTime() {
+            return executionTime;
+        }
+
+        public void setExecutionTime(StatisticSketch executionTime) {
+            this.executionTime = executionTime;
+        }
+
+        public StatisticSketch getMemory() {
+            return memory;
+        }
+
+        public void setMemory(StatisticSketch memory) {
+            this.memory = memory;
+        }
+
+        public StatisticSketch getCpu() {
+            return cpu;
+        }
+
+        public void setCpu(StatisticSketch cpu) {
+            this.cpu = cpu;
+        }
+
+        public StatisticSketch getCost() {
+            return cost;
+        }
+
+        public void setCost(StatisticSketch cost) {
+            this.cost = cost;
+        }
+
+        public void merge(StatusSketch other) {
+            count += other.count;
+            executionTime.merge(other.executionTime);
+            memory.merge(other.memory);
+            cpu.merge(other.cpu);
+            cost.merge(other.cost);
+        }
+    }
+
+    /**
+     * The count, minimum, maximum and sum of data points, and a t-digest of them from which percentiles are estimated.
+     * Two sketches merge into the sketch of the data points of both.
+     */
+    public static class StatisticSketch {
+        private static final double COMPRESSION = 100;
+        private static final double MEDIAN = 0.5;
+        private static final double PERCENTILE_95 = 0.95;
+
+        private int count;
+        private double minimum;
+        private double maximum;
+        private double sum;
+        private MergingDigest tdigest = new MergingDigest(COMPRESSION);
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public double getMinimum() {
+            return minimum;
+        }
+
+        public void setMinimum(double minimum) {
+            this.minimum = minimum;
+        }
+
+        public double getMaximum() {
+            return maximum;
+        }
+
+        public void setMaximum(double maximum) {
+            this.maximum = maximum;
+        }
+
+        public double getSum() {
+            return sum;
+        }
+
+        public void setSum(double sum) {
+            this.sum = sum;
+        }
+
+        @JsonProperty("digest")
+        public String getEncodedDigest() {
+            final ByteBuffer buffer = ByteBuffer.allocate(tdigest.smallByteSize());
+            tdigest.asSmallBytes(buffer);
+            return Base64.getEncoder().encodeToString(buffer.array());
+        }
+
+        @JsonProperty("digest")
+        public void setEncodedDigest(String encodedDigest) {
+            this.tdigest = MergingDigest.fromBytes(ByteBuffer.wrap(Base64.getDecoder().decode(encodedDigest)));
+        }
+
+        public void add(double value) {
+            minimum = count == 0 ? value : Math.min(minimum, value);
+            maximum = count == 0 ? value : Math.max(maximum, value);
+            sum += value;
+            count++;
+            tdigest.add(value);
+        }
+
+        public void merge(StatisticSketch other) {
+            if (other.count == 0) {
+                return;
+            }
+            minimum = count == 0 ? other.minimum : Math.min(minimum, other.minimum);
+            maximum = count == 0 ? other.maximum : Math.max(maximum, other.maximum);
+            sum += other.sum;
+            count += other.count;
+            tdigest.add(other.tdigest);
+        }
+
+        /**
+         * Sets the statistics of the data points on a metric that was created with the unit of the data points
+         */
+        public <T extends StatisticMetric> T toMetric(T metric) {
+            metric.setMinimum(minimum);
+            metric.setMaximum(maximum);
+            metric.setAverage(sum / count);
+            metric.setNumberOfDataPointsForAverage(count);
+            metric.setMedian(tdigest.quantile(MEDIAN));
+            metric.setPercentile95(tdigest.quantile(PERCENTILE_95));
+            return metric;
+        }
+    }
+
+    @Embeddable
+    public static class ExecutionMetricsSketchId implements Serializable {
+        @Column(name = "versionid", nullable = false)
+        private Long versionId;
+
+        @Column(name = "platform", nullable = false, columnDefinition = "TEXT")
+        @Enumerated(EnumType.STRING)
+        private Partner platform;
+
+        public ExecutionMetricsSketchId() {
+        }
+
+        public ExecutionMetricsSketchId(Long versionId, Partner platform) {
+            this.versionId = versionId;
+            this.platform = platform;
+        }
+
+        public Long getVersionId() {
+            return versionId;
+        }
+
+        public Partner getPlatform() {
+            return platform;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(versionId, platform);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object instanceof ExecutionMetricsSketchId otherId) {
+                return Objects.equals(versionId, otherId.versionId) && platform == otherId.platform;
+            }
+            return false;
+        }
+    }
+}
@@ -24,7 +24,10 @@ import io.dockstore.common.Partner;
 import io.dockstore.common.metrics.ExecutionsRequestBody;
 import io.dockstore.common.metrics.MetricsData;
 import io.dockstore.common.metrics.MetricsDataS3Client;
+import io.dockstore.webservice.jdbi.ExecutionS3KeyDAO;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +40,9 @@ import software.amazon.awssdk.core.exception.SdkClientException;
 /**
  * A helper class that handles ExecutionsRequestBody objects that are sent and retrieved from S3 for a specific trsId, versionId, and platform.
  * These functions only find/retrieve/put objects in the trsId/versionId/platform metrics directory in S3.
+ *
+ * Executions are found through the execution_s3_key table, which records the file each execution was submitted in. Executions that are
+ * not in the table, because they were submitted before it existed, are found by searching every file, unless that is turned off.
  */
 public class ExecutionsRequestBodyS3Handler {
     private static final Logger LOG = LoggerFactory.getLogger(ExecutionsRequestBodyS3Handler.class);
@@ -48,12 +54,25 @@ public class ExecutionsRequestBodyS3Handler {
     private final MetricsDataS3Client metricsDataS3Client;
     private final Map<String, String> executionIdToFileName = new HashMap<>();
     private final Map<String, ExecutionsRequestBody> fileNameToExecutionsRequestBody = new HashMap<>();
+    private final ExecutionS3KeyDAO executionS3KeyDAO;
+    private final boolean searchUnindexedExecutions;
 
     public ExecutionsRequestBodyS3Handler(String trsId, String versionId, Partner platform, MetricsDataS3Client metricsDataS3Client) {
+        this(trsId, versionId, platform, metricsDataS3Client, null, true);
+    }
+
+    /**
+     * @param executionS3KeyDAO where the file of each execution is indexed, or null to always search every file
+     * @param searchUnindexedExecutions whether to search every file for an execution that is not indexed
+     */
+    public ExecutionsRequestBodyS3Handler(String trsId, String versionId, Partner platform, MetricsDataS3Client metricsDataS3Client,
+            ExecutionS3KeyDAO executionS3KeyDAO, boolean searchUnindexedExecutions) {
         this.trsId = trsId;
         this.versionId = versionId;
         this.platform = platform;
         this.metricsDataS3Client = metricsDataS3Client;
+        this.executionS3KeyDAO = executionS3KeyDAO;
+        this.searchUnindexedExecutions = searchUnindexedExecutions || executionS3KeyDAO == null;
     }
 
     /**
@@ -85,6 +104,72 @@ public class ExecutionsRequestBodyS3Handler {
             throws JsonProcessingException, AwsServiceException, SdkClientException {
         final String executionsRequestBodyString = OBJECT_MAPPER.writeValueAsString(executionsRequestBody);
         metricsDataS3Client.createS3Object(trsId, versionId, platform.name(), fileName, ownerId, description, executionsRequestBodyString);
+        indexExecutions(fileName, executionsRequestBody);
+    }
+
+    /**
+     * Records the file that the executions of an ExecutionsRequestBody were submitted in.
+     * @param fileName
+     * @param executionsRequestBody
+     */
+    public void indexExecutions(String fileName, ExecutionsRequestBody executionsRequestBody) {
+        if (executionS3KeyDAO != null) {
+            executionS3KeyDAO.saveAll(trsId, versionId, platform, fileName, executionsRequestBody.getExecutionIds());
+        }
+    }
+
+    /**
+     * Indexes the executions of every file in S3. Executions that are already indexed are left as they are.
+     * @return the number of files read
+     */
+    public int indexAllExecutions() {
+        List<ExecutionsFromS3> files = getAllExecutionsFromS3();
+        files.forEach(file -> indexExecutions(file.fileName(), file.executionsRequestBody()));
+        return files.size();
+    }
+
+    /**
+     * Reads every file in S3, oldest first. Files that can't be read are skipped.
+     * @return the executions of each file that was read
+     */
+    public List<ExecutionsFromS3> getAllExecutionsFromS3() {
+        List<MetricsData> metricsDataList = metricsDataS3Client.getMetricsData(trsId, versionId, platform);
+        List<ExecutionsFromS3> files = new ArrayList<>();
+        for (MetricsData metricsData: metricsDataList) {
+            Optional<ExecutionsRequestBody> executionsRequestBody = getExecutionsRequestBodyByFileName(metricsData.fileName());
+            if (executionsRequestBody.isPresent()) {
+                files.add(new ExecutionsFromS3(metricsData.fileName(), executionsRequestBody.get()));
+            } else {
+                LOG.error("Could not read execution metrics file {}", metricsData.s3Key());
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Looks up the files of executions in the index, reading each file found from S3 once.
+     * Executions found are remembered, so that {@link #searchS3ForExecutionId(String, boolean)} does not look them up again.
+     * @param executionIds
+     */
+    public void findIndexedExecutions(Collection<String> executionIds) {
+        if (executionS3KeyDAO == null) {
+            return;
+        }
+        final List<String> unknownExecutionIds = executionIds.stream().filter(executionId -> !executionIdToFileName.containsKey(executionId)).distinct().toList();
+        if (unknownExecutionIds.isEmpty()) {
+            return;
+        }
+        executionS3KeyDAO.findFileNames(trsId, versionId, platform, unknownExecutionIds).forEach((executionId, fileName) -> {
+            if (!fileNameToExecutionsRequestBody.containsKey(fileName)) {
+                getExecutionsRequestBodyByFileName(fileName).ifPresent(executionsRequestBody -> fileNameToExecutionsRequestBody.put(fileName, executionsRequestBody));
+            }
+            final ExecutionsRequestBody executionsRequestBody = fileNameToExecutionsRequestBody.get(fileName);
+            if (executionsRequestBody != null && executionsRequestBody.containsExecutionId(executionId)) {
+                executionIdToFileName.put(executionId, fileName);
+            } else {
+                LOG.error("Could not find execution {} in execution metrics file {}", executionId, fileName);
+            }
+        });
     }
 
     /**
@@ -96,6 +181,9 @@ public class ExecutionsRequestBodyS3Handler {
      */
     public  Optional<ExecutionsFromS3> searchS3ForExecutionId(String executionId, boolean returnAsSingleExecutionsRequestBody) {
         if (!executionIdToFileName.containsKey(executionId)) {
+            findIndexedExecutions(List.of(executionId));
+        }
+        if (!executionIdToFileName.containsKey(executionId) && searchUnindexedExecutions) {
             // Find the file that contains the execution ID
             List<MetricsData> metricsDataList = metricsDataS3Client.getMetricsData(trsId, versionId, platform);
             for (MetricsData metricsData: metricsDataList) {
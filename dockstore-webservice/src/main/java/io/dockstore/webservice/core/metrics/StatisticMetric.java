@@ -57,6 +57,16 @@ public abstract class StatisticMetric extends Metric {
     @Schema(description = "The number of data points used to calculate the average", requiredMode = RequiredMode.REQUIRED)
     private int numberOfDataPointsForAverage;
 
+    @Column
+    @ApiModelProperty(value = "The estimated median of the data points")
+    @Schema(description = "The estimated median of the data points")
+    private Double median;
+
+    @Column
+    @ApiModelProperty(value = "The estimated 95th percentile of the data points")
+    @Schema(description = "The estimated 95th percentile of the data points")
+    private Double percentile95;
+
     @Column
     @ApiModelProperty(value = "The unit of the data points")
     @Schema(description = "The unit of the data points")
@@ -121,6 +131,22 @@ public abstract class StatisticMetric extends Metric {
         this.numberOfDataPointsForAverage = numberOfDataPointsForAverage;
     }
 
+    public Double getMedian() {
+        return median;
+    }
+
+    public void setMedian(Double median) {
+        this.median = median;
+    }
+
+    public Double getPercentile95() {
+        return percentile95;
+    }
+
+    public void setPercentile95(Double percentile95) {
+        this.percentile95 = percentile95;
+    }
+
     public String getUnit() {
         return unit;
     }
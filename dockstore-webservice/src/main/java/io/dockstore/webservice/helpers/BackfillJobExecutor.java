@@ -0,0 +1,257 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.helpers;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dockstore.webservice.CustomWebApplicationException;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import io.dockstore.webservice.core.BackfillJob;
+import io.dockstore.webservice.core.BackfillPartition;
+import io.dockstore.webservice.jdbi.BackfillJobDAO;
+import io.dropwizard.lifecycle.Managed;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.apache.http.HttpStatus;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.context.internal.ManagedSessionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs admin backfill jobs in the background, instead of in the request that starts them.
+ *
+ * <p>A job splits the id range of what it processes into partitions of a configured width. Partitions are processed by a fixed number of
+ * workers. A worker claims a partition in a short transaction, skipping partitions that another worker or webservice instance is claiming,
+ * and marks it as running, so that instances sharing the database don't process it twice. The partition is then processed without holding
+ * its lock, and is marked as completed in the transaction that finishes its work. A restart resumes with the partitions that are pending,
+ * or whose claim has timed out because the instance that ran them stopped.
+ */
+public class BackfillJobExecutor implements Managed {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BackfillJobExecutor.class);
+    private static final long STOP_WAIT_TIME_IN_SECONDS = 30L;
+
+    private final SessionFactory sessionFactory;
+    private final long partitionSize;
+    private final long claimTimeoutMillis;
+    private final ExecutorService executor;
+    private final Map<BackfillJob.Type, BackfillTask> tasks = new ConcurrentHashMap<>();
+    private final Meter processedItems;
+
+    public BackfillJobExecutor(SessionFactory sessionFactory, DockstoreWebserviceConfiguration.BackfillConfig config, MetricRegistry metricRegistry) {
+        this.sessionFactory = sessionFactory;
+        this.partitionSize = config.getPartitionSize();
+        this.claimTimeoutMillis = TimeUnit.MINUTES.toMillis(config.getClaimTimeoutMinutes());
+        this.executor = Executors.newFixedThreadPool(config.getWorkers(), new ThreadFactoryBuilder().setNameFormat("backfill-%d").setDaemon(true).build());
+        this.processedItems = metricRegistry.meter(MetricRegistry.name(BackfillJobExecutor.class, "processedItems"));
+    }
+
+    /**
+     * Sets what jobs of a type do. Types without a task cannot be submitted.
+     */
+    public void register(BackfillJob.Type type, BackfillTask task) {
+        tasks.put(type, task);
+    }
+
+    /**
+     * Creates a job and its partitions, and queues the partitions once they are committed.
+     *
+     * @param type what the job does
+     * @param allVersions whether to process all versions, or only those that have not been processed before
+     * @return the job
+     */
+    public BackfillJob submit(BackfillJob.Type type, boolean allVersions) {
+        final BackfillTask task = tasks.get(type);
+        if (task == null) {
+            throw new CustomWebApplicationException("Backfill jobs of type " + type + " are not available on this server.", HttpStatus.SC_BAD_REQUEST);
+        }
+        final List<Long> partitionIds = new ArrayList<>();
+        final BackfillJob job = inTransaction(dao -> {
+            final long maxId = task.findMaxId();
+            final BackfillJob newJob = dao.create(new BackfillJob(type, allVersions));
+            for (long startId = 0; startId <= maxId; startId += partitionSize) {
+                partitionIds.add(dao.createPartition(new BackfillPartition(newJob.getId(), startId, startId + partitionSize)).getId());
+            }
+            newJob.setPartitionCount(partitionIds.size());
+            if (partitionIds.isEmpty()) {
+                newJob.setStatus(BackfillJob.Status.COMPLETED);
+                newJob.setFinishedAt(new Timestamp(System.currentTimeMillis()));
+            }
+            return newJob;
+        });
+        if (job == null) {
+            throw new CustomWebApplicationException("Could not create the backfill job.", HttpStatus.SC_INTERNAL_SERVER_ERROR);
+        }
+        LOG.info("Submitted backfill job {} of type {} with {} partitions", job.getId(), type, partitionIds.size());
+        partitionIds.forEach(this::queue);
+        return job;
+    }
+
+    private void queue(long partitionId) {
+        executor.execute(() -> process(partitionId));
+    }
+
+    void process(long partitionId) {
+        final Optional<Claim> claimed = inTransaction(dao -> claim(dao, partitionId));
+        if (claimed == null || claimed.isEmpty()) {
+            // already processed, or being processed, by this or another webservice instance
+            return;
+        }
+        final Claim claim = claimed.get();
+        final Boolean processed = inTransaction(dao -> {
+            final int count = tasks.get(claim.type()).process(claim.startId(), claim.endId(), claim.allVersions());
+            final BackfillPartition partition = dao.findPartitionForUpdate(partitionId);
+            if (partition.getStatus() == BackfillPartition.Status.RUNNING) {
+                finishPartition(dao, dao.findById(partition.getJobId()), partition, BackfillPartition.Status.COMPLETED, count);
+                processedItems.mark(count);
+            }
+            return Boolean.TRUE;
+        });
+        if (processed == null) {
+            // the work was rolled back, record the failure so the job can finish
+            inTransaction(dao -> {
+                final BackfillPartition partition = dao.findPartitionForUpdate(partitionId);
+                if (partition.getStatus() == BackfillPartition.Status.RUNNING) {
+                    finishPartition(dao, dao.findById(partition.getJobId()), partition, BackfillPartition.Status.FAILED, 0);
+                }
+                return Boolean.TRUE;
+            });
+        }
+    }
+
+    /**
+     * Marks a partition as running, if it is pending or its claim has timed out, and nobody else is claiming it.
+     *
+     * @return the claim, or empty if the partition could not be claimed
+     */
+    private Optional<Claim> claim(BackfillJobDAO dao, long partitionId) {
+        final BackfillPartition partition = dao.findPartitionForClaim(partitionId);
+        if (partition == null || !isClaimable(partition, System.currentTimeMillis())) {
+            return Optional.empty();
+        }
+        partition.setStatus(BackfillPartition.Status.RUNNING);
+        partition.setClaimedAt(new Timestamp(System.currentTimeMillis()));
+        final BackfillJob job = dao.findById(partition.getJobId());
+        return Optional.of(new Claim(job.getType(), job.isAllVersions(), partition.getStartId(), partition.getEndId()));
+    }
+
+    private boolean isClaimable(BackfillPartition partition, long now) {
+        return partition.getStatus() == BackfillPartition.Status.PENDING
+            || (partition.getStatus() == BackfillPartition.Status.RUNNING && partition.getClaimedAt() != null && partition.getClaimedAt().getTime() < now - claimTimeoutMillis);
+    }
+
+    private void finishPartition(BackfillJobDAO dao, BackfillJob job, BackfillPartition partition, BackfillPartition.Status status, int count) {
+        partition.setStatus(status);
+        partition.setProcessedItems(count);
+        dao.recordPartition(job.getId(), status == BackfillPartition.Status.COMPLETED, count);
+        sessionFactory.getCurrentSession().refresh(job);
+        if (job.getCompletedPartitions() + job.getFailedPartitions() == job.getPartitionCount()) {
+            job.setStatus(job.getFailedPartitions() == 0 ? BackfillJob.Status.COMPLETED : BackfillJob.Status.FAILED);
+            job.setFinishedAt(new Timestamp(System.currentTimeMillis()));
+            LOG.info("Backfill job {} finished with status {}, {} items processed", job.getId(), job.getStatus(), job.getProcessedItems());
+        }
+    }
+
+    /**
+     * Runs work in a session and transaction of its own.
+     *
+     * @return the result of the work, or null if it failed and was rolled back
+     */
+    private <T> T inTransaction(Function<BackfillJobDAO, T> work) {
+        final Session session = sessionFactory.openSession();
+        ManagedSessionContext.bind(session);
+        final Transaction transaction = session.beginTransaction();
+        try {
+            final T result = work.apply(new BackfillJobDAO(sessionFactory));
+            transaction.commit();
+            return result;
+        } catch (RuntimeException e) {
+            LOG.error("Backfill work failed", e);
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            return null;
+        } finally {
+            ManagedSessionContext.unbind(sessionFactory);
+            session.close();
+        }
+    }
+
+    /**
+     * Resumes the jobs that were running when the webservice last stopped. Partitions that another webservice instance is running are left
+     * alone, unless their claim has timed out.
+     */
+    @Override
+    public void start() throws Exception {
+        final List<Long> claimable = inTransaction(dao -> dao.findClaimablePartitionIds(new Timestamp(System.currentTimeMillis() - claimTimeoutMillis)));
+        if (claimable != null && !claimable.isEmpty()) {
+            LOG.info("Resuming {} backfill partitions", claimable.size());
+            claimable.forEach(this::queue);
+        }
+    }
+
+    @Override
+    public void stop() throws Exception {
+        executor.shutdownNow();
+        if (!executor.awaitTermination(STOP_WAIT_TIME_IN_SECONDS, TimeUnit.SECONDS)) {
+            LOG.warn("Backfill jobs did not stop in time, their partitions will be resumed on the next start");
+        }
+    }
+
+    /**
+     * What a type of backfill job does.
+     */
+    public interface BackfillTask {
+
+        /**
+         * Runs in the transaction that creates the job.
+         *
+         * @return the largest id to process
+         */
+        long findMaxId();
+
+        /**
+         * Processes the items with an id in a range, in the transaction that checkpoints the range. Tasks whose items are independent may
+         * commit each item in a transaction of its own, for example with {@link TransactionHelper}. Problems with a single item should be
+         * logged and skipped, an exception rolls back the uncommitted work and marks the range as failed.
+         *
+         * @param startId first id of the range, inclusive
+         * @param endId last id of the range, exclusive
+         * @param allVersions whether to process all versions, or only those that have not been processed before
+         * @return the number of items processed
+         */
+        int process(long startId, long endId, boolean allVersions);
+    }
+
+    /**
+     * A claimed partition, with what is needed to process it once the claim is committed.
+     */
+    private record Claim(BackfillJob.Type type, boolean allVersions, long startId, long endId) {
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.helpers;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A count of bytes shared by concurrent users, each of which reserves bytes before it holds them and releases them when it is done.
+ * A reservation that does not fit waits until enough bytes are released, or until it times out.
+ *
+ * A single reservation larger than the whole budget is allowed when nothing else is reserved, so that one oversized
+ * request is slow rather than impossible.
+ */
+public class ByteBudget {
+
+    private final long maxBytes;
+    private long reservedBytes;
+
+    public ByteBudget(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Reserves bytes, waiting for them to become available.
+     * @param bytes the number of bytes to reserve
+     * @param timeout the longest time to wait
+     * @param unit the unit of the timeout
+     * @return true if the bytes were reserved, false if the wait timed out
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public synchronized boolean reserve(long bytes, long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (reservedBytes > 0 && reservedBytes + bytes > maxBytes) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        reservedBytes += bytes;
+        return true;
+    }
+
+    public synchronized void release(long bytes) {
+        reservedBytes = Math.max(0, reservedBytes - bytes);
+        notifyAll();
+    }
+
+    public synchronized long getReservedBytes() {
+        return reservedBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
@@ -79,6 +79,11 @@ public class CachingFileTree implements FileTree {
         return paths;
     }
 
+    @Override
+    public void close() {
+        fileTree.close();
+    }
+
     private String intern(String value) {
         return value != null ? value.intern() : null;
     }
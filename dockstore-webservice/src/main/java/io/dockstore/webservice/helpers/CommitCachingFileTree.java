@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.helpers;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Implements a FileTree over a specific commit of a GitHub repository that reads
+ * through the process-wide {@link CommitFileCache}, so that trees for the same
+ * commit share the content that any of them has read.
+ *
+ * The underlying FileTree is only created once a value is missing from the cache,
+ * so when every file that is needed has been read before, the repository is not
+ * downloaded at all.
+ */
+public class CommitCachingFileTree implements FileTree {
+
+    private final String repository;
+    private final String sha;
+    private final Supplier<FileTree> fileTreeSupplier;
+    private final CommitFileCache commitFileCache;
+    private FileTree fileTree;
+
+    /**
+     * @param repository the GitHub repository, in "owner/name" form
+     * @param sha the full SHA of the commit
+     * @param fileTreeSupplier creates the FileTree that reads values that are not cached
+     */
+    public CommitCachingFileTree(String repository, String sha, Supplier<FileTree> fileTreeSupplier) {
+        this.repository = repository;
+        this.sha = sha;
+        this.fileTreeSupplier = fileTreeSupplier;
+        this.commitFileCache = CommitFileCache.getInstance();
+    }
+
+    @Override
+    public String readFile(Path filePath) {
+        Optional<String> cached = commitFileCache.getFile(repository, sha, filePath.toString());
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        String content = getFileTree().readFile(filePath);
+        // A missing file is not cached, since it may be missing because a read failed
+        if (content != null) {
+            commitFileCache.putFile(repository, sha, filePath.toString(), content);
+        }
+        return content;
+    }
+
+    @Override
+    public List<String> listFiles(Path dirPath) {
+        Optional<List<String>> cached = commitFileCache.getDirectory(repository, sha, dirPath.toString());
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        List<String> names = getFileTree().listFiles(dirPath);
+        if (names != null) {
+            commitFileCache.putDirectory(repository, sha, dirPath.toString(), names);
+        }
+        return names;
+    }
+
+    @Override
+    public List<Path> listPaths() {
+        Optional<List<String>> cached = commitFileCache.getPaths(repository, sha);
+        if (cached.isPresent()) {
+            return cached.get().stream().map(Paths::get).toList();
+        }
+        List<Path> paths = getFileTree().listPaths();
+        commitFileCache.putPaths(repository, sha, paths.stream().map(Path::toString).toList());
+        return paths;
+    }
+
+    @Override
+    public void close() {
+        if (fileTree != null) {
+            fileTree.close();
+        }
+    }
+
+    private FileTree getFileTree() {
+        if (fileTree == null) {
+            fileTree = fileTreeSupplier.get();
+        }
+        return fileTree;
+    }
+}
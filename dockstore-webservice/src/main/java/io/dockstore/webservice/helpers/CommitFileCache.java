@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.helpers;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.hash.Hashing;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A process-wide cache of the files and directory listings of GitHub repositories, keyed by repository, commit SHA and path.
+ * The content of a commit never changes, so entries never go stale and are only evicted to stay within the configured
+ * number of content bytes. Evicted entries can optionally be spilled to a local directory and read back from there.
+ *
+ * Only lookups by full commit SHA are cached, because branch and tag names move.
+ */
+public final class CommitFileCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommitFileCache.class);
+    private static final Pattern COMMIT_SHA = Pattern.compile("[0-9a-f]{40}");
+    /**
+     * Separates the names in a cached listing. Git paths cannot contain a NUL character.
+     */
+    private static final String LIST_SEPARATOR = "\0";
+
+    private static volatile CommitFileCache instance = new CommitFileCache(new DockstoreWebserviceConfiguration.FileTreeCacheConfig());
+
+    private final Cache<Key, String> cache;
+    private final Path spillDirectory;
+    private final long maxSpillBytes;
+    private final AtomicLong spilledBytes = new AtomicLong();
+    private final AtomicLong spillHits = new AtomicLong();
+    private final long maxBytes;
+
+    private CommitFileCache(DockstoreWebserviceConfiguration.FileTreeCacheConfig config) {
+        this.maxBytes = config.getMaxBytes();
+        this.maxSpillBytes = config.getMaxSpillBytes();
+        this.spillDirectory = config.getSpillDirectory() == null ? null : Paths.get(config.getSpillDirectory());
+        Caffeine<Key, String> builder = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .<Key, String>weigher((key, value) -> value.length())
+            .recordStats();
+        if (spillDirectory != null) {
+            builder = builder.removalListener(this::spill);
+        }
+        this.cache = builder.build();
+    }
+
+    /**
+     * Replaces the cache with an empty one that uses the specified configuration.
+     * Files spilled by an earlier run are deleted, since the spill directory is not indexed across restarts.
+     */
+    public static void init(DockstoreWebserviceConfiguration.FileTreeCacheConfig config) {
+        if (config.getSpillDirectory() != null) {
+            try {
+                final Path directory = Paths.get(config.getSpillDirectory());
+                Files.createDirectories(directory);
+                FileUtils.cleanDirectory(directory.toFile());
+            } catch (IOException e) {
+                LOG.error("could not prepare the file tree cache spill directory " + config.getSpillDirectory(), e);
+            }
+        }
+        instance = new CommitFileCache(config);
+    }
+
+    public static CommitFileCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return true if the reference is a full commit SHA, so that the content it refers to can be cached
+     */
+    public static boolean isCommitSha(String reference) {
+        return reference != null && COMMIT_SHA.matcher(reference).matches();
+    }
+
+    public Optional<String> getFile(String repository, String sha, String path) {
+        return get(new Key(Kind.FILE, repository, sha, normalize(path)));
+    }
+
+    public void putFile(String repository, String sha, String path, String content) {
+        cache.put(new Key(Kind.FILE, repository, sha, normalize(path)), content);
+    }
+
+    public Optional<List<String>> getDirectory(String repository, String sha, String path) {
+        return get(new Key(Kind.DIRECTORY, repository, sha, normalize(path))).map(CommitFileCache::split);
+    }
+
+    public void putDirectory(String repository, String sha, String path, List<String> names) {
+        cache.put(new Key(Kind.DIRECTORY, repository, sha, normalize(path)), String.join(LIST_SEPARATOR, names));
+    }
+
+    /**
+     * @return the paths of all normal files in a commit, as listed by a {@link FileTree}
+     */
+    public Optional<List<String>> getPaths(String repository, String sha) {
+        return get(new Key(Kind.PATHS, repository, sha, "")).map(CommitFileCache::split);
+    }
+
+    public void putPaths(String repository, String sha, List<String> paths) {
+        cache.put(new Key(Kind.PATHS, repository, sha, ""), String.join(LIST_SEPARATOR, paths));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return the number of content bytes (characters) held in memory
+     */
+    public long getWeight() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getSpilledBytes() {
+        return spilledBytes.get();
+    }
+
+    /**
+     * @return the number of lookups that missed in memory but were read back from the spill directory
+     */
+    public long getSpillHits() {
+        return spillHits.get();
+    }
+
+    private Optional<String> get(Key key) {
+        final String value = cache.getIfPresent(key);
+        if (value != null || spillDirectory == null) {
+            return Optional.ofNullable(value);
+        }
+        final Path spillFile = spillDirectory.resolve(key.hash());
+        if (!Files.exists(spillFile)) {
+            return Optional.empty();
+        }
+        try {
+            final String spilled = Files.readString(spillFile, StandardCharsets.UTF_8);
+            spillHits.incrementAndGet();
+            cache.put(key, spilled);
+            return Optional.of(spilled);
+        } catch (IOException e) {
+            LOG.warn("could not read spilled file tree cache entry " + spillFile, e);
+            return Optional.empty();
+        }
+    }
+
+    private void spill(Key key, String value, RemovalCause cause) {
+        if (cause != RemovalCause.SIZE || key == null || value == null) {
+            return;
+        }
+        final Path spillFile = spillDirectory.resolve(key.hash());
+        if (Files.exists(spillFile)) {
+            return;
+        }
+        if (spilledBytes.addAndGet(value.length()) > maxSpillBytes) {
+            spilledBytes.addAndGet(-value.length());
+            return;
+        }
+        try {
+            Files.writeString(spillFile, value, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            spilledBytes.addAndGet(-value.length());
+            LOG.warn("could not spill file tree cache entry to " + spillFile, e);
+        }
+    }
+
+    private static String normalize(String path) {
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    private static List<String> split(String joined) {
+        return joined.isEmpty() ? List.of() : Arrays.asList(joined.split(LIST_SEPARATOR, -1));
+    }
+
+    private enum Kind {
+        FILE, DIRECTORY, PATHS
+    }
+
+    private record Key(Kind kind, String repository, String sha, String path) {
+        String hash() {
+            return Hashing.sha256().hashString(String.join(LIST_SEPARATOR, kind.name(), repository, sha, path), StandardCharsets.UTF_8).toString();
+        }
+    }
+}
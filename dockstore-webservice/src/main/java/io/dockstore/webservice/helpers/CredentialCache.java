@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.helpers;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.api.services.oauth2.model.Userinfoplus;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import io.dockstore.webservice.core.Token;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caches that sit in front of the token table and Google when authenticating a request.
+ * Dropwizard's CachingAuthenticator only remembers successful authentications, so this remembers rejected credentials
+ * for a short while, and the Google userinfo of accepted Google tokens, so that neither is looked up on every request.
+ *
+ * Credentials are only held as their SHA-256 digest. Entries must be invalidated whenever a token is deleted or
+ * a user is banned or unbanned, alongside the CachingAuthenticator.
+ */
+public class CredentialCache {
+
+    private final Cache<String, Boolean> rejectedCredentials;
+    private final Cache<String, Userinfoplus> googleUserinfo;
+    private final Meter rejectedHits;
+    private final Meter rejectedMisses;
+    private final Meter googleUserinfoHits;
+    private final Meter googleUserinfoMisses;
+    private final Timer tokenLookup;
+    private final Timer googleUserinfoLookup;
+
+    public CredentialCache(DockstoreWebserviceConfiguration.CredentialCacheConfig config, MetricRegistry metricRegistry) {
+        this.rejectedCredentials = Caffeine.newBuilder()
+            .maximumSize(config.getMaxRejectedCredentials())
+            .expireAfterWrite(Duration.ofSeconds(config.getRejectedCredentialSeconds()))
+            .build();
+        this.googleUserinfo = Caffeine.newBuilder()
+            .maximumSize(config.getMaxGoogleUserinfo())
+            .expireAfterWrite(Duration.ofSeconds(config.getGoogleUserinfoSeconds()))
+            .build();
+        this.rejectedHits = metricRegistry.meter(MetricRegistry.name(CredentialCache.class, "rejected", "hits"));
+        this.rejectedMisses = metricRegistry.meter(MetricRegistry.name(CredentialCache.class, "rejected", "misses"));
+        this.googleUserinfoHits = metricRegistry.meter(MetricRegistry.name(CredentialCache.class, "googleUserinfo", "hits"));
+        this.googleUserinfoMisses = metricRegistry.meter(MetricRegistry.name(CredentialCache.class, "googleUserinfo", "misses"));
+        this.tokenLookup = metricRegistry.timer(MetricRegistry.name(CredentialCache.class, "tokenLookup"));
+        this.googleUserinfoLookup = metricRegistry.timer(MetricRegistry.name(CredentialCache.class, "googleUserinfoLookup"));
+    }
+
+    /**
+     * @param credentials credentials sent with a request
+     * @return true if the credentials were recently rejected
+     */
+    public boolean isRejected(String credentials) {
+        if (rejectedCredentials.getIfPresent(Token.hashContent(credentials)) != null) {
+            rejectedHits.mark();
+            return true;
+        }
+        rejectedMisses.mark();
+        return false;
+    }
+
+    /**
+     * Remembers that the credentials were rejected.
+     *
+     * @param credentials credentials sent with a request
+     */
+    public void reject(String credentials) {
+        rejectedCredentials.put(Token.hashContent(credentials), Boolean.TRUE);
+    }
+
+    /**
+     * Times a lookup in the token table.
+     *
+     * @param lookup finds the token
+     * @return the result of the lookup
+     */
+    public <T> T timeTokenLookup(Supplier<T> lookup) {
+        try (Timer.Context ignored = tokenLookup.time()) {
+            return lookup.get();
+        }
+    }
+
+    /**
+     * Gets the Google userinfo for a Google token, asking Google only if the token has not been accepted recently.
+     * Failed lookups are not cached here, rejected credentials are remembered by {@link #reject(String)}.
+     *
+     * @param credentials Google token
+     * @param lookup asks Google for the userinfo
+     * @return the userinfo, or empty if Google did not accept the token
+     */
+    public Optional<Userinfoplus> getGoogleUserinfo(String credentials, Function<String, Optional<Userinfoplus>> lookup) {
+        final String key = Token.hashContent(credentials);
+        final Userinfoplus cached = googleUserinfo.getIfPresent(key);
+        if (cached != null) {
+            googleUserinfoHits.mark();
+            return Optional.of(cached);
+        }
+        googleUserinfoMisses.mark();
+        final Optional<Userinfoplus> userinfoplus;
+        try (Timer.Context ignored = googleUserinfoLookup.time()) {
+            userinfoplus = lookup.apply(credentials);
+        }
+        userinfoplus.ifPresent(value -> googleUserinfo.put(key, value));
+        return userinfoplus;
+    }
+
+    /**
+     * Forgets everything about the credentials, to be called when the corresponding token is deleted or changes.
+     *
+     * @param credentials token content
+     */
+    public void invalidate(String credentials) {
+        final String key = Token.hashContent(credentials);
+        rejectedCredentials.invalidate(key);
+        googleUserinfo.invalidate(key);
+    }
+
+    /**
+     * Forgets all rejected credentials, to be called when a user is unbanned and their credentials become valid again.
+     */
+    public void invalidateRejected() {
+        rejectedCredentials.invalidateAll();
+    }
+}
@@ -47,6 +47,7 @@ import java.util.Set;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
+import org.apache.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,35 +75,56 @@ public final class DockerRegistryAPIHelper {
      * @param repo
      * @param specifierType
      * @param specifierName
-     * @return
+     * @return the images, or an empty set if they could not be retrieved
      */
     public static Set<Image> getImages(Registry registry, String repo, LanguageHandlerInterface.DockerSpecifier specifierType, String specifierName) {
+        try {
+            return resolveImages(registry, repo, specifierType, specifierName);
+        } catch (ImageResolver.LookupFailedException ex) {
+            LOG.error(ex.getMessage(), ex);
+            return new HashSet<>();
+        }
+    }
+
+    /**
+     * Like {@link #getImages(Registry, String, LanguageHandlerInterface.DockerSpecifier, String)}, but only returns an empty set if the registry
+     * answered that the manifest was not found, so that {@link ImageResolver} does not cache other failures.
+     *
+     * @param registry
+     * @param repo
+     * @param specifierType
+     * @param specifierName
+     * @return the images, or an empty set if the image was not found
+     * @throws ImageResolver.LookupFailedException if the images could not be retrieved for any other reason
+     */
+    public static Set<Image> resolveImages(Registry registry, String repo, LanguageHandlerInterface.DockerSpecifier specifierType, String specifierName) {
         Set<Image> images = new HashSet<>();
         String imageNameMessage = String.format("%s image %s specified by %s %s", registry.getFriendlyName(), repo, specifierType, specifierName);
 
         // Get token with pull access to use for subsequent Docker Registry HTTP API V2 calls
         Optional<String> token = getDockerToken(registry.getDockerPath(), repo);
         if (token.isEmpty()) {
-            LOG.error("Could not retrieve token for {} repository {}", registry.getFriendlyName(), repo);
-            return images;
+            throw new ImageResolver.LookupFailedException(String.format("Could not retrieve token for %s repository %s", registry.getFriendlyName(), repo));
         }
 
         // Get manifest for image. There are two types of manifests: image manifest and manifest list. Manifest list is used for multi-arch images.
-        Optional<Response> manifestResponse = getDockerManifest(token.get(), registry.getDockerPath(), repo, specifierName);
-        if (manifestResponse.isEmpty()) {
-            LOG.error("Could not retrieve manifest for {}", imageNameMessage);
+        Response manifestResponse = sendManifestRequest(token.get(), registry.getDockerPath(), repo, specifierName);
+        if (manifestResponse.code() == HttpStatus.SC_NOT_FOUND) {
+            LOG.error("Could not find manifest for {}", imageNameMessage);
             return images;
         }
+        if (!manifestResponse.isSuccessful()) {
+            throw new ImageResolver.LookupFailedException("Could not retrieve manifest for " + imageNameMessage);
+        }
 
         // Check what type of manifest was returned and whether the image is multi-arch
-        String contentTypeHeader = manifestResponse.get().headers().get(HttpHeaders.CONTENT_TYPE);
+        String contentTypeHeader = manifestResponse.headers().get(HttpHeaders.CONTENT_TYPE);
         if (contentTypeHeader == null) {
-            LOG.error("Could not retrieve Content-Type header from manifest response for {}", imageNameMessage);
-            return images;
+            throw new ImageResolver.LookupFailedException(String.format("Could not retrieve Content-Type header from manifest response for %s", imageNameMessage));
         }
 
         String contentType = contentTypeHeader;
-        Reader manifestJson = manifestResponse.get().body().charStream();
+        Reader manifestJson = manifestResponse.body().charStream();
         String digest;
 
         if (contentType.equals(DOCKER_V2_IMAGE_MANIFEST_MEDIA_TYPE) || contentType.equals(OCI_IMAGE_MANIFEST_MEDIA_TYPE)) {
@@ -111,26 +133,23 @@ public final class DockerRegistryAPIHelper {
             // Check that the image manifest is using schema version 2 because schema version 1 is deprecated and the JSON response is
             // formatted differently, thus requiring some pre-processing before calculating the image digest
             if (imageManifest.getSchemaVersion() != 2) {
-                LOG.error("The image manifest for {} is using schema version {}, not schema version 2", imageNameMessage, imageManifest.getSchemaVersion());
-                return images;
+                throw new ImageResolver.LookupFailedException(String.format("The image manifest for %s is using schema version %s, not schema version 2", imageNameMessage, imageManifest.getSchemaVersion()));
             }
 
             // The manifest response may include a Docker-Content-Digest header, which is the digest of the image and has the form sha256:<digest>
-            String digestHeader = manifestResponse.get().headers().get("docker-content-digest");
+            String digestHeader = manifestResponse.headers().get("docker-content-digest");
             if (digestHeader == null) {
                 // Manually calculate the digest if not given in the header
-                digest = calculateDockerImageDigest(manifestResponse.get());
+                digest = calculateDockerImageDigest(manifestResponse);
 
                 if (digest.isEmpty()) {
-                    LOG.error("Could not calculate digest for {}", imageNameMessage);
-                    return images;
+                    throw new ImageResolver.LookupFailedException(String.format("Could not calculate digest for %s", imageNameMessage));
                 }
             } else {
                 if (digestHeader.startsWith(DIGEST_HASH_ALGORITHM)) { // Digest header should have the form sha256:<digest>
                     digest = digestHeader.split(DIGEST_HASH_ALGORITHM + ":")[1]; // sha256:<digest> splits to ["", <digest>]
                 } else {
-                    LOG.error("Could not retrieve a {} digest for {}", DIGEST_HASH_ALGORITHM, imageNameMessage);
-                    return images;
+                    throw new ImageResolver.LookupFailedException(String.format("Could not retrieve a %s digest for %s", DIGEST_HASH_ALGORITHM, imageNameMessage));
                 }
             }
             Checksum checksum = new Checksum(DIGEST_HASH_ALGORITHM, digest);
@@ -144,8 +163,7 @@ public final class DockerRegistryAPIHelper {
             String configDigest = imageManifest.getConfig().getDigest();
             Optional<Response> configBlobResponse = getDockerBlob(token.get(), registry.getDockerPath(), repo, configDigest);
             if (configBlobResponse.isEmpty()) {
-                LOG.error("Could not retrieve the config blob for {}", imageNameMessage);
-                return images;
+                throw new ImageResolver.LookupFailedException(String.format("Could not retrieve the config blob for %s", imageNameMessage));
             }
             DockerBlob configBlob = GSON.fromJson(configBlobResponse.get().body().charStream(), DockerBlob.class);
             String arch = configBlob.getArchitecture();
@@ -176,8 +194,7 @@ public final class DockerRegistryAPIHelper {
                 // Get manifest of each arch image to calculate the image's size. An image's size is the sum of the size of its layers
                 Optional<Response> archImageManifestResponse = getDockerManifest(token.get(), registry.getDockerPath(), repo, manifestDigest);
                 if (archImageManifestResponse.isEmpty()) {
-                    LOG.error("Could not get the arch image manifest for {}", imageNameMessage);
-                    continue;
+                    throw new ImageResolver.LookupFailedException(String.format("Could not get the arch image manifest for %s", imageNameMessage));
                 }
                 DockerImageManifest archImageManifest = GSON.fromJson(archImageManifestResponse.get().body().charStream(), DockerImageManifest.class);
                 List<DockerLayer> imageLayers = Arrays.asList(archImageManifest.getLayers());
@@ -241,8 +258,30 @@ public final class DockerRegistryAPIHelper {
      * @param specifierName Value of the specifier. Either a tag or a digest
      * @return HttpResponse
      */
-    @SuppressWarnings("checkstyle:MagicNumber")
     public static Optional<Response> getDockerManifest(String token, String registryDockerPath, String repo, String specifierName) {
+        try {
+            Response manifestResponse = sendManifestRequest(token, registryDockerPath, repo, specifierName);
+            if (manifestResponse.isSuccessful()) {
+                return Optional.of(manifestResponse);
+            }
+        } catch (ImageResolver.LookupFailedException ex) {
+            LOG.error(ex.getMessage(), ex);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Sends a request for a Docker image's manifest, retrying while the registry is rate limited.
+     *
+     * @param token Authentication token with pull access for the image's repository
+     * @param registryDockerPath
+     * @param repo
+     * @param specifierName Value of the specifier. Either a tag or a digest
+     * @return the last response, which may be unsuccessful
+     * @throws ImageResolver.LookupFailedException if the request could not be sent
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private static Response sendManifestRequest(String token, String registryDockerPath, String repo, String specifierName) {
         // Ex: https://ghcr.io/v2/<repo>/manifests/<tag_or_digest>
         String getManifestURL = String.format("https://%s/v2/%s/manifests/%s", registryDockerPath, repo, specifierName);
         String acceptHeader = String.join(",", DOCKER_V2_IMAGE_MANIFEST_MEDIA_TYPE, DOCKER_V2_IMAGE_MANIFEST_LIST_MEDIA_TYPE, OCI_IMAGE_MANIFEST_MEDIA_TYPE, OCI_IMAGE_INDEX_MEDIA_TYPE);
@@ -272,22 +311,22 @@ public final class DockerRegistryAPIHelper {
                     success = true;
                 } else {
                     LOG.error(getDockerErrorMessage(manifestResponse));
+                    if (manifestResponse.code() == tooManyRequestsCode) {
+                        // Let other lookups in this registry wait too
+                        ImageResolver.getInstance().rateLimited(registryDockerPath, manifestResponse);
+                    }
                 }
             } while (!success && (retries++ < maxRetries) && (manifestResponse.code() == tooManyRequestsCode));
             if (!success) {
                 LOG.error("Could not get manifest after retrying for {} times", retries);
-                return Optional.empty();
             }
         } catch (IOException ex) {
-            LOG.error("Could not send manifest request GET {}", getManifestURL, ex);
-            return Optional.empty();
+            throw new ImageResolver.LookupFailedException("Could not send manifest request GET " + getManifestURL, ex);
         } catch (InterruptedException ex) {
-            LOG.error("Could not send manifest request GET {}", getManifestURL, ex);
             Thread.currentThread().interrupt();
-            return Optional.empty();
+            throw new ImageResolver.LookupFailedException("Could not send manifest request GET " + getManifestURL, ex);
         }
-
-        return Optional.of(manifestResponse);
+        return manifestResponse;
     }
 
     /*
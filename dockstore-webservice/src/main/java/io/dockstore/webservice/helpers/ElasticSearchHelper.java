@@ -1,24 +1,47 @@
 package io.dockstore.webservice.helpers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.io.Resources;
 import io.dockstore.webservice.DockstoreWebserviceConfiguration;
 import io.dockstore.webservice.helpers.statelisteners.ElasticListener;
 import io.dropwizard.lifecycle.Managed;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpHost;
+import org.apache.http.HttpStatus;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.support.master.AcknowledgedResponse;
+import org.elasticsearch.client.GetAliasesResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.client.RestHighLevelClient;
-import org.elasticsearch.client.indices.GetMappingsRequest;
-import org.elasticsearch.client.indices.GetMappingsResponse;
+import org.elasticsearch.client.core.CountRequest;
+import org.elasticsearch.client.core.CountResponse;
+import org.elasticsearch.client.indices.CreateIndexRequest;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +51,9 @@ public final class  ElasticSearchHelper implements Managed {
     private static RestHighLevelClient restHighLevelClient = null;
     private static final String LOCK_INDEX = "lock";
     private static final String LOCK_DOCUMENT_ID = "locked";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final DateTimeFormatter INDEX_VERSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS").withZone(ZoneOffset.UTC);
+    private static final int DEFAULT_NUMBER_OF_REPLICAS = 1;
 
     private DockstoreWebserviceConfiguration.ElasticSearchConfig config;
 
@@ -44,16 +70,125 @@ public final class  ElasticSearchHelper implements Managed {
     }
 
     public static boolean doMappingsExist() {
-        GetMappingsRequest getMappingsRequest = new GetMappingsRequest();
+        // Index existence checks resolve aliases, so this works for both versioned indices behind an alias and older concrete indices
+        GetIndexRequest getIndexRequest = new GetIndexRequest(ElasticListener.INDEXES.toArray(new String[0]));
         try {
-            GetMappingsResponse response = restHighLevelClient.indices().getMapping(getMappingsRequest, RequestOptions.DEFAULT);
-            return response.mappings().keySet().containsAll(ElasticListener.INDEXES);
+            return restHighLevelClient.indices().exists(getIndexRequest, RequestOptions.DEFAULT);
         } catch (Exception e) {
             LOG.error("Could not get Elasticsearch mappings", e);
             return false;
         }
     }
 
+    /**
+     * Creates a new, empty version of an index, named after the alias that will eventually point at it (e.g. workflows_20240101120000000).
+     * Replicas and periodic refreshes are disabled because nothing reads from the index until the alias is swapped;
+     * call {@link #finishBulkLoad(String, String)} to restore them before swapping.
+     * @param alias the name that searches use, e.g. workflows
+     * @param mappingResource the classpath resource containing the settings and mappings of the index
+     * @param version when the reindex started, used to name the new index
+     * @return the name of the new index
+     * @throws IOException
+     */
+    public static String createIndexVersion(String alias, String mappingResource, Instant version) throws IOException {
+        String index = alias + "_" + INDEX_VERSION_FORMAT.format(version);
+        ObjectNode source = readMapping(mappingResource);
+        ObjectNode indexSettings = (ObjectNode) source.get("settings").get("index");
+        indexSettings.put("number_of_replicas", 0);
+        indexSettings.put("refresh_interval", "-1");
+        CreateIndexRequest request = new CreateIndexRequest(index);
+        request.source(MAPPER.writeValueAsString(source), XContentType.JSON);
+        restHighLevelClient.indices().create(request, RequestOptions.DEFAULT);
+        LOG.info("Created Elasticsearch index {} for alias {}", index, alias);
+        return index;
+    }
+
+    /**
+     * Restores the replica count from the mapping and the default refresh interval on an index created by
+     * {@link #createIndexVersion(String, String, Instant)}, then refreshes it so that all of its documents are searchable and countable.
+     * @param index the versioned index
+     * @param mappingResource the classpath resource that the index was created from
+     * @throws IOException
+     */
+    public static void finishBulkLoad(String index, String mappingResource) throws IOException {
+        int replicas = readMapping(mappingResource).path("settings").path("index").path("number_of_replicas").asInt(DEFAULT_NUMBER_OF_REPLICAS);
+        Settings settings = Settings.builder().put("index.number_of_replicas", replicas).putNull("index.refresh_interval").build();
+        restHighLevelClient.indices().putSettings(new UpdateSettingsRequest(index).settings(settings), RequestOptions.DEFAULT);
+        restHighLevelClient.indices().refresh(new RefreshRequest(index), RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Counts the documents in an index or alias.
+     * @param index
+     * @return the number of documents
+     * @throws IOException
+     */
+    public static long countDocuments(String index) throws IOException {
+        CountResponse countResponse = restHighLevelClient.count(new CountRequest(index), RequestOptions.DEFAULT);
+        if (countResponse.status().getStatus() != HttpStatus.SC_OK) {
+            throw new RuntimeException("Non-OK response to Elasticsearch request");
+        }
+        return countResponse.getCount();
+    }
+
+    /**
+     * Gets the indices that an alias points to.
+     * @param alias
+     * @return the names of the indices, empty if there is no such alias
+     * @throws IOException
+     */
+    public static Set<String> getAliasedIndices(String alias) throws IOException {
+        GetAliasesResponse response = restHighLevelClient.indices().getAlias(new GetAliasesRequest(alias), RequestOptions.DEFAULT);
+        return response.getAliases().entrySet().stream()
+            .filter(entry -> !entry.getValue().isEmpty())
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Points each alias at its new index in a single atomic request, so searches never see a missing or partially loaded index.
+     * The indices that the aliases previously pointed to are deleted in the same request, as is any concrete index that has the alias' name,
+     * which is how indices were named before they were versioned.
+     * @param aliasToIndex a map from alias to the versioned index it should point to
+     * @throws IOException
+     */
+    public static void swapAliases(Map<String, String> aliasToIndex) throws IOException {
+        IndicesAliasesRequest request = new IndicesAliasesRequest();
+        for (Map.Entry<String, String> entry : aliasToIndex.entrySet()) {
+            String alias = entry.getKey();
+            String newIndex = entry.getValue();
+            Set<String> previousIndices = getAliasedIndices(alias);
+            if (previousIndices.isEmpty() && restHighLevelClient.indices().exists(new GetIndexRequest(alias), RequestOptions.DEFAULT)) {
+                request.addAliasAction(AliasActions.removeIndex().index(alias));
+            }
+            request.addAliasAction(AliasActions.add().index(newIndex).alias(alias));
+            previousIndices.stream()
+                .filter(previousIndex -> !previousIndex.equals(newIndex))
+                .forEach(previousIndex -> request.addAliasAction(AliasActions.removeIndex().index(previousIndex)));
+        }
+        AcknowledgedResponse response = restHighLevelClient.indices().updateAliases(request, RequestOptions.DEFAULT);
+        if (!response.isAcknowledged()) {
+            throw new RuntimeException("Elasticsearch did not acknowledge the alias swap");
+        }
+        LOG.info("Swapped Elasticsearch aliases to {}", aliasToIndex);
+    }
+
+    /**
+     * Deletes an index, logging instead of throwing if it can't be deleted.
+     * @param index
+     */
+    public static void deleteIndexQuietly(String index) {
+        try {
+            restHighLevelClient.indices().delete(new DeleteIndexRequest(index), RequestOptions.DEFAULT);
+        } catch (Exception e) {
+            LOG.warn("Could not delete Elasticsearch index " + index, e);
+        }
+    }
+
+    private static ObjectNode readMapping(String mappingResource) throws IOException {
+        return (ObjectNode) MAPPER.readTree(Resources.toString(Resources.getResource(mappingResource), StandardCharsets.UTF_8));
+    }
+
     /**
      * Acquires the Elasticsearch lock by creating a document that is used to indicate if the lock is available or not.
      * If the request to create the document fails, then the document is already exists, and the lock is not available.
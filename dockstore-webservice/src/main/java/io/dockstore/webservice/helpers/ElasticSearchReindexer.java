@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.helpers;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dockstore.webservice.CustomWebApplicationException;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import io.dockstore.webservice.api.ReindexStatus;
+import io.dockstore.webservice.core.Entry;
+import io.dockstore.webservice.helpers.statelisteners.ElasticListener;
+import io.dockstore.webservice.helpers.statelisteners.PopulateEntryListener;
+import io.dockstore.webservice.jdbi.EntryDAO;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.http.HttpStatus;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.context.internal.ManagedSessionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reindexes every published entry into Elasticsearch as a pipeline.
+ *
+ * <p>The calling thread acts as the producer: it pages through the published entry ids of each DAO using keyset
+ * pagination and places batches of ids on a bounded queue. A pool of workers takes batches off the queue, loads the
+ * entries in a session of their own, serializes them, and hands the resulting requests to one long-lived
+ * BulkProcessor per index. Documents can be redirected from an index alias to a new versioned index, so that the
+ * entries are loaded somewhere that searches don't see until the alias is swapped. Progress is tracked so that it can
+ * be reported while the reindex is running.
+ *
+ * <p>An instance performs a single reindex.
+ */
+public class ElasticSearchReindexer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ElasticSearchReindexer.class);
+    private static final Batch END_OF_BATCHES = new Batch(null, List.of());
+    private static final long WORKER_WAIT_TIME_IN_MINUTES = 30L;
+    private static final long BULK_PROCESSOR_WAIT_TIME_IN_MINUTES = 5L;
+    private static final long QUEUE_OFFER_TIMEOUT_IN_SECONDS = 10L;
+    private static final double MILLISECONDS_PER_SECOND = 1e3;
+
+    private final SessionFactory sessionFactory;
+    private final ElasticListener elasticListener;
+    private final DockstoreWebserviceConfiguration.ElasticSearchConfig config;
+    private final Map<String, String> targetIndices;
+
+    private final AtomicLong entriesQueued = new AtomicLong();
+    private final AtomicLong entriesIndexed = new AtomicLong();
+    private final AtomicLong entriesFailed = new AtomicLong();
+    private final AtomicInteger liveWorkers = new AtomicInteger();
+    private volatile ReindexStatus.State state = ReindexStatus.State.NOT_STARTED;
+    private volatile Instant startTime;
+    private volatile Instant endTime;
+
+    /**
+     * @param sessionFactory used to open a session for each batch of entries
+     * @param elasticListener used to serialize entries and build bulk processors
+     * @param config
+     * @param targetIndices a map from index alias to the index that its documents should be written to instead, aliases that aren't in the map are written to directly
+     */
+    public ElasticSearchReindexer(SessionFactory sessionFactory, ElasticListener elasticListener, DockstoreWebserviceConfiguration.ElasticSearchConfig config,
+        Map<String, String> targetIndices) {
+        this.sessionFactory = sessionFactory;
+        this.elasticListener = elasticListener;
+        this.config = config;
+        this.targetIndices = Map.copyOf(targetIndices);
+    }
+
+    /**
+     * Indexes all published entries of the specified DAOs. The indices are expected to exist already.
+     * Must be called from a thread with a bound session, which is used to read entry ids.
+     *
+     * @param entryDAOs the DAOs whose published entries should be indexed
+     * @return the number of published entries read from the database
+     */
+    public long reindex(List<? extends EntryDAO<?>> entryDAOs) {
+        state = ReindexStatus.State.RUNNING;
+        startTime = Instant.now();
+        final int workerCount = Math.max(config.getReindexWorkers(), 1);
+        final BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(Math.max(config.getReindexQueueCapacity(), 1));
+        final Map<String, BulkProcessor> bulkProcessors = createBulkProcessors();
+        final ExecutorService workers = Executors.newFixedThreadPool(workerCount, new ThreadFactoryBuilder().setNameFormat("es-reindex-%d").setDaemon(true).build());
+        try {
+            for (int i = 0; i < workerCount; i++) {
+                liveWorkers.incrementAndGet();
+                workers.execute(() -> consume(queue, bulkProcessors));
+            }
+            for (EntryDAO<?> entryDAO : entryDAOs) {
+                produce(entryDAO, queue);
+                LOG.info("Queued {} entries for indexing", entriesQueued.get());
+            }
+            for (int i = 0; i < workerCount; i++) {
+                offer(queue, END_OF_BATCHES);
+            }
+            workers.shutdown();
+            if (!workers.awaitTermination(WORKER_WAIT_TIME_IN_MINUTES, TimeUnit.MINUTES)) {
+                throw new CustomWebApplicationException("Could not serialize entries for elastic search in time", HttpStatus.SC_INTERNAL_SERVER_ERROR);
+            }
+            for (Map.Entry<String, BulkProcessor> bulkProcessor : bulkProcessors.entrySet()) {
+                if (!bulkProcessor.getValue().awaitClose(BULK_PROCESSOR_WAIT_TIME_IN_MINUTES, TimeUnit.MINUTES)) {
+                    throw new CustomWebApplicationException("Could not submit " + bulkProcessor.getKey() + " index to elastic search in time", HttpStatus.SC_INTERNAL_SERVER_ERROR);
+                }
+            }
+            if (entriesFailed.get() > 0) {
+                throw new CustomWebApplicationException("Could not index " + entriesFailed.get() + " entries", HttpStatus.SC_INTERNAL_SERVER_ERROR);
+            }
+            state = ReindexStatus.State.COMPLETED;
+            LOG.info("Indexed {} entries in {} seconds", entriesIndexed.get(), elapsed().toSeconds());
+            return entriesQueued.get();
+        } catch (InterruptedException e) {
+            state = ReindexStatus.State.FAILED;
+            Thread.currentThread().interrupt();
+            LOG.error("Reindex was interrupted", e);
+            throw new CustomWebApplicationException("Search indexing failed", HttpStatus.SC_INTERNAL_SERVER_ERROR);
+        } catch (RuntimeException e) {
+            state = ReindexStatus.State.FAILED;
+            LOG.error("Reindex failed", e);
+            throw e;
+        } finally {
+            workers.shutdownNow();
+            bulkProcessors.values().forEach(BulkProcessor::close);
+            endTime = Instant.now();
+        }
+    }
+
+    /**
+     * @return a snapshot of the progress of this reindex
+     */
+    public ReindexStatus getStatus() {
+        ReindexStatus status = new ReindexStatus();
+        status.setState(state);
+        status.setStartTime(startTime == null ? null : Timestamp.from(startTime));
+        status.setEndTime(endTime == null ? null : Timestamp.from(endTime));
+        status.setEntriesQueued(entriesQueued.get());
+        status.setEntriesIndexed(entriesIndexed.get());
+        status.setEntriesFailed(entriesFailed.get());
+        long elapsedMillis = elapsed().toMillis();
+        status.setEntriesPerSecond(elapsedMillis > 0 ? entriesIndexed.get() * MILLISECONDS_PER_SECOND / elapsedMillis : 0);
+        return status;
+    }
+
+    private Duration elapsed() {
+        if (startTime == null) {
+            return Duration.ZERO;
+        }
+        return Duration.between(startTime, endTime == null ? Instant.now() : endTime);
+    }
+
+    private Map<String, BulkProcessor> createBulkProcessors() {
+        final BulkProcessor.Listener listener = new CountingBulkListener(elasticListener.createLoggingBulkListener());
+        final Map<String, BulkProcessor> bulkProcessors = new LinkedHashMap<>();
+        ElasticListener.INDEXES.stream().distinct().forEach(index -> bulkProcessors.put(index, elasticListener.buildBulkProcessor(config.getBulkConcurrentRequests(), listener)));
+        return bulkProcessors;
+    }
+
+    private void produce(EntryDAO<?> entryDAO, BlockingQueue<Batch> queue) throws InterruptedException {
+        final int batchSize = Math.max(config.getReindexBatchSize(), 1);
+        long lastId = 0;
+        List<Long> ids;
+        do {
+            ids = entryDAO.findPublishedIdsAfter(lastId, batchSize);
+            if (!ids.isEmpty()) {
+                lastId = ids.get(ids.size() - 1);
+                offer(queue, new Batch(entryDAO, ids));
+                entriesQueued.addAndGet(ids.size());
+            }
+        } while (ids.size() == batchSize);
+    }
+
+    /**
+     * Places a batch on the queue, waiting for space. Fails instead of waiting forever if every worker has stopped, because then
+     * nothing will ever take a batch off the queue.
+     */
+    private void offer(BlockingQueue<Batch> queue, Batch batch) throws InterruptedException {
+        while (!queue.offer(batch, QUEUE_OFFER_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+            if (liveWorkers.get() == 0) {
+                throw new CustomWebApplicationException("Search indexing workers stopped unexpectedly", HttpStatus.SC_INTERNAL_SERVER_ERROR);
+            }
+        }
+    }
+
+    private void consume(BlockingQueue<Batch> queue, Map<String, BulkProcessor> bulkProcessors) {
+        try {
+            for (Batch batch = queue.take(); batch != END_OF_BATCHES; batch = queue.take()) {
+                index(batch, bulkProcessors);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | Error e) {
+            LOG.error("Search indexing worker stopped unexpectedly", e);
+            throw e;
+        } finally {
+            liveWorkers.decrementAndGet();
+        }
+    }
+
+    private void index(Batch batch, Map<String, BulkProcessor> bulkProcessors) {
+        // Hibernate sessions are not thread-safe, so each batch is loaded in a session of its own
+        Session session = sessionFactory.openSession();
+        session.setDefaultReadOnly(true);
+        ManagedSessionContext.bind(session);
+        try {
+            List<Entry> entries = new ArrayList<>(batch.entryDAO().findByIds(batch.ids()));
+            if (!entries.isEmpty()) {
+                new PopulateEntryListener(batch.entryDAO()).bulkUpsert(entries);
+            }
+            for (Entry entry : entries) {
+                try {
+                    elasticListener.createIndexRequest(entry).ifPresent(request -> {
+                        BulkProcessor bulkProcessor = bulkProcessors.get(request.index());
+                        bulkProcessor.add(request.index(targetIndices.getOrDefault(request.index(), request.index())));
+                    });
+                } catch (Exception e) {
+                    LOG.error("Could not convert entry " + entry.getId() + " to an Elasticsearch object", e);
+                    entriesFailed.incrementAndGet();
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Could not load a batch of " + batch.ids().size() + " entries for indexing", e);
+            entriesFailed.addAndGet(batch.ids().size());
+        } finally {
+            ManagedSessionContext.unbind(sessionFactory);
+            session.close();
+        }
+    }
+
+    private record Batch(EntryDAO<?> entryDAO, List<Long> ids) {
+    }
+
+    /**
+     * Tallies the outcome of each bulk request, then delegates to another listener.
+     */
+    private class CountingBulkListener implements BulkProcessor.Listener {
+
+        private final BulkProcessor.Listener delegate;
+
+        CountingBulkListener(BulkProcessor.Listener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request) {
+            delegate.beforeBulk(executionId, request);
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+            long failures = 0;
+            for (BulkItemResponse bulkItemResponse : response.getItems()) {
+                if (bulkItemResponse.isFailed()) {
+                    failures++;
+                }
+            }
+            entriesIndexed.addAndGet(request.numberOfActions() - failures);
+            entriesFailed.addAndGet(failures);
+            delegate.afterBulk(executionId, request, response);
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+            entriesFailed.addAndGet(request.numberOfActions());
+            delegate.afterBulk(executionId, request, failure);
+        }
+    }
+}
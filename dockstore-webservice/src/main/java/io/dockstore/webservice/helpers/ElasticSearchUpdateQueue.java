@@ -0,0 +1,277 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.helpers;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import io.dropwizard.lifecycle.Managed;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import org.apache.http.HttpStatus;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.rest.RestStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A write-behind queue for individual Elasticsearch document updates.
+ *
+ * <p>Updates are keyed by index and document id, so repeated updates to an entry that arrive before the next flush
+ * are coalesced into the latest one, and a delete replaces any pending upsert (and vice versa). The queue is flushed
+ * in a single bulk request by a background thread, either periodically or as soon as enough documents are pending.
+ * Documents that fail with a transient error are retried with exponential backoff, unless a newer update for the same
+ * document has been queued in the meantime.
+ *
+ * <p>The depth of the queue, the age of its oldest pending update, and the outcome of each flush are reported as metrics.
+ */
+public class ElasticSearchUpdateQueue implements Managed {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ElasticSearchUpdateQueue.class);
+    private static final long STOP_WAIT_TIME_IN_SECONDS = 30L;
+
+    private final DockstoreWebserviceConfiguration.ElasticSearchConfig config;
+    private final Map<DocumentKey, PendingUpdate> pending = new LinkedHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean sizeFlushRequested = new AtomicBoolean(false);
+    private final Meter coalesced;
+    private final Meter flushed;
+    private final Meter retried;
+    private final Meter dropped;
+    private final Timer flushTimer;
+    private ScheduledExecutorService scheduler;
+
+    public ElasticSearchUpdateQueue(DockstoreWebserviceConfiguration.ElasticSearchConfig config, MetricRegistry metricRegistry) {
+        this.config = config;
+        metricRegistry.register(MetricRegistry.name(ElasticSearchUpdateQueue.class, "depth"), (Gauge<Integer>) this::getDepth);
+        metricRegistry.register(MetricRegistry.name(ElasticSearchUpdateQueue.class, "lagMillis"), (Gauge<Long>) this::getLagMillis);
+        this.coalesced = metricRegistry.meter(MetricRegistry.name(ElasticSearchUpdateQueue.class, "coalesced"));
+        this.flushed = metricRegistry.meter(MetricRegistry.name(ElasticSearchUpdateQueue.class, "flushed"));
+        this.retried = metricRegistry.meter(MetricRegistry.name(ElasticSearchUpdateQueue.class, "retried"));
+        this.dropped = metricRegistry.meter(MetricRegistry.name(ElasticSearchUpdateQueue.class, "dropped"));
+        this.flushTimer = metricRegistry.timer(MetricRegistry.name(ElasticSearchUpdateQueue.class, "flush"));
+    }
+
+    /**
+     * Queues an upsert of a document, replacing any update of the same document that hasn't been flushed yet.
+     * @param index the index or alias to write to
+     * @param id the document id
+     * @param json the full document
+     */
+    public void upsert(String index, String id, String json) {
+        enqueue(new DocumentKey(index, id), json);
+    }
+
+    /**
+     * Queues a delete of a document, replacing any update of the same document that hasn't been flushed yet.
+     * @param index the index or alias to delete from
+     * @param id the document id
+     */
+    public void delete(String index, String id) {
+        enqueue(new DocumentKey(index, id), null);
+    }
+
+    /**
+     * Discards the pending updates of the indices that match a predicate, for example because the indices are about to be deleted.
+     * @param indexPredicate
+     */
+    public void discard(Predicate<String> indexPredicate) {
+        synchronized (pending) {
+            pending.keySet().removeIf(key -> indexPredicate.test(key.index()));
+        }
+    }
+
+    /**
+     * Writes every pending update, including those waiting to be retried, on the calling thread.
+     */
+    public void flushNow() {
+        flush(true);
+    }
+
+    /**
+     * @return the number of documents waiting to be written
+     */
+    public int getDepth() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * @return how long the oldest pending update has been waiting, in milliseconds, 0 if nothing is pending
+     */
+    public long getLagMillis() {
+        long now = System.currentTimeMillis();
+        synchronized (pending) {
+            return pending.values().stream().mapToLong(update -> now - update.enqueuedAtMillis()).max().orElse(0L);
+        }
+    }
+
+    @Override
+    public void start() throws Exception {
+        scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("es-update-queue-%d").setDaemon(true).build());
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, config.getUpdateQueueFlushIntervalMillis(), config.getUpdateQueueFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() throws Exception {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            if (!scheduler.awaitTermination(STOP_WAIT_TIME_IN_SECONDS, TimeUnit.SECONDS)) {
+                LOG.warn("Elasticsearch update queue did not finish its last flush in time");
+            }
+        }
+        // Give everything that is still pending one last chance, rather than losing it on shutdown
+        flush(true);
+        int depth = getDepth();
+        if (depth > 0) {
+            LOG.error("Dropping {} Elasticsearch updates that could not be written before shutdown", depth);
+        }
+    }
+
+    private void enqueue(DocumentKey key, String json) {
+        int depth;
+        synchronized (pending) {
+            PendingUpdate previous = pending.remove(key);
+            // Keep the time of the oldest unwritten change, so that the lag metric isn't hidden by a steady stream of updates to one entry
+            long enqueuedAtMillis = previous == null ? System.currentTimeMillis() : previous.enqueuedAtMillis();
+            pending.put(key, new PendingUpdate(key, json, enqueuedAtMillis, 0, 0L));
+            depth = pending.size();
+            if (previous != null) {
+                coalesced.mark();
+            }
+        }
+        if (depth >= config.getUpdateQueueFlushSize() && scheduler != null && sizeFlushRequested.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                sizeFlushRequested.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush(false);
+        } catch (RuntimeException e) {
+            // An exception would stop the scheduled flushes, so log it and try again at the next interval
+            LOG.error("Could not flush Elasticsearch update queue", e);
+        }
+    }
+
+    private void flush(boolean ignoreBackoff) {
+        // Flushes are serialized so that an older update to a document can never be written after a newer one
+        flushLock.lock();
+        try {
+            List<PendingUpdate> batch = takeReadyUpdates(ignoreBackoff);
+            if (batch.isEmpty()) {
+                return;
+            }
+            BulkRequest bulkRequest = new BulkRequest();
+            batch.forEach(update -> bulkRequest.add(update.toRequest()));
+            try (Timer.Context ignored = flushTimer.time()) {
+                BulkResponse bulkResponse = ElasticSearchHelper.restHighLevelClient().bulk(bulkRequest, RequestOptions.DEFAULT);
+                BulkItemResponse[] items = bulkResponse.getItems();
+                for (int i = 0; i < items.length; i++) {
+                    if (!items[i].isFailed()) {
+                        flushed.mark();
+                    } else if (isRetryable(items[i].status())) {
+                        retry(batch.get(i), items[i].getFailureMessage());
+                    } else {
+                        dropped.mark();
+                        LOG.error("Could not write document {} to elastic search index {}: {}", batch.get(i).key().id(), batch.get(i).key().index(), items[i].getFailureMessage());
+                    }
+                }
+            } catch (Exception e) {
+                batch.forEach(update -> retry(update, e.getMessage()));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private List<PendingUpdate> takeReadyUpdates(boolean ignoreBackoff) {
+        long now = System.currentTimeMillis();
+        List<PendingUpdate> batch = new ArrayList<>();
+        synchronized (pending) {
+            Iterator<PendingUpdate> iterator = pending.values().iterator();
+            while (iterator.hasNext()) {
+                PendingUpdate update = iterator.next();
+                if (ignoreBackoff || update.notBeforeMillis() <= now) {
+                    batch.add(update);
+                    iterator.remove();
+                }
+            }
+        }
+        return batch;
+    }
+
+    private void retry(PendingUpdate update, String reason) {
+        int attempts = update.attempts() + 1;
+        if (attempts > config.getUpdateQueueMaxRetries()) {
+            dropped.mark();
+            LOG.error("Giving up on writing document {} to elastic search index {} after {} attempts: {}", update.key().id(), update.key().index(), attempts, reason);
+            return;
+        }
+        long backoffMillis = config.getUpdateQueueInitialBackoffMillis() << Math.min(attempts - 1, Long.SIZE - 2);
+        synchronized (pending) {
+            // A newer update of the same document supersedes the one that failed
+            if (pending.putIfAbsent(update.key(), new PendingUpdate(update.key(), update.json(), update.enqueuedAtMillis(), attempts,
+                System.currentTimeMillis() + backoffMillis)) == null) {
+                retried.mark();
+            }
+        }
+    }
+
+    private static boolean isRetryable(RestStatus status) {
+        return status == RestStatus.TOO_MANY_REQUESTS || status.getStatus() >= HttpStatus.SC_INTERNAL_SERVER_ERROR;
+    }
+
+    private record DocumentKey(String index, String id) {
+    }
+
+    /**
+     * An update of a single document. A null json means that the document should be deleted.
+     */
+    private record PendingUpdate(DocumentKey key, String json, long enqueuedAtMillis, int attempts, long notBeforeMillis) {
+        DocWriteRequest<?> toRequest() {
+            if (json == null) {
+                return new DeleteRequest(key.index(), key.id());
+            }
+            return new UpdateRequest(key.index(), key.id()).doc(json, XContentType.JSON).docAsUpsert(true);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.helpers;
+
+import io.dockstore.common.Partner;
+import io.dockstore.common.metrics.Cost;
+import io.dockstore.common.metrics.ExecutionStatus;
+import io.dockstore.common.metrics.ExecutionsRequestBody;
+import io.dockstore.common.metrics.RunExecution;
+import io.dockstore.common.metrics.TaskExecutions;
+import io.dockstore.webservice.core.Version;
+import io.dockstore.webservice.core.metrics.CostStatisticMetric;
+import io.dockstore.webservice.core.metrics.CpuStatisticMetric;
+import io.dockstore.webservice.core.metrics.ExecutionMetricsSketch;
+import io.dockstore.webservice.core.metrics.ExecutionMetricsSketch.StatusSketch;
+import io.dockstore.webservice.core.metrics.ExecutionStatusCountMetric;
+import io.dockstore.webservice.core.metrics.ExecutionTimeStatisticMetric;
+import io.dockstore.webservice.core.metrics.MemoryStatisticMetric;
+import io.dockstore.webservice.core.metrics.Metrics;
+import io.dockstore.webservice.core.metrics.MetricsByStatus;
+import io.dockstore.webservice.jdbi.ExecutionMetricsSketchDAO;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the aggregated execution metrics of versions up to date as executions are submitted, by folding each submission into the
+ * {@link ExecutionMetricsSketch} of its version and platform and computing the aggregated metrics from the sketch.
+ *
+ * <p>Only workflow executions are aggregated here. The executions of the tasks of a workflow run count as one workflow execution.
+ * Validation executions are aggregated by the external metrics aggregator, whose validation metrics are kept as they are.
+ * The metrics of {@link Partner#ALL} are computed from the merge of the sketches of every platform of the version.
+ */
+public class ExecutionMetricsAggregator {
+
+    private final ExecutionMetricsSketchDAO executionMetricsSketchDAO;
+
+    public ExecutionMetricsAggregator(ExecutionMetricsSketchDAO executionMetricsSketchDAO) {
+        this.executionMetricsSketchDAO = executionMetricsSketchDAO;
+    }
+
+    /**
+     * Locks the sketches of a version and platform until the transaction ends. Submissions take the lock before their executions are
+     * uploaded, so that a rebuild, which takes it before reading the submissions, either reads the submission or runs before it is folded in.
+     *
+     * @param earlierSubmissions whether executions may have been submitted for the version before it had a sketch
+     * @return the sketch of the version and platform, to fold the submission into with {@link #aggregate}
+     */
+    public ExecutionMetricsSketch lock(Version<?> version, Partner platform, boolean earlierSubmissions) {
+        executionMetricsSketchDAO.findForUpdate(version.getId(), Partner.ALL, !earlierSubmissions);
+        return executionMetricsSketchDAO.findForUpdate(version.getId(), platform, !earlierSubmissions);
+    }
+
+    /**
+     * Folds newly submitted executions into the sketch of a version and platform. If the sketch has every execution of the version and
+     * platform, the aggregated metrics of the version are updated.
+     *
+     * @param sketch the sketch of the version and platform, locked by {@link #lock}
+     * @param executions the submitted executions
+     * @param newExecutionIds the ids of the submitted executions that were not submitted before, the others are not folded in again
+     * @return whether the aggregated metrics of the version were updated
+     */
+    public boolean aggregate(Version<?> version, ExecutionMetricsSketch sketch, ExecutionsRequestBody executions, Collection<String> newExecutionIds) {
+        final Map<ExecutionStatus, StatusSketch> statuses = sketch.getStatuses();
+        mergeInto(statuses, sketch(executions, Set.copyOf(newExecutionIds)::contains));
+        sketch.setStatuses(statuses);
+        final boolean updated = sketch.isComplete() && updateMetrics(version, sketch.getId().getPlatform(), statuses);
+        return updateAllMetrics(version) || updated;
+    }
+
+    /**
+     * Replaces the sketch of a version and platform with one of every submission, and updates the aggregated metrics of the version.
+     * The sketch is locked before the submissions are read, so that a submission made meanwhile is either read or folded in afterwards.
+     *
+     * @param submissions reads every submission of the version and platform, oldest first. An execution id that was submitted more than once
+     *                    is only counted in the first submission, as the execution endpoints would find it there.
+     * @return whether the aggregated metrics of the version were updated
+     */
+    public boolean rebuild(Version<?> version, Partner platform, Supplier<List<ExecutionsRequestBody>> submissions) {
+        final ExecutionMetricsSketch sketch = lock(version, platform, false);
+        final Set<String> seenExecutionIds = new HashSet<>();
+        final Map<ExecutionStatus, StatusSketch> statuses = new EnumMap<>(ExecutionStatus.class);
+        for (ExecutionsRequestBody submission : submissions.get()) {
+            mergeInto(statuses, sketch(submission, seenExecutionIds::add));
+        }
+        sketch.setStatuses(statuses);
+        sketch.setComplete(true);
+        final boolean updated = updateMetrics(version, platform, statuses);
+        return updateAllMetrics(version) || updated;
+    }
+
+    /**
+     * Replaces the execution metrics computed by the external metrics aggregator with the ones computed from complete sketches, which were
+     * computed from at least the executions the aggregator read. Its validation metrics, and its execution metrics of platforms without a
+     * complete sketch, are kept.
+     *
+     * @param aggregatedMetrics the metrics of each platform computed by the external metrics aggregator
+     * @return the metrics to save for the version
+     */
+    public Map<Partner, Metrics> withSketchedExecutionMetrics(Version<?> version, Map<Partner, Metrics> aggregatedMetrics) {
+        final Map<Partner, Metrics> metricsByPlatform = new EnumMap<>(Partner.class);
+        metricsByPlatform.putAll(aggregatedMetrics);
+        for (ExecutionMetricsSketch sketch : executionMetricsSketchDAO.findAllForUpdate(version.getId())) {
+            if (sketch.isComplete() && !sketch.getStatuses().isEmpty()) {
+                metricsByPlatform.computeIfAbsent(sketch.getId().getPlatform(), key -> new Metrics())
+                    .setExecutionStatusCount(toExecutionStatusCountMetric(sketch.getStatuses()));
+            }
+        }
+        return metricsByPlatform;
+    }
+
+    /**
+     * Marks the sketch of a version and platform as incomplete after executions were updated, because the values they replaced can't be
+     * taken out of it. The aggregated metrics of the version are left as they are until the sketch is rebuilt.
+     */
+    public void markIncomplete(Version<?> version, Partner platform) {
+        for (Partner sketchPlatform : List.of(Partner.ALL, platform)) {
+            final ExecutionMetricsSketch sketch = executionMetricsSketchDAO.find(version.getId(), sketchPlatform);
+            if (sketch != null) {
+                sketch.setComplete(false);
+            }
+        }
+    }
+
+    /**
+     * @return whether the version has a sketch for the platform with every execution
+     */
+    public boolean isComplete(Version<?> version, Partner platform) {
+        final ExecutionMetricsSketch sketch = executionMetricsSketchDAO.find(version.getId(), platform);
+        return sketch != null && sketch.isComplete();
+    }
+
+    /**
+     * Sketches the workflow executions of a submission, including the workflow runs that were submitted as the executions of their tasks.
+     *
+     * @param include whether to include the execution with an id
+     * @return the sketch of each status, with the sketch of every execution under {@link ExecutionStatus#ALL}
+     */
+    static Map<ExecutionStatus, StatusSketch> sketch(ExecutionsRequestBody executions, Predicate<String> include) {
+        final Map<ExecutionStatus, StatusSketch> statuses = new EnumMap<>(ExecutionStatus.class);
+        executions.getRunExecutions().stream()
+            .filter(execution -> include.test(execution.getExecutionId()))
+            .forEach(execution -> add(statuses, execution));
+        executions.getTaskExecutions().stream()
+            .filter(taskExecutions -> include.test(taskExecutions.getExecutionId()))
+            .map(ExecutionMetricsAggregator::toWorkflowExecution)
+            .flatMap(Optional::stream)
+            .forEach(execution -> add(statuses, execution));
+        return statuses;
+    }
+
+    /**
+     * Combines the executions of the tasks of a workflow run into one execution of the workflow. The workflow is successful if every task
+     * is, otherwise it has the status of the first task that isn't. It ran from the start of its first task to the end of its last task,
+     * needed as much memory and as many CPUs as its largest task, and cost as much as all of its tasks.
+     *
+     * @return the execution of the workflow, or empty if it has no tasks
+     */
+    static Optional<RunExecution> toWorkflowExecution(TaskExecutions taskExecutions) {
+        final List<RunExecution> tasks = taskExecutions.getTaskExecutions();
+        if (tasks.isEmpty()) {
+            return Optional.empty();
+        }
+        final RunExecution workflowExecution = new RunExecution(tasks.stream().map(RunExecution::getExecutionStatus)
+            .filter(status -> status != ExecutionStatus.SUCCESSFUL).findFirst().orElse(ExecutionStatus.SUCCESSFUL));
+        workflowExecution.setExecutionId(taskExecutions.getExecutionId());
+        workflowExecution.setMemoryRequirementsGB(tasks.stream().allMatch(task -> task.getMemoryRequirementsGB() != null)
+            ? tasks.stream().mapToDouble(RunExecution::getMemoryRequirementsGB).max().getAsDouble() : null);
+        workflowExecution.setCpuRequirements(tasks.stream().allMatch(task -> task.getCpuRequirements() != null)
+            ? tasks.stream().mapToInt(RunExecution::getCpuRequirements).max().getAsInt() : null);
+        workflowExecution.setCost(tasks.stream().allMatch(task -> task.getCost() != null && task.getCost().getValue() != null)
+            ? new Cost(tasks.stream().mapToDouble(task -> task.getCost().getValue()).sum()) : null);
+        workflowRunTime(tasks).ifPresent(duration -> workflowExecution.setExecutionTime(duration.toString()));
+        return Optional.of(workflowExecution);
+    }
+
+    private static Optional<Duration> workflowRunTime(List<RunExecution> tasks) {
+        Instant start = null;
+        Instant end = null;
+        for (RunExecution task : tasks) {
+            final Optional<Long> seconds = executionTimeSeconds(task);
+            if (task.getDateExecuted() == null || seconds.isEmpty()) {
+                return Optional.empty();
+            }
+            final Instant taskStart;
+            try {
+                taskStart = Instant.parse(task.getDateExecuted());
+            } catch (DateTimeParseException e) {
+                return Optional.empty();
+            }
+            final Instant taskEnd = taskStart.plusSeconds(seconds.get());
+            start = start == null || taskStart.isBefore(start) ? taskStart : start;
+            end = end == null || taskEnd.isAfter(end) ? taskEnd : end;
+        }
+        return Optional.of(Duration.between(start, end));
+    }
+
+    private static Optional<Long> executionTimeSeconds(RunExecution execution) {
+        if (execution.getExecutionTimeSeconds() != null) {
+            return Optional.of(execution.getExecutionTimeSeconds());
+        }
+        if (execution.getExecutionTime() == null) {
+            return Optional.empty();
+        }
+        // Submissions read from S3 are deserialized without the setter that computes the seconds
+        try {
+            return Optional.of(Duration.parse(execution.getExecutionTime()).getSeconds());
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static void add(Map<ExecutionStatus, StatusSketch> statuses, RunExecution execution) {
+        for (ExecutionStatus status : List.of(execution.getExecutionStatus(), ExecutionStatus.ALL)) {
+            final StatusSketch statusSketch = statuses.computeIfAbsent(status, key -> new StatusSketch());
+            statusSketch.setCount(statusSketch.getCount() + 1);
+            executionTimeSeconds(execution).ifPresent(seconds -> statusSketch.getExecutionTime().add(seconds));
+            if (execution.getMemoryRequirementsGB() != null) {
+                statusSketch.getMemory().add(execution.getMemoryRequirementsGB());
+            }
+            if (execution.getCpuRequirements() != null) {
+                statusSketch.getCpu().add(execution.getCpuRequirements());
+            }
+            if (execution.getCost() != null && execution.getCost().getValue() != null) {
+                statusSketch.getCost().add(execution.getCost().getValue());
+            }
+        }
+    }
+
+    static ExecutionStatusCountMetric toExecutionStatusCountMetric(Map<ExecutionStatus, StatusSketch> statuses) {
+        final ExecutionStatusCountMetric executionStatusCount = new ExecutionStatusCountMetric();
+        statuses.forEach((status, statusSketch) -> {
+            final MetricsByStatus metricsByStatus = new MetricsByStatus(statusSketch.getCount());
+            if (statusSketch.getExecutionTime().getCount() > 0) {
+                metricsByStatus.setExecutionTime(statusSketch.getExecutionTime().toMetric(new ExecutionTimeStatisticMetric(0, 0, 0, 0)));
+            }
+            if (statusSketch.getMemory().getCount() > 0) {
+                metricsByStatus.setMemory(statusSketch.getMemory().toMetric(new MemoryStatisticMetric(0, 0, 0, 0)));
+            }
+            if (statusSketch.getCpu().getCount() > 0) {
+                metricsByStatus.setCpu(statusSketch.getCpu().toMetric(new CpuStatisticMetric(0, 0, 0, 0)));
+            }
+            if (statusSketch.getCost().getCount() > 0) {
+                metricsByStatus.setCost(statusSketch.getCost().toMetric(new CostStatisticMetric(0, 0, 0, 0)));
+            }
+            executionStatusCount.putCount(status, metricsByStatus);
+        });
+        return executionStatusCount;
+    }
+
+    private static void mergeInto(Map<ExecutionStatus, StatusSketch> statuses, Map<ExecutionStatus, StatusSketch> added) {
+        added.forEach((status, statusSketch) -> statuses.merge(status, statusSketch, (existing, addedSketch) -> {
+            existing.merge(addedSketch);
+            return existing;
+        }));
+    }
+
+    /**
+     * Merges the sketches of every platform of a version into its sketch for {@link Partner#ALL}. If they are all complete, and every
+     * platform with execution metrics has one, the aggregated metrics of ALL are updated.
+     */
+    private boolean updateAllMetrics(Version<?> version) {
+        final Map<Partner, ExecutionMetricsSketch> sketches = new EnumMap<>(Partner.class);
+        executionMetricsSketchDAO.findAllForUpdate(version.getId()).forEach(sketch -> sketches.put(sketch.getId().getPlatform(), sketch));
+        final ExecutionMetricsSketch allSketch = sketches.remove(Partner.ALL);
+        final Map<ExecutionStatus, StatusSketch> merged = new EnumMap<>(ExecutionStatus.class);
+        sketches.values().forEach(sketch -> sketch.getStatuses().forEach((status, statusSketch) ->
+            merged.computeIfAbsent(status, key -> new StatusSketch()).merge(statusSketch)));
+        // Platforms whose executions were only aggregated by the external metrics aggregator aren't in the merge
+        final boolean complete = sketches.values().stream().allMatch(ExecutionMetricsSketch::isComplete)
+            && version.getMetricsByPlatform().entrySet().stream()
+                .filter(entry -> entry.getKey() != Partner.ALL && entry.getValue().getExecutionStatusCount() != null)
+                .allMatch(entry -> sketches.containsKey(entry.getKey()));
+        allSketch.setStatuses(merged);
+        allSketch.setComplete(complete);
+        return complete && updateMetrics(version, Partner.ALL, merged);
+    }
+
+    private static boolean updateMetrics(Version<?> version, Partner platform, Map<ExecutionStatus, StatusSketch> statuses) {
+        if (statuses.isEmpty()) {
+            return false;
+        }
+        // Update the metrics of the platform in place, so that its validation metrics are kept
+        final Metrics metrics = version.getMetricsByPlatform().computeIfAbsent(platform, key -> new Metrics());
+        metrics.setExecutionStatusCount(toExecutionStatusCountMetric(statuses));
+        return true;
+    }
+}
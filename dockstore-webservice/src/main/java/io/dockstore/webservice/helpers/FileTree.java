@@ -17,6 +17,7 @@
 
 package io.dockstore.webservice.helpers;
 
+import java.io.Closeable;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -24,7 +25,7 @@ import java.util.List;
  * Abstracts read-only access to a tree of files.
  * Methods with analogs in `SourceCodeRepoInterface` are intended to have the same semantics.
  */
-public interface FileTree {
+public interface FileTree extends Closeable {
 
     /**
      * Reads the content of the specified file.
@@ -46,4 +47,12 @@ public interface FileTree {
      * @return list of the absolute paths, relative to the file tree root
      */
     List<Path> listPaths();
+
+    /**
+     * Releases any resources held by this file tree. The file tree should not be used afterwards.
+     */
+    @Override
+    default void close() {
+        // Most file trees don't hold anything that needs to be released
+    }
 }
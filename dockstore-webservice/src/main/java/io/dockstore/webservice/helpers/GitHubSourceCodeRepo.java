@@ -59,6 +59,7 @@ import io.dockstore.webservice.core.WorkflowMode;
 import io.dockstore.webservice.core.WorkflowVersion;
 import io.dockstore.webservice.jdbi.TokenDAO;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -243,17 +244,42 @@ public class GitHubSourceCodeRepo extends SourceCodeRepoInterface {
             LOG.error(gitUsername + ": IOException on readFile while trying to get the repository " + repositoryId + " " + e.getMessage(), e);
             throw new CustomWebApplicationException("Could not get repository " + repositoryId + " from GitHub.", HttpStatus.SC_BAD_REQUEST);
         }
+        // the content of a commit never changes, so files read by commit SHA are shared through the process-wide cache,
+        // which is only read once the repository was found with the caller's credentials
+        if (CommitFileCache.isCommitSha(reference)) {
+            Optional<String> cached = CommitFileCache.getInstance().getFile(repositoryId, reference, fileName);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+            String content = readFileFromRepo(fileName, reference, repo);
+            if (content != null) {
+                CommitFileCache.getInstance().putFile(repositoryId, reference, fileName, content);
+            }
+            return content;
+        }
         return readFileFromRepo(fileName, reference, repo);
     }
 
 
     @Override
     public List<String> listFiles(String repositoryId, String pathToDirectory, String reference) {
+        final boolean cacheable = CommitFileCache.isCommitSha(reference);
         GHRepository repo;
         try {
+            // get the repository before reading the shared cache, so that only callers who can see the repository are served from it
             repo = github.getRepository(repositoryId);
+            if (cacheable) {
+                Optional<List<String>> cached = CommitFileCache.getInstance().getDirectory(repositoryId, reference, pathToDirectory);
+                if (cached.isPresent()) {
+                    return cached.get();
+                }
+            }
             List<GHContent> directoryContent = repo.getDirectoryContent(pathToDirectory, reference);
-            return directoryContent.stream().map(GHContent::getName).toList();
+            List<String> names = directoryContent.stream().map(GHContent::getName).toList();
+            if (cacheable) {
+                CommitFileCache.getInstance().putDirectory(repositoryId, reference, pathToDirectory, names);
+            }
+            return names;
         } catch (IOException e) {
             LOG.error(gitUsername + ": IOException on listFiles in " + pathToDirectory + " for repository " + repositoryId +  ":" + reference + ", " + e.getMessage(), e);
             return null;
@@ -278,6 +304,25 @@ public class GitHubSourceCodeRepo extends SourceCodeRepoInterface {
         }
     }
 
+    /**
+     * Streams a Zip file from GitHub that contains the tree corresponding to the specified repository and reference, without holding it in memory.
+     * @param repositoryId GitHub repository ID
+     * @param reference GitHub reference
+     * @param out stream that the Zip file contents are written to
+     * @return the number of bytes written
+     */
+    public long readZip(String repositoryId, String reference, OutputStream out) {
+        GHRepository repo;
+        try {
+            String sha = getCommitID(repositoryId, reference);
+            repo = github.getRepository(repositoryId);
+            return repo.readZip(in -> in.transferTo(out), sha);
+        } catch (IOException e) {
+            LOG.error(gitUsername + ": IOException on readZip while trying to get reference " + reference + " from repository " + repositoryId + ", " + e.getMessage(), e);
+            throw new CustomWebApplicationException("Could not get repository " + repositoryId + " from GitHub.", HttpStatus.SC_BAD_REQUEST);
+        }
+    }
+
     /**
      * This method appears to read files from github in a cache-aware manner, taking into account symlinks and submodules.
      *
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.helpers;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import io.dropwizard.lifecycle.Managed;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.context.internal.ManagedSessionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processes GitHub webhook deliveries on a bounded pool of workers, so that the request that delivers them can return right away.
+ *
+ * Deliveries are queued per repository, and the repositories are queued per GitHub app installation. Workers take the next
+ * repository from each installation in turn, so an installation that pushes many branches at once doesn't hold up the others.
+ * At most one delivery per repository is processed at a time, in the order they arrived.
+ *
+ * A delivery that is still waiting when another delivery with the same supersede key arrives for the same repository, for example
+ * a push to the same branch, is replaced by the one that arrived last. The replaced delivery is then reported through its superseded
+ * callback rather than processed. GitHub does not guarantee that deliveries arrive in the order they were sent, so the delivery
+ * that arrived last is not necessarily the newest one; a delivery that replaced others runs its superseding work instead, which
+ * processes whatever the supersede key refers to now, such as the current head of the branch, rather than the state in the delivery.
+ *
+ * Each delivery runs in a Hibernate session of its own.
+ */
+public class GitHubWebhookExecutor implements Managed {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GitHubWebhookExecutor.class);
+    private static final long STOP_WAIT_TIME_IN_SECONDS = 30L;
+
+    private final SessionFactory sessionFactory;
+    private final int workerCount;
+    private final int maxQueuedDeliveries;
+    private final ExecutorService workers;
+
+    private final Object lock = new Object();
+    /**
+     * Deliveries waiting to be processed, by repository.
+     */
+    private final Map<String, List<Delivery>> repositoryQueues = new HashMap<>();
+    /**
+     * Repositories that have waiting deliveries and none being processed, by installation.
+     */
+    private final Map<Long, ArrayDeque<String>> readyRepositories = new HashMap<>();
+    /**
+     * Installations that have ready repositories, in the order that they get a worker.
+     */
+    private final ArrayDeque<Long> readyInstallations = new ArrayDeque<>();
+    private final Set<String> runningRepositories = new HashSet<>();
+    private int queuedDeliveries;
+    private boolean stopped;
+
+    private final Timer queueWaitTimer;
+    private final Timer processingTimer;
+    private final Meter superseded;
+    private final Meter rejected;
+
+    public GitHubWebhookExecutor(SessionFactory sessionFactory, DockstoreWebserviceConfiguration.WebhookConfig config, MetricRegistry metricRegistry) {
+        this.sessionFactory = sessionFactory;
+        this.workerCount = config.getWorkers();
+        this.maxQueuedDeliveries = config.getMaxQueuedDeliveries();
+        this.workers = Executors.newFixedThreadPool(workerCount, new ThreadFactoryBuilder().setNameFormat("github-webhook-%d").setDaemon(true).build());
+        metricRegistry.register(MetricRegistry.name(GitHubWebhookExecutor.class, "depth"), (Gauge<Integer>) this::getQueuedDeliveries);
+        this.queueWaitTimer = metricRegistry.timer(MetricRegistry.name(GitHubWebhookExecutor.class, "queueWait"));
+        this.processingTimer = metricRegistry.timer(MetricRegistry.name(GitHubWebhookExecutor.class, "processing"));
+        this.superseded = metricRegistry.meter(MetricRegistry.name(GitHubWebhookExecutor.class, "superseded"));
+        this.rejected = metricRegistry.meter(MetricRegistry.name(GitHubWebhookExecutor.class, "rejected"));
+    }
+
+    @Override
+    public void start() {
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::work);
+        }
+    }
+
+    @Override
+    public void stop() throws Exception {
+        synchronized (lock) {
+            stopped = true;
+            if (queuedDeliveries > 0) {
+                LOG.warn("stopping with {} GitHub webhook deliveries that were not processed", queuedDeliveries);
+            }
+            lock.notifyAll();
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(STOP_WAIT_TIME_IN_SECONDS, TimeUnit.SECONDS)) {
+            LOG.warn("GitHub webhook processing did not stop in time");
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Queues a delivery.
+     * @return false if the delivery was not queued, because too many deliveries are waiting or the executor has stopped
+     */
+    public boolean submit(Delivery delivery) {
+        synchronized (lock) {
+            if (stopped) {
+                return false;
+            }
+            List<Delivery> queue = repositoryQueues.get(delivery.repository);
+            if (queue != null && delivery.supersedeKey != null) {
+                for (int i = 0; i < queue.size(); i++) {
+                    Delivery waiting = queue.get(i);
+                    if (delivery.supersedeKey.equals(waiting.supersedeKey)) {
+                        // take the place of the waiting delivery, and report it when the newer one is processed
+                        delivery.superseded.addAll(waiting.superseded);
+                        delivery.superseded.add(waiting);
+                        delivery.queuedAtNanos = waiting.queuedAtNanos;
+                        queue.set(i, delivery);
+                        superseded.mark();
+                        return true;
+                    }
+                }
+            }
+            if (queuedDeliveries >= maxQueuedDeliveries) {
+                rejected.mark();
+                return false;
+            }
+            if (queue == null) {
+                queue = new ArrayList<>();
+                repositoryQueues.put(delivery.repository, queue);
+            }
+            queue.add(delivery);
+            queuedDeliveries++;
+            if (queue.size() == 1 && !runningRepositories.contains(delivery.repository)) {
+                markReady(delivery.installationId, delivery.repository);
+            }
+            return true;
+        }
+    }
+
+    public int getQueuedDeliveries() {
+        synchronized (lock) {
+            return queuedDeliveries;
+        }
+    }
+
+    private void markReady(long installationId, String repository) {
+        ArrayDeque<String> repositories = readyRepositories.computeIfAbsent(installationId, id -> new ArrayDeque<>());
+        if (repositories.isEmpty()) {
+            readyInstallations.add(installationId);
+        }
+        repositories.add(repository);
+        lock.notifyAll();
+    }
+
+    /**
+     * Waits for the next delivery, taking one repository from each installation in turn.
+     * @return the next delivery, or null if the executor has stopped
+     */
+    private Delivery take() throws InterruptedException {
+        synchronized (lock) {
+            while (!stopped && readyInstallations.isEmpty()) {
+                lock.wait();
+            }
+            if (stopped) {
+                return null;
+            }
+            final long installationId = readyInstallations.poll();
+            final ArrayDeque<String> repositories = readyRepositories.get(installationId);
+            final String repository = repositories.poll();
+            if (repositories.isEmpty()) {
+                readyRepositories.remove(installationId);
+            } else {
+                readyInstallations.add(installationId);
+            }
+            final List<Delivery> queue = repositoryQueues.get(repository);
+            final Delivery delivery = queue.remove(0);
+            if (queue.isEmpty()) {
+                repositoryQueues.remove(repository);
+            }
+            queuedDeliveries--;
+            runningRepositories.add(repository);
+            return delivery;
+        }
+    }
+
+    private void finish(Delivery delivery) {
+        synchronized (lock) {
+            runningRepositories.remove(delivery.repository);
+            final List<Delivery> queue = repositoryQueues.get(delivery.repository);
+            if (queue != null) {
+                markReady(queue.get(0).installationId, delivery.repository);
+            }
+        }
+    }
+
+    private void work() {
+        try {
+            Delivery delivery;
+            while ((delivery = take()) != null) {
+                queueWaitTimer.update(System.nanoTime() - delivery.queuedAtNanos, TimeUnit.NANOSECONDS);
+                try (Timer.Context context = processingTimer.time()) {
+                    process(delivery);
+                } finally {
+                    finish(delivery);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void process(Delivery delivery) {
+        Session session = sessionFactory.openSession();
+        ManagedSessionContext.bind(session);
+        try {
+            TransactionHelper transactionHelper = new TransactionHelper(session);
+            delivery.superseded.forEach(supersededDelivery -> transactionHelper.transaction(supersededDelivery.onSuperseded));
+            transactionHelper.transaction(delivery.superseded.isEmpty() ? delivery.work : delivery.supersedingWork);
+        } catch (RuntimeException e) {
+            LOG.error("could not process GitHub webhook delivery {} for repository {}", delivery.deliveryId, delivery.repository, e);
+        } finally {
+            if (session.isOpen() && session.getTransaction().isActive()) {
+                session.getTransaction().rollback();
+            }
+            ManagedSessionContext.unbind(sessionFactory);
+            if (session.isOpen()) {
+                session.close();
+            }
+        }
+    }
+
+    /**
+     * A GitHub webhook delivery to process.
+     */
+    public static final class Delivery {
+
+        private final long installationId;
+        private final String repository;
+        private final String supersedeKey;
+        private final String deliveryId;
+        private final Runnable work;
+        private final Runnable supersedingWork;
+        private final Runnable onSuperseded;
+        private final List<Delivery> superseded = new ArrayList<>();
+        private long queuedAtNanos = System.nanoTime();
+
+        /**
+         * @param installationId the GitHub app installation the delivery is for
+         * @param repository the repository the delivery is for, in "owner/name" form
+         * @param supersedeKey deliveries for the same repository with the same key replace each other while they wait, or null if the delivery is never replaced
+         * @param deliveryId the GitHub delivery ID
+         * @param work processes the delivery, in a transaction
+         * @param onSuperseded records that the delivery was replaced by a newer one, in a transaction
+         */
+        public Delivery(long installationId, String repository, String supersedeKey, String deliveryId, Runnable work, Runnable onSuperseded) {
+            this(installationId, repository, supersedeKey, deliveryId, work, work, onSuperseded);
+        }
+
+        /**
+         * @param installationId the GitHub app installation the delivery is for
+         * @param repository the repository the delivery is for, in "owner/name" form
+         * @param supersedeKey deliveries for the same repository with the same key replace each other while they wait, or null if the delivery is never replaced
+         * @param deliveryId the GitHub delivery ID
+         * @param work processes the delivery, in a transaction
+         * @param supersedingWork processes the delivery once it has replaced waiting deliveries that may be newer than it, in a transaction
+         * @param onSuperseded records that the delivery was replaced by a newer one, in a transaction
+         */
+        public Delivery(long installationId, String repository, String supersedeKey, String deliveryId, Runnable work, Runnable supersedingWork, Runnable onSuperseded) {
+            this.installationId = installationId;
+            this.repository = Objects.requireNonNull(repository);
+            this.supersedeKey = supersedeKey;
+            this.deliveryId = deliveryId;
+            this.work = work;
+            this.supersedingWork = supersedingWork;
+            this.onSuperseded = onSuperseded;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.google.api.client.auth.oauth2.ClientParametersAuthentication;
 import com.google.api.client.auth.oauth2.TokenResponse;
 import com.google.api.client.googleapis.auth.oauth2.GoogleCredential;
 import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpResponseException;
 import com.google.api.services.oauth2.Oauth2;
 import com.google.api.services.oauth2.model.Tokeninfo;
 import com.google.api.services.oauth2.model.Userinfoplus;
@@ -132,6 +133,33 @@ public final class GoogleHelper {
         return Optional.empty();
     }
 
+    /**
+     * Gets the userinfo of a Google token like {@link #userinfoplusFromToken(String)}, but tells a token that Google rejected apart from
+     * a lookup that failed, so that only the former is treated as invalid.
+     *
+     * @param token a Google access token
+     * @return the userinfo, or empty if Google rejected the token or it was issued for a client that isn't accepted
+     * @throws IOException if Google could not be reached or did not give an answer, in which case the token may still be valid
+     */
+    public static Optional<Userinfoplus> userinfoplusFromTokenIfAccepted(String token) throws IOException {
+        GoogleCredential credential = new GoogleCredential().setAccessToken(token);
+        Oauth2 oauth2 = new Oauth2.Builder(TokenResource.HTTP_TRANSPORT, TokenResource.JSON_FACTORY, credential).setApplicationName("").build();
+        try {
+            Tokeninfo tokenInfo = oauth2.tokeninfo().setAccessToken(token).execute();
+            if (tokenInfo == null || !isValidAudience(tokenInfo)) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(oauth2.userinfo().get().execute());
+        } catch (HttpResponseException e) {
+            // Google answers 400 for tokens that are malformed or expired, and 401 for tokens it doesn't know
+            if (e.getStatusCode() == HttpStatus.SC_BAD_REQUEST || e.getStatusCode() == HttpStatus.SC_UNAUTHORIZED) {
+                LOG.debug("Google rejected token", e);
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
     static boolean isValidAudience(Tokeninfo tokenInfo) {
         final String audience = tokenInfo.getAudience();
         if (config.getGoogleClientID().equals(audience)) {
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.helpers;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dockstore.common.Registry;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import io.dockstore.webservice.core.Checksum;
+import io.dockstore.webservice.core.Image;
+import io.dockstore.webservice.languages.LanguageHandlerInterface.DockerSpecifier;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Looks up the images of tool tables in their registries, on behalf of {@link io.dockstore.webservice.languages.LanguageHandlerInterface#getImagesFromRegistry(String)}.
+ *
+ * Lookups run concurrently, on a bounded pool of threads per registry, so that a slow or rate limited registry neither holds up
+ * lookups in other registries nor receives more than the configured number of requests at a time. When a registry answers that it is
+ * rate limited, every lookup in that registry waits until the registry said it may be asked again.
+ *
+ * The images found are cached by (registry, repository, specifier). A digest always names the same image, so lookups by digest are
+ * kept until evicted, while lookups by tag expire after the configured TTL, because tags move. Concurrent lookups of the same image
+ * share one request. Callers always receive their own copies of the cached images, since images are persisted with each version.
+ * Only answers are cached: a lookup whose registry could not be asked, or answered with an error, fails with a {@link LookupFailedException}
+ * and is tried again by the next caller.
+ */
+public final class ImageResolver {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImageResolver.class);
+    private static final int NOT_FOUND = 404;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private static volatile ImageResolver instance = new ImageResolver(new DockstoreWebserviceConfiguration.ImageResolverConfig(), null, new MetricRegistry());
+
+    private final AsyncCache<Lookup, Set<Image>> images;
+    private final OkHttpClient httpClient;
+    private final int maxLookupsPerRegistry;
+    private final int maxRateLimitRetries;
+    private final Duration lookupTimeout;
+    private final Map<Registry, ExecutorService> executors = new ConcurrentHashMap<>();
+    private final Map<Registry, Long> pausedUntilMillis = new ConcurrentHashMap<>();
+    private final Meter requests;
+    private final Timer fetches;
+    private final Meter failures;
+    private final Meter rateLimited;
+
+    private ImageResolver(DockstoreWebserviceConfiguration.ImageResolverConfig config, OkHttpClient httpClient, MetricRegistry metricRegistry) {
+        this.images = Caffeine.newBuilder()
+            .maximumSize(config.getMaxCachedLookups())
+            .expireAfter(new LookupExpiry(Duration.ofSeconds(config.getTagSeconds()), Duration.ofSeconds(config.getNotFoundSeconds())))
+            .buildAsync();
+        this.httpClient = httpClient == null ? new OkHttpClient() : httpClient;
+        this.maxLookupsPerRegistry = config.getMaxLookupsPerRegistry();
+        this.maxRateLimitRetries = config.getMaxRateLimitRetries();
+        this.lookupTimeout = Duration.ofSeconds(config.getLookupTimeoutSeconds());
+        this.requests = metricRegistry.meter(MetricRegistry.name(ImageResolver.class, "requests"));
+        this.fetches = metricRegistry.timer(MetricRegistry.name(ImageResolver.class, "fetches"));
+        this.failures = metricRegistry.meter(MetricRegistry.name(ImageResolver.class, "failures"));
+        this.rateLimited = metricRegistry.meter(MetricRegistry.name(ImageResolver.class, "rateLimited"));
+    }
+
+    /**
+     * Replaces the resolver with an empty one that uses the specified configuration. Lookups that are in flight finish on the previous resolver.
+     *
+     * @param config cache TTLs and registry limits
+     * @param httpClient the pooled client used for registry requests, or null to use a client of its own
+     * @param metricRegistry where the lookup metrics are registered
+     */
+    public static synchronized void init(DockstoreWebserviceConfiguration.ImageResolverConfig config, OkHttpClient httpClient, MetricRegistry metricRegistry) {
+        final ImageResolver previous = instance;
+        instance = new ImageResolver(config, httpClient, metricRegistry);
+        previous.executors.values().forEach(ExecutorService::shutdown);
+    }
+
+    public static ImageResolver getInstance() {
+        return instance;
+    }
+
+    /**
+     * Looks up images, concurrently, waiting up to the configured timeout for all of them.
+     *
+     * @param lookups the images to look up
+     * @param fetcher looks up one image in its registry, returning an empty set if the image does not exist, and throwing a
+     *                {@link LookupFailedException} if the registry could not be asked
+     * @return copies of the images found for each lookup, empty for lookups that failed or timed out
+     */
+    public Map<Lookup, Set<Image>> resolve(Collection<Lookup> lookups, Function<Lookup, Set<Image>> fetcher) {
+        final Map<Lookup, CompletableFuture<Set<Image>>> pending = new LinkedHashMap<>();
+        lookups.forEach(lookup -> pending.computeIfAbsent(lookup, key -> {
+            requests.mark();
+            return images.get(key, (missing, executor) -> fetch(missing, fetcher));
+        }));
+        final long deadline = System.nanoTime() + lookupTimeout.toNanos();
+        final Map<Lookup, Set<Image>> resolved = new HashMap<>();
+        for (Map.Entry<Lookup, CompletableFuture<Set<Image>>> entry : pending.entrySet()) {
+            Set<Image> found = Set.of();
+            try {
+                found = entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+                    .stream().map(ImageResolver::copyOf).collect(Collectors.toSet());
+            } catch (TimeoutException e) {
+                LOG.error("Timed out looking up {}", entry.getKey());
+            } catch (ExecutionException e) {
+                LOG.error("Could not look up " + entry.getKey(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            resolved.put(entry.getKey(), found);
+        }
+        return resolved;
+    }
+
+    /**
+     * Sends a GET request to a registry, waiting first if the registry is rate limited, and retrying if the registry answers that it is.
+     *
+     * @param registry the registry the URL belongs to
+     * @param url the URL to get
+     * @return the body of a successful response, or empty if the registry answered that the URL was not found
+     * @throws LookupFailedException if the request could not be sent, or the registry answered with another error
+     */
+    public Optional<String> get(Registry registry, String url) {
+        final Request request = new Request.Builder().url(url).build();
+        try {
+            int retries = 0;
+            while (true) {
+                awaitRegistry(registry);
+                try (Response response = httpClient.newCall(request).execute()) {
+                    if (response.code() == TOO_MANY_REQUESTS) {
+                        rateLimited(registry, response);
+                        if (retries++ < maxRateLimitRetries) {
+                            continue;
+                        }
+                    }
+                    if (response.code() == NOT_FOUND) {
+                        LOG.error("Response from {} for {} has error code {}", registry.getFriendlyName(), url, response.code());
+                        return Optional.empty();
+                    }
+                    if (!response.isSuccessful()) {
+                        throw new LookupFailedException(String.format("Response from %s for %s has error code %s", registry.getFriendlyName(), url, response.code()));
+                    }
+                    return Optional.of(response.body().string());
+                }
+            }
+        } catch (IOException ex) {
+            throw new LookupFailedException("Could not send request GET " + url, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new LookupFailedException("Interrupted while sending request GET " + url, ex);
+        }
+    }
+
+    /**
+     * Records that a registry answered that it is rate limited, so that lookups in that registry wait until the time the response asks for,
+     * taken from its Retry-After header or, as Docker Hub sends, its X-RateLimit-Reset header.
+     *
+     * @param registry the rate limited registry
+     * @param response the response with status code 429
+     */
+    public void rateLimited(Registry registry, Response response) {
+        rateLimited.mark();
+        final long now = System.currentTimeMillis();
+        long until = now + DEFAULT_RETRY_AFTER.toMillis();
+        try {
+            final String retryAfter = response.header("Retry-After");
+            final String rateLimitReset = response.header("X-RateLimit-Reset");
+            if (retryAfter != null) {
+                until = now + Duration.ofSeconds(Long.parseLong(retryAfter.trim())).toMillis();
+            } else if (rateLimitReset != null) {
+                until = Duration.ofSeconds(Long.parseLong(rateLimitReset.trim())).toMillis();
+            }
+        } catch (NumberFormatException e) {
+            LOG.debug("Could not parse the rate limit headers from {}", registry.getFriendlyName(), e);
+        }
+        final long pausedUntil = Math.max(until, now);
+        LOG.info("{} is rate limited, pausing lookups for {} milliseconds", registry.getFriendlyName(), pausedUntil - now);
+        pausedUntilMillis.merge(registry, pausedUntil, Math::max);
+    }
+
+    /**
+     * Records that the registry with the specified docker path answered that it is rate limited.
+     */
+    public void rateLimited(String registryDockerPath, Response response) {
+        Arrays.stream(Registry.values()).filter(registry -> registryDockerPath.equals(registry.getDockerPath())).findFirst()
+            .ifPresent(registry -> rateLimited(registry, response));
+    }
+
+    /**
+     * Waits until a registry may be asked again, if it answered that it is rate limited.
+     */
+    public void awaitRegistry(Registry registry) throws InterruptedException {
+        long wait = pausedUntilMillis.getOrDefault(registry, 0L) - System.currentTimeMillis();
+        while (wait > 0) {
+            Thread.sleep(wait);
+            wait = pausedUntilMillis.getOrDefault(registry, 0L) - System.currentTimeMillis();
+        }
+    }
+
+    private CompletableFuture<Set<Image>> fetch(Lookup lookup, Function<Lookup, Set<Image>> fetcher) {
+        return CompletableFuture.supplyAsync(() -> {
+            final Timer.Context timer = fetches.time();
+            try {
+                awaitRegistry(lookup.registry());
+                return Set.copyOf(fetcher.apply(lookup));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            } catch (RuntimeException e) {
+                failures.mark();
+                throw e;
+            } finally {
+                timer.stop();
+            }
+        }, executorFor(lookup.registry()));
+    }
+
+    private ExecutorService executorFor(Registry registry) {
+        return executors.computeIfAbsent(registry, key -> Executors.newFixedThreadPool(maxLookupsPerRegistry,
+            new ThreadFactoryBuilder().setNameFormat("image-lookup-" + key.name().toLowerCase() + "-%d").setDaemon(true).build()));
+    }
+
+    private static Image copyOf(Image image) {
+        final Image copy = new Image(image.getChecksums().stream().map(checksum -> new Checksum(checksum.getType(), checksum.getChecksum())).toList(),
+            image.getRepository(), image.getTag(), image.getImageID(), image.getImageRegistry(), image.getSize(), image.getImageUpdateDate());
+        copy.setArchitecture(image.getArchitecture());
+        copy.setOs(image.getOs());
+        copy.setSpecifier(image.getSpecifier());
+        return copy;
+    }
+
+    /**
+     * An image to look up.
+     *
+     * @param registry the registry that hosts the image
+     * @param repository the image's repository, without the registry's docker path
+     * @param specifier whether the image is specified by tag or by digest
+     * @param specifierName the tag or the digest
+     */
+    public record Lookup(Registry registry, String repository, DockerSpecifier specifier, String specifierName) {
+        @Override
+        public String toString() {
+            return String.format("%s image %s specified by %s %s", registry.getFriendlyName(), repository, specifier, specifierName);
+        }
+    }
+
+    /**
+     * Thrown when a registry could not be asked about an image, or answered with an error other than not found,
+     * so that the lookup fails rather than being cached as finding nothing.
+     */
+    public static class LookupFailedException extends RuntimeException {
+        public LookupFailedException(String message) {
+            super(message);
+        }
+
+        public LookupFailedException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Keeps lookups by digest until evicted, lookups by tag for the tag TTL, and lookups that found nothing for the not found TTL.
+     * Lookups that failed are never kept, because their futures complete exceptionally.
+     */
+    private static final class LookupExpiry implements Expiry<Lookup, Set<Image>> {
+        private final Duration tagTtl;
+        private final Duration notFoundTtl;
+
+        LookupExpiry(Duration tagTtl, Duration notFoundTtl) {
+            this.tagTtl = tagTtl;
+            this.notFoundTtl = notFoundTtl;
+        }
+
+        @Override
+        public long expireAfterCreate(Lookup lookup, Set<Image> found, long currentTime) {
+            if (found.isEmpty()) {
+                return notFoundTtl.toNanos();
+            }
+            return lookup.specifier() == DockerSpecifier.DIGEST ? Long.MAX_VALUE : tagTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Lookup lookup, Set<Image> found, long currentTime, long currentDuration) {
+            return expireAfterCreate(lookup, found, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Lookup lookup, Set<Image> found, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -16,10 +16,14 @@
 
 package io.dockstore.webservice.helpers;
 
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
 import jakarta.ws.rs.core.UriBuilder;
-import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.ProxySelector;
 import java.net.URI;
@@ -28,70 +32,120 @@ import java.net.URL;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
-import org.apache.commons.collections.map.LRUMap;
 import org.apache.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Checks whether URLs are openly accessible by invoking the check URL lambda.
+ *
+ * Verdicts are kept in the process-wide {@link UrlVerdictCache}, and all checkers share one asynchronous HTTP client, running on a
+ * bounded pool of threads, that limits how many URLs of the same host are checked at the same time.
+ */
 public final class LambdaUrlChecker implements CheckUrlInterface {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LambdaUrlChecker.class);
     private static final Gson GSON = new Gson(); // Thread-safe
-    private static final int LRU_CACHE_SIZE = 50;
     private static final String S3_PROTOCOL = "s3://";
     private static final String GS_PROTOCOL = "gs://";
+    private static volatile Transport transport = new Transport(new DockstoreWebserviceConfiguration.UrlCheckConfig(), new MetricRegistry());
     private String checkUrlLambdaUrl;
 
-    private Map<String, Boolean> checkedUrlsMap = Collections.synchronizedMap(new LRUMap(LRU_CACHE_SIZE));
-
     public LambdaUrlChecker(String checkUrlLambdaUrl) {
         // Hackish, remove trailing slash if present. Ideally, the configured url would just not have the trailing slash to begin with,
         // but see discussion linked from SEAB-5416 -- it's hard to reset in production without downtime.
         this.checkUrlLambdaUrl = checkUrlLambdaUrl.replaceAll("/$", "");
     }
 
+    /**
+     * Replaces the shared HTTP client, and registers the check metrics. Checks that are in flight finish on the previous client.
+     */
+    public static synchronized void init(DockstoreWebserviceConfiguration.UrlCheckConfig urlCheckConfig, MetricRegistry metricRegistry) {
+        final Transport previous = transport;
+        transport = new Transport(urlCheckConfig, metricRegistry);
+        previous.executor.shutdown();
+    }
+
     String getCheckUrlLambdaUrl() {
         return checkUrlLambdaUrl;
     }
 
-    private Optional<Boolean> checkUrl(String url) {
-        HttpRequest request;
-        URI uri;
+    /**
+     * Starts checking a URL. Waits, on the calling thread, until fewer than the maximum number of URLs of the same host are being checked.
+     *
+     * @param url the URL to check
+     * @return whether the URL is openly accessible, or empty if the lambda could not tell
+     */
+    private CompletableFuture<Optional<Boolean>> checkUrl(String url) {
+        final URI uri;
         try {
             uri = UriBuilder.fromUri(new URI(checkUrlLambdaUrl)).queryParam("url", url).build();
         } catch (URISyntaxException e) {
-            return Optional.of(false);
+            return CompletableFuture.completedFuture(Optional.of(false));
         }
-        final Boolean check = checkedUrlsMap.get(url);
-        if (check != null) {
-            return Optional.of(check);
+        final Transport current = transport;
+        final Semaphore permits = current.permitsForHost(url);
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(Optional.empty());
         }
-        request = HttpRequest.newBuilder().uri(uri).GET().build();
+        final HttpRequest request = HttpRequest.newBuilder().uri(uri).timeout(current.requestTimeout).GET().build();
+        final Timer.Context timer = current.checks.time();
+        final CompletableFuture<HttpResponse<String>> response;
         try {
-            final HttpResponse<String> httpResponse = HttpClient.newBuilder().proxy(ProxySelector.getDefault()).build()
-                    .send(request, HttpResponse.BodyHandlers.ofString());
+            response = current.httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        } catch (RuntimeException e) {
+            // the request was never started, so the handler below will not release the permit
+            permits.release();
+            timer.stop();
+            LOGGER.error("Error checking url", e);
+            current.failures.mark();
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return response.handle((httpResponse, throwable) -> {
+            permits.release();
+            timer.stop();
+            if (throwable != null) {
+                LOGGER.error("Error checking url", throwable);
+                current.failures.mark();
+                return Optional.empty();
+            }
             final String body = httpResponse.body();
             if (httpResponse.statusCode() >= HttpStatus.SC_MULTIPLE_CHOICES) { // a 3xx isn't an error, but if we get it (we shouldn't), we're not following it
                 LOGGER.error("Error invoking checkUrl lambda; status code: {}; body: {}", httpResponse.statusCode(), body);
+                current.failures.mark();
                 return Optional.empty();
             }
-            final Optional<Boolean> checkStatus = checkStatus(body);
-            checkStatus.ifPresent(b -> checkedUrlsMap.put(url, b));
-            return checkStatus;
-        } catch (IOException e) {
-            LOGGER.error("Error checking url", e);
-            return Optional.empty();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return Optional.empty();
-        }
+            return checkStatus(body);
+        });
+    }
+
+    /**
+     * Checks URLs concurrently.
+     *
+     * @param urls URLs without a known verdict
+     * @return the result of each check, keyed by URL
+     */
+    private Map<String, Optional<Boolean>> invokeLambda(Collection<String> urls) {
+        final Map<String, CompletableFuture<Optional<Boolean>>> checks = new HashMap<>();
+        urls.forEach(url -> checks.put(url, checkUrl(url)));
+        final Map<String, Optional<Boolean>> results = new HashMap<>();
+        checks.forEach((url, check) -> results.put(url, check.join()));
+        return results;
     }
 
     private Optional<Boolean> checkStatus(final String body) {
@@ -131,12 +185,19 @@ public final class LambdaUrlChecker implements CheckUrlInterface {
         if (hasMalformedOrFileProtocolUrl(convertedUrls)) {
             return UrlStatus.NOT_ALL_OPEN;
         }
-        List<Optional<Boolean>> objectStream = convertedUrls.parallelStream().map(this::checkUrl)
-            .collect(Collectors.toCollection(ArrayList::new));
-        if (objectStream.stream().anyMatch(urlStatus -> urlStatus.isPresent() && urlStatus.get().equals(false))) {
+        final UrlVerdictCache urlVerdictCache = UrlVerdictCache.getInstance();
+        final Map<String, Boolean> verdicts = urlVerdictCache.getAll(convertedUrls);
+        if (verdicts.containsValue(Boolean.FALSE)) {
+            return UrlStatus.NOT_ALL_OPEN;
+        }
+        final Set<String> uncheckedUrls = convertedUrls.stream().filter(url -> !verdicts.containsKey(url)).collect(Collectors.toSet());
+        final Map<String, Optional<Boolean>> checked = invokeLambda(uncheckedUrls);
+        urlVerdictCache.putAll(checked.entrySet().stream().filter(entry -> entry.getValue().isPresent())
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get())));
+        if (checked.values().stream().anyMatch(urlStatus -> urlStatus.isPresent() && urlStatus.get().equals(false))) {
             return UrlStatus.NOT_ALL_OPEN;
         }
-        if (objectStream.stream().anyMatch(Optional::isEmpty)) {
+        if (checked.values().stream().anyMatch(Optional::isEmpty)) {
             return UrlStatus.UNKNOWN;
         }
         return UrlStatus.ALL_OPEN;
@@ -179,6 +240,38 @@ public final class LambdaUrlChecker implements CheckUrlInterface {
         return s3Uri;
     }
 
+    /**
+     * The HTTP client shared by all checkers, with the per-host limits and metrics that go with it.
+     */
+    private static final class Transport {
+        private final ExecutorService executor;
+        private final HttpClient httpClient;
+        private final Duration requestTimeout;
+        private final int maxRequestsPerHost;
+        private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+        private final Timer checks;
+        private final Meter failures;
+
+        Transport(DockstoreWebserviceConfiguration.UrlCheckConfig config, MetricRegistry metricRegistry) {
+            this.executor = Executors.newFixedThreadPool(config.getThreads(), new ThreadFactoryBuilder().setNameFormat("url-check-%d").setDaemon(true).build());
+            this.httpClient = HttpClient.newBuilder().proxy(ProxySelector.getDefault()).executor(executor).build();
+            this.requestTimeout = Duration.ofSeconds(config.getRequestTimeoutSeconds());
+            this.maxRequestsPerHost = config.getMaxRequestsPerHost();
+            this.checks = metricRegistry.timer(MetricRegistry.name(LambdaUrlChecker.class, "checks"));
+            this.failures = metricRegistry.meter(MetricRegistry.name(LambdaUrlChecker.class, "failures"));
+        }
+
+        Semaphore permitsForHost(String url) {
+            String host;
+            try {
+                host = new URL(url).getHost();
+            } catch (MalformedURLException e) {
+                host = "";
+            }
+            return hostPermits.computeIfAbsent(host, key -> new Semaphore(maxRequestsPerHost));
+        }
+    }
+
     private static class LambdaResponse {
         private boolean message;
 
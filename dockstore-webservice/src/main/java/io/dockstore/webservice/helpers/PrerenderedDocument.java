@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.helpers;
+
+import com.google.common.hash.Hashing;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A text document that is rendered once and then served many times, such as the sitemap or the RSS feed.
+ * Both the plain and the gzip-compressed bytes are kept, along with an entity tag for each, so that a request
+ * costs neither rendering nor compression, and a client that already has the current version gets a 304.
+ */
+public final class PrerenderedDocument {
+
+    private static final String GZIP = "gzip";
+
+    private final byte[] body;
+    private final byte[] gzippedBody;
+    private final EntityTag entityTag;
+    private final EntityTag gzippedEntityTag;
+
+    private PrerenderedDocument(byte[] body, byte[] gzippedBody, String hash) {
+        this.body = body;
+        this.gzippedBody = gzippedBody;
+        this.entityTag = new EntityTag(hash);
+        // Each encoding is a different representation, so it needs its own entity tag
+        this.gzippedEntityTag = new EntityTag(hash + "-" + GZIP);
+    }
+
+    public static PrerenderedDocument of(String text) {
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(gzipped)) {
+            gzipOutputStream.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new PrerenderedDocument(body, gzipped.toByteArray(), Hashing.sha256().hashBytes(body).toString());
+    }
+
+    /**
+     * Builds the response to a request for this document, honouring its If-None-Match and Accept-Encoding headers.
+     * @param requestContext the request
+     * @return a 304 if the client's copy is current, otherwise a 200 with the document
+     */
+    public Response toResponse(ContainerRequestContext requestContext) {
+        String acceptEncoding = requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains(GZIP);
+        EntityTag tag = gzip ? gzippedEntityTag : entityTag;
+        Response.ResponseBuilder notModified = requestContext.getRequest().evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).build();
+        }
+        Response.ResponseBuilder builder = Response.ok(gzip ? gzippedBody : body).tag(tag).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        return builder.build();
+    }
+
+    public String getText() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
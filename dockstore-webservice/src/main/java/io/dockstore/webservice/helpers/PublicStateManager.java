@@ -18,11 +18,13 @@ package io.dockstore.webservice.helpers;
 import io.dockstore.webservice.DockstoreWebserviceConfiguration;
 import io.dockstore.webservice.core.Entry;
 import io.dockstore.webservice.helpers.statelisteners.ElasticListener;
+import io.dockstore.webservice.helpers.statelisteners.EntryPathListener;
 import io.dockstore.webservice.helpers.statelisteners.RSSListener;
 import io.dockstore.webservice.helpers.statelisteners.SitemapListener;
 import io.dockstore.webservice.helpers.statelisteners.StateListenerInterface;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.SessionFactory;
 
 /**
  * @author dyuen
@@ -34,6 +36,7 @@ public final class PublicStateManager {
     private final SitemapListener sitemapListener = new SitemapListener();
     private final RSSListener rssListener = new RSSListener();
     private final ElasticListener elasticListener = new ElasticListener();
+    private final EntryPathListener entryPathListener = new EntryPathListener();
     private final List<StateListenerInterface> listeners = new ArrayList<>();
     private DockstoreWebserviceConfiguration config;
 
@@ -44,10 +47,16 @@ public final class PublicStateManager {
 
     public void reset() {
         config = null;
+        // The sitemap and RSS feed are maintained incrementally, so they must not outlive the database they were loaded from
+        sitemapListener.invalidateCache();
+        rssListener.invalidateCache();
+        entryPathListener.invalidateCache();
+        setSessionFactory(null);
         listeners.clear();
         listeners.add(sitemapListener);
         listeners.add(rssListener);
         listeners.add(elasticListener);
+        listeners.add(entryPathListener);
     }
 
     public SitemapListener getSitemapListener() {
@@ -62,6 +71,10 @@ public final class PublicStateManager {
         return elasticListener;
     }
 
+    public EntryPathListener getEntryPathListener() {
+        return entryPathListener;
+    }
+
     public static PublicStateManager getInstance() {
         return SINGLETON;
     }
@@ -96,6 +109,14 @@ public final class PublicStateManager {
         }
     }
 
+    /**
+     * Sets the session factory whose transactions the sitemap and RSS feed wait for before applying changes
+     */
+    public void setSessionFactory(SessionFactory sessionFactory) {
+        sitemapListener.setSessionFactory(sessionFactory);
+        rssListener.setSessionFactory(sessionFactory);
+    }
+
     public void setConfig(DockstoreWebserviceConfiguration config) {
         this.config = config;
         for (StateListenerInterface listener : listeners) {
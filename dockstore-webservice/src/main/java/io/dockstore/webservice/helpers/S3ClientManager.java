@@ -0,0 +1,245 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.helpers;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.dockstore.common.metrics.MetricsDataS3Client;
+import io.dockstore.webservice.CustomWebApplicationException;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import io.dockstore.webservice.core.tooltester.ToolTesterS3Client;
+import io.dropwizard.lifecycle.Managed;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+/**
+ * Creates the S3 clients of the webservice once, at startup, and closes them at shutdown. S3 clients are thread-safe, and each one
+ * holds a connection pool and resolves credentials, so a client per request means a new pool and new credentials for every request.
+ *
+ * <p>Every request made by the clients is timed per operation, e.g. PutObject, and failed requests are counted per operation.
+ *
+ * <p>If the client of the execution metrics bucket can't be created at startup, creating it is tried again when it is next needed.
+ */
+public class S3ClientManager implements Managed {
+
+    private static final Logger LOG = LoggerFactory.getLogger(S3ClientManager.class);
+    private static final Region TOOLTESTER_BUCKET_REGION = Region.US_EAST_1;
+    private static final ExecutionAttribute<Long> START_NANOS = new ExecutionAttribute<>("DockstoreS3StartNanos");
+
+    private final DockstoreWebserviceConfiguration.S3ClientConfig config;
+    private final MetricRegistry metricRegistry;
+    private final DockstoreWebserviceConfiguration.MetricsConfig metricsConfig;
+    private final List<AutoCloseable> clients = new ArrayList<>();
+    private final ToolTesterS3Client toolTesterS3Client;
+    private volatile MetricsDataS3Client metricsDataS3Client;
+
+    public S3ClientManager(DockstoreWebserviceConfiguration configuration, MetricRegistry metricRegistry) {
+        this.config = configuration.getS3ClientConfig();
+        this.metricRegistry = metricRegistry;
+        this.metricsConfig = configuration.getMetricsConfig();
+        if (isMetricsDataConfigured()) {
+            this.metricsDataS3Client = createMetricsDataS3Client();
+        }
+        if (configuration.getToolTesterBucket() != null) {
+            // The ToolTester bucket is always in us-east-1
+            toolTesterS3Client = new ToolTesterS3Client(configuration.getToolTesterBucket(), register(createS3Client(null, TOOLTESTER_BUCKET_REGION)));
+        } else {
+            toolTesterS3Client = null;
+        }
+    }
+
+    /**
+     * Creates the client of the execution metrics bucket. A client that can't be created, e.g. because the region is unknown, only
+     * fails the requests that need it, as it did when clients were created per request.
+     */
+    private MetricsDataS3Client createMetricsDataS3Client() {
+        try {
+            final URI endpointOverride = metricsConfig.getS3EndpointOverride() == null ? null : URI.create(metricsConfig.getS3EndpointOverride());
+            final S3Client s3Client = createS3Client(endpointOverride, null);
+            final S3AsyncClient s3AsyncClient;
+            try {
+                s3AsyncClient = config.isAsyncUploads() ? createS3AsyncClient(endpointOverride) : null;
+            } catch (SdkClientException | IllegalArgumentException e) {
+                s3Client.close();
+                throw e;
+            }
+            register(s3Client);
+            if (s3AsyncClient != null) {
+                register(s3AsyncClient);
+            }
+            return new MetricsDataS3Client(metricsConfig.getS3BucketName(), s3Client, s3AsyncClient);
+        } catch (SdkClientException | IllegalArgumentException e) {
+            LOG.error("Could not create the S3 client of execution metrics bucket {}", metricsConfig.getS3BucketName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * @return whether there is an execution metrics bucket
+     */
+    public boolean isMetricsDataConfigured() {
+        return metricsConfig != null && metricsConfig.getS3BucketName() != null;
+    }
+
+    /**
+     * Gets the client of the execution metrics bucket, creating it if it could not be created before.
+     *
+     * @return the client of the execution metrics bucket, or null if there is no metrics bucket or its client could not be created
+     */
+    public MetricsDataS3Client getMetricsDataS3Client() {
+        MetricsDataS3Client client = metricsDataS3Client;
+        if (client == null && isMetricsDataConfigured()) {
+            synchronized (this) {
+                if (metricsDataS3Client == null) {
+                    metricsDataS3Client = createMetricsDataS3Client();
+                }
+                client = metricsDataS3Client;
+            }
+        }
+        return client;
+    }
+
+    /**
+     * @return the client of the execution metrics bucket
+     * @throws CustomWebApplicationException with status 500 if there is no metrics bucket or its client could not be created
+     */
+    public MetricsDataS3Client requireMetricsDataS3Client() {
+        final MetricsDataS3Client client = getMetricsDataS3Client();
+        if (client == null) {
+            throw new CustomWebApplicationException("Execution metrics storage is not configured", HttpStatus.SC_INTERNAL_SERVER_ERROR);
+        }
+        return client;
+    }
+
+    /**
+     * @return the client of the ToolTester logs bucket, or null if there is no ToolTester bucket
+     */
+    public ToolTesterS3Client getToolTesterS3Client() {
+        return toolTesterS3Client;
+    }
+
+    @Override
+    public void start() {
+        // The clients are created with the manager, so that they are ready before the resources that use them are registered
+    }
+
+    @Override
+    public synchronized void stop() {
+        for (AutoCloseable client : clients) {
+            try {
+                client.close();
+            } catch (Exception e) {
+                LOG.error("Could not close S3 client", e);
+            }
+        }
+        clients.clear();
+    }
+
+    private S3Client createS3Client(URI endpointOverride, Region region) {
+        final S3ClientBuilder builder = S3Client.builder()
+            .credentialsProvider(DefaultCredentialsProvider.create())
+            .httpClientBuilder(ApacheHttpClient.builder()
+                .maxConnections(config.getMaxConnections())
+                .connectionAcquisitionTimeout(Duration.ofSeconds(config.getConnectionAcquisitionTimeoutSeconds()))
+                .connectionTimeout(Duration.ofSeconds(config.getConnectionTimeoutSeconds()))
+                .socketTimeout(Duration.ofSeconds(config.getSocketTimeoutSeconds())))
+            .overrideConfiguration(override -> override.addExecutionInterceptor(new OperationMetrics()));
+        if (endpointOverride != null) {
+            LOG.info("Using endpoint override: {}", endpointOverride);
+            builder.endpointOverride(endpointOverride);
+        }
+        if (region != null) {
+            builder.region(region);
+        }
+        return builder.build();
+    }
+
+    private S3AsyncClient createS3AsyncClient(URI endpointOverride) {
+        final S3AsyncClientBuilder builder = S3AsyncClient.builder()
+            .credentialsProvider(DefaultCredentialsProvider.create())
+            .httpClientBuilder(AwsCrtAsyncHttpClient.builder()
+                .maxConcurrency(config.getMaxAsyncConcurrency())
+                .connectionTimeout(Duration.ofSeconds(config.getConnectionTimeoutSeconds())))
+            .multipartEnabled(true)
+            .overrideConfiguration(override -> override.addExecutionInterceptor(new OperationMetrics()));
+        if (endpointOverride != null) {
+            builder.endpointOverride(endpointOverride);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Keeps a client to close at shutdown
+     */
+    private synchronized <T extends AutoCloseable> T register(T client) {
+        clients.add(client);
+        return client;
+    }
+
+    /**
+     * Records the latency and errors of each S3 operation in the metric registry
+     */
+    private final class OperationMetrics implements ExecutionInterceptor {
+
+        @Override
+        public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+            executionAttributes.putAttribute(START_NANOS, System.nanoTime());
+        }
+
+        @Override
+        public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+            timer(executionAttributes).update(System.nanoTime() - executionAttributes.getAttribute(START_NANOS), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+            final Long startNanos = executionAttributes.getAttribute(START_NANOS);
+            if (startNanos != null) {
+                timer(executionAttributes).update(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+            metricRegistry.meter(MetricRegistry.name(S3ClientManager.class, operation(executionAttributes), "errors")).mark();
+        }
+
+        private Timer timer(ExecutionAttributes executionAttributes) {
+            return metricRegistry.timer(MetricRegistry.name(S3ClientManager.class, operation(executionAttributes)));
+        }
+
+        private String operation(ExecutionAttributes executionAttributes) {
+            return executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        }
+    }
+}
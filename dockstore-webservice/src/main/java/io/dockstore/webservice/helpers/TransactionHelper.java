@@ -4,6 +4,8 @@ import java.util.function.Supplier;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
+import org.hibernate.context.internal.ManagedSessionContext;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -81,6 +83,22 @@ public final class TransactionHelper {
         }
     }
 
+    /**
+     * Runs an action once the transaction of the current session commits, and not at all if it rolls back.
+     * If there is no current session or transaction, the action is run right away.
+     */
+    public static void afterCommit(SessionFactory factory, Runnable action) {
+        if (factory == null || !ManagedSessionContext.hasBind(factory) || !factory.getCurrentSession().getTransaction().isActive()) {
+            action.run();
+            return;
+        }
+        factory.getCurrentSession().unwrap(SessionImplementor.class).getActionQueue().registerProcess((success, session) -> {
+            if (success) {
+                action.run();
+            }
+        });
+    }
+
     /**
      * Instruct TransactionHelper to not clear the Session before beginning
      * the next transaction.
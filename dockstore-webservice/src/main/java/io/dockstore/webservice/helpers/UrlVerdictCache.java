@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.helpers;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import io.dockstore.webservice.core.UrlVerdict;
+import io.dockstore.webservice.jdbi.UrlVerdictDAO;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.context.internal.ManagedSessionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A process-wide store of URL verdicts, telling whether the check URL lambda found a URL to be openly accessible.
+ * Verdicts are held in memory in front of the url_verdict table, so that they are shared by every checker, survive restarts,
+ * and are shared between webservice instances. A verdict is reused until it is older than the configured TTL.
+ *
+ * The table is read and written on threads of their own, in sessions of their own, so that recording a verdict never
+ * joins, or waits on, the transaction of the request that checked the URL. Writes are not waited for, and are made one after the
+ * other on a single thread. Reads are waited for, so they have a pool of their own, and never queue behind the writes.
+ */
+public final class UrlVerdictCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UrlVerdictCache.class);
+    private static final int READ_THREADS = 4;
+
+    private static volatile UrlVerdictCache instance = new UrlVerdictCache(new DockstoreWebserviceConfiguration.UrlCheckConfig(), null, new MetricRegistry());
+
+    private final Cache<String, Verdict> verdicts;
+    private final Duration ttl;
+    private final SessionFactory sessionFactory;
+    private final ExecutorService storeExecutor;
+    private final ExecutorService readExecutor;
+    private final Meter memoryHits;
+    private final Meter storeHits;
+    private final Meter misses;
+
+    private UrlVerdictCache(DockstoreWebserviceConfiguration.UrlCheckConfig config, SessionFactory sessionFactory, MetricRegistry metricRegistry) {
+        this.ttl = Duration.ofSeconds(config.getVerdictSeconds());
+        this.sessionFactory = sessionFactory;
+        this.verdicts = Caffeine.newBuilder()
+            .maximumSize(config.getMaxCachedVerdicts())
+            .expireAfter(new VerdictExpiry())
+            .build();
+        this.storeExecutor = sessionFactory == null ? null
+            : Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("url-verdict-store-%d").setDaemon(true).build());
+        this.readExecutor = sessionFactory == null ? null
+            : Executors.newFixedThreadPool(READ_THREADS, new ThreadFactoryBuilder().setNameFormat("url-verdict-read-%d").setDaemon(true).build());
+        this.memoryHits = metricRegistry.meter(MetricRegistry.name(UrlVerdictCache.class, "memoryHits"));
+        this.storeHits = metricRegistry.meter(MetricRegistry.name(UrlVerdictCache.class, "storeHits"));
+        this.misses = metricRegistry.meter(MetricRegistry.name(UrlVerdictCache.class, "misses"));
+    }
+
+    /**
+     * Replaces the store with an empty one that uses the specified configuration.
+     *
+     * @param config TTL and size of the store
+     * @param sessionFactory used to read and write the url_verdict table, or null to only keep verdicts in memory
+     * @param metricRegistry where the hit and miss meters are registered
+     */
+    public static void init(DockstoreWebserviceConfiguration.UrlCheckConfig config, SessionFactory sessionFactory, MetricRegistry metricRegistry) {
+        final UrlVerdictCache previous = instance;
+        instance = new UrlVerdictCache(config, sessionFactory, metricRegistry);
+        if (previous.storeExecutor != null) {
+            previous.storeExecutor.shutdown();
+            previous.readExecutor.shutdown();
+        }
+    }
+
+    public static UrlVerdictCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * @param urls URLs to look up
+     * @return the verdicts that are known and younger than the TTL, keyed by URL
+     */
+    public Map<String, Boolean> getAll(Set<String> urls) {
+        final Map<String, Boolean> found = new HashMap<>();
+        verdicts.getAllPresent(urls).forEach((url, verdict) -> found.put(url, verdict.openData()));
+        memoryHits.mark(found.size());
+        if (storeExecutor != null && found.size() < urls.size()) {
+            final Set<String> remaining = urls.stream().filter(url -> !found.containsKey(url)).collect(Collectors.toSet());
+            final Map<String, Verdict> stored = readStored(remaining);
+            verdicts.putAll(stored);
+            stored.forEach((url, verdict) -> found.put(url, verdict.openData()));
+            storeHits.mark(stored.size());
+        }
+        misses.mark(urls.size() - found.size());
+        return found;
+    }
+
+    /**
+     * Records the verdicts of URLs that were just checked.
+     *
+     * @param checked whether each URL is openly accessible, keyed by URL
+     */
+    public void putAll(Map<String, Boolean> checked) {
+        if (checked.isEmpty()) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        verdicts.putAll(checked.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> new Verdict(entry.getValue(), now))));
+        if (storeExecutor != null) {
+            final Map<String, Boolean> copy = Map.copyOf(checked);
+            storeExecutor.execute(() -> inSession(dao -> {
+                dao.saveAll(copy, new Timestamp(now));
+                return null;
+            }));
+        }
+    }
+
+    private Map<String, Verdict> readStored(Set<String> urls) {
+        final Map<String, String> urlsByHash = urls.stream().collect(Collectors.toMap(UrlVerdict::hashUrl, Function.identity(), (a, b) -> a));
+        final Timestamp since = new Timestamp(System.currentTimeMillis() - ttl.toMillis());
+        try {
+            final Map<String, Verdict> stored = readExecutor.submit(() -> inSession(dao -> dao.findCheckedSince(urlsByHash.keySet(), since).stream()
+                .collect(Collectors.toMap(verdict -> urlsByHash.get(verdict.getUrlHash()),
+                    verdict -> new Verdict(verdict.isOpenData(), verdict.getCheckedAt().getTime()))))).get();
+            return stored == null ? Map.of() : stored;
+        } catch (ExecutionException e) {
+            LOG.error("Could not read URL verdicts", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Map.of();
+    }
+
+    private <T> T inSession(Function<UrlVerdictDAO, T> work) {
+        final Session session = sessionFactory.openSession();
+        ManagedSessionContext.bind(session);
+        final Transaction transaction = session.beginTransaction();
+        try {
+            final T result = work.apply(new UrlVerdictDAO(sessionFactory));
+            transaction.commit();
+            return result;
+        } catch (RuntimeException e) {
+            LOG.error("Could not access the url_verdict table", e);
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            return null;
+        } finally {
+            ManagedSessionContext.unbind(sessionFactory);
+            session.close();
+        }
+    }
+
+    private record Verdict(boolean openData, long checkedAtMillis) {
+    }
+
+    /**
+     * Expires each verdict once it is older than the TTL, counting from when the URL was checked rather than from when the verdict
+     * was loaded into memory.
+     */
+    private final class VerdictExpiry implements Expiry<String, Verdict> {
+        @Override
+        public long expireAfterCreate(String url, Verdict verdict, long currentTime) {
+            return Math.max(0, ttl.toNanos() - Duration.ofMillis(System.currentTimeMillis() - verdict.checkedAtMillis()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String url, Verdict verdict, long currentTime, long currentDuration) {
+            return expireAfterCreate(url, verdict, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String url, Verdict verdict, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.helpers;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dockstore.common.DescriptorLanguage;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import io.dockstore.webservice.core.FrozenVersionJson;
+import io.dockstore.webservice.core.SourceFile;
+import io.dockstore.webservice.core.Workflow;
+import io.dockstore.webservice.core.WorkflowVersion;
+import io.dockstore.webservice.jdbi.FrozenVersionJsonDAO;
+import io.dockstore.webservice.jdbi.ToolDAO;
+import io.dockstore.webservice.jdbi.WorkflowDAO;
+import io.dockstore.webservice.jdbi.WorkflowVersionDAO;
+import io.dockstore.webservice.languages.LanguageHandlerFactory;
+import io.dockstore.webservice.languages.LanguageHandlerInterface;
+import io.dropwizard.lifecycle.Managed;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.context.internal.ManagedSessionContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the DAG and tool table JSON of workflow versions in the background, after their source files have been ingested,
+ * so that the endpoints that serve them only have to read them. Building a tool table can mean a lookup in Docker Hub or Quay.io
+ * for every image, which doesn't belong in a GET request.
+ *
+ * <p>The work is done by a fixed number of workers with a bounded queue. A version that is already waiting in the queue is not
+ * queued twice, and a version is never computed by two workers at once: a version that is submitted while it is being computed
+ * is computed again once the running job has stored its result, so the stored JSON is never older than the last submission.
+ * The JSON of a version that isn't frozen is stored in the version itself; frozen versions cannot be updated, so
+ * their JSON is stored in the frozen_version_json table.
+ *
+ * <p>A DAG or tool table that is computed as null can't be told apart from one that was never computed once it is stored, so the JSON of
+ * versions with either one computed as null is also kept in memory for a while, so that they are not queued again on every request.
+ */
+public class VersionJsonPrecomputer implements Managed {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VersionJsonPrecomputer.class);
+    private static final long STOP_WAIT_TIME_IN_SECONDS = 30L;
+    private static final long MAX_UNSTORED_JSON = 10_000L;
+    private static final Duration UNSTORED_JSON_TTL = Duration.ofHours(1);
+
+    private final SessionFactory sessionFactory;
+    private final ThreadPoolExecutor executor;
+    /**
+     * The job of every version that is waiting or being computed, it is only removed once the job has stored its result
+     */
+    private final Map<Long, Job> jobs = new ConcurrentHashMap<>();
+    /**
+     * The JSON of versions whose DAG or tool table was last computed as null
+     */
+    private final Cache<Long, VersionJson> unstoredJson = Caffeine.newBuilder().maximumSize(MAX_UNSTORED_JSON).expireAfterWrite(UNSTORED_JSON_TTL).build();
+
+    public VersionJsonPrecomputer(SessionFactory sessionFactory, DockstoreWebserviceConfiguration.PrecomputeConfig config) {
+        this.sessionFactory = sessionFactory;
+        this.executor = new ThreadPoolExecutor(config.getWorkers(), config.getWorkers(), 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(config.getQueueCapacity()),
+            new ThreadFactoryBuilder().setNameFormat("version-json-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Checks whether stored tool table JSON is complete. The "specifier" key was added later on, so there may be tool tables in the DB
+     * that are missing it. An empty array is complete, the workflow just doesn't have any Docker images.
+     */
+    public static boolean isCurrentToolTableJson(String toolTableJson) {
+        return toolTableJson != null && (toolTableJson.contains("\"specifier\"") || "[]".equals(toolTableJson));
+    }
+
+    public static SourceFile getMainDescriptorFile(WorkflowVersion workflowVersion) {
+        return workflowVersion.getSourceFiles().stream().filter(sourceFile -> sourceFile.getPath().equals(workflowVersion.getWorkflowPath())).findFirst().orElse(null);
+    }
+
+    public static Set<SourceFile> getSecondaryFiles(WorkflowVersion workflowVersion) {
+        return workflowVersion.getSourceFiles().stream().filter(sourceFile -> !sourceFile.getPath().equals(workflowVersion.getWorkflowPath())).collect(Collectors.toSet());
+    }
+
+    /**
+     * @return the DAG JSON of a version, or null if it doesn't have a main descriptor
+     */
+    public static String computeDagJson(WorkflowVersion workflowVersion, DescriptorLanguage.FileType fileType, ToolDAO toolDAO) {
+        SourceFile mainDescriptor = getMainDescriptorFile(workflowVersion);
+        if (mainDescriptor == null) {
+            return null;
+        }
+        LanguageHandlerInterface lInterface = LanguageHandlerFactory.getInterface(fileType);
+        return lInterface.getCleanDAG(workflowVersion.getWorkflowPath(), mainDescriptor.getContent(), getSecondaryFiles(workflowVersion), LanguageHandlerInterface.Type.DAG, toolDAO);
+    }
+
+    /**
+     * @return the tool table JSON of a version, or null if it doesn't have a main descriptor or its tools could not be determined
+     */
+    public static String computeToolTableJson(WorkflowVersion workflowVersion, DescriptorLanguage.FileType fileType, ToolDAO toolDAO) {
+        SourceFile mainDescriptor = getMainDescriptorFile(workflowVersion);
+        if (mainDescriptor == null) {
+            return null;
+        }
+        LanguageHandlerInterface lInterface = LanguageHandlerFactory.getInterface(fileType);
+        return lInterface.getContent(workflowVersion.getWorkflowPath(), mainDescriptor.getContent(), getSecondaryFiles(workflowVersion), LanguageHandlerInterface.Type.TOOLS, toolDAO)
+            .orElse(null);
+    }
+
+    /**
+     * Queues versions once the current transaction commits, so that the workers see the source files that were saved with them.
+     * If there is no transaction, the versions are queued right away.
+     */
+    public void submitAfterCommit(Collection<WorkflowVersion> workflowVersions) {
+        if (workflowVersions.isEmpty()) {
+            return;
+        }
+        // new versions don't have an id until they are flushed, so hold on to the versions rather than their ids
+        final List<WorkflowVersion> versions = List.copyOf(workflowVersions);
+        final Session session = sessionFactory.getCurrentSession();
+        if (!session.getTransaction().isActive()) {
+            versions.forEach(version -> submit(version.getId()));
+            return;
+        }
+        session.unwrap(SessionImplementor.class).getActionQueue().registerProcess((success, completedSession) -> {
+            if (success) {
+                versions.forEach(version -> submit(version.getId()));
+            }
+        });
+    }
+
+    /**
+     * Queues a version, unless it is already waiting in the queue. If the version is being computed, it is queued to be computed again
+     * once the running job is done.
+     *
+     * @return the JSON that the job computes, or a failed future if the version could not be queued
+     */
+    public CompletableFuture<VersionJson> submit(long workflowVersionId) {
+        if (workflowVersionId == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        // the version is computed again, so its last result may be out of date
+        unstoredJson.invalidate(workflowVersionId);
+        final List<Job> created = new ArrayList<>(1);
+        final List<CompletableFuture<VersionJson>> result = new ArrayList<>(1);
+        jobs.compute(workflowVersionId, (id, existing) -> {
+            if (existing == null) {
+                final Job job = new Job();
+                created.add(job);
+                result.add(job.result);
+                return job;
+            }
+            if (!existing.started) {
+                result.add(existing.result);
+                return existing;
+            }
+            if (existing.next == null) {
+                existing.next = new Job();
+            }
+            result.add(existing.next.result);
+            return existing;
+        });
+        created.forEach(job -> execute(workflowVersionId, job));
+        return result.get(0);
+    }
+
+    private void execute(long workflowVersionId, Job job) {
+        try {
+            executor.execute(() -> run(workflowVersionId, job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(workflowVersionId, job);
+            job.result.completeExceptionally(e);
+            LOG.warn("Could not queue workflow version {} for DAG and tool table precomputation, it will be computed when it is next requested", workflowVersionId);
+        }
+    }
+
+    private void run(long workflowVersionId, Job job) {
+        // submissions from here on wait for the next job, which starts once this one has stored its result
+        jobs.computeIfPresent(workflowVersionId, (id, existing) -> {
+            existing.started = true;
+            return existing;
+        });
+        try {
+            final VersionJson versionJson = precompute(workflowVersionId);
+            if (versionJson != null && (versionJson.dagJson() == null || versionJson.toolTableJson() == null)) {
+                unstoredJson.put(workflowVersionId, versionJson);
+            }
+            job.result.complete(versionJson);
+        } catch (RuntimeException e) {
+            job.result.completeExceptionally(e);
+        } finally {
+            final Job next = jobs.computeIfPresent(workflowVersionId, (id, existing) -> existing.next);
+            if (next != null) {
+                execute(workflowVersionId, next);
+            }
+        }
+    }
+
+    /**
+     * @return the JSON of a version whose DAG or tool table was last computed as null by this instance, or empty if it wasn't
+     */
+    public Optional<VersionJson> getUnstoredJson(long workflowVersionId) {
+        return Optional.ofNullable(unstoredJson.getIfPresent(workflowVersionId));
+    }
+
+    /**
+     * @return the number of versions waiting to be precomputed
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Computes and stores the JSON of a version.
+     *
+     * @return the JSON that was stored, or null if the version no longer exists
+     */
+    VersionJson precompute(long workflowVersionId) {
+        // Hibernate sessions are not thread-safe, so each version is computed in a session of its own
+        Session session = sessionFactory.openSession();
+        session.setDefaultReadOnly(true);
+        ManagedSessionContext.bind(session);
+        Transaction transaction = session.beginTransaction();
+        VersionJson versionJson = null;
+        try {
+            WorkflowVersion workflowVersion = new WorkflowVersionDAO(sessionFactory).findById(workflowVersionId);
+            Optional<Workflow> workflow = workflowVersion == null ? Optional.empty() : new WorkflowDAO(sessionFactory).getWorkflowByWorkflowVersionId(workflowVersionId);
+            if (workflow.isPresent()) {
+                final ToolDAO toolDAO = new ToolDAO(sessionFactory);
+                final String dagJson = computeDagJson(workflowVersion, workflow.get().getFileType(), toolDAO);
+                final String toolTableJson = computeToolTableJson(workflowVersion, workflow.get().getFileType(), toolDAO);
+                if (workflowVersion.isFrozen()) {
+                    FrozenVersionJson frozenVersionJson = new FrozenVersionJsonDAO(sessionFactory).findOrCreate(workflowVersionId);
+                    session.setReadOnly(frozenVersionJson, false);
+                    frozenVersionJson.setDagJson(dagJson);
+                    frozenVersionJson.setToolTableJson(toolTableJson);
+                } else {
+                    new WorkflowVersionDAO(sessionFactory).updateDagAndToolTableJson(workflowVersionId, dagJson, toolTableJson);
+                }
+                versionJson = new VersionJson(dagJson, toolTableJson);
+            }
+            transaction.commit();
+        } catch (RuntimeException e) {
+            LOG.error("Could not precompute the DAG and tool table of workflow version " + workflowVersionId, e);
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        } finally {
+            ManagedSessionContext.unbind(sessionFactory);
+            session.close();
+        }
+        return versionJson;
+    }
+
+    /**
+     * The DAG and tool table JSON of a version, either may be null
+     */
+    public record VersionJson(String dagJson, String toolTableJson) {
+    }
+
+    /**
+     * A precomputation of a version. The fields are only read and written inside the compute methods of the jobs map.
+     */
+    private static final class Job {
+        private final CompletableFuture<VersionJson> result = new CompletableFuture<>();
+        private boolean started;
+        private Job next;
+    }
+
+    @Override
+    public void stop() throws Exception {
+        executor.shutdownNow();
+        if (!executor.awaitTermination(STOP_WAIT_TIME_IN_SECONDS, TimeUnit.SECONDS)) {
+            LOG.warn("DAG and tool table precomputation did not stop in time");
+        }
+    }
+}
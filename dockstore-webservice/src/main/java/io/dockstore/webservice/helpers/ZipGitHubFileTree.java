@@ -17,17 +17,30 @@
 
 package io.dockstore.webservice.helpers;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import io.dockstore.common.Utilities;
 import io.dockstore.webservice.CustomWebApplicationException;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipFile;
@@ -49,35 +62,174 @@ import org.slf4j.LoggerFactory;
  * that contain a symlink component.  If `readFile` can't find a path in the map,
  * we attempt to read the file via `GitHubSourceCodeRepo.readFile`, which
  * supports symlinks and submodules.
+ *
+ * By default, the Zipball is streamed to a temporary file rather than held on the heap.
+ * The bytes held by all open trees are limited by a shared budget. Before a download starts,
+ * it reserves the largest size a Zipball is expected to have, waiting for other trees to be
+ * closed if that does not fit, and the unused part is returned once the size is known. A
+ * download never waits while it holds a reservation, so concurrent downloads cannot block
+ * each other; one that outgrows its reservation only continues if the budget has room for it
+ * right away. The tree must be closed once it is no longer needed, which deletes the temporary
+ * file and returns its bytes to the budget.
  */
 public class ZipGitHubFileTree implements FileTree {
 
     private static final Logger LOG = LoggerFactory.getLogger(ZipGitHubFileTree.class);
+    /**
+     * Bytes beyond the up-front reservation are reserved from the budget in chunks of this size as the download proceeds.
+     */
+    private static final long RESERVATION_CHUNK_BYTES = 1024L * 1024L;
+
+    private static DockstoreWebserviceConfiguration.ZipFileTreeConfig config = new DockstoreWebserviceConfiguration.ZipFileTreeConfig();
+    private static ByteBudget budget = new ByteBudget(config.getMaxTotalBytes());
+    private static Histogram downloadSizes = new MetricRegistry().histogram("downloadSize");
+    private static Timer downloadTimes = new MetricRegistry().timer("downloadTime");
 
     private final GitHubSourceCodeRepo gitHubSourceCodeRepo;
     private final String repository;
     private final String ref;
+    private final ByteBudget treeBudget;
+    private final Path tempFile;
     private final ZipFile zipFile;
     private final Map<Path, ZipArchiveEntry> pathToEntry;
+    private long reservedBytes;
+    private boolean closed;
 
     public ZipGitHubFileTree(GitHubSourceCodeRepo gitHubSourceCodeRepo, String repository, String ref) {
         this.gitHubSourceCodeRepo = gitHubSourceCodeRepo;
         this.repository = repository;
         this.ref = ref;
-        // Read the Zip contents and create an in-memory ZipFile.
-        byte[] zipBytes = gitHubSourceCodeRepo.readZip(repository, ref);
-        LOG.info("downloaded Zip of GitHub repository: %n bytes".formatted(zipBytes.length));
-        SeekableInMemoryByteChannel zipChannel = new SeekableInMemoryByteChannel(zipBytes);
+        // Use the budget that is current at construction, so that the bytes are returned to the budget they were reserved from
+        this.treeBudget = budget;
+        final boolean diskBacked = config.isDiskBacked();
         try {
-            zipFile = new ZipFile(zipChannel);
+            tempFile = diskBacked ? createTempFile() : null;
+            zipFile = new ZipFile(download(diskBacked));
         } catch (IOException e) {
+            release();
             LOG.error("could not read zip archive of GitHub repository", e);
             throw new CustomWebApplicationException("could not read GitHub repository", HttpStatus.SC_BAD_REQUEST);
+        } catch (RuntimeException e) {
+            release();
+            throw e;
         }
         // Create a Map of absolute paths to Zip file entries for normal (non-symlink) files.
-        pathToEntry = Collections.list(zipFile.getEntries()).stream()
-            .filter(entry -> !entry.isDirectory() && !entry.isUnixSymlink())
-            .collect(Collectors.toMap(this::pathFromEntry, entry -> entry, (valueA, valueB) -> valueA));
+        try {
+            pathToEntry = Collections.list(zipFile.getEntries()).stream()
+                .filter(entry -> !entry.isDirectory() && !entry.isUnixSymlink())
+                .collect(Collectors.toMap(this::pathFromEntry, entry -> entry, (valueA, valueB) -> valueA));
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Sets how Zipballs are held and registers the download metrics. Trees that are already open keep the budget they were created with.
+     */
+    public static synchronized void init(DockstoreWebserviceConfiguration.ZipFileTreeConfig zipFileTreeConfig, MetricRegistry metricRegistry) {
+        config = zipFileTreeConfig;
+        budget = new ByteBudget(zipFileTreeConfig.getMaxTotalBytes());
+        final ByteBudget currentBudget = budget;
+        downloadSizes = metricRegistry.histogram(MetricRegistry.name(ZipGitHubFileTree.class, "downloadSize"));
+        downloadTimes = metricRegistry.timer(MetricRegistry.name(ZipGitHubFileTree.class, "downloadTime"));
+        final String reservedBytesName = MetricRegistry.name(ZipGitHubFileTree.class, "reservedBytes");
+        metricRegistry.remove(reservedBytesName);
+        metricRegistry.register(reservedBytesName, (Gauge<Long>) currentBudget::getReservedBytes);
+    }
+
+    private Path createTempFile() throws IOException {
+        final String tempDirectory = config.getTempDirectory();
+        return tempDirectory == null ? Files.createTempFile("github-zip-", ".zip") : Files.createTempFile(Paths.get(tempDirectory), "github-zip-", ".zip");
+    }
+
+    /**
+     * Downloads the Zipball, either to the temporary file or to memory, and returns a channel to read it from.
+     */
+    private SeekableByteChannel download(boolean diskBacked) throws IOException {
+        final long size;
+        // reserve for the whole download before it starts, so that no download waits for bytes while it holds some
+        reserve(Math.min(config.getMaxZipBytes(), treeBudget.getMaxBytes()), config.getMaxWaitSeconds());
+        final Timer.Context timerContext = downloadTimes.time();
+        if (diskBacked) {
+            try (OutputStream out = new BudgetedOutputStream(Files.newOutputStream(tempFile))) {
+                size = gitHubSourceCodeRepo.readZip(repository, ref, out);
+            } finally {
+                timerContext.stop();
+            }
+            downloadSizes.update(size);
+            releaseUnused(size);
+            LOG.info("downloaded Zip of GitHub repository to a temporary file: {} bytes", size);
+            return FileChannel.open(tempFile, StandardOpenOption.READ);
+        } else {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (OutputStream out = new BudgetedOutputStream(bytes)) {
+                size = gitHubSourceCodeRepo.readZip(repository, ref, out);
+            } finally {
+                timerContext.stop();
+            }
+            downloadSizes.update(size);
+            releaseUnused(size);
+            LOG.info("downloaded Zip of GitHub repository: {} bytes", size);
+            return new SeekableInMemoryByteChannel(bytes.toByteArray());
+        }
+    }
+
+    /**
+     * Reserves budget for the bytes that are about to be written.
+     * @param bytes the number of bytes to reserve
+     * @param waitSeconds how long to wait for the bytes to become available, zero to fail right away if they are not
+     */
+    private void reserve(long bytes, long waitSeconds) {
+        try {
+            if (!treeBudget.reserve(bytes, waitSeconds, TimeUnit.SECONDS)) {
+                LOG.warn("could not reserve {} bytes of the GitHub Zip budget, {} of {} bytes are in use", bytes, treeBudget.getReservedBytes(), treeBudget.getMaxBytes());
+                throw new CustomWebApplicationException("Too many GitHub repositories are being read at once, please try again later", HttpStatus.SC_SERVICE_UNAVAILABLE);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomWebApplicationException("Interrupted while reading GitHub repository", HttpStatus.SC_SERVICE_UNAVAILABLE);
+        }
+        reservedBytes += bytes;
+    }
+
+    /**
+     * Returns the reserved bytes that the downloaded Zipball does not use to the budget.
+     */
+    private void releaseUnused(long size) {
+        if (reservedBytes > size) {
+            treeBudget.release(reservedBytes - size);
+            reservedBytes = size;
+        }
+    }
+
+    /**
+     * Deletes the temporary file, if any, and returns the reserved bytes to the budget.
+     */
+    private void release() {
+        if (tempFile != null) {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                LOG.error("could not delete temporary Zip file " + tempFile, e);
+            }
+        }
+        treeBudget.release(reservedBytes);
+        reservedBytes = 0;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            zipFile.close();
+        } catch (IOException e) {
+            LOG.error("could not close zip archive of GitHub repository", e);
+        }
+        release();
     }
 
     @Override
@@ -93,12 +245,12 @@ public class ZipGitHubFileTree implements FileTree {
             }
         }
         // Otherwise, use our existing GitHub API code [to handle symlinks and submodules].
-        return gitHubSourceCodeRepo.readFile(filePath.toString(), repository, ref);
+        return gitHubSourceCodeRepo.readFile(repository, filePath.toString(), ref);
     }
 
     @Override
     public List<String> listFiles(Path dirPath) {
-        return gitHubSourceCodeRepo.listFiles(dirPath.toString(), repository, ref);
+        return gitHubSourceCodeRepo.listFiles(repository, dirPath.toString(), ref);
     }
 
     @Override
@@ -126,4 +278,35 @@ public class ZipGitHubFileTree implements FileTree {
             return "null";
         }
     }
+
+    /**
+     * Reserves budget for the bytes written through it beyond the up-front reservation, a chunk at a time and without waiting.
+     */
+    private class BudgetedOutputStream extends FilterOutputStream {
+
+        private long written;
+
+        BudgetedOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureReserved(1);
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureReserved(len);
+            out.write(b, off, len);
+        }
+
+        private void ensureReserved(long bytes) {
+            written += bytes;
+            if (written > reservedBytes) {
+                reserve(Math.max(RESERVATION_CHUNK_BYTES, written - reservedBytes), 0);
+            }
+        }
+    }
 }
@@ -34,6 +34,7 @@ import io.dockstore.webservice.core.User;
 import io.dockstore.webservice.core.Version;
 import io.dockstore.webservice.core.Workflow;
 import io.dockstore.webservice.helpers.ElasticSearchHelper;
+import io.dockstore.webservice.helpers.ElasticSearchUpdateQueue;
 import io.dockstore.webservice.helpers.EntryVersionHelper;
 import io.dockstore.webservice.helpers.ORCIDHelper;
 import io.dockstore.webservice.helpers.StateManagerMode;
@@ -51,6 +52,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -88,15 +90,59 @@ public class ElasticListener implements StateListenerInterface {
     private static final Logger LOGGER = LoggerFactory.getLogger(ElasticListener.class);
     private static final ObjectMapper MAPPER = Jackson.newObjectMapper().addMixIn(Version.class, Version.ElasticSearchMixin.class);
     private static final String MAPPER_ERROR = "Could not convert Dockstore entry to Elasticsearch object";
+    private static final long BULK_PROCESSOR_WAIT_TIME_IN_MINUTES = 5L;
     protected static final String EXECUTION_PARTNERS = "execution_partners";
     protected static final String VALIDATION_PARTNERS = "validation_partners";
     private DockstoreWebserviceConfiguration.ElasticSearchConfig elasticSearchConfig;
+    private volatile Map<String, String> reindexTargets = Map.of();
+    private final Map<String, Set<String>> reindexDeletions = new ConcurrentHashMap<>();
+    private ElasticSearchUpdateQueue updateQueue;
 
     @Override
     public void setConfig(DockstoreWebserviceConfiguration config) {
         this.elasticSearchConfig = config.getEsConfiguration();
     }
 
+    /**
+     * Sets the versioned indices that a reindex is currently loading, so that individual updates are also written to them.
+     * @param reindexTargets a map from index alias to the versioned index being loaded, empty when no reindex is running
+     */
+    public void setReindexTargets(Map<String, String> reindexTargets) {
+        Set<String> previousTargets = Set.copyOf(this.reindexTargets.values());
+        this.reindexTargets = Map.copyOf(reindexTargets);
+        reindexDeletions.clear();
+        if (updateQueue != null) {
+            // Either the targets are now behind their aliases and already receive the same updates through them, or they are about to be deleted
+            updateQueue.discard(index -> previousTargets.contains(index) && !this.reindexTargets.containsValue(index));
+        }
+    }
+
+    /**
+     * Deletes the entries that were unpublished while a reindex was loading its new indices from those indices again, because a reindex
+     * worker may have read such an entry before it was unpublished and written it after the delete. Call once the reindex has written
+     * all of its documents.
+     */
+    public void replayReindexDeletions() {
+        reindexDeletions.forEach((index, ids) -> ids.forEach(id -> deleteDocument(index, id)));
+    }
+
+    /**
+     * Queues individual updates to be written in the background instead of in the request that made them.
+     * @param updateQueue the queue, or null to write updates synchronously
+     */
+    public void setUpdateQueue(ElasticSearchUpdateQueue updateQueue) {
+        this.updateQueue = updateQueue;
+    }
+
+    /**
+     * Writes any queued updates now, so that they are visible to whatever reads the indices next.
+     */
+    public void flushUpdates() {
+        if (updateQueue != null) {
+            updateQueue.flushNow();
+        }
+    }
+
     /**
      * Manually eager load certain fields
      * @param entry
@@ -137,6 +183,44 @@ public class ElasticListener implements StateListenerInterface {
             LOGGER.info("Could not perform the elastic search index update.");
             return;
         }
+        submitIndexUpdate(index, entry, command);
+        // While a reindex is loading a new version of the index, keep it current too, otherwise this update would be lost when the alias is swapped
+        String reindexTarget = reindexTargets.get(index);
+        if (reindexTarget != null) {
+            recordReindexDeletion(reindexTarget, String.valueOf(entry.getId()), command);
+            submitIndexUpdate(reindexTarget, entry, command);
+        }
+    }
+
+    /**
+     * Remembers which entries were last deleted from an index that a reindex is loading, so that the deletes can be replayed after the load
+     */
+    private void recordReindexDeletion(String index, String id, StateManagerMode command) {
+        Set<String> ids = reindexDeletions.computeIfAbsent(index, key -> ConcurrentHashMap.newKeySet());
+        if (command == StateManagerMode.DELETE) {
+            ids.add(id);
+        } else {
+            ids.remove(id);
+        }
+    }
+
+    private void deleteDocument(String index, String id) {
+        if (updateQueue != null) {
+            updateQueue.delete(index, id);
+            return;
+        }
+        try {
+            ElasticSearchHelper.restHighLevelClient().delete(new DeleteRequest(index, id), RequestOptions.DEFAULT);
+        } catch (Exception e) {
+            LOGGER.error("Could not delete document " + id + " from elastic search index " + index + ". " + e.getMessage());
+        }
+    }
+
+    private void submitIndexUpdate(String index, Entry entry, StateManagerMode command) {
+        if (updateQueue != null) {
+            queueIndexUpdate(index, entry, command);
+            return;
+        }
         try {
             RestHighLevelClient client = ElasticSearchHelper.restHighLevelClient();
             DocWriteResponse post;
@@ -169,6 +253,25 @@ public class ElasticListener implements StateListenerInterface {
         }
     }
 
+    private void queueIndexUpdate(String index, Entry entry, StateManagerMode command) {
+        // The entry is serialized now because its lazy collections can only be loaded in the session of the request
+        try {
+            switch (command) {
+            case PUBLISH:
+            case UPDATE:
+                updateQueue.upsert(index, String.valueOf(entry.getId()), MAPPER.writeValueAsString(dockstoreEntryToElasticSearchObject(entry)));
+                break;
+            case DELETE:
+                updateQueue.delete(index, String.valueOf(entry.getId()));
+                break;
+            default:
+                throw new RuntimeException("Unknown index command: " + command);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Could not queue index update for elastic search. " + e.getMessage());
+        }
+    }
+
     /**
      * Check if the entry is valid to perform the elastic operation
      *
@@ -206,7 +309,60 @@ public class ElasticListener implements StateListenerInterface {
             return;
         }
 
-        BulkProcessor.Listener listener = new BulkProcessor.Listener() {
+        try {
+            BulkProcessor bulkProcessor = buildBulkProcessor(1, createLoggingBulkListener());
+            entries.forEach(entry -> {
+                try {
+                    bulkProcessor.add(createIndexRequest(index, entry));
+                } catch (IOException e) {
+                    LOGGER.error(MAPPER_ERROR, e);
+                    throw new CustomWebApplicationException(MAPPER_ERROR, HttpStatus.SC_INTERNAL_SERVER_ERROR);
+                }
+            });
+            try {
+                // When doing a bulk index, this is the max amount of time the bulk listener should wait before considering the
+                // bulk request as failed. 1 minute appears to be more than enough time to index all the current Dockstore entries.
+                // However, 5 minutes is used instead (just in case)
+                boolean terminated = bulkProcessor.awaitClose(BULK_PROCESSOR_WAIT_TIME_IN_MINUTES, TimeUnit.MINUTES);
+                if (!terminated) {
+                    LOGGER.error("Could not submit " + index + " index to elastic search in time");
+                    throw new CustomWebApplicationException("Could not submit " + index + " index to elastic search in time", HttpStatus.SC_INTERNAL_SERVER_ERROR);
+                }
+            } catch (InterruptedException e) {
+                LOGGER.error("Could not submit " + index + " index to elastic search. " + e.getMessage(), e);
+                throw new CustomWebApplicationException("Could not submit " + index + " index to elastic search", HttpStatus.SC_INTERNAL_SERVER_ERROR);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Could not submit " + index + " index to elastic search. " + e.getMessage(), e);
+            throw new CustomWebApplicationException("Could not submit " + index + " index to elastic search", HttpStatus.SC_INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Creates a bulk processor that writes through the shared Elasticsearch client.
+     * The caller is responsible for closing it with awaitClose.
+     *
+     * @param concurrentRequests the number of bulk requests that may be in flight at once, 0 means that each flush blocks
+     * @param listener notified before and after each bulk request
+     * @return a configured bulk processor
+     */
+    public BulkProcessor buildBulkProcessor(int concurrentRequests, BulkProcessor.Listener listener) {
+        RestHighLevelClient client = ElasticSearchHelper.restHighLevelClient();
+        BulkProcessor.Builder builder = BulkProcessor.builder(
+            (request, bulkListener) ->
+                    client.bulkAsync(request, RequestOptions.DEFAULT, bulkListener),
+            listener);
+        configureBulkProcessorBuilder(builder);
+        builder.setConcurrentRequests(concurrentRequests);
+        return builder.build();
+    }
+
+    /**
+     * Creates a bulk listener that logs the outcome of each bulk request
+     * @return a bulk listener
+     */
+    public BulkProcessor.Listener createLoggingBulkListener() {
+        return new BulkProcessor.Listener() {
             @Override
             public void beforeBulk(long executionId, BulkRequest request) {
                 int numberOfActions = request.numberOfActions();
@@ -241,45 +397,32 @@ public class ElasticListener implements StateListenerInterface {
                 LOGGER.error("Failed to execute bulk", failure);
             }
         };
+    }
 
-        try {
-            RestHighLevelClient client = ElasticSearchHelper.restHighLevelClient();
-            BulkProcessor.Builder builder = BulkProcessor.builder(
-                (request, bulkListener) ->
-                        client.bulkAsync(request, RequestOptions.DEFAULT, bulkListener),
-                listener);
-
-            configureBulkProcessorBuilder(builder);
-
-            BulkProcessor bulkProcessor = builder.build();
-            entries.forEach(entry -> {
-                try {
-                    String s = MAPPER.writeValueAsString(dockstoreEntryToElasticSearchObject(entry));
-                    bulkProcessor.add(new IndexRequest(index).id(String.valueOf(entry.getId())).source(s, XContentType.JSON));
-
-                } catch (IOException e) {
-                    LOGGER.error(MAPPER_ERROR, e);
-                    throw new CustomWebApplicationException(MAPPER_ERROR, HttpStatus.SC_INTERNAL_SERVER_ERROR);
-                }
-            });
-            try {
-                // When doing a bulk index, this is the max amount of time the bulk listener should wait before considering the
-                // bulk request as failed. 1 minute appears to be more than enough time to index all the current Dockstore entries.
-                // However, 5 minutes is used instead (just in case)
-                final long bulkProcessorWaitTimeInMinutes = 5L;
-                boolean terminated = bulkProcessor.awaitClose(bulkProcessorWaitTimeInMinutes, TimeUnit.MINUTES);
-                if (!terminated) {
-                    LOGGER.error("Could not submit " + index + " index to elastic search in time");
-                    throw new CustomWebApplicationException("Could not submit " + index + " index to elastic search in time", HttpStatus.SC_INTERNAL_SERVER_ERROR);
-                }
-            } catch (InterruptedException e) {
-                LOGGER.error("Could not submit " + index + " index to elastic search. " + e.getMessage(), e);
-                throw new CustomWebApplicationException("Could not submit " + index + " index to elastic search", HttpStatus.SC_INTERNAL_SERVER_ERROR);
-            }
-        } catch (Exception e) {
-            LOGGER.error("Could not submit " + index + " index to elastic search. " + e.getMessage(), e);
-            throw new CustomWebApplicationException("Could not submit " + index + " index to elastic search", HttpStatus.SC_INTERNAL_SERVER_ERROR);
+    /**
+     * Converts an entry into a request that indexes it, for use with a bulk processor.
+     * The entry must be attached to an open session because lazy collections are read during serialization.
+     *
+     * @param entry the entry to index
+     * @return the index request, or empty if the entry does not belong in any index
+     * @throws IOException mapper problems
+     */
+    public Optional<IndexRequest> createIndexRequest(Entry entry) throws IOException {
+        eagerLoadEntry(entry);
+        entry = filterCheckerWorkflows(entry);
+        if (entry == null) {
+            return Optional.empty();
         }
+        String index = determineIndex(entry);
+        if (index == null) {
+            return Optional.empty();
+        }
+        return Optional.of(createIndexRequest(index, entry));
+    }
+
+    private IndexRequest createIndexRequest(String index, Entry entry) throws IOException {
+        String s = MAPPER.writeValueAsString(dockstoreEntryToElasticSearchObject(entry));
+        return new IndexRequest(index).id(String.valueOf(entry.getId())).source(s, XContentType.JSON);
     }
 
     /**
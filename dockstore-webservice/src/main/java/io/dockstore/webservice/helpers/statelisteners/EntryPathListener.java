@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.helpers.statelisteners;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import io.dockstore.webservice.core.Entry;
+import io.dockstore.webservice.helpers.StateManagerMode;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.Hibernate;
+
+/**
+ * Caches which published entry a path resolves to, so that TRS ids and the path endpoints can load the entry by id.
+ *
+ * <p>Only paths that resolved to a published entry are cached, and a cached entry is only used after checking that it is
+ * still published at that path, so a stale id costs a lookup rather than a wrong answer. Entries are evicted when the
+ * entry they point at, or the path they are for, is published, updated or deleted. The cache is keyed by path, and the
+ * paths that point at each entry are indexed by entry id, so an update evicts its paths without scanning the cache.
+ */
+public class EntryPathListener implements StateListenerInterface {
+    private final Map<Long, Set<String>> pathsById = new ConcurrentHashMap<>();
+    private volatile Cache<String, Map<Class<?>, CachedEntry>> paths = createCache(new DockstoreWebserviceConfiguration.EntrySearchConfig());
+
+    /**
+     * @param lookupType the type of entry the path was looked up as
+     * @param path the entry path
+     * @return the type and id of the published entry the path resolved to, if known
+     */
+    public Optional<CachedEntry> get(Class<?> lookupType, String path) {
+        return Optional.ofNullable(paths.getIfPresent(path)).map(cached -> cached.get(lookupType));
+    }
+
+    public void put(Class<?> lookupType, String path, Entry<?, ?> entry) {
+        final CachedEntry cachedEntry = new CachedEntry(Hibernate.getClass(entry), entry.getId());
+        paths.asMap().merge(path, Map.of(lookupType, cachedEntry), (cached, added) -> {
+            final Map<Class<?>, CachedEntry> merged = new HashMap<>(cached);
+            merged.putAll(added);
+            return Map.copyOf(merged);
+        });
+        pathsById.compute(cachedEntry.id(), (id, cachedPaths) -> {
+            final Set<String> updated = cachedPaths == null ? new HashSet<>() : cachedPaths;
+            updated.add(path);
+            return updated;
+        });
+    }
+
+    public void invalidate(Class<?> lookupType, String path) {
+        final Map<Class<?>, CachedEntry> cached = paths.getIfPresent(path);
+        if (cached == null || !cached.containsKey(lookupType)) {
+            return;
+        }
+        final Map<Class<?>, CachedEntry> remaining = new HashMap<>(cached);
+        final CachedEntry removed = remaining.remove(lookupType);
+        final boolean replaced = remaining.isEmpty() ? paths.asMap().remove(path, cached) : paths.asMap().replace(path, cached, Map.copyOf(remaining));
+        if (replaced && !remaining.containsValue(removed)) {
+            unindex(path, List.of(removed));
+        }
+    }
+
+    private void invalidate(String path) {
+        final Map<Class<?>, CachedEntry> removed = paths.asMap().remove(path);
+        if (removed != null) {
+            unindex(path, removed.values());
+        }
+    }
+
+    public void invalidateCache() {
+        paths.invalidateAll();
+        pathsById.clear();
+    }
+
+    @Override
+    public void handleIndexUpdate(Entry entry, StateManagerMode command) {
+        // The entry may have been renamed, so evict both the paths that point at it and the path it now has
+        final Set<String> cachedPaths = pathsById.remove(entry.getId());
+        if (cachedPaths != null) {
+            cachedPaths.forEach(this::invalidate);
+        }
+        invalidate(entry.getEntryPath());
+    }
+
+    @Override
+    public void bulkUpsert(List<Entry> entries) {
+        invalidateCache();
+    }
+
+    @Override
+    public void setConfig(DockstoreWebserviceConfiguration config) {
+        paths = createCache(config == null ? new DockstoreWebserviceConfiguration.EntrySearchConfig() : config.getEntrySearchConfig());
+        pathsById.clear();
+    }
+
+    private Cache<String, Map<Class<?>, CachedEntry>> createCache(DockstoreWebserviceConfiguration.EntrySearchConfig config) {
+        return Caffeine.newBuilder()
+            .maximumSize(config.getMaxCachedPaths())
+            .<String, Map<Class<?>, CachedEntry>>evictionListener((path, cached, cause) -> unindex(path, cached.values()))
+            .build();
+    }
+
+    /**
+     * Removes a path that is no longer cached from the index of the entries it pointed at.
+     */
+    private void unindex(String path, Collection<CachedEntry> cached) {
+        cached.forEach(cachedEntry -> pathsById.computeIfPresent(cachedEntry.id(), (id, cachedPaths) -> {
+            cachedPaths.remove(path);
+            return cachedPaths.isEmpty() ? null : cachedPaths;
+        }));
+    }
+
+    /**
+     * @param type the class of the entry, to load it by id
+     * @param id the id of the entry
+     */
+    public record CachedEntry(Class<?> type, long id) {
+    }
+}
@@ -15,44 +15,154 @@
  */
 package io.dockstore.webservice.helpers.statelisteners;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import static io.dockstore.webservice.resources.MetadataResource.RSS_ENTRY_LIMIT;
+
 import io.dockstore.webservice.core.Entry;
+import io.dockstore.webservice.core.Service;
+import io.dockstore.webservice.core.Tool;
+import io.dockstore.webservice.core.Workflow;
+import io.dockstore.webservice.helpers.MetadataResourceHelper;
+import io.dockstore.webservice.helpers.PrerenderedDocument;
 import io.dockstore.webservice.helpers.StateManagerMode;
+import io.dockstore.webservice.helpers.TransactionHelper;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Future home of code for managing the RSS feed
+ * Maintains the RSS feed, which lists the most recently updated published entries.
+ *
+ * <p>The items are loaded from the database once and then kept current from the entries that are published, updated
+ * and unpublished, capped at the newest {@link io.dockstore.webservice.resources.MetadataResource#RSS_ENTRY_LIMIT}.
+ * If an item is removed from a full feed, the feed is reloaded the next time it is requested, so that the next newest
+ * entry takes its place. The rendered feed is kept until the items change. Changes are applied once the transaction that made
+ * them commits. The items are identified by their link, so an update of a published entry that isn't in the feed, because it was
+ * renamed or is newer than the feed knows, reloads the feed rather than leave an item with its previous link behind.
  */
 public class RSSListener implements StateListenerInterface {
 
-    public static final String RSS_KEY = "rss";
     private static final Logger LOGGER = LoggerFactory.getLogger(RSSListener.class);
-    private Cache<String, String> cache = Caffeine.newBuilder().build();
+    private static final int DESCRIPTION_LIMIT = 200;
+    private static final Comparator<RSSItem> NEWEST_FIRST = Comparator.comparing(RSSItem::lastUpdated).reversed();
+    private final Object lock = new Object();
+    private List<RSSItem> items;
+    private PrerenderedDocument feed;
+    private SessionFactory sessionFactory;
+
+    public void setSessionFactory(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
 
     /**
-     * Custom getter
-     * @return
+     * Gets the rendered feed, loading the items if they aren't known yet.
+     * @param entryLoader loads the most recently updated published entries
+     * @param renderer renders the items, newest first, as an RSS feed
+     * @return the feed
      */
-    public Cache<String, String> getCache() {
-        return cache;
+    public PrerenderedDocument getFeed(Supplier<List<Entry<?, ?>>> entryLoader, Function<List<RSSItem>, String> renderer) {
+        synchronized (lock) {
+            if (feed == null) {
+                if (items == null) {
+                    items = new ArrayList<>();
+                    entryLoader.get().stream().map(RSSListener::toItem).forEach(items::add);
+                    items.sort(NEWEST_FIRST);
+                    trim();
+                }
+                feed = PrerenderedDocument.of(renderer.apply(List.copyOf(items)));
+            }
+            return feed;
+        }
     }
 
     @Override
     public void handleIndexUpdate(Entry entry, StateManagerMode command) {
-        //TODO ideally, we could should update the rss for the one new entry
-        invalidateCache();
+        if (entry instanceof Service || !(entry instanceof Workflow || entry instanceof Tool)) {
+            return;
+        }
+        RSSItem item = toItem(entry);
+        boolean published = command != StateManagerMode.DELETE && entry.getIsPublished();
+        TransactionHelper.afterCommit(sessionFactory, () -> update(item, command, published));
+    }
+
+    private void update(RSSItem item, StateManagerMode command, boolean published) {
+        synchronized (lock) {
+            if (items != null) {
+                boolean full = items.size() >= RSS_ENTRY_LIMIT;
+                boolean removed = items.removeIf(existing -> existing.link().equals(item.link()));
+                if (published && command == StateManagerMode.UPDATE && !removed) {
+                    // The entry may have been renamed, and only the database knows which link it had
+                    items = null;
+                } else if (published) {
+                    items.add(item);
+                    items.sort(NEWEST_FIRST);
+                    trim();
+                } else if (removed && full) {
+                    // Only the database knows which entry should fill the gap
+                    items = null;
+                }
+            }
+            feed = null;
+        }
     }
 
     public void invalidateCache() {
-        this.cache.invalidateAll();
+        synchronized (lock) {
+            items = null;
+            feed = null;
+        }
     }
 
     @Override
     public void bulkUpsert(List<Entry> entries) {
-        //TODO ideally, the listener should know how to generate a whole new rss, probably not worth it right now
+        // A bulk upsert comes from a reindex, so reload everything rather than trust the incremental state
+        LOGGER.info("Reloading RSS feed after bulk upsert");
         invalidateCache();
     }
+
+    private void trim() {
+        if (items.size() > RSS_ENTRY_LIMIT) {
+            items.subList(RSS_ENTRY_LIMIT, items.size()).clear();
+        }
+    }
+
+    private static RSSItem toItem(Entry<?, ?> entry) {
+        String title;
+        String link;
+        // AppTools, BioWorkflows, Services, and Notebooks are all subclasses of Workflows
+        if (entry instanceof Workflow workflow) {
+            title = workflow.getWorkflowPath();
+            link = MetadataResourceHelper.createWorkflowURL(workflow);
+        } else {
+            Tool tool = (Tool) entry;
+            title = tool.getPath();
+            link = MetadataResourceHelper.createToolURL(tool);
+        }
+        return new RSSItem(title, link, StringUtils.truncate(entry.getDescription(), DESCRIPTION_LIMIT), lastUpdated(entry));
+    }
+
+    /**
+     * Entries that were never refreshed have no last updated date, so fall back to when their row was last updated
+     */
+    private static Date lastUpdated(Entry<?, ?> entry) {
+        if (entry.getLastUpdated() != null) {
+            return new Date(entry.getLastUpdated().getTime());
+        }
+        if (entry.getDbUpdateDate() != null) {
+            return new Date(entry.getDbUpdateDate().getTime());
+        }
+        return new Date(0);
+    }
+
+    /**
+     * A snapshot of the fields of an entry that appear in the feed, which outlives the session that the entry was loaded in.
+     */
+    public record RSSItem(String title, String link, String description, Date lastUpdated) {
+    }
 }
@@ -15,48 +15,124 @@
  */
 package io.dockstore.webservice.helpers.statelisteners;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import io.dockstore.webservice.core.Entry;
+import io.dockstore.webservice.core.Service;
+import io.dockstore.webservice.core.Tool;
+import io.dockstore.webservice.core.Workflow;
+import io.dockstore.webservice.helpers.MetadataResourceHelper;
+import io.dockstore.webservice.helpers.PrerenderedDocument;
 import io.dockstore.webservice.helpers.StateManagerMode;
+import io.dockstore.webservice.helpers.TransactionHelper;
 import java.util.List;
 import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Future home of code for managing the sitemap
+ * Maintains the sitemap.
+ *
+ * <p>The entry URLs are loaded from the database once and then kept current from the entries that are published and
+ * unpublished, while the organization and collection URLs are reloaded when an organization or collection changes.
+ * The rendered sitemap is kept until either of them changes. Changes are applied once the transaction that made them commits.
+ * The loaded URLs aren't associated with their entries, so an update of a published entry whose URL isn't in the sitemap,
+ * because it was renamed, reloads the entry URLs rather than leave its previous URL behind.
  */
 public class SitemapListener implements StateListenerInterface {
-    // The cache only has one key, arbitrarily choosing it to be this
-    public static final String SITEMAP_KEY = "sitemap";
     private static final Logger LOGGER = LoggerFactory.getLogger(SitemapListener.class);
-    private Cache<String, SortedSet<String>> cache = Caffeine.newBuilder().build();
+    private final Object lock = new Object();
+    private SortedSet<String> entryUrls;
+    private SortedSet<String> organizationUrls;
+    private PrerenderedDocument sitemap;
+    private SessionFactory sessionFactory;
+
+    public void setSessionFactory(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
 
     /**
-     * Custom getter
-     * @return
+     * Gets the rendered sitemap, loading whichever URLs aren't known yet.
+     * @param entryUrlLoader loads the URLs of all published entries
+     * @param organizationUrlLoader loads the URLs of all approved organizations and their collections
+     * @return the sitemap
      */
-    public Cache<String, SortedSet<String>> getCache() {
-        return cache;
+    public PrerenderedDocument getSitemap(Supplier<SortedSet<String>> entryUrlLoader, Supplier<SortedSet<String>> organizationUrlLoader) {
+        synchronized (lock) {
+            if (sitemap == null) {
+                if (entryUrls == null) {
+                    entryUrls = new TreeSet<>(entryUrlLoader.get());
+                }
+                if (organizationUrls == null) {
+                    organizationUrls = new TreeSet<>(organizationUrlLoader.get());
+                }
+                SortedSet<String> urls = new TreeSet<>(entryUrls);
+                urls.addAll(organizationUrls);
+                sitemap = PrerenderedDocument.of(String.join(System.lineSeparator(), urls));
+            }
+            return sitemap;
+        }
     }
 
     @Override
     public void handleIndexUpdate(Entry entry, StateManagerMode command) {
-        //TODO ideally, we could should update the sitemap for the one new entry
-        if (command == StateManagerMode.UPDATE) {
+        String url = createURL(entry);
+        if (url == null) {
             return;
         }
-        invalidateCache();
+        boolean published = command != StateManagerMode.DELETE && entry.getIsPublished();
+        TransactionHelper.afterCommit(sessionFactory, () -> update(url, command, published));
+    }
+
+    private void update(String url, StateManagerMode command, boolean published) {
+        synchronized (lock) {
+            if (entryUrls == null) {
+                sitemap = null;
+            } else if (published && command == StateManagerMode.UPDATE && !entryUrls.contains(url)) {
+                // The entry was renamed, and only the database knows which URL it had
+                entryUrls = null;
+                sitemap = null;
+            } else if (published ? entryUrls.add(url) : entryUrls.remove(url)) {
+                sitemap = null;
+            }
+        }
+    }
+
+    /**
+     * Reloads the organization and collection URLs the next time the sitemap is requested.
+     */
+    public void invalidateOrganizations() {
+        synchronized (lock) {
+            organizationUrls = null;
+            sitemap = null;
+        }
     }
 
     public void invalidateCache() {
-        this.cache.invalidateAll();
+        synchronized (lock) {
+            entryUrls = null;
+            organizationUrls = null;
+            sitemap = null;
+        }
     }
 
     @Override
     public void bulkUpsert(List<Entry> entries) {
-        //TODO ideally, the listener should know how to generate a whole new sitemap, probably not worth it right now
+        // A bulk upsert comes from a reindex, so reload everything rather than trust the incremental state
+        LOGGER.info("Reloading sitemap after bulk upsert");
         invalidateCache();
     }
+
+    private static String createURL(Entry<?, ?> entry) {
+        // Services aren't in the sitemap
+        if (entry instanceof Service) {
+            return null;
+        } else if (entry instanceof Workflow workflow) {
+            return MetadataResourceHelper.createWorkflowURL(workflow);
+        } else if (entry instanceof Tool tool) {
+            return MetadataResourceHelper.createToolURL(tool);
+        }
+        return null;
+    }
 }
@@ -23,7 +23,6 @@ import io.dockstore.webservice.core.AppTool;
 import io.dockstore.webservice.core.SourceControlConverter;
 import io.dockstore.webservice.core.database.AppToolPath;
 import io.dockstore.webservice.core.database.RSSAppToolPath;
-import io.dockstore.webservice.core.database.WorkflowSummary;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
@@ -61,8 +60,4 @@ public class AppToolDAO extends EntryDAO<AppTool> {
         return this.currentSession().createNamedQuery("io.dockstore.webservice.core.AppTool.findAllPublishedPathsOrderByDbupdatedate", RSSAppToolPath.class).setMaxResults(
                 RSS_ENTRY_LIMIT).list();
     }
-
-    public List<WorkflowSummary> findUserAppTools(long userId) {
-        return this.currentSession().createNamedQuery("io.dockstore.webservice.core.AppTool.findUserAppTools", WorkflowSummary.class).setParameter("userId", userId).list();
-    }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.jdbi;
+
+import io.dockstore.webservice.core.BackfillJob;
+import io.dockstore.webservice.core.BackfillPartition;
+import java.sql.Timestamp;
+import java.util.List;
+import org.hibernate.LockMode;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.Query;
+
+public class BackfillJobDAO extends AbstractDockstoreDAO<BackfillJob> {
+
+    public BackfillJobDAO(SessionFactory factory) {
+        super(factory);
+    }
+
+    public BackfillJob create(BackfillJob job) {
+        return persist(job);
+    }
+
+    public BackfillJob findById(long id) {
+        return get(id);
+    }
+
+    public List<BackfillJob> findRecent(int limit) {
+        return list(namedTypedQuery("io.dockstore.webservice.core.BackfillJob.findRecent").setMaxResults(limit));
+    }
+
+    /**
+     * Adds the outcome of a partition to the counters of its job. The update locks the job row, so that partitions finishing at the same
+     * time on different workers are counted one after the other.
+     */
+    public void recordPartition(long jobId, boolean completed, int processedItems) {
+        Query query = namedQuery("io.dockstore.webservice.core.BackfillJob.recordPartition")
+            .setParameter("completed", completed ? 1 : 0)
+            .setParameter("failed", completed ? 0 : 1)
+            .setParameter("processedItems", (long)processedItems)
+            .setParameter("id", jobId);
+        query.executeUpdate();
+    }
+
+    public BackfillPartition createPartition(BackfillPartition partition) {
+        currentSession().persist(partition);
+        return partition;
+    }
+
+    /**
+     * Finds a partition and locks it, unless another worker or webservice instance has it locked, in which case null is returned instead of
+     * waiting for the lock.
+     */
+    public BackfillPartition findPartitionForClaim(long partitionId) {
+        return currentSession().get(BackfillPartition.class, partitionId, LockMode.UPGRADE_SKIPLOCKED);
+    }
+
+    /**
+     * Finds a partition and locks it, waiting for any other worker that has it locked.
+     */
+    public BackfillPartition findPartitionForUpdate(long partitionId) {
+        return currentSession().get(BackfillPartition.class, partitionId, LockMode.PESSIMISTIC_WRITE);
+    }
+
+    /**
+     * Finds the partitions that are pending, or whose claim was made before a time.
+     */
+    public List<Long> findClaimablePartitionIds(Timestamp claimedBefore) {
+        return currentSession().createNamedQuery("io.dockstore.webservice.core.BackfillPartition.findClaimableIds", Long.class)
+            .setParameter("pending", BackfillPartition.Status.PENDING)
+            .setParameter("running", BackfillPartition.Status.RUNNING)
+            .setParameter("claimedBefore", claimedBefore)
+            .list();
+    }
+}
@@ -40,6 +40,14 @@ public class CollectionDAO extends AbstractDAO<Collection> {
         return list(query);
     }
 
+    /**
+     * Finds the collections of all approved organizations, with their organizations, in a single query.
+     * @return the collections
+     */
+    public List<Collection> findAllInApprovedOrganizations() {
+        return list(namedTypedQuery("io.dockstore.webservice.core.Collection.findAllInApprovedOrganizations"));
+    }
+
     public Collection findByNameAndOrg(String name, long organizationId) {
         Query query = namedTypedQuery("io.dockstore.webservice.core.Collection.findByNameAndOrg")
                 .setParameter("name", name)
@@ -24,6 +24,7 @@ import io.dockstore.common.DescriptorLanguage;
 import io.dockstore.common.Partner;
 import io.dockstore.webservice.CustomWebApplicationException;
 import io.dockstore.webservice.core.Author;
+import io.dockstore.webservice.core.BioWorkflow;
 import io.dockstore.webservice.core.Category;
 import io.dockstore.webservice.core.CategorySummary;
 import io.dockstore.webservice.core.CollectionEntry;
@@ -35,7 +36,8 @@ import io.dockstore.webservice.core.SourceControlConverter;
 import io.dockstore.webservice.core.Tool;
 import io.dockstore.webservice.core.Version;
 import io.dockstore.webservice.core.Workflow;
-import io.dockstore.webservice.core.database.EntryLite;
+import io.dockstore.webservice.helpers.PublicStateManager;
+import io.dockstore.webservice.helpers.statelisteners.EntryPathListener;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
@@ -53,10 +55,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.http.HttpStatus;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
 import org.hibernate.query.Query;
 import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.hibernate.query.criteria.JpaCriteriaQuery;
@@ -69,6 +79,11 @@ import org.slf4j.LoggerFactory;
 public abstract class EntryDAO<T extends Entry> extends AbstractDockstoreDAO<T> {
 
     private static final Logger LOG = LoggerFactory.getLogger(EntryDAO.class);
+    /**
+     * The most default versions whose ids are passed to the filter query when looking up entries by author
+     */
+    private static final int MAX_AUTHOR_VERSION_IDS = 1000;
+    private static final Pattern PLAN_ROWS = Pattern.compile(" rows=(\\d+)");
 
     final int registryIndex = 0;
     final int orgIndex = 1;
@@ -92,74 +107,59 @@ public abstract class EntryDAO<T extends Entry> extends AbstractDockstoreDAO<T>
         return get(id);
     }
 
+    /**
+     * Finds the tool or workflow with the given path. If the repository can contain slashes, a path like
+     * <registry>/<org>/<repo>/<entry-name> can also be read as a repository with no entry name, so an entry with a name is preferred.
+     *
+     * @param path the entry path
+     * @param isPublished whether to only look at published entries
+     * @return "tool" or "workflow", and the entry, or null if there is none
+     */
     public MutablePair<String, Entry> findEntryByPath(String path, boolean isPublished) {
-        final int minEntryNamePathLength = 4; // <registry>/<org>/<repo>/<entry-name>
-        final int pathLength = path.split("/").length;
-        // Determine which type of path to look for first: path with an entry name or path without an entry name
-        boolean hasEntryName = pathLength >= minEntryNamePathLength;
-
-        MutablePair<String, Entry> results = findEntryByPath(path, hasEntryName, isPublished);
-
-        if (pathLength >= minEntryNamePathLength && results == null) {
-            // If <repo> contains slashes, there are two scenarios that can form the same entry path. In the following scenarios, assume that <registry> and <org> are the same.
-            // Scenario 1: <repo> = 'foo', <entry-name> = 'bar'
-            // Scenario 2: <repo> = 'foo/bar', <entry-name> = NULL
-            // Need to try the opposite scenario if we couldn't find the entry using the initial scenario (i.e. if we first tried to find a path with an entry name, try to find one without).
-            results = findEntryByPath(path, !hasEntryName, isPublished);
-        }
-
-        return results;
+        final Optional<Entry> entry = isPublished ? findPublishedByPath(Entry.class, path, () -> loadEntryByPath(path, true)) : loadEntryByPath(path, false);
+        return entry.map(found -> new MutablePair<>(found instanceof Tool ? "tool" : "workflow", found)).orElse(null);
     }
 
-    public MutablePair<String, Entry> findEntryByPath(String path, boolean hasEntryName, boolean isPublished) {
-        String queryString = "Entry.";
-        if (isPublished) {
-            queryString += "getPublishedEntryByPath";
-        } else {
-            queryString += "getEntryByPath";
-        }
+    private Optional<Entry> loadEntryByPath(String path, boolean isPublished) {
+        // the entrypath column holds the path under both interpretations, so one index lookup finds the entry either way
+        Query query = super.namedQuery(isPublished ? "Entry.getPublishedEntryByPath" : "Entry.getEntryByPath");
+        query.setParameter("path", path);
+        query.setMaxResults(1);
 
-        // split path
-        String[] splitPath = Tool.splitPath(path, hasEntryName);
-
-        // Not a valid path
-        if (splitPath == null) {
-            return null;
-        }
-
-        // Valid path
-        String one = splitPath[registryIndex];
-        String two = splitPath[orgIndex];
-        String three = splitPath[repoIndex];
-        String four = splitPath[entryNameIndex];
-
-        if (four == null) {
-            queryString += "NullName";
+        List<Object[]> pair = list(query);
+        if (pair.isEmpty()) {
+            return Optional.empty();
         }
-
-        Query query = super.namedQuery(queryString);
-
-        query.setParameter("one", one);
-        query.setParameter("two", two);
-        query.setParameter("three", three);
-
-        if (four != null) {
-            query.setParameter("four", four);
+        String type = (String)(pair.get(0))[0];
+        Long id = (Long)(pair.get(0))[1];
+        if ("workflow".equals(type)) {
+            return Optional.ofNullable(this.currentSession().get(Workflow.class, Objects.requireNonNull(id)));
         }
+        return Optional.ofNullable(this.currentSession().get(Tool.class, Objects.requireNonNull(id)));
+    }
 
-        List<Object[]> pair = list(query);
-        MutablePair<String, Entry> results = null;
-        if (pair.size() > 0) {
-            String type = (String)(pair.get(0))[0];
-            Long id = (Long)(pair.get(0))[1];
-            Long longId = id;
-            if ("workflow".equals(type)) {
-                results = new MutablePair<>("workflow", this.currentSession().get(Workflow.class, Objects.requireNonNull(longId)));
-            } else {
-                results = new MutablePair<>("tool", this.currentSession().get(Tool.class, Objects.requireNonNull(longId)));
+    /**
+     * Finds a published entry by path, through the cache of published paths if the path has been resolved before.
+     * A cached entry is only returned if it is still published at that path, otherwise it is evicted and the path looked up again.
+     *
+     * @param lookupType the type the path is looked up as, which keeps lookups of the same path as different types apart
+     * @param path the entry path
+     * @param loader looks up the published entry in the database
+     * @return the published entry, if any
+     */
+    protected <E extends Entry> Optional<E> findPublishedByPath(Class<E> lookupType, String path, Supplier<Optional<E>> loader) {
+        final EntryPathListener entryPaths = PublicStateManager.getInstance().getEntryPathListener();
+        final Optional<EntryPathListener.CachedEntry> cached = entryPaths.get(lookupType, path);
+        if (cached.isPresent()) {
+            final Object entry = currentSession().get(cached.get().type(), cached.get().id());
+            if (lookupType.isInstance(entry) && lookupType.cast(entry).getIsPublished() && path.equals(lookupType.cast(entry).getEntryPath())) {
+                return Optional.of(lookupType.cast(entry));
             }
+            entryPaths.invalidate(lookupType, path);
         }
-        return results;
+        final Optional<E> entry = loader.get();
+        entry.ifPresent(found -> entryPaths.put(lookupType, path, found));
+        return entry;
     }
 
     public long create(T entry) {
@@ -176,6 +176,36 @@ public abstract class EntryDAO<T extends Entry> extends AbstractDockstoreDAO<T>
         return this.currentSession().createNamedQuery("Entry.getGenericEntryById", Entry.class).setParameter("id", id).uniqueResult();
     }
 
+    /**
+     * Loads a page of entries for a TRS tool listing along with their aliases, versions, version metadata, source files, images and
+     * checker workflows. Rather than loading each entry and walking its lazy collections one by one, this issues a fixed number of
+     * queries for the whole page, so the number of queries does not grow with the page size. Each query fetches at most one collection,
+     * so that no query returns the product of two collections. Collections that are not fetched here are batch loaded.
+     *
+     * @param ids the ids of the tools and workflows in the page
+     * @return the entries, in the same order as ids, skipping any that no longer exist
+     */
+    public List<Entry<?, ?>> findGenericEntriesForTrsListing(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // The parent entry of a workflow is the inverse side of a one-to-one, which Hibernate would otherwise look up for each workflow.
+        // Checker workflows are loaded along with their parents for the same reason, before convertEntryToTool reads their paths.
+        currentSession().createNamedQuery("io.dockstore.webservice.core.BioWorkflow.findByIdsWithParentEntry", BioWorkflow.class).setParameterList("ids", ids).list();
+        currentSession().createNamedQuery("io.dockstore.webservice.core.BioWorkflow.findCheckersByParentEntryIds", BioWorkflow.class).setParameterList("ids", ids).list();
+        Map<Long, Entry<?, ?>> entriesById = new HashMap<>();
+        currentSession().createNamedQuery("io.dockstore.webservice.core.Tool.findByIdsWithAliases", Tool.class).setParameterList("ids", ids).list()
+            .forEach(tool -> entriesById.put(tool.getId(), tool));
+        currentSession().createNamedQuery("io.dockstore.webservice.core.Workflow.findByIdsWithAliases", Workflow.class).setParameterList("ids", ids).list()
+            .forEach(workflow -> entriesById.put(workflow.getId(), workflow));
+        // the entries are already in the session, these just fill in the collections that ToolsImplCommon.convertEntryToTool reads
+        currentSession().createNamedQuery("io.dockstore.webservice.core.Tool.findByIdsWithVersions", Tool.class).setParameterList("ids", ids).list();
+        currentSession().createNamedQuery("io.dockstore.webservice.core.Workflow.findByIdsWithVersions", Workflow.class).setParameterList("ids", ids).list();
+        currentSession().createNamedQuery("io.dockstore.webservice.core.Version.findByEntryIdsWithSourceFiles", Version.class).setParameterList("entryIds", ids).list();
+        currentSession().createNamedQuery("io.dockstore.webservice.core.Version.findByEntryIdsWithImages", Version.class).setParameterList("entryIds", ids).list();
+        return ids.stream().map(entriesById::get).filter(Objects::nonNull).toList();
+    }
+
     public Entry<? extends Entry, ? extends Version>  getGenericEntryByAlias(String alias) {
         return this.currentSession().createNamedQuery("Entry.getGenericEntryByAlias", Entry.class).setParameter("alias", alias).uniqueResult();
     }
@@ -219,9 +249,6 @@ public abstract class EntryDAO<T extends Entry> extends AbstractDockstoreDAO<T>
         return (T) this.currentSession().createNamedQuery("io.dockstore.webservice.core." + typeOfT.getSimpleName() + ".findPublishedById", Entry.class).setParameter("id", id).uniqueResult();
     }
 
-    public List<EntryLite> findEntryVersions(long userId) {
-        return this.currentSession().createNamedQuery("io.dockstore.webservice.core." + typeOfT.getSimpleName() + ".getEntryLiteByUserId", EntryLite.class).setParameter("userId", userId).list();
-    }
     public List<T> findMyEntries(long userId) {
         return (List<T>) this.currentSession().createNamedQuery("io.dockstore.webservice.core." + typeOfT.getSimpleName() + ".getEntriesByUserId", Entry.class).setParameter("userId", userId).list();
     }
@@ -338,6 +365,41 @@ public abstract class EntryDAO<T extends Entry> extends AbstractDockstoreDAO<T>
         return typedQuery.getResultList();
     }
 
+    /**
+     * Retrieve the ids of published entries in ascending order, starting after the specified id.
+     * Seeking on the primary key keeps each page an index range scan, unlike an increasing offset.
+     * @param afterId only ids strictly greater than this are returned
+     * @param limit the maximum number of ids to return
+     * @return a list of published entry ids
+     */
+    public List<Long> findPublishedIdsAfter(long afterId, int limit) {
+        HibernateCriteriaBuilder cb = currentSession().getCriteriaBuilder();
+        JpaCriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> entry = query.from(typeOfT);
+        query.select(entry.<Long>get("id"));
+        query.where(cb.isTrue(entry.get("isPublished")), cb.greaterThan(entry.<Long>get("id"), afterId));
+        query.orderBy(cb.asc(entry.get("id")));
+        return currentSession().createQuery(query).setMaxResults(Math.max(limit, 1)).getResultList();
+    }
+
+    /**
+     * Retrieve the entries with the specified ids, in ascending id order.
+     * @param ids a list of entry ids
+     * @return the entries that exist
+     */
+    public List<T> findByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        HibernateCriteriaBuilder cb = currentSession().getCriteriaBuilder();
+        JpaCriteriaQuery<T> query = cb.createQuery(typeOfT);
+        Root<T> entry = query.from(typeOfT);
+        query.select(entry);
+        query.where(entry.get("id").in(ids));
+        query.orderBy(cb.asc(entry.get("id")));
+        return currentSession().createQuery(query).getResultList();
+    }
+
     public long countAllHosted(long userid) {
         return ((Long)namedQuery("Entry.hostedWorkflowCount").setParameter("userid", userid).getSingleResult());
     }
@@ -371,6 +433,55 @@ public abstract class EntryDAO<T extends Entry> extends AbstractDockstoreDAO<T>
         return currentSession().createQuery(query).getSingleResult();
     }
 
+    /**
+     * Like countAllPublished, but returns the query planner's estimate instead once it expects at least threshold matching entries.
+     * An exact count of a broad filter costs as much as reading every match, while the total is only used to size a paginator.
+     *
+     * @param filter the search string, as for findAllPublished
+     * @param classType the entry class to count, or null for the class of this DAO
+     * @param threshold the estimated number of matches from which the estimate is returned, or 0 to always count
+     * @return the number of matching published entries, estimated if large
+     */
+    public long estimateAllPublished(Optional<String> filter, Class<T> classType, long threshold) {
+        if (threshold > 0) {
+            OptionalLong estimate = planAllPublished(filter.orElse(""), classType != null ? classType : typeOfT);
+            if (estimate.isPresent() && estimate.getAsLong() >= threshold) {
+                return estimate.getAsLong();
+            }
+        }
+        return countAllPublished(filter, classType);
+    }
+
+    /**
+     * Asks the planner how many published entries match the filter, with a native query that mirrors processQuery.
+     * @return empty if the entity class does not map to a single table or the plan has no row estimate
+     */
+    private OptionalLong planAllPublished(String filter, Class<?> entityClass) {
+        final EntityPersister persister = currentSession().getSessionFactory().unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+            .getEntityDescriptor(entityClass);
+        if (!(persister instanceof AbstractEntityPersister entityPersister) || entityPersister.hasSubclasses()) {
+            return OptionalLong.empty();
+        }
+        StringBuilder sql = new StringBuilder("EXPLAIN SELECT 1 FROM ").append(entityPersister.getTableName()).append(" e WHERE e.ispublished");
+        if (!Strings.isNullOrEmpty(filter)) {
+            boolean toolMode = typeOfT == Tool.class;
+            String nameName = toolMode ? "toolname" : "workflowname";
+            String repoName = toolMode ? "name" : "repository";
+            String orgName = toolMode ? "namespace" : "organization";
+            sql.append(" AND (upper(e.").append(nameName).append(") LIKE :filter OR upper(e.").append(repoName).append(") LIKE :filter")
+                .append(" OR upper(e.").append(orgName).append(") LIKE :filter")
+                .append(" OR EXISTS (SELECT 1 FROM author a WHERE a.versionid = e.actualdefaultversion AND upper(a.name) LIKE :filter))");
+        }
+        NativeQuery<String> query = currentSession().createNativeQuery(sql.toString(), String.class);
+        if (!Strings.isNullOrEmpty(filter)) {
+            query.setParameter("filter", wildcardLike(filter.toUpperCase()));
+        }
+        // the first line of the plan is its top node, whose row estimate is that of the whole query
+        List<String> plan = query.list();
+        Matcher rows = plan.isEmpty() ? null : PLAN_ROWS.matcher(plan.get(0));
+        return rows != null && rows.find() ? OptionalLong.of(Long.parseLong(rows.group(1))) : OptionalLong.empty();
+    }
+
     private long countAllPublished() {
         return this.currentSession().createNamedQuery("io.dockstore.webservice.core." + typeOfT.getSimpleName() + ".countAllPublished", Long.class).getSingleResult();
     }
@@ -426,14 +537,17 @@ public abstract class EntryDAO<T extends Entry> extends AbstractDockstoreDAO<T>
             String repoName = toolMode ? "name" : "repository";
             String orgName = toolMode ? "namespace" : "organization";
 
+            final String pattern = wildcardLike(filter.toUpperCase());
+            // every branch is an upper(column) like, which the trigram indexes on these columns answer, so the planner can combine them with a bitmap or
+            List<Predicate> matches = new ArrayList<>();
+            matches.add(cb.like(cb.upper(entry.get(nameName)), pattern));
+            matches.add(cb.like(cb.upper(entry.get(repoName)), pattern));
+            // TODO orcid authors are interesting since we load them dynamically and thus cannot query them from the database
+            addIndexedAuthorClause(cb, entry, query, filter).ifPresent(matches::add);
+            matches.add(cb.like(cb.upper(entry.get(orgName)), pattern));
             predicates.add(cb.and(// get published workflows
                 cb.isTrue(entry.get("isPublished")),
-                // ensure we deal with null values and then do like queries on those non-null values
-                cb.or(cb.and(cb.isNotNull(entry.get(nameName)), cb.like(cb.upper(entry.get(nameName)), "%" + filter.toUpperCase() + "%")), //
-                    cb.and(cb.isNotNull(entry.get(repoName)), cb.like(cb.upper(entry.get(repoName)), "%" + filter.toUpperCase() + "%")), //
-                    addAuthorClauseToCriteriaBuilder(cb, entry, query.subquery(Author.class), filter), //
-                    // TODO orcid authors are interesting since we load them dynamically and thus cannot query them from the database
-                    cb.and(cb.isNotNull(entry.get(orgName)), cb.like(cb.upper(entry.get(orgName)), "%" + filter.toUpperCase() + "%")))));
+                cb.or(matches.toArray(new Predicate[]{}))));
 
         } else {
             predicates.add(cb.isTrue(entry.get("isPublished")));
@@ -472,6 +586,26 @@ public abstract class EntryDAO<T extends Entry> extends AbstractDockstoreDAO<T>
         query.where(predicates.toArray(new Predicate[]{}));
     }
 
+    /**
+     * Matches entries whose default version has an author like the filter. The matching default versions are looked up first, through the trigram
+     * index on author names, so that the main query can find their entries through the unique index on actualdefaultversion.
+     * Falls back to a correlated subquery when too many authors match for a list of ids to be worthwhile.
+     * @return empty if no author matches
+     */
+    private Optional<Predicate> addIndexedAuthorClause(CriteriaBuilder cb, Root<T> entry, CriteriaQuery<?> query, String filter) {
+        List<Long> versionIds = this.currentSession().createNamedQuery("io.dockstore.webservice.core.Author.findVersionIdsByName", Long.class)
+            .setParameter("name", wildcardLike(filter.toUpperCase()))
+            .setMaxResults(MAX_AUTHOR_VERSION_IDS + 1)
+            .list();
+        if (versionIds.size() > MAX_AUTHOR_VERSION_IDS) {
+            return Optional.of(addAuthorClauseToCriteriaBuilder(cb, entry, query.subquery(Author.class), filter));
+        }
+        if (versionIds.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.get("actualDefaultVersion").in(versionIds));
+    }
+
     protected Predicate andLike(CriteriaBuilder cb, Predicate existingPredicate, Path<String> column, Optional<String> value) {
         return value.map(val -> cb.and(existingPredicate, cb.like(column, wildcardLike(val))))
             .orElse(existingPredicate);
@@ -496,6 +630,27 @@ public abstract class EntryDAO<T extends Entry> extends AbstractDockstoreDAO<T>
         return query.getResultList();
     }
 
+    /**
+     * Like filterTrsToolsGet, but seeks past an id instead of skipping a number of rows, so the cost of a page does not depend on how deep it is.
+     *
+     * @param afterId only entries with an id greater than this are returned
+     * @param pageRemaining the maximum number of entries to return
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    public List<T> filterTrsToolsGetAfterId(DescriptorLanguage descriptorLanguage, String registry, String organization, String name, String toolname,
+        String description, String author, Boolean checker, long afterId, int pageRemaining) {
+
+        final HibernateCriteriaBuilder cb = currentSession().getCriteriaBuilder();
+        final JpaCriteriaQuery<T> q = cb.createQuery(typeOfT);
+        final Root<T> tRoot = generatePredicate(descriptorLanguage, registry, organization, name, toolname, description, author, checker, cb, q);
+        q.where(cb.and(q.getRestriction(), cb.gt(tRoot.get("id"), afterId)));
+        // order by id
+        q.orderBy(cb.asc(tRoot.get("id")));
+        TypedQuery<T> query = currentSession().createQuery(q);
+        query.setMaxResults(pageRemaining);
+        return query.getResultList();
+    }
+
     @SuppressWarnings("checkstyle:ParameterNumber")
     protected abstract Root<T> generatePredicate(DescriptorLanguage descriptorLanguage, String registry, String organization, String name, String toolname, String description, String author, Boolean checker,
         CriteriaBuilder cb, CriteriaQuery<?> q);
@@ -20,6 +20,7 @@ import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -32,6 +33,10 @@ public class EventDAO extends AbstractDAO<Event> {
     public static final int DEFAULT_LIMIT = 10;
     public static final String PAGINATION_RANGE = "range[1,100]";
     private static final String IS_PUBLISHED = "isPublished";
+    /**
+     * The most candidate event ids read from event_subject in one query
+     */
+    private static final int MAX_CANDIDATE_BATCH = 1000;
 
     public EventDAO(SessionFactory factory) {
         super(factory);
@@ -50,7 +55,7 @@ public class EventDAO extends AbstractDAO<Event> {
     }
 
     public List<Event> findEventsForOrganization(long organizationId, Integer offset, Integer limit) {
-        return findEvents(null, organizationPredicateBuilder(Set.of(organizationId)), offset, limit);
+        return findEvents(null, organizationPredicateBuilder(Set.of(organizationId)), checkedOffset(offset), checkedLimit(limit));
     }
 
     public long countAllEventsForOrganization(long organizationId) {
@@ -59,23 +64,70 @@ public class EventDAO extends AbstractDAO<Event> {
         return (Long) query.getSingleResult();
     }
 
-    public List<Event> findEventsByEntryIDs(User loggedInUser, Set<Long> entryIds, Integer offset, int limit) {
-        return findEvents(loggedInUser, entryPredicateBuilder(entryIds), offset, limit);
+    public List<Event> findEventsForStarredEntries(User loggedInUser, long userId, Long before, Integer offset, Integer limit) {
+        return findEventsBySubjects("io.dockstore.webservice.core.EventSubject.findEventIdsForStarredEntries", loggedInUser, userId, before, offset, limit);
     }
 
-    public List<Event> findAllByOrganizationIds(User loggedInUser, Set<Long> organizationIds, Integer offset, int limit) {
-        return findEvents(loggedInUser, organizationPredicateBuilder(organizationIds), offset, limit);
+    public List<Event> findEventsForStarredOrganizations(User loggedInUser, long userId, Long before, Integer offset, Integer limit) {
+        return findEventsBySubjects("io.dockstore.webservice.core.EventSubject.findEventIdsForStarredOrganizations", loggedInUser, userId, before, offset, limit);
     }
 
-    public List<Event> findAllByOrganizationIdsOrEntryIds(User loggedInUser, Set<Long> organizationIds, Set<Long> entryIds, Integer offset, int limit) {
-        return findEvents(loggedInUser, orPredicateBuilder(organizationPredicateBuilder(organizationIds), entryPredicateBuilder(entryIds)), offset, limit);
+    public List<Event> findEventsForAllStarred(User loggedInUser, long userId, Long before, Integer offset, Integer limit) {
+        return findEventsBySubjects("io.dockstore.webservice.core.EventSubject.findEventIdsForAllStarred", loggedInUser, userId, before, offset, limit);
     }
 
-    public List<Event> findEventsForInitiatorUser(User loggedInUser, long initiatorUserId, Integer offset, Integer limit) {
-        return findEvents(loggedInUser, initiatorPredicateBuilder(initiatorUserId), offset, limit);
+    public List<Event> findEventsForOwnOrganizations(User loggedInUser, long userId, Long before, Integer offset, Integer limit) {
+        return findEventsBySubjects("io.dockstore.webservice.core.EventSubject.findEventIdsForOwnOrganizations", loggedInUser, userId, before, offset, limit);
     }
 
-    private List<Event> findEvents(User loggedInUser, PredicateBuilder predicateBuilder, Integer offset, Integer limit) {
+    public List<Event> findEventsForInitiatorUser(User loggedInUser, long initiatorUserId, Long before, Integer offset, Integer limit) {
+        PredicateBuilder initiatorPredicateBuilder = initiatorPredicateBuilder(initiatorUserId);
+        PredicateBuilder predicateBuilder = before == null ? initiatorPredicateBuilder
+            : (cb, event) -> cb.and(initiatorPredicateBuilder.build(cb, event), cb.lt(event.<Long>get("id"), before));
+        return findEvents(loggedInUser, predicateBuilder, checkedOffset(offset), checkedLimit(limit));
+    }
+
+    /**
+     * Finds the events about the entries or organizations that the named query selects for the user, newest first.
+     * Candidate event ids are read in batches from event_subject, walking back from the <code>before</code> cursor,
+     * and each batch is filtered by the usual access rules until the page is full, so no query has to look at all the events of the subjects.
+     * @param candidateQueryName a named query on EventSubject returning candidate event ids
+     * @param loggedInUser the user the events must be visible to, null for public access
+     * @param userId the user whose starred or joined subjects are followed
+     * @param before only return events with an id below this one, null to start at the newest event
+     * @param offset number of visible events to skip
+     * @param limit maximum number of events to return
+     * @return a page of events, newest first
+     */
+    private List<Event> findEventsBySubjects(String candidateQueryName, User loggedInUser, long userId, Long before, Integer offset, Integer limit) {
+        int toSkip = checkedOffset(offset);
+        int checkedLimit = checkedLimit(limit);
+        List<Event> events = new ArrayList<>(checkedLimit);
+        long cursor = MoreObjects.firstNonNull(before, Long.MAX_VALUE);
+        while (events.size() < checkedLimit) {
+            int batchSize = Math.min(checkedLimit - events.size() + toSkip, MAX_CANDIDATE_BATCH);
+            List<Long> candidateIds = currentSession().createNamedQuery(candidateQueryName, Long.class)
+                .setParameter("userId", userId)
+                .setParameter("before", cursor)
+                .setParameter("batchSize", batchSize)
+                .getResultList();
+            if (candidateIds.isEmpty()) {
+                break;
+            }
+            List<Event> visibleEvents = findEvents(loggedInUser, (cb, event) -> event.get("id").in(candidateIds), 0, candidateIds.size());
+            int skipped = Math.min(toSkip, visibleEvents.size());
+            toSkip -= skipped;
+            visibleEvents.stream().skip(skipped).limit(checkedLimit - events.size()).forEach(events::add);
+            if (candidateIds.size() < batchSize) {
+                // Every event before the cursor has been seen
+                break;
+            }
+            cursor = candidateIds.get(candidateIds.size() - 1);
+        }
+        return events;
+    }
+
+    private List<Event> findEvents(User loggedInUser, PredicateBuilder predicateBuilder, int offset, int limit) {
         CriteriaBuilder cb = currentSession().getCriteriaBuilder();
         CriteriaQuery<Event> query = cb.createQuery(Event.class);
         Root<Event> event = query.from(Event.class);
@@ -87,27 +139,19 @@ public class EventDAO extends AbstractDAO<Event> {
         query.where(cb.and(specifiedPredicate, accessPredicate));
         query.orderBy(cb.desc(event.get("id")));
 
-        int checkedOffset = Math.max(MoreObjects.firstNonNull(offset, 0), 0);
-        int checkedLimit = Math.min(MoreObjects.firstNonNull(limit, DEFAULT_LIMIT), MAX_LIMIT);
-
-        return currentSession().createQuery(query).setFirstResult(checkedOffset).setMaxResults(checkedLimit).getResultList();
+        return currentSession().createQuery(query).setFirstResult(offset).setMaxResults(limit).getResultList();
     }
 
-    private PredicateBuilder organizationPredicateBuilder(Set<Long> organizationIds) {
-        return (cb, event) -> event.get("organization").in(organizationIds);
+    private static int checkedOffset(Integer offset) {
+        return Math.max(MoreObjects.firstNonNull(offset, 0), 0);
     }
 
-    private PredicateBuilder entryPredicateBuilder(Set<Long> entryIds) {
-        return (cb, event) -> cb.or(
-            event.get("tool").in(entryIds),
-            event.get("workflow").in(entryIds),
-            event.get("apptool").in(entryIds),
-            event.get("service").in(entryIds),
-            event.get("notebook").in(entryIds));
+    private static int checkedLimit(Integer limit) {
+        return Math.min(MoreObjects.firstNonNull(limit, DEFAULT_LIMIT), MAX_LIMIT);
     }
 
-    private PredicateBuilder orPredicateBuilder(PredicateBuilder a, PredicateBuilder b) {
-        return (cb, event) -> cb.or(a.build(cb, event), b.build(cb, event));
+    private PredicateBuilder organizationPredicateBuilder(Set<Long> organizationIds) {
+        return (cb, event) -> event.get("organization").in(organizationIds);
     }
 
     private PredicateBuilder initiatorPredicateBuilder(long initiatorUserId) {
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.jdbi;
+
+import io.dockstore.common.Partner;
+import io.dockstore.webservice.core.metrics.ExecutionMetricsSketch;
+import io.dockstore.webservice.core.metrics.ExecutionMetricsSketch.ExecutionMetricsSketchId;
+import java.util.List;
+import org.hibernate.LockMode;
+import org.hibernate.SessionFactory;
+
+public class ExecutionMetricsSketchDAO extends AbstractDockstoreDAO<ExecutionMetricsSketch> {
+
+    public ExecutionMetricsSketchDAO(SessionFactory factory) {
+        super(factory);
+    }
+
+    public ExecutionMetricsSketch find(long versionId, Partner platform) {
+        return get(new ExecutionMetricsSketchId(versionId, platform));
+    }
+
+    /**
+     * Locks the sketch of a version and platform until the transaction ends, so that concurrent submissions are folded into it one after
+     * the other. A missing sketch is created first.
+     *
+     * @param complete whether a sketch that has to be created has every execution of the version and platform
+     */
+    public ExecutionMetricsSketch findForUpdate(long versionId, Partner platform, boolean complete) {
+        currentSession().createNativeMutationQuery("INSERT INTO execution_metrics_sketch (versionid, platform, sketch, complete, dbcreatedate, dbupdatedate) "
+                + "VALUES (:versionId, :platform, '{}', :complete, now(), now()) ON CONFLICT DO NOTHING")
+            .setParameter("versionId", versionId)
+            .setParameter("platform", platform.name())
+            .setParameter("complete", complete)
+            .executeUpdate();
+        return currentSession().get(ExecutionMetricsSketch.class, new ExecutionMetricsSketchId(versionId, platform), LockMode.PESSIMISTIC_WRITE);
+    }
+
+    /**
+     * Locks the sketches of a version until the transaction ends, by locking its sketch for {@link Partner#ALL}, which is created before
+     * and locked before the sketch of any platform.
+     *
+     * @return the sketches of the version, or an empty list if it has none
+     */
+    public List<ExecutionMetricsSketch> findAllForUpdate(long versionId) {
+        if (currentSession().get(ExecutionMetricsSketch.class, new ExecutionMetricsSketchId(versionId, Partner.ALL), LockMode.PESSIMISTIC_WRITE) == null) {
+            return List.of();
+        }
+        return list(namedTypedQuery("io.dockstore.webservice.core.metrics.ExecutionMetricsSketch.findByVersionId").setParameter("versionId", versionId));
+    }
+}
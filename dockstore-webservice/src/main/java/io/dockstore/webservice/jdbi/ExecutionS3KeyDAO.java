@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.jdbi;
+
+import com.google.common.collect.Lists;
+import io.dockstore.common.Partner;
+import io.dockstore.webservice.core.ExecutionS3Key;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.NativeQuery;
+
+public class ExecutionS3KeyDAO extends AbstractDockstoreDAO<ExecutionS3Key> {
+
+    /**
+     * Keeps the IN lists of lookups well below the number of parameters a statement may have
+     */
+    private static final int MAX_KEYS_PER_QUERY = 1000;
+
+    public ExecutionS3KeyDAO(SessionFactory factory) {
+        super(factory);
+    }
+
+    /**
+     * @param trsId the GA4GH tool id
+     * @param versionName the GA4GH tool version name
+     * @param platform the platform the executions were submitted for
+     * @param executionIds ids of the executions to look up
+     * @return the file name of each execution that is indexed, keyed by execution id
+     */
+    public Map<String, String> findFileNames(String trsId, String versionName, Partner platform, Collection<String> executionIds) {
+        final Map<String, String> executionIdsByHash = hashKeys(trsId, versionName, platform, executionIds);
+        final Map<String, String> fileNames = new HashMap<>();
+        for (List<String> keyHashes : Lists.partition(List.copyOf(executionIdsByHash.keySet()), MAX_KEYS_PER_QUERY)) {
+            list(namedTypedQuery("io.dockstore.webservice.core.ExecutionS3Key.findByKeyHashes").setParameter("keyHashes", keyHashes))
+                .forEach(key -> fileNames.put(executionIdsByHash.get(key.getKeyHash()), key.getFileName()));
+        }
+        return fileNames;
+    }
+
+    /**
+     * Records the file that executions were submitted in. An execution that is already indexed keeps its file, because the first file
+     * with an execution id is the one it is found in. Concurrent submissions of the same execution id leave one of them indexed,
+     * rather than failing on the primary key.
+     *
+     * @return the ids of the executions that were not indexed before
+     */
+    public Set<String> saveAll(String trsId, String versionName, Partner platform, String fileName, Collection<String> executionIds) {
+        final Map<String, String> executionIdsByHash = hashKeys(trsId, versionName, platform, executionIds);
+        final Set<String> saved = new HashSet<>();
+        for (List<Map.Entry<String, String>> entries : Lists.partition(List.copyOf(executionIdsByHash.entrySet()), MAX_KEYS_PER_QUERY)) {
+            final String values = IntStream.range(0, entries.size())
+                .mapToObj(i -> String.format("(:keyHash%d, :executionId%d, :fileName, now(), now())", i, i))
+                .collect(Collectors.joining(", "));
+            final NativeQuery<String> query = currentSession().createNativeQuery("INSERT INTO execution_s3_key (keyhash, executionid, filename, dbcreatedate, dbupdatedate) "
+                + "VALUES " + values + " ON CONFLICT (keyhash) DO NOTHING RETURNING executionid", String.class);
+            for (int i = 0; i < entries.size(); i++) {
+                query.setParameter("keyHash" + i, entries.get(i).getKey());
+                query.setParameter("executionId" + i, entries.get(i).getValue());
+            }
+            saved.addAll(query.setParameter("fileName", fileName).getResultList());
+        }
+        return saved;
+    }
+
+    private static Map<String, String> hashKeys(String trsId, String versionName, Partner platform, Collection<String> executionIds) {
+        final Map<String, String> executionIdsByHash = new LinkedHashMap<>();
+        executionIds.forEach(executionId -> executionIdsByHash.put(ExecutionS3Key.hashKey(trsId, versionName, platform, executionId), executionId));
+        return executionIdsByHash;
+    }
+}
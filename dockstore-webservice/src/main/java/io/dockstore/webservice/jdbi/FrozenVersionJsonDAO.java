@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.jdbi;
+
+import io.dockstore.webservice.core.FrozenVersionJson;
+import org.hibernate.SessionFactory;
+
+public class FrozenVersionJsonDAO extends AbstractDockstoreDAO<FrozenVersionJson> {
+
+    public FrozenVersionJsonDAO(SessionFactory factory) {
+        super(factory);
+    }
+
+    public FrozenVersionJson findByVersionId(long versionId) {
+        return get(versionId);
+    }
+
+    /**
+     * Finds the JSON of a frozen version, creating an empty row for it if there is none yet.
+     */
+    public FrozenVersionJson findOrCreate(long versionId) {
+        FrozenVersionJson json = get(versionId);
+        if (json == null) {
+            json = persist(new FrozenVersionJson(versionId));
+        }
+        return json;
+    }
+}
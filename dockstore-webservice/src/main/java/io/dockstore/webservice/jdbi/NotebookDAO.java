@@ -23,7 +23,6 @@ import io.dockstore.webservice.core.Notebook;
 import io.dockstore.webservice.core.SourceControlConverter;
 import io.dockstore.webservice.core.database.NotebookPath;
 import io.dockstore.webservice.core.database.RSSNotebookPath;
-import io.dockstore.webservice.core.database.WorkflowSummary;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
@@ -62,8 +61,4 @@ public class NotebookDAO extends EntryDAO<Notebook> {
         return this.currentSession().createNamedQuery("io.dockstore.webservice.core.Notebook.findAllPublishedPathsOrderByDbupdatedate", RSSNotebookPath.class).setMaxResults(
                 RSS_ENTRY_LIMIT).list();
     }
-
-    public List<WorkflowSummary> findUserNotebooks(long userId) {
-        return this.currentSession().createNamedQuery("io.dockstore.webservice.core.Notebook.findUserNotebooks", WorkflowSummary.class).setParameter("userId", userId).list();
-    }
 }
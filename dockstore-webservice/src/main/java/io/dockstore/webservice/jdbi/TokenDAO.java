@@ -86,7 +86,7 @@ public class TokenDAO extends AbstractDAO<Token> {
     }
 
     public Token findByContent(String content) {
-        return uniqueResult(namedTypedQuery("io.dockstore.webservice.core.Token.findByContent").setParameter("content", content));
+        return uniqueResult(namedTypedQuery("io.dockstore.webservice.core.Token.findByContent").setParameter("contentHash", Token.hashContent(content)).setParameter("content", content));
     }
 
     public Token findTokenByGitHubUsername(String githubUsername) {
@@ -101,82 +101,27 @@ public class ToolDAO extends EntryDAO<Tool> {
 
     /**
      * Finds the tool matching the given tool path When findPublished is true, will only look at published tools
+     * If the repository contains slashes, <registry>/<org>/<repo>/<toolname> can also be read as a repository with no tool name,
+     * in which case a tool with a tool name is preferred.
      *
      * @param path
      * @param findPublished
      * @return Tool matching the path
      */
     public Tool findByPath(String path, boolean findPublished) {
-        final int minToolNamePathLength = 4; // <registry>/<org>/<repo>/<toolname>
-        final int pathLength = path.split("/").length;
-        // Determine which type of path to look for first: path with a tool name or path without a tool name
-        boolean hasToolName = pathLength >= minToolNamePathLength;
-
-        Tool result = findByPath(path, hasToolName, findPublished);
-        if (pathLength >= minToolNamePathLength && result == null) {
-            // If <repo> contains slashes, there are two scenarios that can form the same tool path. In the following scenarios, assume that <registry> and <org> are the same.
-            // Scenario 1: <repo> = 'foo', <toolname> = 'bar'
-            // Scenario 2: <repo> = 'foo/bar', <toolname> = NULL
-            // Need to try the opposite scenario if we couldn't find the tool using the initial scenario (i.e. if we first tried to find a path with a toolname, try to find one without).
-            result = findByPath(path, !hasToolName, findPublished);
+        if (findPublished) {
+            return findPublishedByPath(Tool.class, path, () -> loadByPath(path, true)).orElse(null);
         }
-
-        return result;
+        return loadByPath(path, false).orElse(null);
     }
 
-    /**
-     * Finds the tool matching the given tool path
-     * When findPublished is true, will only look at published tools
-     * When hasToolName is true, will assume that the path contains a tool name when splitting the path
-     *
-     * @param path
-     * @param hasToolName Boolean indicating whether the path contains a tool name. This is used when splitting the path.
-     * @param findPublished
-     * @return Tool matching the path
-     */
-    public Tool findByPath(String path, boolean hasToolName, boolean findPublished) {
-        String[] splitPath = Tool.splitPath(path, hasToolName);
-
-        // Not a valid path
-        if (splitPath == null) {
-            return null;
-        }
-
-        // Valid path
-        String registry = splitPath[registryIndex];
-        String namespace = splitPath[orgIndex];
-        String name = splitPath[repoIndex];
-        String toolname = splitPath[entryNameIndex];
-
-        // Create full query name
-        String fullQueryName = "io.dockstore.webservice.core.Tool.";
-
-        if (splitPath[entryNameIndex] == null) {
-            if (findPublished) {
-                fullQueryName += "findPublishedByToolPathNullToolName";
-            } else {
-                fullQueryName += "findByToolPathNullToolName";
-            }
-
-        } else {
-            if (findPublished) {
-                fullQueryName += "findPublishedByToolPath";
-            } else {
-                fullQueryName += "findByToolPath";
-            }
-        }
-
-        // Create query
+    private Optional<Tool> loadByPath(String path, boolean findPublished) {
+        // the entrypath column holds the path under both interpretations, so one index lookup finds the tool either way
+        String fullQueryName = "io.dockstore.webservice.core.Tool." + (findPublished ? "findPublishedByToolPath" : "findByToolPath");
         Query<Tool> query = namedTypedQuery(fullQueryName)
-            .setParameter("registry", registry)
-            .setParameter("namespace", namespace)
-            .setParameter("name", name);
-
-        if (splitPath[entryNameIndex] != null) {
-            query.setParameter("toolname", toolname);
-        }
-
-        return uniqueResult(query);
+            .setParameter("path", path)
+            .setMaxResults(1);
+        return list(query).stream().findFirst();
     }
 
     public List<Tool> findPublishedByNamespace(String namespace) {
@@ -194,6 +139,26 @@ public class ToolDAO extends EntryDAO<Tool> {
             .list();
     }
 
+    /**
+     * @param startId first id, inclusive
+     * @param endId last id, exclusive
+     * @return the tools with an id in the range, ordered by id
+     */
+    public List<Tool> findToolsByIdRange(long startId, long endId) {
+        return namedTypedQuery("io.dockstore.webservice.core.Tool.findToolsByIdRange")
+            .setParameter("startId", startId)
+            .setParameter("endId", endId)
+            .list();
+    }
+
+    /**
+     * @return the largest tool id, or 0 if there are no tools
+     */
+    public long findMaxId() {
+        final Long maxId = currentSession().createNamedQuery("io.dockstore.webservice.core.Tool.findMaxId", Long.class).uniqueResult();
+        return maxId == null ? 0 : maxId;
+    }
+
     @SuppressWarnings("checkstyle:ParameterNumber")
     protected Root<Tool> generatePredicate(DescriptorLanguage descriptorLanguage, String registry, String organization, String name, String toolname, String description, String author, Boolean checker,
             CriteriaBuilder cb, CriteriaQuery<?> query) {
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.jdbi;
+
+import io.dockstore.webservice.core.UrlVerdict;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.SessionFactory;
+
+public class UrlVerdictDAO extends AbstractDockstoreDAO<UrlVerdict> {
+
+    public UrlVerdictDAO(SessionFactory factory) {
+        super(factory);
+    }
+
+    /**
+     * @param urlHashes digests of the URLs, see {@link UrlVerdict#hashUrl(String)}
+     * @param since verdicts checked at or before this time are ignored
+     * @return the verdicts for the URLs that were checked after <code>since</code>
+     */
+    public List<UrlVerdict> findCheckedSince(Collection<String> urlHashes, Timestamp since) {
+        return list(namedTypedQuery("io.dockstore.webservice.core.UrlVerdict.findCheckedSince")
+            .setParameter("urlHashes", urlHashes)
+            .setParameter("since", since));
+    }
+
+    /**
+     * Records verdicts for URLs, replacing any earlier ones. Each verdict is upserted, so that concurrent writers of the same URL
+     * don't collide on the primary key, and a verdict is never replaced by one that was checked earlier.
+     *
+     * @param verdicts whether each URL is openly accessible, keyed by URL
+     * @param checkedAt when the URLs were checked
+     */
+    public void saveAll(Map<String, Boolean> verdicts, Timestamp checkedAt) {
+        verdicts.forEach((url, openData) -> currentSession().createNativeMutationQuery("INSERT INTO url_verdict (urlhash, url, opendata, checkedat, dbcreatedate, dbupdatedate) "
+                + "VALUES (:urlHash, :url, :openData, :checkedAt, now(), now()) "
+                + "ON CONFLICT (urlhash) DO UPDATE SET opendata = EXCLUDED.opendata, checkedat = EXCLUDED.checkedat, dbupdatedate = now() "
+                + "WHERE url_verdict.checkedat <= EXCLUDED.checkedat")
+            .setParameter("urlHash", UrlVerdict.hashUrl(url))
+            .setParameter("url", url)
+            .setParameter("openData", openData)
+            .setParameter("checkedAt", checkedAt)
+            .executeUpdate());
+    }
+}
@@ -55,6 +55,26 @@ public class UserDAO extends AbstractDockstoreDAO<User> {
         return list(this.currentSession().getNamedQuery("io.dockstore.webservice.core.User.findAllGitHubUserIds"));
     }
 
+    /**
+     * @param startId first id, inclusive
+     * @param endId last id, exclusive
+     * @return the ids of the users with a GitHub profile in the range, ordered by id
+     */
+    public List<Long> findGitHubUserIdsByIdRange(long startId, long endId) {
+        return currentSession().createNamedQuery("io.dockstore.webservice.core.User.findGitHubUserIdsByIdRange", Long.class)
+            .setParameter("startId", startId)
+            .setParameter("endId", endId)
+            .list();
+    }
+
+    /**
+     * @return the largest user id, or 0 if there are no users
+     */
+    public long findMaxId() {
+        final Long maxId = currentSession().createNamedQuery("io.dockstore.webservice.core.User.findMaxId", Long.class).uniqueResult();
+        return maxId == null ? 0 : maxId;
+    }
+
     /**
      * Deprecated method, is mostly likely dangerous if the username can be changed
      *
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.jdbi;
+
+import io.dockstore.common.EntryType;
+import io.dockstore.webservice.core.UserEntrySummary;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.Query;
+
+/**
+ * Reads the per-user entry summaries that back the dashboard. The summaries are written by database triggers, never through this DAO.
+ */
+public class UserEntrySummaryDAO extends AbstractDockstoreDAO<UserEntrySummary> {
+
+    public UserEntrySummaryDAO(SessionFactory factory) {
+        super(factory);
+    }
+
+    /**
+     * @param userId the user
+     * @param entryTypes the types of entries to return
+     * @param filter if not blank, only entries whose path contains this text, ignoring case, are returned
+     * @param byLastUpdated whether to sort the most recently updated entries first, rather than by path
+     * @param offset the number of entries to skip
+     * @param limit the maximum number of entries to return, or null for all of them
+     * @return a page of the user's entries
+     */
+    public List<UserEntrySummary> findByUser(long userId, Collection<EntryType> entryTypes, String filter, boolean byLastUpdated, int offset, Integer limit) {
+        final String queryName = byLastUpdated ? "io.dockstore.webservice.core.UserEntrySummary.findByUserOrderByLastUpdated" : "io.dockstore.webservice.core.UserEntrySummary.findByUserOrderByPath";
+        Query<UserEntrySummary> query = namedTypedQuery(queryName)
+            .setParameter("userId", userId)
+            .setParameter("entryTypes", entryTypes)
+            .setParameter("filter", likeFilter(filter))
+            .setFirstResult(offset);
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        return list(query);
+    }
+
+    public long countByUser(long userId, Collection<EntryType> entryTypes, String filter) {
+        return this.currentSession().createNamedQuery("io.dockstore.webservice.core.UserEntrySummary.countByUser", Long.class)
+            .setParameter("userId", userId)
+            .setParameter("entryTypes", entryTypes)
+            .setParameter("filter", likeFilter(filter))
+            .getSingleResult();
+    }
+
+    /**
+     * Every change to a summary rewrites its row with a new dbupdatedate, and removing one lowers the count, so the pair changes whenever
+     * anything the user's dashboard shows for these types does.
+     * @return a marker that changes whenever the user's summaries of these types do
+     */
+    public String getChangeMarker(long userId, Collection<EntryType> entryTypes) {
+        Object[] countAndLatest = this.currentSession().createNamedQuery("io.dockstore.webservice.core.UserEntrySummary.getChangeMarker", Object[].class)
+            .setParameter("userId", userId)
+            .setParameter("entryTypes", entryTypes)
+            .getSingleResult();
+        Timestamp latest = (Timestamp) countAndLatest[1];
+        return countAndLatest[0] + ":" + (latest == null ? 0 : latest.getTime() + ":" + latest.getNanos());
+    }
+
+    private static String likeFilter(String filter) {
+        return filter == null || filter.isBlank() ? "%" : "%" + filter.toLowerCase(Locale.ROOT) + "%";
+    }
+}
@@ -33,6 +33,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.http.HttpStatus;
@@ -122,44 +123,23 @@ public class WorkflowDAO extends EntryDAO<Workflow> {
             return Collections.emptyList();
         }
 
-        // Valid path
-        String sourcecontrol = splitPath[registryIndex];
-        String organization = splitPath[orgIndex];
-        String repository = splitPath[repoIndex];
-        String workflowname = splitPath[entryNameIndex];
-
-
         // Create full query name
         String fullQueryName = "io.dockstore.webservice.core.Workflow.";
 
-        if (splitPath[entryNameIndex] == null) {
-            if (findPublished) {
-                fullQueryName += "findPublishedByWorkflowPathNullWorkflowName";
-            } else {
-                fullQueryName += "findByWorkflowPathNullWorkflowName";
-            }
-
+        if (findPublished) {
+            fullQueryName += "findPublishedByWorkflowPath";
         } else {
-            if (findPublished) {
-                fullQueryName += "findPublishedByWorkflowPath";
-            } else {
-                fullQueryName += "findByWorkflowPath";
-            }
+            fullQueryName += "findByWorkflowPath";
         }
 
-        SourceControlConverter converter = new SourceControlConverter();
-
         // Create query
         Query<Workflow> query = namedTypedQuery(fullQueryName)
-            .setParameter("sourcecontrol", converter.convertToEntityAttribute(sourcecontrol))
-            .setParameter("organization", organization)
-            .setParameter("repository", repository);
+            .setParameter("path", path);
 
-        if (splitPath[entryNameIndex] != null) {
-            query.setParameter("workflowname", workflowname);
-        }
-
-        return list(query);
+        // The entrypath column also matches a repository with slashes and no workflow name, which workflow paths are not read as
+        return list(query).stream()
+            .filter(workflow -> Objects.equals(workflow.getRepository(), splitPath[repoIndex]) && Objects.equals(workflow.getWorkflowName(), splitPath[entryNameIndex]))
+            .toList();
     }
 
     /**
@@ -175,6 +155,13 @@ public class WorkflowDAO extends EntryDAO<Workflow> {
      * @return
      */
     public <T extends Workflow> Optional<T> findByPath(String path, boolean findPublished, Class<T> clazz) {
+        if (findPublished) {
+            return findPublishedByPath(clazz, path, () -> loadByPath(path, true, clazz));
+        }
+        return loadByPath(path, false, clazz);
+    }
+
+    private <T extends Workflow> Optional<T> loadByPath(String path, boolean findPublished, Class<T> clazz) {
         final List<Workflow> workflows = findByPath(path, findPublished);
         final List<T> filteredWorkflows  = workflows.stream()
                 .filter(workflow -> workflow.getClass().equals(clazz))
@@ -340,6 +327,26 @@ public class WorkflowDAO extends EntryDAO<Workflow> {
             .list();
     }
 
+    /**
+     * @param startId first id, inclusive
+     * @param endId last id, exclusive
+     * @return the workflows with an id in the range, ordered by id
+     */
+    public List<Workflow> findWorkflowsByIdRange(long startId, long endId) {
+        return namedTypedQuery("io.dockstore.webservice.core.Workflow.findWorkflowsByIdRange")
+            .setParameter("startId", startId)
+            .setParameter("endId", endId)
+            .list();
+    }
+
+    /**
+     * @return the largest workflow id, or 0 if there are no workflows
+     */
+    public long findMaxId() {
+        final Long maxId = currentSession().createNamedQuery("io.dockstore.webservice.core.Workflow.findMaxId", Long.class).uniqueResult();
+        return maxId == null ? 0 : maxId;
+    }
+
     /**
      * Finds a workflow based on a workflow version id. If the workflow cannot be found
      * and an exception is generated an empty optional is returned
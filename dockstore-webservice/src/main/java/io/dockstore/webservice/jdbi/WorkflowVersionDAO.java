@@ -82,6 +82,20 @@ public class WorkflowVersionDAO extends VersionDAO<WorkflowVersion> {
         return typedQuery.getResultList();
     }
 
+    /**
+     * Sets the DAG and tool table JSON of a version without touching its other columns, so that it doesn't overwrite concurrent changes to the version.
+     * Frozen versions are left alone.
+     *
+     * @return whether the version was updated
+     */
+    public boolean updateDagAndToolTableJson(long workflowVersionId, String dagJson, String toolTableJson) {
+        Query query = namedQuery("io.dockstore.webservice.core.WorkflowVersion.updateDagAndToolTableJson")
+            .setParameter("id", workflowVersionId)
+            .setParameter("dagJson", dagJson)
+            .setParameter("toolTableJson", toolTableJson);
+        return query.executeUpdate() > 0;
+    }
+
     public WorkflowVersion getWorkflowVersionByWorkflowIdAndVersionName(long workflowId, String name) {
         Query<WorkflowVersion> query = namedTypedQuery("io.dockstore.webservice.core.WorkflowVersion.getByWorkflowIdAndVersionName");
         query.setParameter("id", workflowId);
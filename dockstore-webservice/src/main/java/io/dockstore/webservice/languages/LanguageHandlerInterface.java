@@ -38,14 +38,12 @@ import io.dockstore.webservice.helpers.AbstractImageRegistry;
 import io.dockstore.webservice.helpers.CheckUrlInterface;
 import io.dockstore.webservice.helpers.DAGHelper;
 import io.dockstore.webservice.helpers.DockerRegistryAPIHelper;
+import io.dockstore.webservice.helpers.ImageResolver;
 import io.dockstore.webservice.helpers.QuayImageRegistry;
 import io.dockstore.webservice.helpers.SourceCodeRepoInterface;
 import io.dockstore.webservice.jdbi.ToolDAO;
 import io.swagger.quay.client.ApiException;
 import io.swagger.quay.client.model.QuayTag;
-import java.io.IOException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -60,7 +58,6 @@ import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.http.HttpStatus;
@@ -588,13 +585,19 @@ public interface LanguageHandlerInterface {
     }
 
     // TODO: Implement then gitlab, seven bridges, google if possible;
+    /**
+     * Looks up the images of a tool table in their registries, concurrently and through the cache of {@link ImageResolver}.
+     *
+     * @param toolsJSONTable the tool table of a version
+     * @return the images found, more than one for multi-arch images
+     */
     default Set<Image> getImagesFromRegistry(String toolsJSONTable) {
         List<Map<String, String>> dockerTools = (ArrayList<Map<String, String>>)GSON.fromJson(toolsJSONTable, ArrayList.class);
 
         // Eliminate duplicate docker strings
         Map<String, DockerSpecifier> dockerStrings = dockerTools.stream().collect(Collectors.toMap(dockertool -> dockertool.get("docker"), dockertool -> DockerSpecifier.valueOf(dockertool.get("specifier")), (x, y) -> x));
 
-        Set<Image> dockerImages = new HashSet<>();
+        Map<ImageResolver.Lookup, String> lookups = new LinkedHashMap<>();
 
         for (Map.Entry<String, DockerSpecifier> dockerString : dockerStrings.entrySet()) {
             String image = dockerString.getKey();
@@ -615,28 +618,45 @@ public interface LanguageHandlerInterface {
                     LOG.error("Could not find specifier for image {} on {}", image, registryFound.getFriendlyName());
                     continue;
                 }
-
-                Set<Image> images = new HashSet<>();
-                if (registryFound == Registry.QUAY_IO) {
-                    images = getImageResponseFromQuay(repoName, imageSpecifier, specifierName);
-                } else if (registryFound == Registry.DOCKER_HUB) {
-                    images = getImagesFromDockerHub(repoName, imageSpecifier, specifierName);
-                } else if (registryFound == Registry.GITHUB_CONTAINER_REGISTRY) {
-                    images = DockerRegistryAPIHelper.getImages(Registry.GITHUB_CONTAINER_REGISTRY, repoName, imageSpecifier, specifierName);
-                } else if (registryFound == Registry.AMAZON_ECR && AMAZON_ECR_PUBLIC_IMAGE.matcher(image).matches()) {
-                    images = DockerRegistryAPIHelper.getImages(Registry.AMAZON_ECR, repoName, imageSpecifier, specifierName);
-                }
-
-                if (images.isEmpty()) {
+                if (registryFound == Registry.AMAZON_ECR && !AMAZON_ECR_PUBLIC_IMAGE.matcher(image).matches()) {
                     LOG.error("Could not get image {} from {}", image, registryFound.getFriendlyName());
                     continue;
                 }
-                dockerImages.addAll(images);
+                lookups.putIfAbsent(new ImageResolver.Lookup(registryFound, repoName, imageSpecifier, specifierName), image);
             }
         }
+
+        Set<Image> dockerImages = new HashSet<>();
+        Map<ImageResolver.Lookup, Set<Image>> resolved = ImageResolver.getInstance().resolve(lookups.keySet(), this::getImagesFromRegistry);
+        resolved.forEach((lookup, images) -> {
+            if (images.isEmpty()) {
+                LOG.error("Could not get image {} from {}", lookups.get(lookup), lookup.registry().getFriendlyName());
+            } else {
+                dockerImages.addAll(images);
+            }
+        });
         return dockerImages;
     }
 
+    /**
+     * Looks up one image in its registry, without going through the cache of {@link ImageResolver}.
+     *
+     * @param lookup the image to look up
+     * @return the images found, or an empty set if the image does not exist
+     * @throws ImageResolver.LookupFailedException if the registry could not be asked, or answered with an error
+     */
+    default Set<Image> getImagesFromRegistry(ImageResolver.Lookup lookup) {
+        Registry registry = lookup.registry();
+        if (registry == Registry.QUAY_IO) {
+            return getImageResponseFromQuay(lookup.repository(), lookup.specifier(), lookup.specifierName());
+        } else if (registry == Registry.DOCKER_HUB) {
+            return getImagesFromDockerHub(lookup.repository(), lookup.specifier(), lookup.specifierName());
+        } else if (registry == Registry.GITHUB_CONTAINER_REGISTRY || registry == Registry.AMAZON_ECR) {
+            return DockerRegistryAPIHelper.resolveImages(registry, lookup.repository(), lookup.specifier(), lookup.specifierName());
+        }
+        return new HashSet<>();
+    }
+
     /**
      * Gets an image's full repository name.
      * The repository name returned is the image's name without the registry docker path (if applicable, like Quay and GHCR) and the specifier.
@@ -702,24 +722,35 @@ public interface LanguageHandlerInterface {
     }
 
     default Set<Image> getImagesFromDockerHub(final String repo, final DockerSpecifier specifierType, final String specifierName) {
+        return getImagesFromDockerHub(DOCKERHUB_URL, repo, specifierType, specifierName);
+    }
+
+    /**
+     * Get set of images for an image specified by tag or digest from a Docker Hub API. If the image is multi-arch, then there will be more than one image in the set.
+     * @param dockerHubUrl base URL of the Docker Hub API
+     * @param repo
+     * @param specifierType
+     * @param specifierName
+     * @return the images, or an empty set if the repository or the tag was not found
+     * @throws ImageResolver.LookupFailedException if Docker Hub could not be asked, or answered with an error
+     */
+    default Set<Image> getImagesFromDockerHub(final String dockerHubUrl, final String repo, final DockerSpecifier specifierType, final String specifierName) {
         Set<Image> dockerHubImages = new HashSet<>();
         Map<String, String> errorMap = new HashMap<>();
         Optional<String> response;
         boolean versionFound = false;
         DockerHubTag dockerHubTag = new DockerHubTag();
-        String repoUrl = DOCKERHUB_URL + "repositories/" + repo + "/tags";
+        String repoUrl = dockerHubUrl + "repositories/" + repo + "/tags";
 
         if (specifierType != DockerSpecifier.DIGEST) {
             repoUrl += "?name=" + specifierName;
         }
 
         do {
-            try {
-                URL url = new URL(repoUrl);
-                response = Optional.of(IOUtils.toString(url, StandardCharsets.UTF_8));
-            } catch (IOException ex) {
-                LOG.error("Unable to get DockerHub response for " + repo, ex);
-                response = Optional.empty();
+            // Goes through the shared, pooled client, and waits while Docker Hub is rate limited
+            response = ImageResolver.getInstance().get(Registry.DOCKER_HUB, repoUrl);
+            if (response.isEmpty()) {
+                LOG.error("Unable to get DockerHub response for {}", repo);
             }
 
             if (response.isPresent()) {
@@ -824,7 +855,8 @@ public interface LanguageHandlerInterface {
      * @param repo
      * @param specifierType
      * @param specifierName
-     * @return
+     * @return the images, or an empty set if the repository or the tag was not found
+     * @throws ImageResolver.LookupFailedException if Quay could not be asked, or answered with an error
      */
     default Set<Image> getImageResponseFromQuay(String repo, DockerSpecifier specifierType, String specifierName) {
         Set<Image> quayImages = new HashSet<>();
@@ -854,7 +886,10 @@ public interface LanguageHandlerInterface {
                 quayImages.add(quayImage);
             }
         } catch (ApiException ex) {
-            LOG.error("Could not read from " + repo, ex);
+            if (ex.getCode() != HttpStatus.SC_NOT_FOUND) {
+                throw new ImageResolver.LookupFailedException("Could not read from " + repo, ex);
+            }
+            LOG.error("Could not find " + repo, ex);
         }
         return quayImages;
     }
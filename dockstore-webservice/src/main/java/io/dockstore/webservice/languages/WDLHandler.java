@@ -15,14 +15,10 @@
  */
 package io.dockstore.webservice.languages;
 
-import static java.nio.file.attribute.PosixFilePermissions.asFileAttribute;
-import static java.nio.file.attribute.PosixFilePermissions.fromString;
-
 import com.github.zafarkhaja.semver.UnexpectedCharacterException;
 import com.github.zafarkhaja.semver.expr.LexerException;
 import com.github.zafarkhaja.semver.expr.UnexpectedTokenException;
 import com.google.common.base.Strings;
-import com.google.common.io.Files;
 import io.dockstore.common.DescriptorLanguage;
 import io.dockstore.common.DockerImageReference;
 import io.dockstore.common.DockerParameter;
@@ -48,8 +44,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.attribute.FileAttribute;
-import java.nio.file.attribute.PosixFilePermission;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -71,7 +65,6 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.SystemUtils;
 import org.apache.http.HttpStatus;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -93,7 +86,6 @@ public class WDLHandler implements LanguageHandlerInterface {
     private static final Pattern IMPORT_PATTERN = Pattern.compile("^import\\s+\"(\\S+)\"");
 
     private static final String LATEST_SUPPORTED_WDL_VERSION = "1.0";
-    private static final String DESCRIPTOR_SUFFIX = "descriptor";
 
     public static void checkForRecursiveLocalImports(String content, Set<SourceFile> sourceFiles, Set<String> absolutePaths, String parent)
             throws ParseException {
@@ -138,96 +130,85 @@ public class WDLHandler implements LanguageHandlerInterface {
             return version;
         }
 
-        WdlBridge wdlBridge = new WdlBridge();
         final Map<String, String> secondaryFiles = sourceFiles.stream()
                 .collect(Collectors.toMap(SourceFile::getAbsolutePath, SourceFile::getContent));
-        wdlBridge.setSecondaryFiles(secondaryFiles);
-        File tempMainDescriptor = null;
         try {
-            tempMainDescriptor = createTempFile("main", DESCRIPTOR_SUFFIX);
-            Files.asCharSink(tempMainDescriptor, StandardCharsets.UTF_8).write(content);
-            try {
-                // Set language version for descriptor source files
-                for (SourceFile sourceFile : sourceFiles) {
-                    if (sourceFile.getType() == DescriptorLanguage.FileType.DOCKSTORE_WDL) {
-                        sourceFile.getMetadata().setTypeVersion(getLanguageVersion(sourceFile.getAbsolutePath(), sourceFiles).orElse(null));
-                    }
+            // Set language version for descriptor source files
+            for (SourceFile sourceFile : sourceFiles) {
+                if (sourceFile.getType() == DescriptorLanguage.FileType.DOCKSTORE_WDL) {
+                    sourceFile.getMetadata().setTypeVersion(getLanguageVersion(sourceFile.getAbsolutePath(), sourceFiles).orElse(null));
                 }
-                version.setDescriptorTypeVersionsFromSourceFiles(sourceFiles);
-
-                List<Map<String, String>> metadata = wdlBridge.getMetadata(tempMainDescriptor.getAbsolutePath(), filepath);
-                Queue<String> authors = new LinkedList<>();
-                Queue<String> emails = new LinkedList<>();
-                Set<Author> newAuthors = new HashSet<>();
-                final String[] mainDescription = { null };
-
-                metadata.forEach(metaBlock -> {
-                    String author = metaBlock.get("author");
-                    String[] callAuthors = author != null ? author.split(",") : null;
-                    if (callAuthors != null) {
-                        for (String callAuthor : callAuthors) {
-                            authors.add(callAuthor.trim());
-                        }
+            }
+            version.setDescriptorTypeVersionsFromSourceFiles(sourceFiles);
+
+            List<Map<String, String>> metadata = WdlDocument.parse(content, filepath, secondaryFiles).getMetadata();
+            Queue<String> authors = new LinkedList<>();
+            Queue<String> emails = new LinkedList<>();
+            Set<Author> newAuthors = new HashSet<>();
+            final String[] mainDescription = { null };
+
+            metadata.forEach(metaBlock -> {
+                String author = metaBlock.get("author");
+                String[] callAuthors = author != null ? author.split(",") : null;
+                if (callAuthors != null) {
+                    for (String callAuthor : callAuthors) {
+                        authors.add(callAuthor.trim());
                     }
+                }
 
-                    String email = metaBlock.get("email");
-                    String[] callEmails = email != null ? email.split(",") : null;
-                    if (callEmails != null) {
-                        for (String callEmail : callEmails) {
-                            emails.add(callEmail.trim());
-                        }
+                String email = metaBlock.get("email");
+                String[] callEmails = email != null ? email.split(",") : null;
+                if (callEmails != null) {
+                    for (String callEmail : callEmails) {
+                        emails.add(callEmail.trim());
                     }
+                }
 
-                    if (!authors.isEmpty()) {
-                        // Only set emails for authors if every author has an email.
-                        // Otherwise, ignore emails because we don't know which email belongs to which author
-                        if (authors.size() == emails.size()) {
-                            while (!authors.isEmpty()) {
-                                Author newAuthor = new Author(authors.remove());
-                                newAuthor.setEmail(emails.remove());
-                                newAuthors.add(newAuthor);
-                            }
-                        } else {
-                            while (!authors.isEmpty()) {
-                                Author newAuthor = new Author(authors.remove());
-                                newAuthors.add(newAuthor);
-                            }
-                            emails.clear();
+                if (!authors.isEmpty()) {
+                    // Only set emails for authors if every author has an email.
+                    // Otherwise, ignore emails because we don't know which email belongs to which author
+                    if (authors.size() == emails.size()) {
+                        while (!authors.isEmpty()) {
+                            Author newAuthor = new Author(authors.remove());
+                            newAuthor.setEmail(emails.remove());
+                            newAuthors.add(newAuthor);
                         }
+                    } else {
+                        while (!authors.isEmpty()) {
+                            Author newAuthor = new Author(authors.remove());
+                            newAuthors.add(newAuthor);
+                        }
+                        emails.clear();
                     }
-
-                    String description = metaBlock.get("description");
-                    if (description != null && !description.isBlank()) {
-                        mainDescription[0] = description;
-                    }
-                });
-
-                // Add authors from descriptor
-                for (Author author: newAuthors) {
-                    version.addAuthor(author);
                 }
 
-                if (!Strings.isNullOrEmpty(mainDescription[0])) {
-                    version.setDescriptionAndDescriptionSource(mainDescription[0], DescriptionSource.DESCRIPTOR);
+                String description = metaBlock.get("description");
+                if (description != null && !description.isBlank()) {
+                    mainDescription[0] = description;
                 }
-            } catch (WdlParser.SyntaxError ex) {
-                LOG.error("Unable to parse WDL file " + filepath, ex);
-                Map<String, String> validationMessageObject = new HashMap<>();
-                String errorMessage = "WDL file is malformed or missing, cannot extract metadata. " + ex.getMessage();
-                errorMessage = getUnsupportedWDLVersionErrorString(content).orElse(errorMessage);
-                validationMessageObject.put(filepath, errorMessage);
-                version.addOrUpdateValidation(new Validation(DescriptorLanguage.FileType.DOCKSTORE_WDL, false, validationMessageObject));
-                version.setDescriptionAndDescriptionSource(null, null);
-                version.getAuthors().clear();
-                version.getOrcidAuthors().clear();
-                return version;
-            } catch (StackOverflowError error) {
-                throw createStackOverflowThrowable(error);
+            });
+
+            // Add authors from descriptor
+            for (Author author: newAuthors) {
+                version.addAuthor(author);
             }
-        } catch (IOException e) {
-            throw new CustomWebApplicationException(e.getMessage(), HttpStatus.SC_INTERNAL_SERVER_ERROR);
-        } finally {
-            FileUtils.deleteQuietly(tempMainDescriptor);
+
+            if (!Strings.isNullOrEmpty(mainDescription[0])) {
+                version.setDescriptionAndDescriptionSource(mainDescription[0], DescriptionSource.DESCRIPTOR);
+            }
+        } catch (WdlParser.SyntaxError ex) {
+            LOG.error("Unable to parse WDL file " + filepath, ex);
+            Map<String, String> validationMessageObject = new HashMap<>();
+            String errorMessage = "WDL file is malformed or missing, cannot extract metadata. " + ex.getMessage();
+            errorMessage = getUnsupportedWDLVersionErrorString(content).orElse(errorMessage);
+            validationMessageObject.put(filepath, errorMessage);
+            version.addOrUpdateValidation(new Validation(DescriptorLanguage.FileType.DOCKSTORE_WDL, false, validationMessageObject));
+            version.setDescriptionAndDescriptionSource(null, null);
+            version.getAuthors().clear();
+            version.getOrcidAuthors().clear();
+            return version;
+        } catch (StackOverflowError error) {
+            throw createStackOverflowThrowable(error);
         }
         return version;
     }
@@ -260,7 +241,6 @@ public class WDLHandler implements LanguageHandlerInterface {
      * @return
      */
     public VersionTypeValidation validateEntrySet(Set<SourceFile> sourcefiles, String primaryDescriptorFilePath, String type) {
-        File tempMainDescriptor = null;
         String mainDescriptor = null;
 
         List<DescriptorLanguage.FileType> fileTypes = new ArrayList<>(Collections.singletonList(DescriptorLanguage.FileType.DOCKSTORE_WDL));
@@ -302,35 +282,29 @@ public class WDLHandler implements LanguageHandlerInterface {
                         secondaryDescContent.put(sourceFile.getAbsolutePath(), sourceFile.getContent());
                     }
                 }
-                tempMainDescriptor = createTempFile("main", DESCRIPTOR_SUFFIX);
-                Files.asCharSink(tempMainDescriptor, StandardCharsets.UTF_8).write(mainDescriptor);
-                String content = FileUtils.readFileToString(tempMainDescriptor, StandardCharsets.UTF_8);
                 try {
-                    checkForRecursiveHTTPImports(content, new HashSet<>());
+                    checkForRecursiveHTTPImports(mainDescriptor, new HashSet<>());
                 } catch (IOException | CustomWebApplicationException e) {
                     validationMessageObject.put(primaryDescriptorFilePath, e.getMessage());
                     return new VersionTypeValidation(false, validationMessageObject);
                 }
 
-                Optional<String> optValidationMessage = reportValidationForLocalRecursiveImports(content,
+                Optional<String> optValidationMessage = reportValidationForLocalRecursiveImports(mainDescriptor,
                         sourcefiles, primaryDescriptorFilePath);
                 if (optValidationMessage.isPresent()) {
                     validationMessageObject.put(primaryDescriptorFilePath, optValidationMessage.get());
                     return new VersionTypeValidation(false, validationMessageObject);
                 }
 
-                WdlBridge wdlBridge = new WdlBridge();
-                wdlBridge.setSecondaryFiles(secondaryDescContent);
-
                 if (Objects.equals(type, "tool")) {
-                    wdlBridge.validateTool(tempMainDescriptor.getAbsolutePath(), primaryDescriptorFilePath);
+                    WdlDocument.parse(mainDescriptor, primaryDescriptorFilePath, secondaryDescContent).validateTool();
                 } else {
-                    wdlBridge.validateWorkflow(tempMainDescriptor.getAbsolutePath(), primaryDescriptor.get().getAbsolutePath());
+                    WdlDocument.parse(mainDescriptor, primaryDescriptor.get().getAbsolutePath(), secondaryDescContent).validateWorkflow();
                 }
             } catch (WdlParser.SyntaxError | IllegalArgumentException e) {
-                if (tempMainDescriptor != null) {
+                if (mainDescriptor != null) {
                     validationMessageObject.put(primaryDescriptorFilePath,
-                            getUnsupportedWDLVersionErrorString(tempMainDescriptor.getAbsolutePath())
+                            getUnsupportedWDLVersionErrorString(mainDescriptor)
                                 .orElse(e.getMessage()));
                 } else {
                     validationMessageObject.put(primaryDescriptorFilePath, e.getMessage());
@@ -343,8 +317,6 @@ public class WDLHandler implements LanguageHandlerInterface {
                 throw new CustomWebApplicationException(e.getMessage(), HttpStatus.SC_INTERNAL_SERVER_ERROR);
             } catch (StackOverflowError error) {
                 throw createStackOverflowThrowable(error);
-            } finally {
-                FileUtils.deleteQuietly(tempMainDescriptor);
             }
         } else {
             validationMessageObject.put(primaryDescriptorFilePath, "Primary WDL descriptor is not present.");
@@ -469,40 +441,31 @@ public class WDLHandler implements LanguageHandlerInterface {
         // Initialize data structures for DAG
         Map<String, ToolInfo> toolInfoMap;
         Map<String, String> namespaceToPath;
-        File tempMainDescriptor = null;
-        // Write main descriptor to file
-        // The use of temporary files is not needed here and might cause new problems
         try {
-            tempMainDescriptor = createTempFile("main", DESCRIPTOR_SUFFIX);
-            Files.asCharSink(tempMainDescriptor, StandardCharsets.UTF_8).write(mainDescriptor);
-
-            WdlBridge wdlBridge = new WdlBridge();
             final Map<String, String> pathToContentMap = secondarySourceFiles.stream()
                     .collect(Collectors.toMap(SourceFile::getAbsolutePath, SourceFile::getContent));
-            wdlBridge.setSecondaryFiles(new HashMap<>(pathToContentMap));
+            final WdlDocument wdlDocument = WdlDocument.parse(mainDescriptor, mainDescName, pathToContentMap);
 
             // Iterate over each call, grab docker containers
-            Map<String, DockerParameter> callsToDockerMap = wdlBridge.getCallsToDockerMap(tempMainDescriptor.getAbsolutePath(), mainDescName);
+            Map<String, DockerParameter> callsToDockerMap = wdlDocument.getCallsToDockerMap();
 
             // Iterate over each call, determine dependencies
-            Map<String, List<String>> callsToDependencies = wdlBridge.getCallsToDependencies(tempMainDescriptor.getAbsolutePath(), mainDescName);
+            Map<String, List<String>> callsToDependencies = wdlDocument.getCallsToDependencies();
             toolInfoMap = mapConverterToToolInfo(callsToDockerMap, callsToDependencies);
 
             // Get import files
-            namespaceToPath = wdlBridge.getImportMap(tempMainDescriptor.getAbsolutePath(), mainDescName);
+            namespaceToPath = wdlDocument.getImportMap();
         } catch (WdlParser.SyntaxError ex) {
             String exMsg = WDLHandler.WDL_PARSE_ERROR + ex.getMessage();
-            exMsg = getUnsupportedWDLVersionErrorString(tempMainDescriptor.getAbsolutePath()).orElse(exMsg);
+            exMsg = getUnsupportedWDLVersionErrorString(mainDescriptor).orElse(exMsg);
             LOG.error(exMsg, ex);
             throw new CustomWebApplicationException(exMsg, HttpStatus.SC_UNPROCESSABLE_ENTITY);
-        } catch (IOException | NoSuchElementException ex) {
+        } catch (NoSuchElementException ex) {
             final String exMsg = "Could not process request, " + ex.getMessage();
             LOG.error(exMsg, ex);
             throw new CustomWebApplicationException(exMsg, HttpStatus.SC_INTERNAL_SERVER_ERROR);
         } catch (StackOverflowError error) {
             throw createStackOverflowThrowable(error);
-        } finally {
-            FileUtils.deleteQuietly(tempMainDescriptor);
         }
         return convertMapsToContent(mainDescName, type, dao, callType, toolType, toolInfoMap, namespaceToPath);
     }
@@ -599,8 +562,6 @@ public class WDLHandler implements LanguageHandlerInterface {
      * @return
      */
     public static Optional<String> getLanguageVersion(String primaryDescriptorPath, Set<SourceFile> sourceFiles) {
-        WdlBridge wdlBridge = new WdlBridge();
-
         Optional<SourceFile> primaryDescriptor = sourceFiles.stream().filter(sourceFile -> sourceFile.getAbsolutePath().equals(primaryDescriptorPath)).findFirst();
         if (primaryDescriptor.isEmpty()) {
             return Optional.empty();
@@ -613,15 +574,11 @@ public class WDLHandler implements LanguageHandlerInterface {
                 .forEach(descriptorSourceFile -> {
                     secondaryFiles.put(descriptorSourceFile.getAbsolutePath(), descriptorSourceFile.getContent());
                 });
-        wdlBridge.setSecondaryFiles(secondaryFiles);
 
-        File tempMainDescriptor = null;
         try {
-            tempMainDescriptor = createTempFile("main", DESCRIPTOR_SUFFIX);
-            Files.asCharSink(tempMainDescriptor, StandardCharsets.UTF_8).write(primaryDescriptorContent);
             // It's possible for isVersionValid to be false for a valid 'version' so we must double-check by trying to find a 'version' string in the content
             // Ex: Cromwell doesn't support WDL 1.1 so a 'version 1.1' workflow will return false for isVersionValid
-            final boolean isVersionValid = wdlBridge.isVersionFieldValid(tempMainDescriptor.getAbsolutePath(), primaryDescriptorPath);
+            final boolean isVersionValid = WdlDocument.parse(primaryDescriptorContent, primaryDescriptorPath, secondaryFiles).isVersionFieldValid();
             Optional<String> parsedVersionString = getSemanticVersionString(primaryDescriptorContent);
 
             if (parsedVersionString.isEmpty()) {
@@ -633,14 +590,8 @@ public class WDLHandler implements LanguageHandlerInterface {
                 return Optional.empty();
             }
             return parsedVersionString;
-        } catch (IOException e) {
-            LOG.error("Error creating temporary file for descriptor {}", primaryDescriptorPath, e);
-            throw new CustomWebApplicationException(e.getMessage(), HttpStatus.SC_INTERNAL_SERVER_ERROR);
         } catch (StackOverflowError error) {
             throw createStackOverflowThrowable(error);
-        } finally {
-            // Delete the temp directory and its contents
-            FileUtils.deleteQuietly(tempMainDescriptor);
         }
     }
 
@@ -698,18 +649,12 @@ public class WDLHandler implements LanguageHandlerInterface {
      * </pre>
      */
     Optional<Map<String, String>> getFileInputs(String primaryDescriptorContent, Set<SourceFile> sourceFiles) {
-        final WdlBridge wdlBridge = new WdlBridge();
-        wdlBridge.setSecondaryFiles(sourceFiles.stream().collect(Collectors.toMap(SourceFile::getAbsolutePath, SourceFile::getContent)));
-        File tempMainDescriptor = null;
+        final Map<String, String> secondaryFiles = sourceFiles.stream().collect(Collectors.toMap(SourceFile::getAbsolutePath, SourceFile::getContent));
         try {
-            tempMainDescriptor = createTempFile("main", DESCRIPTOR_SUFFIX);
-            Files.asCharSink(tempMainDescriptor, StandardCharsets.UTF_8).write(primaryDescriptorContent);
-            return Optional.of(wdlBridge.getInputFiles(tempMainDescriptor.getPath()));
-        } catch (StackOverflowError | SyntaxError | IOException e) { // StackOverflowError: https://github.com/dockstore/dockstore/issues/5496
+            return Optional.of(WdlDocument.parse(primaryDescriptorContent, "/", secondaryFiles).getInputFiles());
+        } catch (StackOverflowError | SyntaxError e) { // StackOverflowError: https://github.com/dockstore/dockstore/issues/5496
             LOG.error("Error parsing WDL", e);
             return Optional.empty();
-        } finally {
-            FileUtils.deleteQuietly(tempMainDescriptor); // Works with null parameter
         }
     }
 
@@ -819,27 +764,6 @@ public class WDLHandler implements LanguageHandlerInterface {
         throw new CustomWebApplicationException(ERROR_PARSING_WORKFLOW_YOU_MAY_HAVE_A_RECURSIVE_IMPORT, HttpStatus.SC_UNPROCESSABLE_ENTITY);
     }
 
-    /**
-     * Securely creates a temporary file, using pattern recommended by SonarCloud
-     *
-     * @param suffix
-     * @param prefix
-     * @return a temporary file
-     * @throws IOException
-     */
-    private static File createTempFile(String prefix, String suffix) throws IOException {
-        if (SystemUtils.IS_OS_UNIX) {
-            FileAttribute<Set<PosixFilePermission>> attr = asFileAttribute(fromString("rwx------"));
-            return java.nio.file.Files.createTempFile(prefix, suffix, attr).toFile();
-        } else {
-            File f = java.nio.file.Files.createTempFile(prefix, suffix).toFile(); //NOSONAR - Next line addresses the security issue by limiting file permissions to this user
-            if (!f.setReadable(true, true) || !f.setWritable(true, true)
-                || !f.setExecutable(true, true)) {
-                throw new IOException("Error limiting permissions for temporary file");
-            }
-            return f;
-        }
-    }
     record FileInputs(String name, String type, Set<String> values) {}
 
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.languages;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.dockstore.common.DockerParameter;
+import io.dockstore.common.WdlBridge;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import wdl.draft3.parser.WdlParser.SyntaxError;
+import wom.callable.ExecutableCallable;
+import wom.executable.WomBundle;
+
+/**
+ * A WDL workflow parsed once from a primary descriptor and its imports, all held in memory.
+ * The DAG, the tool table, validation and metadata extraction are all answered from the same parse instead of each parsing the files again.
+ * Documents are cached by a hash of their content, so the steps of an ingest, and repeated requests for the DAG or tool table
+ * of a version, share one parse. A document that failed to parse reports the same error to every caller that holds it, but is not cached,
+ * because the failure may be transient, such as an HTTP import that could not be fetched. Documents with HTTP imports are not cached either,
+ * because the content of the imports is not part of the key.
+ */
+public final class WdlDocument {
+
+    private static final int MAX_CACHED_DOCUMENTS = 200;
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+    private static final Pattern HTTP_IMPORT = Pattern.compile("^\\s*import\\s+[\"']https?://", Pattern.MULTILINE | Pattern.CASE_INSENSITIVE);
+    private static final Cache<String, WdlDocument> CACHE = Caffeine.newBuilder()
+        .maximumSize(MAX_CACHED_DOCUMENTS)
+        .expireAfterWrite(EXPIRE_AFTER_WRITE)
+        .recordStats()
+        .build();
+
+    private final String content;
+    private final WdlBridge wdlBridge;
+    private final WomBundle bundle;
+    private final String parseErrorMessage;
+    private volatile ExecutableCallable executableCallable;
+
+    private WdlDocument(String content, String sourceFilePath, Map<String, String> secondaryFiles) {
+        this.content = content;
+        this.wdlBridge = new WdlBridge();
+        wdlBridge.setSecondaryFiles(new HashMap<>(secondaryFiles));
+        WomBundle parsedBundle = null;
+        String errorMessage = null;
+        try {
+            parsedBundle = wdlBridge.getBundleFromContent(content, sourceFilePath);
+        } catch (SyntaxError e) {
+            errorMessage = e.getMessage();
+        }
+        this.bundle = parsedBundle;
+        this.parseErrorMessage = errorMessage;
+    }
+
+    /**
+     * Returns the parsed document for a primary descriptor and its imports, parsing it only if the same content was not parsed recently.
+     * A StackOverflowError from a recursive import is thrown to the caller and not cached, and neither are documents that failed to parse
+     * or that import from a URL.
+     * @param content the content of the primary descriptor
+     * @param sourceFilePath the path of the primary descriptor, against which relative imports are resolved
+     * @param secondaryFiles the content of the other files, by absolute path
+     * @return the parsed document
+     */
+    public static WdlDocument parse(String content, String sourceFilePath, Map<String, String> secondaryFiles) {
+        final String key = hash(content, sourceFilePath, secondaryFiles);
+        WdlDocument document = CACHE.getIfPresent(key);
+        if (document == null) {
+            // Parsing outside the cache's compute lock, so that a slow parse does not hold up unrelated documents.
+            // Two threads may occasionally parse the same content, and the later one wins.
+            document = new WdlDocument(content, sourceFilePath, secondaryFiles);
+            if (document.bundle != null && !hasHttpImport(content, secondaryFiles)) {
+                CACHE.put(key, document);
+            }
+        }
+        return document;
+    }
+
+    private static boolean hasHttpImport(String content, Map<String, String> secondaryFiles) {
+        return (content != null && HTTP_IMPORT.matcher(content).find()) || secondaryFiles.values().stream().anyMatch(fileContent -> fileContent != null && HTTP_IMPORT.matcher(fileContent).find());
+    }
+
+    public static CacheStats stats() {
+        return CACHE.stats();
+    }
+
+    private static String hash(String content, String sourceFilePath, Map<String, String> secondaryFiles) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        putString(hasher, content);
+        putString(hasher, sourceFilePath);
+        new TreeMap<>(secondaryFiles).forEach((path, fileContent) -> {
+            putString(hasher, path);
+            putString(hasher, fileContent);
+        });
+        return hasher.hash().toString();
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        if (value == null) {
+            hasher.putInt(-1);
+        } else {
+            hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    private WomBundle getBundle() throws SyntaxError {
+        if (bundle == null) {
+            throw new SyntaxError(parseErrorMessage);
+        }
+        return bundle;
+    }
+
+    private ExecutableCallable getExecutableCallable() throws SyntaxError {
+        ExecutableCallable callable = executableCallable;
+        if (callable == null) {
+            callable = wdlBridge.convertBundleToExecutableCallable(getBundle());
+            executableCallable = callable;
+        }
+        return callable;
+    }
+
+    public void validateWorkflow() throws SyntaxError {
+        wdlBridge.validateWorkflow(getBundle());
+    }
+
+    public void validateTool() throws SyntaxError {
+        wdlBridge.validateTool(getBundle());
+    }
+
+    public List<Map<String, String>> getMetadata() throws SyntaxError {
+        return wdlBridge.getMetadata(getBundle());
+    }
+
+    public Map<String, String> getInputFiles() throws SyntaxError {
+        return wdlBridge.getInputFiles(getBundle());
+    }
+
+    public Map<String, DockerParameter> getCallsToDockerMap() throws SyntaxError {
+        return wdlBridge.getCallsToDockerMap(getExecutableCallable());
+    }
+
+    public Map<String, List<String>> getCallsToDependencies() throws SyntaxError {
+        return wdlBridge.getCallsToDependencies(getExecutableCallable());
+    }
+
+    public Map<String, String> getImportMap() throws SyntaxError {
+        return wdlBridge.getImportMap(getExecutableCallable());
+    }
+
+    /**
+     * @return whether the 'version' field of the primary descriptor is valid, see {@link WdlBridge#isVersionFieldValid(String, String)}
+     */
+    public boolean isVersionFieldValid() {
+        return bundle != null || wdlBridge.isVersionFieldValid(content, new SyntaxError(parseErrorMessage));
+    }
+}
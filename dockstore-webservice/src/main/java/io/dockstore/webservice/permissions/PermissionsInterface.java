@@ -20,6 +20,7 @@ import io.dockstore.webservice.CustomWebApplicationException;
 import io.dockstore.webservice.core.User;
 import io.dockstore.webservice.core.Workflow;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -101,6 +102,17 @@ public interface PermissionsInterface {
      */
     List<Role.Action> getActionsForWorkflow(User user, Workflow workflow);
 
+    /**
+     * List all {@link Role.Action} <code>user</code> can perform on each of <code>workflows</code>. Implementations backed by a
+     * remote service should resolve all the workflows in as few calls as possible.
+     * @param user
+     * @param workflows
+     * @return a map of workflow paths to the allowed actions on that workflow, possibly empty
+     */
+    default Map<String, List<Role.Action>> getActionsForWorkflows(User user, Collection<Workflow> workflows) {
+        return workflows.stream().collect(Collectors.toMap(Workflow::getWorkflowPath, workflow -> getActionsForWorkflow(user, workflow), (a, b) -> a));
+    }
+
     /**
      * Removes the <code>email</code> from the <code>role</code> from
      * <code>workflow</code>'s permissions.
@@ -32,7 +32,7 @@ public enum Role {
         this.actions = new HashSet<>(Arrays.asList(actions));
     }
 
-    boolean hasAction(Action action) {
+    public boolean hasAction(Action action) {
         return this.actions.contains(action);
     }
 
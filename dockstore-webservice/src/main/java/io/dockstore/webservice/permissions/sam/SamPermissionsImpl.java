@@ -1,6 +1,8 @@
 package io.dockstore.webservice.permissions.sam;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.dockstore.webservice.CustomWebApplicationException;
 import io.dockstore.webservice.DockstoreWebserviceConfiguration;
 import io.dockstore.webservice.core.Token;
@@ -20,9 +22,11 @@ import io.swagger.sam.client.model.AccessPolicyMembership;
 import io.swagger.sam.client.model.AccessPolicyResponseEntry;
 import io.swagger.sam.client.model.ErrorReport;
 import io.swagger.sam.client.model.ResourceAndAccessPolicy;
+import jakarta.ws.rs.client.Client;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.text.MessageFormat;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -30,6 +34,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.http.HttpStatus;
@@ -112,12 +117,39 @@ public class SamPermissionsImpl implements PermissionsInterface {
     private static Map<Role, String> permissionSamMap = samPermissionMap.entrySet().stream()
             .collect(Collectors.toMap(Map.Entry::getValue, c -> c.getKey()));
 
+    private static final int MAX_ACCESS_TOKENS = 1000;
+    private static final long ACCESS_TOKEN_SECONDS = 60;
+
     private DockstoreWebserviceConfiguration config;
     private final TokenDAO tokenDAO;
+    /**
+     * Recent answers from SAM about whether a user can perform an action on a workflow. Invalidated when
+     * permissions are changed through this class, and otherwise expire after a short time, because permissions can
+     * also be changed directly in SAM.
+     */
+    private final Cache<Decision, Boolean> decisions;
+    /**
+     * Valid Google access tokens by the digest of the stored Google token they were obtained with, so that a request that makes several
+     * SAM calls only checks the stored token with Google once. Kept briefly, because the access tokens expire.
+     */
+    private final Cache<String, String> accessTokens;
+    /**
+     * The HTTP client that all SAM calls are sent through, so that connections to SAM are reused.
+     */
+    private final Client samHttpClient;
 
     public SamPermissionsImpl(TokenDAO tokenDAO, DockstoreWebserviceConfiguration config) {
         this.tokenDAO = tokenDAO;
         this.config = config;
+        this.decisions = Caffeine.newBuilder()
+            .maximumSize(config.getSamConfiguration().getMaxCachedDecisions())
+            .expireAfterWrite(Duration.ofSeconds(config.getSamConfiguration().getDecisionCacheSeconds()))
+            .build();
+        this.accessTokens = Caffeine.newBuilder()
+            .maximumSize(MAX_ACCESS_TOKENS)
+            .expireAfterWrite(Duration.ofSeconds(ACCESS_TOKEN_SECONDS))
+            .build();
+        this.samHttpClient = newSamHttpClient();
     }
 
     /**
@@ -163,6 +195,7 @@ public class SamPermissionsImpl implements PermissionsInterface {
                     resourcesApi.removeUserFromPolicy(SamConstants.RESOURCE_TYPE, encodedPath, entry.getPolicyName(), permission.getEmail());
                 }
             }
+            invalidateDecisions(workflow.getWorkflowPath());
             return getPermissionsForWorkflow(requester, workflow);
         } catch (ApiException e) {
             String errorMessage = readValue(e, ErrorReport.class).map(errorReport -> errorReport.getMessage())
@@ -226,15 +259,14 @@ public class SamPermissionsImpl implements PermissionsInterface {
         ResourcesApi resourcesApi = getResourcesApi(user); // Intentionally throwing if unable to get token
         try {
             List<ResourceAndAccessPolicy> resourceAndAccessPolicies = resourcesApi.listResourcesAndPolicies(SamConstants.RESOURCE_TYPE);
-            return weedOutDuplicateResourceIds(resourceAndAccessPolicies).stream()
+            final Map<Role, List<String>> sharedWithUser = weedOutDuplicateResourceIds(resourceAndAccessPolicies).stream()
                     .collect(Collectors.groupingBy(ResourceAndAccessPolicy::getAccessPolicyName)).entrySet().stream()
-                    .collect(Collectors.toMap(e -> samPolicyNameToRole(e.getKey()), e -> e.getValue().stream().map(r -> {
-                        try {
-                            return URLDecoder.decode(r.getResourceId().substring(SamConstants.ENCODED_WORKFLOW_PREFIX.length()), "UTF-8");
-                        } catch (UnsupportedEncodingException e1) {
-                            return null;
-                        }
-                    }).collect(Collectors.toList())));
+                    .collect(Collectors.toMap(e -> samPolicyNameToRole(e.getKey()), e -> e.getValue().stream()
+                        .map(r -> decodeWorkflowPath(r.getResourceId())).collect(Collectors.toList())));
+            // The listing already says what the user can do with each of these workflows
+            sharedWithUser.entrySet().stream().filter(e -> e.getKey() != null)
+                .forEach(e -> e.getValue().forEach(path -> cacheDecisions(user, path, e.getKey())));
+            return sharedWithUser;
         } catch (ApiException e) {
             final String message = "Error getting shared workflows";
             if (userNotAuthorizedForSam(e)) {
@@ -247,6 +279,14 @@ public class SamPermissionsImpl implements PermissionsInterface {
         }
     }
 
+    private String decodeWorkflowPath(String resourceId) {
+        try {
+            return URLDecoder.decode(resourceId.substring(SamConstants.ENCODED_WORKFLOW_PREFIX.length()), "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            return null;
+        }
+    }
+
     private boolean userNotAuthorizedForSam(ApiException e) {
         // TLDR; 401 disabled or not accepted TOS; 403 user does not exist, i.e., not registered in SAM
         // See https://github.com/broadinstitute/sam/blob/1c3c1a3f3e973895de9ba08e6c755edbb04632db/src/main/scala/org/broadinstitute/dsde/workbench/sam/api/SamUserDirectives.scala#L31-L30
@@ -331,20 +371,110 @@ public class SamPermissionsImpl implements PermissionsInterface {
             permission.getEmail().equals(email.get()) && permission.getRole() == Role.OWNER);
     }
 
+    /**
+     * Answers from the decision cache if it knows all the actions, and otherwise resolves them with a single call to SAM,
+     * like {@link #getActionsForWorkflows(User, Collection)}.
+     */
     @Override
     public List<Role.Action> getActionsForWorkflow(User user, Workflow workflow) {
-        List<Role.Action> list = new ArrayList<>();
-        if (workflow.getUsers().contains(user) || canDoAction(user, workflow, Role.Action.SHARE)) {
-            // Shortcut to avoid multiple calls; if we can share, we're an owner and can do all actions
-            list.addAll(Arrays.asList(Role.Action.values()));
-        } else if (canDoAction(user, workflow, Role.Action.WRITE)) {
-            // If we can write, we can read
-            list.add(Role.Action.WRITE);
-            list.add(Role.Action.READ);
-        } else if (canDoAction(user, workflow, Role.Action.READ)) {
-            list.add(Role.Action.READ);
+        if (workflow.getUsers().contains(user)) {
+            return Arrays.asList(Role.Action.values());
+        }
+        final Optional<List<Role.Action>> cached = cachedActions(user, workflow.getWorkflowPath());
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        return getActionsForWorkflows(user, List.of(workflow)).get(workflow.getWorkflowPath());
+    }
+
+    /**
+     * @return the actions the user can perform on the workflow, or empty if the decision cache doesn't know all of them
+     */
+    private Optional<List<Role.Action>> cachedActions(User user, String workflowPath) {
+        final Optional<String> email = userIdForSharing(user);
+        if (email.isEmpty()) {
+            return Optional.empty();
+        }
+        final List<Role.Action> actions = new ArrayList<>();
+        for (Role.Action action : Role.Action.values()) {
+            final Boolean allowed = decisions.getIfPresent(new Decision(email.get(), workflowPath, action));
+            if (allowed == null) {
+                return Optional.empty();
+            }
+            if (allowed) {
+                actions.add(action);
+            }
+        }
+        return Optional.of(actions);
+    }
+
+    /**
+     * Resolves the actions for all the workflows with a single call to SAM, listing the resources that the user has a policy on.
+     * The answers are remembered, so that checks of individual actions on these workflows don't need to call SAM again.
+     *
+     * @param user
+     * @param workflows
+     * @return a map of workflow paths to the allowed actions on that workflow
+     */
+    @Override
+    public Map<String, List<Role.Action>> getActionsForWorkflows(User user, Collection<Workflow> workflows) {
+        final Map<String, Role> samRoles = new HashMap<>();
+        final boolean googleToken = hasGoogleToken(user);
+        if (googleToken) {
+            try {
+                final ResourcesApi resourcesApi = getResourcesApi(user);
+                for (ResourceAndAccessPolicy policy : weedOutDuplicateResourceIds(resourcesApi.listResourcesAndPolicies(SamConstants.RESOURCE_TYPE))) {
+                    final Role role = samPolicyNameToRole(policy.getAccessPolicyName());
+                    if (role != null && policy.getResourceId().startsWith(SamConstants.ENCODED_WORKFLOW_PREFIX)) {
+                        samRoles.put(decodeWorkflowPath(policy.getResourceId()), role);
+                    }
+                }
+            } catch (ApiException e) {
+                if (!userNotAuthorizedForSam(e)) {
+                    LOG.error("Error listing resource actions in SAM", e);
+                    // Don't remember anything about workflows that could not be resolved
+                    return workflows.stream().collect(Collectors.toMap(Workflow::getWorkflowPath,
+                        workflow -> workflow.getUsers().contains(user) ? Arrays.asList(Role.Action.values()) : List.of(), (a, b) -> a));
+                }
+            }
+        }
+        final Map<String, List<Role.Action>> actions = new HashMap<>();
+        for (Workflow workflow : workflows) {
+            final String workflowPath = workflow.getWorkflowPath();
+            final Role role = samRoles.get(workflowPath);
+            if (googleToken) {
+                cacheDecisions(user, workflowPath, role);
+            }
+            if (workflow.getUsers().contains(user)) {
+                actions.put(workflowPath, Arrays.asList(Role.Action.values()));
+            } else {
+                actions.put(workflowPath, role == null ? List.of() : actionsForRole(role));
+            }
         }
-        return list;
+        return actions;
+    }
+
+    private static List<Role.Action> actionsForRole(Role role) {
+        return Arrays.stream(Role.Action.values()).filter(role::hasAction).toList();
+    }
+
+    /**
+     * Remembers what the user can do with a workflow, given their role on it in SAM.
+     *
+     * @param user
+     * @param workflowPath
+     * @param role the user's most privileged role, or null if the user has no policy on the workflow
+     */
+    private void cacheDecisions(User user, String workflowPath, Role role) {
+        userIdForSharing(user).ifPresent(email -> {
+            for (Role.Action action : Role.Action.values()) {
+                decisions.put(new Decision(email, workflowPath, action), role != null && role.hasAction(action));
+            }
+        });
+    }
+
+    private void invalidateDecisions(String workflowPath) {
+        decisions.asMap().keySet().removeIf(decision -> Objects.equals(workflowPath, decision.workflowPath()));
     }
 
     @Override
@@ -362,6 +492,7 @@ public class SamPermissionsImpl implements PermissionsInterface {
                     }
                 }
             }
+            invalidateDecisions(workflow.getWorkflowPath());
         } catch (ApiException e) {
             LOG.error(MessageFormat.format("Error removing {0} from workflow {1}", email, encodedPath), e);
             throw new CustomWebApplicationException("Error removing permissions", e.getCode());
@@ -431,10 +562,18 @@ public class SamPermissionsImpl implements PermissionsInterface {
     @Override
     public boolean canDoAction(User user, Workflow workflow, Role.Action action) {
         if (hasGoogleToken(user)) {
+            final String workflowPath = workflow.getWorkflowPath();
+            final Optional<Decision> decision = userIdForSharing(user).map(email -> new Decision(email, workflowPath, action));
+            final Boolean cached = decision.map(decisions::getIfPresent).orElse(null);
+            if (cached != null) {
+                return cached;
+            }
             try {
                 final ResourcesApi resourcesApi = getResourcesApi(user);
-                final String encodedPath = encodedWorkflowResource(workflow, resourcesApi.getApiClient());
-                return resourcesApi.resourceAction(SamConstants.RESOURCE_TYPE, encodedPath, SamConstants.toSamAction(action));
+                final String encodedPath = encodedWorkflowResource(workflowPath, resourcesApi.getApiClient());
+                final boolean allowed = resourcesApi.resourceAction(SamConstants.RESOURCE_TYPE, encodedPath, SamConstants.toSamAction(action));
+                decision.ifPresent(key -> decisions.put(key, allowed));
+                return allowed;
             } catch (ApiException e) {
                 LOG.error("Error checking for resource action in SAM", e);
             }
@@ -455,6 +594,7 @@ public class SamPermissionsImpl implements PermissionsInterface {
                 for (String resourceId : resourceIds) {
                     resourcesApi.deleteResource(SamConstants.RESOURCE_TYPE, resourceId);
                 }
+                decisions.invalidateAll();
             } catch (ApiException e) {
                 throw new CustomWebApplicationException("Error deleting user", e.getCode());
             }
@@ -529,14 +669,33 @@ public class SamPermissionsImpl implements PermissionsInterface {
     }
 
     /**
-     * Creates a Swagger API client for SAM, with the authorization set to the user's Google
+     * Gets a Swagger API client for SAM, with the authorization set to the user's Google
      * access token. Throws a <code>CustomWebApplicationException</code> if unable to get a valid Google access
      * token, which can occur if the Google refresh token has expired.
+     *
+     * API clients remember the status code and headers of their last response, so each call gets a client of its own. They
+     * are cheap to create, because they send their requests through the shared HTTP client rather than building their own.
      * @param user
      * @return a Swagger API client
      * @throw CustomWebApplicationException
      */
     private ApiClient getApiClient(User user) {
+        return googleAccessToken(user).map(credentials -> {
+            final ApiClient apiClient = new ApiClient() {
+                @Override
+                protected Client buildHttpClient(boolean debugging) {
+                    // the shared HTTP client is set below
+                    return null;
+                }
+            };
+            apiClient.setHttpClient(samHttpClient);
+            apiClient.setBasePath(config.getSamConfiguration().getBasepath());
+            apiClient.setAccessToken(credentials);
+            return apiClient;
+        }).orElseThrow(() -> new CustomWebApplicationException("Could not get Google access token. Try relinking your Google account.", HttpStatus.SC_UNAUTHORIZED));
+    }
+
+    private Client newSamHttpClient() {
         ApiClient apiClient = new ApiClient() {
             @Override
             protected void performAdditionalClientConfiguration(ClientConfig clientConfig) {
@@ -545,16 +704,16 @@ public class SamPermissionsImpl implements PermissionsInterface {
                 clientConfig.property(ClientProperties.SUPPRESS_HTTP_COMPLIANCE_VALIDATION, true);
             }
         };
-        apiClient.setBasePath(config.getSamConfiguration().getBasepath());
-        return googleAccessToken(user).map(credentials -> {
-            apiClient.setAccessToken(credentials);
-            return apiClient;
-        }).orElseThrow(() -> new CustomWebApplicationException("Could not get Google access token. Try relinking your Google account.", HttpStatus.SC_UNAUTHORIZED));
+        return apiClient.getHttpClient();
     }
 
     private String encodedWorkflowResource(Workflow workflow, ApiClient apiClient) {
+        return encodedWorkflowResource(workflow.getWorkflowPath(), apiClient);
+    }
+
+    private String encodedWorkflowResource(String workflowPath, ApiClient apiClient) {
         final StringBuilder sb = new StringBuilder(SamConstants.WORKFLOW_PREFIX);
-        sb.append(workflow.getWorkflowPath());
+        sb.append(workflowPath);
         return apiClient.escapeString(sb.toString());
     }
 
@@ -571,11 +730,17 @@ public class SamPermissionsImpl implements PermissionsInterface {
         }
         Token token = googleToken(user);
         if (token != null) {
+            final String key = Token.hashContent(token.getToken());
+            final String cached = accessTokens.getIfPresent(key);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
             return GoogleHelper.getValidAccessToken(token).map(accessToken -> {
                 if (!accessToken.equals(token.getToken())) {
                     token.setContent(accessToken);
                     tokenDAO.update(token);
                 }
+                accessTokens.put(key, accessToken);
                 return Optional.of(accessToken);
             }).orElse(Optional.empty());
         }
@@ -656,4 +821,9 @@ public class SamPermissionsImpl implements PermissionsInterface {
         return null;
     }
 
+    /**
+     * Whether a user, identified by their email in SAM, can perform an action on a workflow.
+     */
+    private record Decision(String email, String workflowPath, Role.Action action) {
+    }
 }
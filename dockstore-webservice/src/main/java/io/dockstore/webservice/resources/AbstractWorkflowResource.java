@@ -48,6 +48,7 @@ import io.dockstore.webservice.helpers.FileFormatHelper;
 import io.dockstore.webservice.helpers.GitHelper;
 import io.dockstore.webservice.helpers.GitHubHelper;
 import io.dockstore.webservice.helpers.GitHubSourceCodeRepo;
+import io.dockstore.webservice.helpers.GitHubWebhookExecutor;
 import io.dockstore.webservice.helpers.LambdaUrlChecker;
 import io.dockstore.webservice.helpers.LimitHelper;
 import io.dockstore.webservice.helpers.ORCIDHelper;
@@ -57,6 +58,7 @@ import io.dockstore.webservice.helpers.SourceCodeRepoInterface;
 import io.dockstore.webservice.helpers.StateManagerMode;
 import io.dockstore.webservice.helpers.StringInputValidationHelper;
 import io.dockstore.webservice.helpers.TransactionHelper;
+import io.dockstore.webservice.helpers.VersionJsonPrecomputer;
 import io.dockstore.webservice.jdbi.EventDAO;
 import io.dockstore.webservice.jdbi.FileDAO;
 import io.dockstore.webservice.jdbi.FileFormatDAO;
@@ -125,6 +127,8 @@ public abstract class AbstractWorkflowResource<T extends Workflow> implements So
     protected final String bitbucketClientSecret;
     protected final String bitbucketClientID;
     private CheckUrlInterface checkUrlInterface = null;
+    private VersionJsonPrecomputer versionJsonPrecomputer = null;
+    private GitHubWebhookExecutor gitHubWebhookExecutor = null;
 
     public AbstractWorkflowResource(HttpClient client, SessionFactory sessionFactory, EntryResource entryResource,
             DockstoreWebserviceConfiguration configuration) {
@@ -151,6 +155,27 @@ public abstract class AbstractWorkflowResource<T extends Workflow> implements So
         }
     }
 
+    public void setVersionJsonPrecomputer(VersionJsonPrecomputer versionJsonPrecomputer) {
+        this.versionJsonPrecomputer = versionJsonPrecomputer;
+    }
+
+    protected VersionJsonPrecomputer getVersionJsonPrecomputer() {
+        return versionJsonPrecomputer;
+    }
+
+    public void setGitHubWebhookExecutor(GitHubWebhookExecutor gitHubWebhookExecutor) {
+        this.gitHubWebhookExecutor = gitHubWebhookExecutor;
+    }
+
+    /**
+     * Queues the DAG and tool table of versions whose source files changed to be computed once the current transaction commits
+     */
+    protected void precomputeVersionJson(Collection<WorkflowVersion> workflowVersions) {
+        if (versionJsonPrecomputer != null) {
+            versionJsonPrecomputer.submitAfterCommit(workflowVersions);
+        }
+    }
+
     protected SourceCodeRepoInterface getSourceCodeRepoInterface(String gitUrl, User user) {
         SourceControl sourceControl = SourceCodeRepoFactory.mapGitUrlToSourceCodeRepo(gitUrl);
         SourceCodeRepoInterface sourceCodeRepo = createSourceCodeRepo(user, sourceControl, tokenDAO, client, bitbucketClientID, bitbucketClientSecret);
@@ -190,6 +215,7 @@ public abstract class AbstractWorkflowResource<T extends Workflow> implements So
         }
 
         // Then copy over content that changed (ignore versions that have not changed)
+        List<WorkflowVersion> changedVersions = new ArrayList<>();
         newWorkflow.getWorkflowVersions().stream()
                 .filter(workflowVersion -> !Objects.equals(SKIP_COMMIT_ID, workflowVersion.getCommitID()))
                 .forEach(version -> {
@@ -215,7 +241,9 @@ public abstract class AbstractWorkflowResource<T extends Workflow> implements So
                     workflowVersionFromDB.setDagJson(null);
 
                     updateDBVersionSourceFilesWithRemoteVersionSourceFiles(workflowVersionFromDB, version, newWorkflow.getDescriptorType());
+                    changedVersions.add(workflowVersionFromDB);
                 });
+        precomputeVersionJson(changedVersions);
     }
 
     /**
@@ -228,14 +256,18 @@ public abstract class AbstractWorkflowResource<T extends Workflow> implements So
      */
     private WorkflowVersion updateDBVersionSourceFilesWithRemoteVersionSourceFiles(WorkflowVersion existingVersion, WorkflowVersion remoteVersion,
         final DescriptorLanguage descriptorType) {
-        // Update source files for each version
+        // Update source files for each version, matching files by type and path in a single pass over each side.
+        // New files are only persisted here; their ids come from the pooled sequence and the inserts and join table
+        // changes are sent as JDBC batches when the session flushes
         Map<String, SourceFile> existingFileMap = new HashMap<>();
-        existingVersion.getSourceFiles().forEach(file -> existingFileMap.put(file.getType().toString() + file.getAbsolutePath(), file));
+        existingVersion.getSourceFiles().forEach(file -> existingFileMap.put(sourceFileKey(file), file));
+        Set<String> remoteFileKeys = new HashSet<>();
 
         for (SourceFile file : remoteVersion.getSourceFiles()) {
-            String fileKey = file.getType().toString() + file.getAbsolutePath();
+            String fileKey = sourceFileKey(file);
+            remoteFileKeys.add(fileKey);
             SourceFile existingFile = existingFileMap.get(fileKey);
-            if (existingFileMap.containsKey(fileKey)) {
+            if (existingFile != null) {
                 // if the file is the primary descriptor and is about to change, then the ai topic sentence is dirty
                 if (file.getAbsolutePath().equals(remoteVersion.getWorkflowPath()) && !existingFile.getContent().equals(file.getContent())) {
                     // when a branch is updated, it could have different contents for consideration
@@ -243,24 +275,13 @@ public abstract class AbstractWorkflowResource<T extends Workflow> implements So
                 }
                 existingFile.updateFrom(file);
             } else {
-                final long fileID = fileDAO.create(file);
-                final SourceFile fileFromDB = fileDAO.findById(fileID);
-                existingVersion.getSourceFiles().add(fileFromDB);
+                fileDAO.create(file);
+                existingVersion.getSourceFiles().add(file);
             }
         }
 
         // Remove existing files that are no longer present on remote
-        for (Map.Entry<String, SourceFile> entry : existingFileMap.entrySet()) {
-            boolean toDelete = true;
-            for (SourceFile file : remoteVersion.getSourceFiles()) {
-                if (entry.getKey().equals(file.getType().toString() + file.getAbsolutePath())) {
-                    toDelete = false;
-                }
-            }
-            if (toDelete) {
-                existingVersion.getSourceFiles().remove(entry.getValue());
-            }
-        }
+        existingVersion.getSourceFiles().removeIf(file -> !remoteFileKeys.contains(sourceFileKey(file)));
 
         // Update the validations
         for (Validation versionValidation : remoteVersion.getValidations()) {
@@ -275,6 +296,10 @@ public abstract class AbstractWorkflowResource<T extends Workflow> implements So
         return existingVersion;
     }
 
+    private static String sourceFileKey(SourceFile file) {
+        return file.getType().toString() + file.getAbsolutePath();
+    }
+
     /**
      * Sets the publicly accessible URL version metadata.
      * <ul>
@@ -503,6 +528,28 @@ public abstract class AbstractWorkflowResource<T extends Workflow> implements So
         }
     }
 
+    /**
+     * Handles a push webhook like {@link #githubWebhookRelease}, but in the background if webhooks are configured to be processed asynchronously.
+     * A queued push replaces an earlier push to the same reference that is still waiting, which is then recorded as ignored. Pushes can
+     * arrive out of order, so the replaced push may have been the newer one; a push that replaced another is therefore processed at
+     * the current head of the reference, rather than only if its "after" commit is still the head.
+     * The outcome is recorded as lambda events either way, but failures of a queued push are not reported back to the caller.
+     */
+    protected void queueGithubWebhookRelease(String repository, GitHubUsernames gitHubUsernames, String gitReference, long installationId, String deliveryId, String afterCommit) {
+        if (gitHubWebhookExecutor == null) {
+            githubWebhookRelease(repository, gitHubUsernames, gitReference, installationId, deliveryId, afterCommit, true);
+            return;
+        }
+        final GitHubWebhookExecutor.Delivery delivery = new GitHubWebhookExecutor.Delivery(installationId, repository, gitReference, deliveryId,
+            () -> githubWebhookRelease(repository, gitHubUsernames, gitReference, installationId, deliveryId, afterCommit, false),
+            () -> githubWebhookRelease(repository, gitHubUsernames, gitReference, installationId, deliveryId, null, false),
+            () -> lambdaEventDAO.create(createIgnoredEvent(repository, gitReference, gitHubUsernames.sender(), LambdaEvent.LambdaEventType.PUSH, deliveryId)));
+        if (!gitHubWebhookExecutor.submit(delivery)) {
+            // 5xx tells lambda to retry later
+            throw new CustomWebApplicationException("Too many GitHub webhook deliveries are waiting to be processed, please try again later", HttpStatus.SC_SERVICE_UNAVAILABLE);
+        }
+    }
+
     private void setEventMessage(LambdaEvent lambdaEvent, String message) {
         String strippedMessage = StringUtils.stripEnd(message, "\n");
         if (StringUtils.isNotEmpty(strippedMessage)) {
@@ -1095,6 +1142,7 @@ public abstract class AbstractWorkflowResource<T extends Workflow> implements So
 
                     updateDBVersionSourceFilesWithRemoteVersionSourceFiles(existingWorkflowVersion, remoteWorkflowVersion,
                             workflow.getDescriptorType());
+                    precomputeVersionJson(List.of(existingWorkflowVersion));
                 }
                 updatedWorkflowVersion = existingWorkflowVersion;
             } else {
@@ -1103,6 +1151,7 @@ public abstract class AbstractWorkflowResource<T extends Workflow> implements So
                 }
                 workflow.addWorkflowVersion(remoteWorkflowVersion);
                 updatedWorkflowVersion = remoteWorkflowVersion;
+                precomputeVersionJson(List.of(remoteWorkflowVersion));
             }
 
             if (workflow.getLastModified() == null || (updatedWorkflowVersion.getLastModified() != null && workflow.getLastModifiedDate().before(updatedWorkflowVersion.getLastModified()))) {
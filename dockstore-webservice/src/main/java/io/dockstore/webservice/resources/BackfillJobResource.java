@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.resources;
+
+import static io.dockstore.webservice.resources.ResourceConstants.JWT_SECURITY_DEFINITION_NAME;
+
+import com.codahale.metrics.annotation.Timed;
+import io.dockstore.webservice.CustomWebApplicationException;
+import io.dockstore.webservice.core.BackfillJob;
+import io.dockstore.webservice.core.User;
+import io.dockstore.webservice.helpers.BackfillJobExecutor;
+import io.dockstore.webservice.jdbi.BackfillJobDAO;
+import io.dropwizard.auth.Auth;
+import io.dropwizard.hibernate.UnitOfWork;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.Authorization;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import java.util.List;
+import org.apache.http.HttpStatus;
+import org.hibernate.SessionFactory;
+
+/**
+ * Starts and reports on the admin backfill jobs that go through all entries or users in the background, see {@link BackfillJobExecutor}.
+ */
+@Path("/backfillJobs")
+@Api("backfillJobs")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Backfill Jobs")
+public class BackfillJobResource implements AuthenticatedResourceInterface {
+    private static final int MAX_JOBS = 100;
+
+    private final BackfillJobDAO backfillJobDAO;
+    private final BackfillJobExecutor backfillJobExecutor;
+
+    public BackfillJobResource(SessionFactory sessionFactory, BackfillJobExecutor backfillJobExecutor) {
+        this.backfillJobDAO = new BackfillJobDAO(sessionFactory);
+        this.backfillJobExecutor = backfillJobExecutor;
+    }
+
+    @POST
+    @Timed
+    @RolesAllowed({ "admin" })
+    @Operation(operationId = "submitBackfillJob", summary = "Start a backfill job in the background, admin only", security = @SecurityRequirement(name = JWT_SECURITY_DEFINITION_NAME))
+    @ApiOperation(value = "Start a backfill job in the background, admin only", authorizations = {
+        @Authorization(value = JWT_SECURITY_DEFINITION_NAME)}, response = BackfillJob.class)
+    @ApiResponse(responseCode = HttpStatus.SC_OK + "", description = "The job that was started", content = @Content(schema = @Schema(implementation = BackfillJob.class)))
+    @ApiResponse(responseCode = HttpStatus.SC_BAD_REQUEST + "", description = "The type of job is not available on this server")
+    @ApiResponse(responseCode = HttpStatus.SC_FORBIDDEN + "", description = "Forbidden")
+    @ApiResponse(responseCode = HttpStatus.SC_UNAUTHORIZED + "", description = "Unauthorized")
+    public BackfillJob submitBackfillJob(@ApiParam(hidden = true) @Parameter(hidden = true, name = "user") @Auth User user,
+            @ApiParam(value = "What the job does", required = true)
+            @Parameter(description = "What the job does", name = "type", in = ParameterIn.QUERY, required = true) @QueryParam("type") BackfillJob.Type type,
+            @ApiParam(value = "Whether to process all versions or only versions that have not been processed before", defaultValue = "false")
+            @Parameter(description = "Whether to process all versions or only versions that have not been processed before", name = "allVersions", in = ParameterIn.QUERY)
+            @QueryParam("allVersions") @DefaultValue("false") boolean allVersions) {
+        if (type == null) {
+            throw new CustomWebApplicationException("The type of job is required.", HttpStatus.SC_BAD_REQUEST);
+        }
+        return backfillJobExecutor.submit(type, allVersions);
+    }
+
+    @GET
+    @Timed
+    @UnitOfWork(readOnly = true)
+    @RolesAllowed({ "admin" })
+    @Operation(operationId = "getBackfillJobs", summary = "Get the most recent backfill jobs, admin only", security = @SecurityRequirement(name = JWT_SECURITY_DEFINITION_NAME))
+    @ApiOperation(value = "Get the most recent backfill jobs, admin only", authorizations = {
+        @Authorization(value = JWT_SECURITY_DEFINITION_NAME)}, response = BackfillJob.class, responseContainer = "List")
+    @ApiResponse(responseCode = HttpStatus.SC_OK + "", description = "OK", content = @Content(array = @ArraySchema(schema = @Schema(implementation = BackfillJob.class))))
+    @ApiResponse(responseCode = HttpStatus.SC_FORBIDDEN + "", description = "Forbidden")
+    @ApiResponse(responseCode = HttpStatus.SC_UNAUTHORIZED + "", description = "Unauthorized")
+    public List<BackfillJob> getBackfillJobs(@ApiParam(hidden = true) @Parameter(hidden = true, name = "user") @Auth User user) {
+        return backfillJobDAO.findRecent(MAX_JOBS);
+    }
+
+    @GET
+    @Timed
+    @UnitOfWork(readOnly = true)
+    @Path("/{jobId}")
+    @RolesAllowed({ "admin" })
+    @Operation(operationId = "getBackfillJob", summary = "Get the status and throughput of a backfill job, admin only", security = @SecurityRequirement(name = JWT_SECURITY_DEFINITION_NAME))
+    @ApiOperation(value = "Get the status and throughput of a backfill job, admin only", authorizations = {
+        @Authorization(value = JWT_SECURITY_DEFINITION_NAME)}, response = BackfillJob.class)
+    @ApiResponse(responseCode = HttpStatus.SC_OK + "", description = "OK", content = @Content(schema = @Schema(implementation = BackfillJob.class)))
+    @ApiResponse(responseCode = HttpStatus.SC_NOT_FOUND + "", description = "Not Found")
+    @ApiResponse(responseCode = HttpStatus.SC_FORBIDDEN + "", description = "Forbidden")
+    @ApiResponse(responseCode = HttpStatus.SC_UNAUTHORIZED + "", description = "Unauthorized")
+    public BackfillJob getBackfillJob(@ApiParam(hidden = true) @Parameter(hidden = true, name = "user") @Auth User user,
+            @ApiParam(value = "ID of the job", required = true) @Parameter(description = "ID of the job", name = "jobId", in = ParameterIn.PATH, required = true) @PathParam("jobId") long jobId) {
+        final BackfillJob job = backfillJobDAO.findById(jobId);
+        if (job == null) {
+            throw new CustomWebApplicationException("Backfill job " + jobId + " not found.", HttpStatus.SC_NOT_FOUND);
+        }
+        return job;
+    }
+}
@@ -479,6 +479,7 @@ public class CollectionResource implements AuthenticatedResourceInterface, Alias
             .withType(Event.EventType.CREATE_COLLECTION)
             .build();
         eventDAO.create(createCollectionEvent);
+        PublicStateManager.getInstance().getSitemapListener().invalidateOrganizations();
 
         return collectionDAO.findById(id);
     }
@@ -539,6 +540,7 @@ public class CollectionResource implements AuthenticatedResourceInterface, Alias
         if (existingCollection instanceof Category) {
             reindexEntries(existingCollection);
         }
+        PublicStateManager.getInstance().getSitemapListener().invalidateOrganizations();
 
         return collectionDAO.findById(collectionId);
 
@@ -593,6 +595,7 @@ public class CollectionResource implements AuthenticatedResourceInterface, Alias
 
         Event deleteCollectionEvent = eventBuild.build();
         eventDAO.create(deleteCollectionEvent);
+        PublicStateManager.getInstance().getSitemapListener().invalidateOrganizations();
     }
 
     @PUT
@@ -150,6 +150,7 @@ public class DockerRepoResource
     private final WorkflowResource workflowResource;
     private final EntryResource entryResource;
     private final SessionFactory sessionFactory;
+    private final long estimatedCountThreshold;
 
     public DockerRepoResource(final HttpClient client, final SessionFactory sessionFactory, final DockstoreWebserviceConfiguration configuration,
         final WorkflowResource workflowResource, final EntryResource entryResource) {
@@ -168,6 +169,7 @@ public class DockerRepoResource
         this.bitbucketClientID = configuration.getBitbucketClientID();
         this.bitbucketClientSecret = configuration.getBitbucketClientSecret();
         this.dashboardPrefix = configuration.getDashboard();
+        this.estimatedCountThreshold = configuration.getEntrySearchConfig().getEstimatedCountThreshold();
 
         this.workflowResource = workflowResource;
         this.entryResource = entryResource;
@@ -796,7 +798,7 @@ public class DockerRepoResource
         List<Tool> tools = toolDAO.findAllPublished(offset, limit, filter, sortCol, sortOrder);
         filterContainersForHiddenTags(tools);
         stripContent(tools);
-        response.addHeader(LambdaEventResource.X_TOTAL_COUNT, String.valueOf(toolDAO.countAllPublished(Optional.of(filter))));
+        response.addHeader(LambdaEventResource.X_TOTAL_COUNT, String.valueOf(toolDAO.estimateAllPublished(Optional.of(filter), null, estimatedCountThreshold)));
         response.addHeader(LambdaEventResource.ACCESS_CONTROL_EXPOSE_HEADERS, LambdaEventResource.X_TOTAL_COUNT);
         return tools;
     }
@@ -19,18 +19,17 @@ package io.dockstore.webservice.resources;
 
 import com.codahale.metrics.health.HealthCheck;
 import io.dockstore.webservice.helpers.ElasticSearchHelper;
+import io.dockstore.webservice.helpers.statelisteners.ElasticListener;
 import io.dockstore.webservice.jdbi.AppToolDAO;
 import io.dockstore.webservice.jdbi.BioWorkflowDAO;
 import io.dockstore.webservice.jdbi.EntryDAO;
 import io.dockstore.webservice.jdbi.NotebookDAO;
 import io.dockstore.webservice.jdbi.ToolDAO;
 import io.dropwizard.hibernate.UnitOfWork;
-import java.io.IOException;
-import org.apache.http.HttpStatus;
-import org.elasticsearch.client.RequestOptions;
-import org.elasticsearch.client.RestHighLevelClient;
-import org.elasticsearch.client.core.CountRequest;
-import org.elasticsearch.client.core.CountResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class ElasticsearchConsistencyHealthCheck extends HealthCheck  {
     private ToolDAO toolDAO;
@@ -45,17 +44,20 @@ public class ElasticsearchConsistencyHealthCheck extends HealthCheck  {
         this.notebookDAO = notebookDAO;
     }
 
-    private long countElasticsearchDocuments(String index) throws IOException {
-        RestHighLevelClient client = ElasticSearchHelper.restHighLevelClient();
-        CountRequest countRequest = new CountRequest(index);
-        CountResponse countResponse = client.count(countRequest, RequestOptions.DEFAULT);
-        if (countResponse.status().getStatus() != HttpStatus.SC_OK) {
-            throw new RuntimeException("Non-OK response to Elasticsearch request");
-        }
-        return countResponse.getCount();
+    /**
+     * Counts the published entries in the database that belong in each Elasticsearch index.
+     * Checkers aren't indexed on Elasticsearch so they aren't included.
+     * @return a map from index alias to the number of entries that it should contain
+     */
+    public static Map<String, Long> countPublishedEntriesByIndex(ToolDAO toolDAO, BioWorkflowDAO bioWorkflowDAO, AppToolDAO appToolDAO, NotebookDAO notebookDAO) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put(ElasticListener.WORKFLOWS_INDEX, countAllPublishedNonCheckers(bioWorkflowDAO));
+        counts.put(ElasticListener.TOOLS_INDEX, countAllPublishedNonCheckers(toolDAO) + countAllPublishedNonCheckers(appToolDAO));
+        counts.put(ElasticListener.NOTEBOOKS_INDEX, countAllPublishedNonCheckers(notebookDAO));
+        return counts;
     }
 
-    private long countAllPublishedNonCheckers(EntryDAO<?> dao) {
+    private static long countAllPublishedNonCheckers(EntryDAO<?> dao) {
         return dao.countAllPublished(null, null, null, null, null, null, null, false);
     }
 
@@ -63,15 +65,25 @@ public class ElasticsearchConsistencyHealthCheck extends HealthCheck  {
     @Override
     protected Result check() throws Exception {
 
-        // Retrieve database entry counts.  Checkers aren't indexed on Elasticsearch so don't include them.
-        long dbWorkflowCount = countAllPublishedNonCheckers(bioWorkflowDAO);
-        long dbToolCount = countAllPublishedNonCheckers(toolDAO) + countAllPublishedNonCheckers(appToolDAO);
-        long dbNotebookCount = countAllPublishedNonCheckers(notebookDAO);
+        // A reindex loads a new version of each index and then swaps the alias over to it, so each alias should point at exactly one index.
+        // Anything else means that a swap never happened, for example because the indices predate versioning or a reindex was interrupted.
+        for (String alias : List.of(ElasticListener.WORKFLOWS_INDEX, ElasticListener.TOOLS_INDEX, ElasticListener.NOTEBOOKS_INDEX)) {
+            Set<String> indices = ElasticSearchHelper.getAliasedIndices(alias);
+            if (indices.size() != 1) {
+                return Result.unhealthy(String.format("Elasticsearch alias %s points to %s instead of a single index, a reindex is needed", alias, indices));
+            }
+        }
+
+        // Retrieve database entry counts.
+        Map<String, Long> dbCounts = countPublishedEntriesByIndex(toolDAO, bioWorkflowDAO, appToolDAO, notebookDAO);
+        long dbWorkflowCount = dbCounts.get(ElasticListener.WORKFLOWS_INDEX);
+        long dbToolCount = dbCounts.get(ElasticListener.TOOLS_INDEX);
+        long dbNotebookCount = dbCounts.get(ElasticListener.NOTEBOOKS_INDEX);
 
         // Retrieve Elasticsearch document counts.
-        long esWorkflowCount = countElasticsearchDocuments("workflows");
-        long esToolCount = countElasticsearchDocuments("tools");
-        long esNotebookCount = countElasticsearchDocuments("notebooks");
+        long esWorkflowCount = ElasticSearchHelper.countDocuments(ElasticListener.WORKFLOWS_INDEX);
+        long esToolCount = ElasticSearchHelper.countDocuments(ElasticListener.TOOLS_INDEX);
+        long esNotebookCount = ElasticSearchHelper.countDocuments(ElasticListener.NOTEBOOKS_INDEX);
 
         // Return the appropriate result.
         if (esWorkflowCount == dbWorkflowCount
@@ -24,6 +24,7 @@ import io.dockstore.common.DescriptorLanguage;
 import io.dockstore.webservice.CustomWebApplicationException;
 import io.dockstore.webservice.DockstoreWebserviceConfiguration;
 import io.dockstore.webservice.api.SyncStatus;
+import io.dockstore.webservice.core.BackfillJob;
 import io.dockstore.webservice.core.Category;
 import io.dockstore.webservice.core.CollectionOrganization;
 import io.dockstore.webservice.core.DescriptionMetrics;
@@ -39,6 +40,7 @@ import io.dockstore.webservice.core.Version;
 import io.dockstore.webservice.core.Workflow;
 import io.dockstore.webservice.core.WorkflowMode;
 import io.dockstore.webservice.core.database.VersionVerifiedPlatform;
+import io.dockstore.webservice.helpers.BackfillJobExecutor;
 import io.dockstore.webservice.helpers.LambdaUrlChecker;
 import io.dockstore.webservice.helpers.ORCIDHelper;
 import io.dockstore.webservice.helpers.PublicStateManager;
@@ -669,6 +671,43 @@ public class EntryResource implements AuthenticatedResourceInterface, AliasableR
         return processedEntries;
     }
 
+    /**
+     * Lets admins run updateLanguageVersions and updateOpenData as background jobs, see {@link BackfillJobExecutor}.
+     * Tools and workflows are partitioned by the same id range.
+     */
+    public void registerBackfillTasks(BackfillJobExecutor backfillJobExecutor) {
+        backfillJobExecutor.register(BackfillJob.Type.LANGUAGE_VERSIONS, new BackfillJobExecutor.BackfillTask() {
+            @Override
+            public long findMaxId() {
+                return Math.max(toolDAO.findMaxId(), workflowDAO.findMaxId());
+            }
+
+            @Override
+            public int process(long startId, long endId, boolean allVersions) {
+                final List<Tool> tools = toolDAO.findToolsByIdRange(startId, endId);
+                processLegacyToolsForLanguageVersions.apply(tools, allVersions);
+                final List<Workflow> workflows = workflowDAO.findWorkflowsByIdRange(startId, endId);
+                processWorkflowsForLanguageVersions.apply(workflows, allVersions);
+                return tools.size() + workflows.size();
+            }
+        });
+        if (lambdaUrlChecker != null) {
+            backfillJobExecutor.register(BackfillJob.Type.OPEN_DATA, new BackfillJobExecutor.BackfillTask() {
+                @Override
+                public long findMaxId() {
+                    return workflowDAO.findMaxId();
+                }
+
+                @Override
+                public int process(long startId, long endId, boolean allVersions) {
+                    final List<Workflow> workflows = workflowDAO.findWorkflowsByIdRange(startId, endId);
+                    processWorkflowsForOpenData.apply(workflows, allVersions);
+                    return workflows.size();
+                }
+            });
+        }
+    }
+
     /**
      * Loads and processes entries in batches, committing each batch as it goes along. The batch
      * size is {@link #PROCESSOR_PAGE_SIZE}
@@ -21,9 +21,7 @@ import static io.dockstore.webservice.resources.ResourceConstants.JWT_SECURITY_D
 
 import com.codahale.metrics.annotation.Timed;
 import io.dockstore.webservice.CustomWebApplicationException;
-import io.dockstore.webservice.core.Entry;
 import io.dockstore.webservice.core.Event;
-import io.dockstore.webservice.core.Organization;
 import io.dockstore.webservice.core.User;
 import io.dockstore.webservice.jdbi.EventDAO;
 import io.dockstore.webservice.jdbi.UserDAO;
@@ -54,8 +52,6 @@ import jakarta.ws.rs.core.MediaType;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 import org.apache.http.HttpStatus;
 import org.hibernate.Hibernate;
 
@@ -74,6 +70,7 @@ public class EventResource {
     private static final String PAGINATION_DEFAULT_STRING = "10";
     private static final String SUMMARY = "Get events based on filters.";
     private static final String DESCRIPTION = "Requires authentication.";
+    private static final String BEFORE_DESCRIPTION = "Only return events older than the event with this id, usually the last event of the previous page. Faster than offset for deep pages.";
     private final EventDAO eventDAO;
     private final UserDAO userDAO;
 
@@ -98,9 +95,10 @@ public class EventResource {
     public List<Event> getEvents(@Parameter(hidden = true) @ApiParam(hidden = true) @Auth User user,
                                  @NotNull @QueryParam("eventSearchType") EventSearchType eventSearchType,
                                  @Min(1) @Max(MAX_LIMIT) @DefaultValue(PAGINATION_DEFAULT_STRING) @ApiParam(defaultValue = PAGINATION_DEFAULT_STRING, allowableValues = PAGINATION_RANGE) @Parameter(schema = @Schema(maximum = "100", minimum = "1")) @QueryParam("limit") Integer limit,
-                                 @QueryParam("offset") @DefaultValue("0") Integer offset) {
+                                 @QueryParam("offset") @DefaultValue("0") Integer offset,
+                                 @Parameter(description = BEFORE_DESCRIPTION) @ApiParam(value = BEFORE_DESCRIPTION) @QueryParam("before") Long before) {
         User userWithSession = this.userDAO.findById(user.getId());
-        return getEventsForUser(userWithSession, userWithSession, eventSearchType, limit, offset);
+        return getEventsForUser(userWithSession, userWithSession, eventSearchType, limit, offset, before);
     }
 
     @GET
@@ -115,10 +113,11 @@ public class EventResource {
                                      @ApiParam(value = "User ID", required = true) @PathParam("userId") Long userId,
                                      @NotNull @QueryParam("eventSearchType") EventSearchType eventSearchType,
                                      @Min(1) @Max(MAX_LIMIT) @DefaultValue(PAGINATION_DEFAULT_STRING) @ApiParam(defaultValue = PAGINATION_DEFAULT_STRING, allowableValues = PAGINATION_RANGE) @Parameter(schema = @Schema(maximum = "100", minimum = "1")) @QueryParam("limit") Integer limit,
-                                     @QueryParam("offset") @DefaultValue("0") Integer offset) {
+                                     @QueryParam("offset") @DefaultValue("0") Integer offset,
+                                     @Parameter(description = BEFORE_DESCRIPTION) @ApiParam(value = BEFORE_DESCRIPTION) @QueryParam("before") Long before) {
         User user = this.userDAO.findById(userId);
         checkUserExists(user);
-        return getEventsForUser(user, loggedInUser.orElse(null), eventSearchType, limit, offset);
+        return getEventsForUser(user, loggedInUser.orElse(null), eventSearchType, limit, offset, before);
     }
 
 
@@ -128,45 +127,20 @@ public class EventResource {
      * @param eventSearchType The types of events
      * @param limit Event list limit
      * @param offset Event list offset
+     * @param before Only events with an id below this one, null for the newest events
      * @return A list of events
      */
-    private List<Event> getEventsForUser(User user, User loggedInUser, EventSearchType eventSearchType, int limit, Integer offset) {
-        switch (eventSearchType) {
-        case STARRED_ENTRIES -> {
-            Set<Long> entryIDs = user.getStarredEntries().stream().map(Entry::getId).collect(Collectors.toSet());
-            List<Event> eventsByEntryIDs = this.eventDAO.findEventsByEntryIDs(loggedInUser, entryIDs, offset, limit);
-            eagerLoadEventEntries(eventsByEntryIDs);
-            return eventsByEntryIDs;
-        }
-        case STARRED_ORGANIZATION -> {
-            Set<Long> organizationIDs = user.getStarredOrganizations().stream().map(Organization::getId).collect(Collectors.toSet());
-            List<Event> allByOrganizationIds = this.eventDAO.findAllByOrganizationIds(loggedInUser, organizationIDs, offset, limit);
-            eagerLoadEventEntries(allByOrganizationIds);
-            return allByOrganizationIds;
-        }
-        case ALL_STARRED -> {
-            Set<Long> organizationIDs2 = user.getStarredOrganizations().stream().map(Organization::getId).collect(Collectors.toSet());
-            Set<Long> entryIDs2 = user.getStarredEntries().stream().map(Entry::getId).collect(Collectors.toSet());
-            List<Event> allByOrganizationIdsOrEntryIds = this.eventDAO
-                    .findAllByOrganizationIdsOrEntryIds(loggedInUser, organizationIDs2, entryIDs2, offset, limit);
-            eagerLoadEventEntries(allByOrganizationIdsOrEntryIds);
-            return allByOrganizationIdsOrEntryIds;
-        }
-        case PROFILE -> {
-            List<Event> eventsByUserID = this.eventDAO.findEventsForInitiatorUser(loggedInUser, user.getId(), offset, limit);
-            eagerLoadEventEntries(eventsByUserID);
-            return eventsByUserID;
-        }
-        case SELF_ORGANIZATIONS -> {
-            Set<Long> organizationIDs = user.getOrganizations().stream().map(u -> u.getOrganization().getId()).collect(Collectors.toSet());
-            List<Event> allByOrganizationIds = this.eventDAO.findAllByOrganizationIds(loggedInUser, organizationIDs, offset, limit);
-            eagerLoadEventEntries(allByOrganizationIds);
-            return allByOrganizationIds;
-        }
-        default -> {
-            return Collections.emptyList();
-        }
-        }
+    private List<Event> getEventsForUser(User user, User loggedInUser, EventSearchType eventSearchType, int limit, Integer offset, Long before) {
+        List<Event> events = switch (eventSearchType) {
+        case STARRED_ENTRIES -> this.eventDAO.findEventsForStarredEntries(loggedInUser, user.getId(), before, offset, limit);
+        case STARRED_ORGANIZATION -> this.eventDAO.findEventsForStarredOrganizations(loggedInUser, user.getId(), before, offset, limit);
+        case ALL_STARRED -> this.eventDAO.findEventsForAllStarred(loggedInUser, user.getId(), before, offset, limit);
+        case PROFILE -> this.eventDAO.findEventsForInitiatorUser(loggedInUser, user.getId(), before, offset, limit);
+        case SELF_ORGANIZATIONS -> this.eventDAO.findEventsForOwnOrganizations(loggedInUser, user.getId(), before, offset, limit);
+        default -> Collections.emptyList();
+        };
+        eagerLoadEventEntries(events);
+        return events;
     }
 
     private void eagerLoadEventEntries(List<Event> events) {
@@ -18,12 +18,11 @@ package io.dockstore.webservice.resources;
 
 import static io.dockstore.webservice.DockstoreWebserviceApplication.getOkHttpClient;
 import static io.dockstore.webservice.helpers.GitHubSourceCodeRepo.GITHUB_MAX_CACHE_AGE_SECONDS;
-import static io.dockstore.webservice.helpers.statelisteners.RSSListener.RSS_KEY;
-import static io.dockstore.webservice.helpers.statelisteners.SitemapListener.SITEMAP_KEY;
 
 import com.codahale.metrics.annotation.Timed;
 import com.codahale.metrics.health.HealthCheck;
 import com.codahale.metrics.health.HealthCheckRegistry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.github.zafarkhaja.semver.UnexpectedCharacterException;
 import com.github.zafarkhaja.semver.expr.LexerException;
 import com.github.zafarkhaja.semver.expr.UnexpectedTokenException;
@@ -51,6 +50,7 @@ import io.dockstore.webservice.core.database.RSSAppToolPath;
 import io.dockstore.webservice.core.database.RSSNotebookPath;
 import io.dockstore.webservice.core.database.RSSToolPath;
 import io.dockstore.webservice.core.database.RSSWorkflowPath;
+import io.dockstore.webservice.helpers.CommitFileCache;
 import io.dockstore.webservice.helpers.MetadataResourceHelper;
 import io.dockstore.webservice.helpers.PublicStateManager;
 import io.dockstore.webservice.helpers.statelisteners.RSSListener;
@@ -100,7 +100,7 @@ import java.time.Year;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -116,7 +116,6 @@ import java.util.stream.StreamSupport;
 import okhttp3.Cache;
 import okhttp3.OkHttpClient;
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
 import org.hibernate.SessionFactory;
 import org.json.JSONArray;
@@ -178,38 +177,33 @@ public class MetadataResource {
     @UnitOfWork(readOnly = true)
     @Path("sitemap")
     @Operation(summary = "List all available workflow, tool, organization, and collection paths.", description = "List all available workflow, tool, organization, and collection paths. Available means published for tools/workflows, and approved for organizations and their respective collections. NO authentication")
-    @ApiOperation(value = "List all available workflow, tool, organization, and collection paths.", notes = "List all available workflow, tool, organization, and collection paths. Available means published for tools/workflows, and approved for organizations and their respective collections.")
-    public String sitemap() {
+    @ApiResponse(description = "default response", content = @Content(schema = @Schema(implementation = String.class)))
+    @ApiOperation(value = "List all available workflow, tool, organization, and collection paths.", notes = "List all available workflow, tool, organization, and collection paths. Available means published for tools/workflows, and approved for organizations and their respective collections.", response = String.class)
+    public Response sitemap(@Context ContainerRequestContext containerRequestContext) {
         try {
-            SortedSet<String> sitemap = sitemapListener.getCache().get(SITEMAP_KEY, (k) -> getSitemap());
-            return String.join(System.lineSeparator(), sitemap);
+            return sitemapListener.getSitemap(this::getEntryPaths, this::getOrganizationAndCollectionPaths).toResponse(containerRequestContext);
         } catch (RuntimeException e) {
+            LOG.error("runtime exception on sitemap call:", e);
             throw new CustomWebApplicationException("Sitemap cache problems", HttpStatus.SC_INTERNAL_SERVER_ERROR);
         }
     }
 
-    public SortedSet<String> getSitemap() {
+    private SortedSet<String> getEntryPaths() {
         SortedSet<String> urls = new TreeSet<>();
         urls.addAll(getToolPaths());
         urls.addAll(getBioWorkflowPaths());
         urls.addAll(getAppToolPaths());
-        urls.addAll(getOrganizationAndCollectionPaths());
         urls.addAll(getNotebookPaths());
         return urls;
     }
 
     /**
      * Adds organization and collection URLs
-     * //TODO needs to be more efficient via JPA query
      */
-    private List<String> getOrganizationAndCollectionPaths() {
-        List<String> urls = new ArrayList<>();
-        List<Organization> organizations = organizationDAO.findAllApproved();
-        organizations.forEach(organization -> {
-            urls.add(createOrganizationURL(organization));
-            List<Collection> collections = collectionDAO.findAllByOrg(organization.getId());
-            collections.stream().map(collection -> createCollectionURL(collection, organization)).forEach(urls::add);
-        });
+    private SortedSet<String> getOrganizationAndCollectionPaths() {
+        SortedSet<String> urls = new TreeSet<>();
+        organizationDAO.findAllApproved().forEach(organization -> urls.add(createOrganizationURL(organization)));
+        collectionDAO.findAllInApprovedOrganizations().forEach(collection -> urls.add(createCollectionURL(collection, collection.getOrganization())));
         return urls;
     }
 
@@ -252,17 +246,18 @@ public class MetadataResource {
     @Path("rss")
     @Produces(MediaType.TEXT_XML)
     @Operation(summary = "List all published tools and workflows in creation order", description = "List all published tools and workflows in creation order, NO authentication")
-    @ApiOperation(value = "List all published tools and workflows in creation order.", notes = "NO authentication")
-    public String rssFeed() {
+    @ApiResponse(description = "default response", content = @Content(schema = @Schema(implementation = String.class)))
+    @ApiOperation(value = "List all published tools and workflows in creation order.", notes = "NO authentication", response = String.class)
+    public Response rssFeed(@Context ContainerRequestContext containerRequestContext) {
         try {
-            return rssListener.getCache().get(RSS_KEY, (k) -> getRSS());
+            return rssListener.getFeed(this::getRSSEntries, this::renderRSS).toResponse(containerRequestContext);
         } catch (RuntimeException e) {
             LOG.error("runtime exception on rss call:", e);
             throw new CustomWebApplicationException("RSS cache problems", HttpStatus.SC_INTERNAL_SERVER_ERROR);
         }
     }
 
-    private String getRSS() {
+    private List<Entry<?, ?>> getRSSEntries() {
         List<Tool> tools = toolDAO.findAllPublishedPathsOrderByDbupdatedate().stream().map(RSSToolPath::getTool).toList();
         List<BioWorkflow> workflows = bioWorkflowDAO.findAllPublishedPathsOrderByDbupdatedate().stream().map(RSSWorkflowPath::getBioWorkflow).toList();
         List<AppTool> appTools = appToolDAO.findAllPublishedPathsOrderByDbupdatedate().stream().map(RSSAppToolPath::getAppTool).toList();
@@ -272,9 +267,10 @@ public class MetadataResource {
         dbEntries.addAll(workflows);
         dbEntries.addAll(appTools);
         dbEntries.addAll(notebooks);
-        dbEntries.sort(Comparator.comparingLong(entry -> entry.getLastUpdated().getTime()));
+        return dbEntries;
+    }
 
-        // TODO: after seeing if this works, make this more efficient than just returning everything
+    private String renderRSS(List<RSSListener.RSSItem> items) {
         RSSFeed feed = new RSSFeed();
 
         RSSHeader header = new RSSHeader();
@@ -288,26 +284,17 @@ public class MetadataResource {
         feed.setHeader(header);
 
         List<RSSEntry> entries = new ArrayList<>();
-        for (Entry<?, ?> dbEntry : dbEntries) {
+        // Oldest first, like the feed has always been ordered
+        List<RSSListener.RSSItem> oldestFirst = new ArrayList<>(items);
+        Collections.reverse(oldestFirst);
+        for (RSSListener.RSSItem item : oldestFirst) {
             RSSEntry entry = new RSSEntry();
-            // AppTools, BioWorkflows, Services, and Notebooks are all subclasses of Workflows
-            if (dbEntry instanceof Workflow workflow) {
-                entry.setTitle(workflow.getWorkflowPath());
-                String workflowURL = createWorkflowURL(workflow);
-                entry.setGuid(workflowURL);
-                entry.setLink(workflowURL);
-            } else if (dbEntry instanceof Tool tool) {
-                entry.setTitle(tool.getPath());
-                String toolURL = createToolURL(tool);
-                entry.setGuid(toolURL);
-                entry.setLink(toolURL);
-            } else {
-                throw new CustomWebApplicationException("Unknown data type unsupported for RSS feed.", HttpStatus.SC_INTERNAL_SERVER_ERROR);
-            }
-            final int arbitraryDescriptionLimit = 200;
-            entry.setDescription(StringUtils.truncate(dbEntry.getDescription(), arbitraryDescriptionLimit));
+            entry.setTitle(item.title());
+            entry.setGuid(item.link());
+            entry.setLink(item.link());
+            entry.setDescription(item.description());
             Calendar instance = Calendar.getInstance();
-            instance.setTime(dbEntry.getLastUpdated());
+            instance.setTime(item.lastUpdated());
             entry.setPubDate(RSSFeed.formatDate(instance));
             entries.add(entry);
         }
@@ -449,6 +436,29 @@ public class MetadataResource {
         return results;
     }
 
+    @GET
+    @Timed
+    @Path("/fileTreeCachePerformance")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get measures of file tree cache performance", description = "Get measures of the cache of GitHub file content by commit, NO authentication")
+    @ApiResponse(description = "File tree cache performance information", content = @Content(mediaType = "application/json"))
+    @ApiOperation(value = "Get measures of file tree cache performance.", notes = "NO authentication", response = Map.class)
+    public Map<String, String> getFileTreeCachePerformance() {
+        CommitFileCache commitFileCache = CommitFileCache.getInstance();
+        CacheStats stats = commitFileCache.stats();
+        Map<String, String> results = new HashMap<>();
+        results.put("requestCount", String.valueOf(stats.requestCount()));
+        results.put("hitCount", String.valueOf(stats.hitCount()));
+        results.put("missCount", String.valueOf(stats.missCount()));
+        results.put("hitRate", String.valueOf(stats.hitRate()));
+        results.put("evictionCount", String.valueOf(stats.evictionCount()));
+        results.put("spillHitCount", String.valueOf(commitFileCache.getSpillHits()));
+        results.put("maxSize", commitFileCache.getMaxBytes() + " bytes");
+        results.put("size", commitFileCache.getWeight() + " bytes");
+        results.put("spillSize", commitFileCache.getSpilledBytes() + " bytes");
+        return results;
+    }
+
     @GET
     @Timed
     @UnitOfWork
@@ -131,6 +131,7 @@ public class OrganizationResource implements AuthenticatedResourceInterface, Ali
             Event approveOrgEvent = new Event.Builder().withOrganization(organization).withInitiatorUser(user)
                 .withType(Event.EventType.APPROVE_ORG).build();
             eventDAO.create(approveOrgEvent);
+            PublicStateManager.getInstance().getSitemapListener().invalidateOrganizations();
         }
 
         return organizationDAO.findById(id);
@@ -645,6 +646,7 @@ public class OrganizationResource implements AuthenticatedResourceInterface, Ali
         Event updateOrganizationEvent = new Event.Builder().withOrganization(oldOrganization).withInitiatorUser(user)
             .withType(Event.EventType.MODIFY_ORG).build();
         eventDAO.create(updateOrganizationEvent);
+        PublicStateManager.getInstance().getSitemapListener().invalidateOrganizations();
 
         return organizationDAO.findById(id);
     }
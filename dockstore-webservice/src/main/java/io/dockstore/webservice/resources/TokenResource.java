@@ -48,6 +48,7 @@ import io.dockstore.webservice.core.TokenScope;
 import io.dockstore.webservice.core.TokenType;
 import io.dockstore.webservice.core.TokenViews;
 import io.dockstore.webservice.core.User;
+import io.dockstore.webservice.helpers.CredentialCache;
 import io.dockstore.webservice.helpers.DeletedUserHelper;
 import io.dockstore.webservice.helpers.GitHubHelper;
 import io.dockstore.webservice.helpers.GitHubSourceCodeRepo;
@@ -158,13 +159,14 @@ public class TokenResource implements AuthenticatedResourceInterface, SourceCont
     private final String orcidScope;
     private final HttpClient client;
     private final CachingAuthenticator<String, User> cachingAuthenticator;
+    private final CredentialCache credentialCache;
 
     private final String orcidSummary = "Add a new orcid.org token";
     private final String orcidDescription = "Using OAuth code from ORCID, request and store tokens from ORCID API";
     private String orcidUrl = null;
 
     public TokenResource(TokenDAO tokenDAO, UserDAO enduserDAO, DeletedUsernameDAO deletedUsernameDAO, HttpClient client, CachingAuthenticator<String, User> cachingAuthenticator,
-        DockstoreWebserviceConfiguration configuration) {
+        CredentialCache credentialCache, DockstoreWebserviceConfiguration configuration) {
         this.tokenDAO = tokenDAO;
         userDAO = enduserDAO;
         this.deletedUsernameDAO = deletedUsernameDAO;
@@ -187,6 +189,7 @@ public class TokenResource implements AuthenticatedResourceInterface, SourceCont
         this.orcidClientSecret = configuration.getOrcidClientSecret();
         this.client = client;
         this.cachingAuthenticator = cachingAuthenticator;
+        this.credentialCache = credentialCache;
         try {
             URL orcidAuthUrl = new URL(configuration.getUiConfig().getOrcidAuthUrl());
             // orcidUrl should be something like "https://sandbox.orcid.org/" or "https://orcid.org/"
@@ -304,6 +307,7 @@ public class TokenResource implements AuthenticatedResourceInterface, SourceCont
 
         // invalidate cache now that we're deleting the token
         cachingAuthenticator.invalidate(token.getContent());
+        credentialCache.invalidate(token.getContent());
 
         tokenDAO.delete(token);
 
@@ -20,10 +20,10 @@ package io.dockstore.webservice.resources;
 
 import com.codahale.metrics.annotation.Timed;
 import io.dockstore.webservice.CustomWebApplicationException;
-import io.dockstore.webservice.DockstoreWebserviceConfiguration;
 import io.dockstore.webservice.core.tooltester.ToolTesterLog;
 import io.dockstore.webservice.core.tooltester.ToolTesterLogType;
 import io.dockstore.webservice.core.tooltester.ToolTesterS3Client;
+import io.dockstore.webservice.helpers.S3ClientManager;
 import io.swagger.annotations.Api;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -50,10 +50,10 @@ import software.amazon.awssdk.awscore.exception.AwsServiceException;
 @Tag(name = "toolTester", description = ResourceConstants.TOOLTESTER)
 public class ToolTesterResource {
     private static final Logger LOG = LoggerFactory.getLogger(ToolTesterResource.class);
-    private final String bucketName;
+    private final ToolTesterS3Client toolTesterS3Client;
 
-    public ToolTesterResource(DockstoreWebserviceConfiguration configuration) {
-        bucketName = configuration.getToolTesterBucket();
+    public ToolTesterResource(S3ClientManager s3ClientManager) {
+        toolTesterS3Client = s3ClientManager.getToolTesterS3Client();
     }
 
     @GET
@@ -68,11 +68,10 @@ public class ToolTesterResource {
             @QueryParam("runner") @Parameter(example = "cwltool", required = true) String runner,
             @QueryParam("log_type") @Parameter(required = true) ToolTesterLogType logType,
             @QueryParam("filename") @Parameter(example = "1554477737092.log", required = true) String filename) {
-        if (this.bucketName == null) {
+        if (this.toolTesterS3Client == null) {
             throw new CustomWebApplicationException("Dockstore Logging integration is currently not set up",
                     HttpStatus.SC_SERVICE_UNAVAILABLE);
         }
-        ToolTesterS3Client toolTesterS3Client = new ToolTesterS3Client(this.bucketName);
         try {
             return toolTesterS3Client.getToolTesterLog(toolId, toolVersionName, testFilename, runner, filename);
         } catch (AwsServiceException e) {
@@ -92,12 +91,11 @@ public class ToolTesterResource {
     public List<ToolTesterLog> search(
             @QueryParam("tool_id") @Parameter(description = "TRS Tool Id", example = "#workflow/github.com/dockstore/hello_world", required = true) String toolId,
             @QueryParam("tool_version_name") @Parameter(example = "v1.0.0", required = true) String toolVersionName) {
-        if (this.bucketName == null) {
+        if (this.toolTesterS3Client == null) {
             throw new CustomWebApplicationException("Dockstore Logging integration is currently not set up",
                     HttpStatus.SC_SERVICE_UNAVAILABLE);
         }
         try {
-            ToolTesterS3Client toolTesterS3Client = new ToolTesterS3Client(this.bucketName);
             return toolTesterS3Client.getToolTesterLogs(toolId, toolVersionName);
         } catch (AwsServiceException e) {
             LOG.error(e.getMessage(), e);
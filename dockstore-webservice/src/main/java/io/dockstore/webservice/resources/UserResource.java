@@ -27,6 +27,7 @@ import static io.dockstore.webservice.resources.ResourceConstants.PAGINATION_OFF
 import com.codahale.metrics.annotation.Timed;
 import com.fasterxml.jackson.annotation.JsonView;
 import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
 import io.dockstore.common.EntryType;
 import io.dockstore.common.HttpStatusMessageConstants;
 import io.dockstore.common.Registry;
@@ -38,6 +39,7 @@ import io.dockstore.webservice.DockstoreWebserviceConfiguration;
 import io.dockstore.webservice.api.Limits;
 import io.dockstore.webservice.api.PrivilegeRequest;
 import io.dockstore.webservice.core.AppTool;
+import io.dockstore.webservice.core.BackfillJob;
 import io.dockstore.webservice.core.BioWorkflow;
 import io.dockstore.webservice.core.CloudInstance;
 import io.dockstore.webservice.core.Collection;
@@ -56,11 +58,13 @@ import io.dockstore.webservice.core.TokenType;
 import io.dockstore.webservice.core.TokenViews;
 import io.dockstore.webservice.core.Tool;
 import io.dockstore.webservice.core.User;
+import io.dockstore.webservice.core.UserEntrySummary;
 import io.dockstore.webservice.core.Workflow;
 import io.dockstore.webservice.core.WorkflowMode;
-import io.dockstore.webservice.core.database.EntryLite;
 import io.dockstore.webservice.core.database.UserInfo;
 import io.dockstore.webservice.core.database.WorkflowSummary;
+import io.dockstore.webservice.helpers.BackfillJobExecutor;
+import io.dockstore.webservice.helpers.CredentialCache;
 import io.dockstore.webservice.helpers.DeletedUserHelper;
 import io.dockstore.webservice.helpers.EntryVersionHelper;
 import io.dockstore.webservice.helpers.GoogleHelper;
@@ -80,6 +84,7 @@ import io.dockstore.webservice.jdbi.ServiceDAO;
 import io.dockstore.webservice.jdbi.TokenDAO;
 import io.dockstore.webservice.jdbi.ToolDAO;
 import io.dockstore.webservice.jdbi.UserDAO;
+import io.dockstore.webservice.jdbi.UserEntrySummaryDAO;
 import io.dockstore.webservice.jdbi.WorkflowDAO;
 import io.dockstore.webservice.permissions.PermissionsInterface;
 import io.dropwizard.auth.Auth;
@@ -115,14 +120,19 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -131,6 +141,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -159,6 +170,11 @@ public class UserResource implements AuthenticatedResourceInterface, SourceContr
     public static final String USER_PROFILES = "userProfiles";
     private static final String USER_INCLUDE = USER_PROFILES + ", ...";
     private static final String USER_INCLUDE_MESSAGE = "Comma-delimited list of fields to include: " + USER_INCLUDE;
+    private static final String SUMMARY_OFFSET_TEXT = "Number of entries to skip";
+    private static final String SUMMARY_LIMIT_TEXT = "Maximum number of entries to return, all of them if not specified";
+    private static final String SUMMARY_FILTER_TEXT = "Filter paths with matching text";
+    private static final Map<EntryType, Supplier<Workflow>> WORKFLOW_CREATORS = Map.of(EntryType.WORKFLOW, BioWorkflow::new, EntryType.APPTOOL, AppTool::new,
+            EntryType.NOTEBOOK, Notebook::new, EntryType.SERVICE, Service::new);
     private final UserDAO userDAO;
     private final TokenDAO tokenDAO;
 
@@ -174,8 +190,10 @@ public class UserResource implements AuthenticatedResourceInterface, SourceContr
     private final LambdaEventDAO lambdaEventDAO;
     private final DeletedUsernameDAO deletedUsernameDAO;
     private final NotebookDAO notebookDAO;
+    private final UserEntrySummaryDAO userEntrySummaryDAO;
     private final PermissionsInterface authorizer;
     private final CachingAuthenticator<String, User> cachingAuthenticator;
+    private final CredentialCache credentialCache;
     private final HttpClient client;
 
     private final String bitbucketClientSecret;
@@ -183,7 +201,7 @@ public class UserResource implements AuthenticatedResourceInterface, SourceContr
 
     @SuppressWarnings("checkstyle:ParameterNumber")
     public UserResource(HttpClient client, SessionFactory sessionFactory, WorkflowResource workflowResource,
-        DockerRepoResource dockerRepoResource, CachingAuthenticator<String, User> cachingAuthenticator, PermissionsInterface authorizer, DockstoreWebserviceConfiguration configuration) {
+        DockerRepoResource dockerRepoResource, CachingAuthenticator<String, User> cachingAuthenticator, CredentialCache credentialCache, PermissionsInterface authorizer, DockstoreWebserviceConfiguration configuration) {
         this.eventDAO = new EventDAO(sessionFactory);
         this.userDAO = new UserDAO(sessionFactory);
         this.tokenDAO = new TokenDAO(sessionFactory);
@@ -195,11 +213,13 @@ public class UserResource implements AuthenticatedResourceInterface, SourceContr
         this.lambdaEventDAO = new LambdaEventDAO(sessionFactory);
         this.deletedUsernameDAO = new DeletedUsernameDAO(sessionFactory);
         this.notebookDAO = new NotebookDAO(sessionFactory);
+        this.userEntrySummaryDAO = new UserEntrySummaryDAO(sessionFactory);
         this.sessionFactory = sessionFactory;
         this.workflowResource = workflowResource;
         this.dockerRepoResource = dockerRepoResource;
         this.authorizer = authorizer;
         this.cachingAuthenticator = cachingAuthenticator;
+        this.credentialCache = credentialCache;
         this.client = client;
         this.bitbucketClientID = configuration.getBitbucketClientID();
         this.bitbucketClientSecret = configuration.getBitbucketClientSecret();
@@ -338,6 +358,7 @@ public class UserResource implements AuthenticatedResourceInterface, SourceContr
         if (dockstoreToken.isPresent()) {
             dockstoreToken.get().setUsername(username);
             cachingAuthenticator.invalidate(dockstoreToken.get().getContent());
+            credentialCache.invalidate(dockstoreToken.get().getContent());
         }
         return userDAO.findById(user.getId());
     }
@@ -399,6 +420,7 @@ public class UserResource implements AuthenticatedResourceInterface, SourceContr
             tokenDAO.delete(token);
             // invalidate tokens from caching authenticator
             cachingAuthenticator.invalidate(token.getContent());
+            credentialCache.invalidate(token.getContent());
         }
     }
 
@@ -449,6 +471,9 @@ public class UserResource implements AuthenticatedResourceInterface, SourceContr
 
         if (isBanned) {
             invalidateTokensForUser(targetUser);
+        } else {
+            // credentials of the user may have been rejected while they were banned
+            credentialCache.invalidateRejected();
         }
         targetUser.setBanned(isBanned);
     }
@@ -628,12 +653,16 @@ public class UserResource implements AuthenticatedResourceInterface, SourceContr
     @ApiResponse(responseCode = HttpStatus.SC_FORBIDDEN + "", description = HttpStatusMessageConstants.FORBIDDEN)
     @ApiResponse(responseCode = HttpStatus.SC_NOT_FOUND + "", description = USER_NOT_FOUND_DESCRIPTION)
     @ApiOperation(value = "List all workflows owned by the authenticated user.", nickname = "userWorkflows", authorizations = { @Authorization(value = JWT_SECURITY_DEFINITION_NAME) }, response = Workflow.class, responseContainer = "List")
-    public List<Workflow> userWorkflows(@ApiParam(hidden = true) @Parameter(hidden = true, name = "user")@Auth User user,
-            @Parameter(name = "userId", description = "User ID", required = true, in = ParameterIn.PATH) @ApiParam(value = "User ID", required = true) @PathParam("userId") Long userId) {
+    public Response userWorkflows(@ApiParam(hidden = true) @Parameter(hidden = true, name = "user")@Auth User user,
+            @Parameter(name = "userId", description = "User ID", required = true, in = ParameterIn.PATH) @ApiParam(value = "User ID", required = true) @PathParam("userId") Long userId,
+            @Min(0) @Parameter(name = "offset", description = SUMMARY_OFFSET_TEXT, in = ParameterIn.QUERY) @ApiParam(value = SUMMARY_OFFSET_TEXT, defaultValue = "0") @QueryParam("offset") @DefaultValue("0") int offset,
+            @Min(1) @Parameter(name = "limit", description = SUMMARY_LIMIT_TEXT, in = ParameterIn.QUERY) @ApiParam(value = SUMMARY_LIMIT_TEXT) @QueryParam("limit") Integer limit,
+            @Parameter(name = "filter", description = SUMMARY_FILTER_TEXT, in = ParameterIn.QUERY) @ApiParam(value = SUMMARY_FILTER_TEXT) @QueryParam("filter") String filter,
+            @Context ContainerRequestContext containerRequestContext) {
         checkUserId(user, userId);
         final User fetchedUser = this.userDAO.findById(userId);
         checkNotNullUser(fetchedUser);
-        return convertWorkflowSummariesToWorkflows(bioWorkflowDAO.findUserBioWorkflows(fetchedUser.getId()), BioWorkflow::new);
+        return getWorkflowSummaries(containerRequestContext, fetchedUser.getId(), EnumSet.of(EntryType.WORKFLOW), filter, offset, limit);
     }
 
     @GET
@@ -645,12 +674,16 @@ public class UserResource implements AuthenticatedResourceInterface, SourceContr
         + "", description = "A list of GitHub App tools owned by the user", content = @Content(array = @ArraySchema(schema = @Schema(implementation = Workflow.class))))
     @ApiResponse(responseCode = HttpStatus.SC_FORBIDDEN + "", description = HttpStatusMessageConstants.FORBIDDEN)
     @ApiResponse(responseCode = HttpStatus.SC_NOT_FOUND + "", description = USER_NOT_FOUND_DESCRIPTION)
-    public List<Workflow> userAppTools(@ApiParam(hidden = true) @Parameter(hidden = true, name = "user")@Auth User user,
-        @Parameter(name = "userId", description = "User ID", required = true, in = ParameterIn.PATH) @ApiParam(value = "User ID", required = true) @PathParam("userId") Long userId) {
+    public Response userAppTools(@ApiParam(hidden = true) @Parameter(hidden = true, name = "user")@Auth User user,
+            @Parameter(name = "userId", description = "User ID", required = true, in = ParameterIn.PATH) @ApiParam(value = "User ID", required = true) @PathParam("userId") Long userId,
+            @Min(0) @Parameter(name = "offset", description = SUMMARY_OFFSET_TEXT, in = ParameterIn.QUERY) @ApiParam(value = SUMMARY_OFFSET_TEXT, defaultValue = "0") @QueryParam("offset") @DefaultValue("0") int offset,
+            @Min(1) @Parameter(name = "limit", description = SUMMARY_LIMIT_TEXT, in = ParameterIn.QUERY) @ApiParam(value = SUMMARY_LIMIT_TEXT) @QueryParam("limit") Integer limit,
+            @Parameter(name = "filter", description = SUMMARY_FILTER_TEXT, in = ParameterIn.QUERY) @ApiParam(value = SUMMARY_FILTER_TEXT) @QueryParam("filter") String filter,
+            @Context ContainerRequestContext containerRequestContext) {
         checkUserId(user, userId);
         final User fetchedUser = this.userDAO.findById(userId);
         checkNotNullUser(fetchedUser);
-        return convertWorkflowSummariesToWorkflows(appToolDAO.findUserAppTools(fetchedUser.getId()), AppTool::new);
+        return getWorkflowSummaries(containerRequestContext, fetchedUser.getId(), EnumSet.of(EntryType.APPTOOL), filter, offset, limit);
     }
 
     @GET
@@ -662,12 +695,45 @@ public class UserResource implements AuthenticatedResourceInterface, SourceContr
         + "", description = "A list of notebooks owned by the user", content = @Content(array = @ArraySchema(schema = @Schema(implementation = Workflow.class))))
     @ApiResponse(responseCode = HttpStatus.SC_FORBIDDEN + "", description = HttpStatusMessageConstants.FORBIDDEN)
     @ApiResponse(responseCode = HttpStatus.SC_NOT_FOUND + "", description = USER_NOT_FOUND_DESCRIPTION)
-    public List<Workflow> userNotebooks(@ApiParam(hidden = true) @Parameter(hidden = true, name = "user")@Auth User user,
-        @Parameter(name = "userId", description = "User ID", required = true, in = ParameterIn.PATH) @ApiParam(value = "User ID", required = true) @PathParam("userId") Long userId) {
+    public Response userNotebooks(@ApiParam(hidden = true) @Parameter(hidden = true, name = "user")@Auth User user,
+            @Parameter(name = "userId", description = "User ID", required = true, in = ParameterIn.PATH) @ApiParam(value = "User ID", required = true) @PathParam("userId") Long userId,
+            @Min(0) @Parameter(name = "offset", description = SUMMARY_OFFSET_TEXT, in = ParameterIn.QUERY) @ApiParam(value = SUMMARY_OFFSET_TEXT, defaultValue = "0") @QueryParam("offset") @DefaultValue("0") int offset,
+            @Min(1) @Parameter(name = "limit", description = SUMMARY_LIMIT_TEXT, in = ParameterIn.QUERY) @ApiParam(value = SUMMARY_LIMIT_TEXT) @QueryParam("limit") Integer limit,
+            @Parameter(name = "filter", description = SUMMARY_FILTER_TEXT, in = ParameterIn.QUERY) @ApiParam(value = SUMMARY_FILTER_TEXT) @QueryParam("filter") String filter,
+            @Context ContainerRequestContext containerRequestContext) {
         checkUserId(user, userId);
         final User fetchedUser = this.userDAO.findById(userId);
         checkNotNullUser(fetchedUser);
-        return convertWorkflowSummariesToWorkflows(notebookDAO.findUserNotebooks(fetchedUser.getId()), Notebook::new);
+        return getWorkflowSummaries(containerRequestContext, fetchedUser.getId(), EnumSet.of(EntryType.NOTEBOOK), filter, offset, limit);
+    }
+
+    /**
+     * Serves a page of the user's workflow-like entries from their summaries, sorted by path.
+     */
+    private Response getWorkflowSummaries(ContainerRequestContext requestContext, long userId, Set<EntryType> entryTypes, String filter, int offset, Integer limit) {
+        return toSummaryResponse(requestContext, userId, entryTypes, filter + "|" + offset + "|" + limit,
+            () -> convertEntrySummariesToWorkflows(userEntrySummaryDAO.findByUser(userId, entryTypes, filter, false, offset, limit)),
+            () -> userEntrySummaryDAO.countByUser(userId, entryTypes, filter));
+    }
+
+    /**
+     * Builds the response to a request for the user's entry summaries. Its ETag changes whenever any of the user's summaries of these types
+     * do, so a dashboard that sends If-None-Match gets a 304 without the page being loaded.
+     * @param pageKey identifies the page requested, so that different pages of the same summaries have different ETags
+     * @param page loads the page
+     * @param total counts the entries across all pages
+     */
+    private Response toSummaryResponse(ContainerRequestContext requestContext, long userId, Set<EntryType> entryTypes, String pageKey, Supplier<List<?>> page, LongSupplier total) {
+        final String changeMarker = userEntrySummaryDAO.getChangeMarker(userId, entryTypes);
+        final EntityTag tag = new EntityTag(Hashing.sha256().hashString(userId + "|" + entryTypes + "|" + pageKey + "|" + changeMarker, StandardCharsets.UTF_8).toString());
+        final Response.ResponseBuilder notModified = requestContext.getRequest().evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(page.get()).tag(tag)
+            .header(LambdaEventResource.X_TOTAL_COUNT, total.getAsLong())
+            .header(LambdaEventResource.ACCESS_CONTROL_EXPOSE_HEADERS, LambdaEventResource.X_TOTAL_COUNT + ", " + HttpHeaders.ETAG)
+            .build();
     }
 
     private List<Workflow> convertWorkflowSummariesToWorkflows(List<WorkflowSummary> myWorkflows, Supplier<Workflow> workflowCreator) {
@@ -689,6 +755,25 @@ public class UserResource implements AuthenticatedResourceInterface, SourceContr
         return workflows;
     }
 
+    private List<Workflow> convertEntrySummariesToWorkflows(List<UserEntrySummary> summaries) {
+        List<Workflow> workflows = new ArrayList<>();
+        summaries.forEach(summary -> {
+            Workflow workflow = WORKFLOW_CREATORS.get(summary.getEntryType()).get();
+            workflow.setOrganization(summary.getOrganization());
+            workflow.setId(summary.getEntryId());
+            workflow.setSourceControl(summary.getSourceControl());
+            workflow.setIsPublished(summary.isPublished());
+            workflow.setWorkflowName(summary.getEntryName());
+            workflow.setRepository(summary.getRepository());
+            workflow.setMode(WorkflowMode.valueOf(summary.getMode()));
+            workflow.setGitUrl(summary.getGitUrl());
+            workflow.setDescription(summary.getDescription());
+            workflow.setArchived(summary.isArchived());
+            workflows.add(workflow);
+        });
+        return workflows;
+    }
+
     @GET
     @Path("/{userId}/services")
     @Timed
@@ -721,7 +806,6 @@ public class UserResource implements AuthenticatedResourceInterface, SourceContr
         final List<Workflow> workflows = workflowDAO.findMyEntries(user.getId());
         EntryVersionHelper.stripContentFromEntries(workflows, this.userDAO);
         return workflows;
-
     }
 
     private List<Tool> getTools(User user) {
@@ -796,35 +880,24 @@ public class UserResource implements AuthenticatedResourceInterface, SourceContr
     @ApiResponse(responseCode = HttpStatus.SC_OK
             + "", description = "A list of the entries for a user", content = @Content(array = @ArraySchema(schema = @Schema(implementation = EntryUpdateTime.class))))
     @ApiOperation(value = "See OpenApi for details")
-    public List<EntryUpdateTime> getUserEntries(@ApiParam(hidden = true) @Parameter(hidden = true, name = "user")@Auth User authUser,
+    public Response getUserEntries(@ApiParam(hidden = true) @Parameter(hidden = true, name = "user")@Auth User authUser,
                                                 @Min(1) @Parameter(name = "count", description = "Maximum number of entries to return", in = ParameterIn.QUERY) @QueryParam("count") Integer count,
                                                 @Parameter(name = "filter", description = "Filter paths with matching text", in = ParameterIn.QUERY) @QueryParam("filter") String filter,
-                                                @Parameter(name = "type", description = "Type of entry", in = ParameterIn.QUERY) @QueryParam("type") EntrySearchType type) {
-        //get entries with only minimal columns from database
-        final List<EntryLite> entriesLite = new ArrayList<>();
+                                                @Parameter(name = "type", description = "Type of entry", in = ParameterIn.QUERY) @QueryParam("type") EntrySearchType type,
+                                                @Min(0) @Parameter(name = "offset", description = SUMMARY_OFFSET_TEXT, in = ParameterIn.QUERY) @ApiParam(value = SUMMARY_OFFSET_TEXT, defaultValue = "0") @QueryParam("offset") @DefaultValue("0") int offset,
+                                                @Context ContainerRequestContext containerRequestContext) {
         final long userId = authUser.getId();
-        if (type == null || type == EntrySearchType.TOOLS) {
-            entriesLite.addAll(toolDAO.findEntryVersions(userId));
-            entriesLite.addAll(appToolDAO.findEntryVersions(userId));
-        }
-        if (type == null || type == EntrySearchType.WORKFLOWS) {
-            entriesLite.addAll(bioWorkflowDAO.findEntryVersions(userId));
-        }
-        if (type == null || type == EntrySearchType.SERVICES) {
-            entriesLite.addAll(serviceDAO.findEntryVersions(userId));
-        }
-        if (type == null || type == EntrySearchType.NOTEBOOKS) {
-            entriesLite.addAll(notebookDAO.findEntryVersions(userId));
-        }
-
-        //cleanup fields for UI: filter(if applicable), sort, and limit by count(if applicable)
-        List<EntryUpdateTime> filteredEntries = entriesLite
-                .stream().map(e -> new EntryUpdateTime(e.getEntryPath(), e.getPrettyPath(), e.getEntryType(), new Timestamp(e.getLastUpdated().getTime())))
-                .filter((EntryUpdateTime entryUpdateTime) -> filter == null || filter.isBlank() || entryUpdateTime.getPath().toLowerCase().contains(filter.toLowerCase()))
-                .sorted(Comparator.comparing(EntryUpdateTime::getLastUpdateDate, Comparator.nullsLast(Comparator.reverseOrder())))
-                .limit(count != null ? count : Integer.MAX_VALUE)
-                .collect(Collectors.toList());
-        return filteredEntries;
+        final Set<EntryType> entryTypes = type == null ? EnumSet.allOf(EntryType.class) : switch (type) {
+            case TOOLS -> EnumSet.of(EntryType.TOOL, EntryType.APPTOOL);
+            case WORKFLOWS -> EnumSet.of(EntryType.WORKFLOW);
+            case SERVICES -> EnumSet.of(EntryType.SERVICE);
+            case NOTEBOOKS -> EnumSet.of(EntryType.NOTEBOOK);
+        };
+        return toSummaryResponse(containerRequestContext, userId, entryTypes, "entries|" + filter + "|" + offset + "|" + count,
+            () -> userEntrySummaryDAO.findByUser(userId, entryTypes, filter, true, offset, count).stream()
+                .map(summary -> new EntryUpdateTime(summary.getPath(), summary.getPrettyPath(), summary.getEntryType(), summary.getLastUpdated()))
+                .collect(Collectors.toList()),
+            () -> userEntrySummaryDAO.countByUser(userId, entryTypes, filter));
     }
 
     @GET
@@ -942,23 +1015,7 @@ public class UserResource implements AuthenticatedResourceInterface, SourceContr
         allGitHubUsers.forEach(userId -> {
             // Break into many transactions so all workflows are not loaded into memory
             try {
-                new TransactionHelper(sessionFactory).transaction(() -> {
-                    tokenDAO.findGithubByUserId(userId).stream().limit(1).forEach(gitHubToken -> {
-                        final SourceCodeRepoInterface sourceCodeRepo =
-                            SourceCodeRepoFactory.createSourceCodeRepo(gitHubToken);
-                        final Set<String> orgMemberships = sourceCodeRepo.getOrganizationMemberships();
-                        final Set<GitRepo> gitRepos = sourceCodeRepo.getRepoLevelAccessRepositories();
-                        final User user = userDAO.findById(userId);
-                        user.getEntries().stream().filter(Workflow.class::isInstance)
-                            .map(Workflow.class::cast)
-                            .filter(workflow -> {
-                                final boolean userHasOrganizationAccess =
-                                    orgMemberships.contains(workflow.getOrganization());
-                                return !userHasOrganizationAccess && !hasRepoLevelAccess(gitRepos, workflow);
-                            })
-                            .forEach(workflow -> workflow.removeUser(user));
-                    });
-                });
+                new TransactionHelper(sessionFactory).transaction(() -> removeInaccessibleWorkflows(userId));
             } catch (Exception e) {
                 // LOG and continue -- don't let one user's invalid token or other problem block everybody
                 final String message = String.format("Error updating workflows for user %s", userId);
@@ -968,6 +1025,55 @@ public class UserResource implements AuthenticatedResourceInterface, SourceContr
         return Response.noContent().build();
     }
 
+    /**
+     * Lets admins run updateUserWorkflows as a background job, see {@link BackfillJobExecutor}.
+     */
+    public void registerBackfillTasks(BackfillJobExecutor backfillJobExecutor) {
+        backfillJobExecutor.register(BackfillJob.Type.USER_WORKFLOWS, new BackfillJobExecutor.BackfillTask() {
+            @Override
+            public long findMaxId() {
+                return userDAO.findMaxId();
+            }
+
+            @Override
+            public int process(long startId, long endId, boolean allVersions) {
+                final List<Long> userIds = userDAO.findGitHubUserIdsByIdRange(startId, endId);
+                userIds.forEach(userId -> {
+                    // Commit each user in a transaction of its own, so that a failing user doesn't roll back the others in the range
+                    try {
+                        new TransactionHelper(sessionFactory).transaction(() -> removeInaccessibleWorkflows(userId));
+                    } catch (Exception e) {
+                        // LOG and continue -- don't let one user's invalid token or other problem block everybody
+                        final String message = String.format("Error updating workflows for user %s", userId);
+                        LOG.error(message, e);
+                    }
+                });
+                return userIds.size();
+            }
+        });
+    }
+
+    /**
+     * Removes a user from the workflows of GitHub organizations and repositories that their GitHub token no longer has access to.
+     */
+    private void removeInaccessibleWorkflows(long userId) {
+        tokenDAO.findGithubByUserId(userId).stream().limit(1).forEach(gitHubToken -> {
+            final SourceCodeRepoInterface sourceCodeRepo =
+                SourceCodeRepoFactory.createSourceCodeRepo(gitHubToken);
+            final Set<String> orgMemberships = sourceCodeRepo.getOrganizationMemberships();
+            final Set<GitRepo> gitRepos = sourceCodeRepo.getRepoLevelAccessRepositories();
+            final User user = userDAO.findById(userId);
+            user.getEntries().stream().filter(Workflow.class::isInstance)
+                .map(Workflow.class::cast)
+                .filter(workflow -> {
+                    final boolean userHasOrganizationAccess =
+                        orgMemberships.contains(workflow.getOrganization());
+                    return !userHasOrganizationAccess && !hasRepoLevelAccess(gitRepos, workflow);
+                })
+                .forEach(workflow -> workflow.removeUser(user));
+        });
+    }
+
     private static boolean hasRepoLevelAccess(final Set<GitRepo> gitRepos, final Workflow workflow) {
         return gitRepos.contains(new GitRepo(workflow.getOrganization(), workflow.getRepository()));
     }
@@ -48,6 +48,7 @@ import io.dockstore.webservice.core.Doi;
 import io.dockstore.webservice.core.Doi.DoiInitiator;
 import io.dockstore.webservice.core.Entry;
 import io.dockstore.webservice.core.Entry.TopicSelection;
+import io.dockstore.webservice.core.FrozenVersionJson;
 import io.dockstore.webservice.core.Image;
 import io.dockstore.webservice.core.LambdaEvent;
 import io.dockstore.webservice.core.OrcidAuthor;
@@ -69,6 +70,7 @@ import io.dockstore.webservice.core.webhook.PushPayload;
 import io.dockstore.webservice.core.webhook.ReleasePayload;
 import io.dockstore.webservice.core.webhook.WebhookRepository;
 import io.dockstore.webservice.helpers.CachingFileTree;
+import io.dockstore.webservice.helpers.CommitCachingFileTree;
 import io.dockstore.webservice.helpers.EntryVersionHelper;
 import io.dockstore.webservice.helpers.FileFormatHelper;
 import io.dockstore.webservice.helpers.FileTree;
@@ -80,6 +82,7 @@ import io.dockstore.webservice.helpers.SourceCodeRepoFactory;
 import io.dockstore.webservice.helpers.SourceCodeRepoInterface;
 import io.dockstore.webservice.helpers.StateManagerMode;
 import io.dockstore.webservice.helpers.StringInputValidationHelper;
+import io.dockstore.webservice.helpers.VersionJsonPrecomputer;
 import io.dockstore.webservice.helpers.ZenodoHelper;
 import io.dockstore.webservice.helpers.ZenodoHelper.GitHubRepoDois;
 import io.dockstore.webservice.helpers.ZenodoHelper.TagAndDoi;
@@ -89,6 +92,7 @@ import io.dockstore.webservice.helpers.infer.InferrerHelper;
 import io.dockstore.webservice.jdbi.BioWorkflowDAO;
 import io.dockstore.webservice.jdbi.EntryDAO;
 import io.dockstore.webservice.jdbi.FileFormatDAO;
+import io.dockstore.webservice.jdbi.FrozenVersionJsonDAO;
 import io.dockstore.webservice.jdbi.LabelDAO;
 import io.dockstore.webservice.jdbi.ServiceEntryDAO;
 import io.dockstore.webservice.jdbi.ToolDAO;
@@ -209,10 +213,12 @@ public class WorkflowResource extends AbstractWorkflowResource<Workflow>
     private final ServiceEntryDAO serviceEntryDAO;
     private final BioWorkflowDAO bioWorkflowDAO;
     private final VersionDAO versionDAO;
+    private final FrozenVersionJsonDAO frozenVersionJsonDAO;
 
     private final PermissionsInterface permissionsInterface;
     private final String dashboardPrefix;
     private final boolean isProduction;
+    private final long estimatedCountThreshold;
 
     public WorkflowResource(HttpClient client, SessionFactory sessionFactory, PermissionsInterface permissionsInterface,
         EntryResource entryResource, DockstoreWebserviceConfiguration configuration) {
@@ -223,10 +229,12 @@ public class WorkflowResource extends AbstractWorkflowResource<Workflow>
         this.bioWorkflowDAO = new BioWorkflowDAO(sessionFactory);
         this.fileFormatDAO = new FileFormatDAO(sessionFactory);
         this.versionDAO = new VersionDAO(sessionFactory);
+        this.frozenVersionJsonDAO = new FrozenVersionJsonDAO(sessionFactory);
 
         this.permissionsInterface = permissionsInterface;
         dashboardPrefix = configuration.getDashboard();
         isProduction = configuration.getExternalConfig().computeIsProduction();
+        estimatedCountThreshold = configuration.getEntrySearchConfig().getEstimatedCountThreshold();
     }
 
     /**
@@ -860,7 +868,7 @@ public class WorkflowResource extends AbstractWorkflowResource<Workflow>
         filterContainersForHiddenTags(workflows);
         stripContent(workflows);
         EntryDAO entryDAO = services ? serviceEntryDAO : bioWorkflowDAO;
-        response.addHeader(X_TOTAL_COUNT, String.valueOf(entryDAO.countAllPublished(Optional.of(filter), workflowClass)));
+        response.addHeader(X_TOTAL_COUNT, String.valueOf(entryDAO.estimateAllPublished(Optional.of(filter), workflowClass, estimatedCountThreshold)));
         response.addHeader(ACCESS_CONTROL_EXPOSE_HEADERS, X_TOTAL_COUNT);
         return workflows;
     }
@@ -967,6 +975,31 @@ public class WorkflowResource extends AbstractWorkflowResource<Workflow>
         return super.canShare(user, entry) || AuthenticatedResourceInterface.canDoAction(permissionsInterface, user, entry, Role.Action.SHARE);
     }
 
+    /**
+     * Checks if <code>user</code> can read all the <code>entries</code>, resolving the shared hosted workflows
+     * among them with one call to the permissions service instead of one call per workflow.
+     *
+     * @param user
+     * @param entries
+     */
+    @Override
+    public void checkCanRead(User user, List<? extends Entry<?, ?>> entries) {
+        final List<Workflow> shared = entries.stream()
+            .filter(entry -> entry instanceof Workflow && ((Workflow)entry).getMode() == WorkflowMode.HOSTED)
+            .filter(entry -> !isPublished(entry) && !isOwner(user, entry))
+            .map(Workflow.class::cast)
+            .toList();
+        if (user != null && !shared.isEmpty()) {
+            try {
+                permissionsInterface.getActionsForWorkflows(user, shared);
+            } catch (CustomWebApplicationException e) {
+                e.rethrowIf5xx();
+                LOG.info("could not resolve actions for shared workflows", e);
+            }
+        }
+        super.checkCanRead(user, entries);
+    }
+
     @GET
     @Timed
     @UnitOfWork(readOnly = true)
@@ -1424,7 +1457,7 @@ public class WorkflowResource extends AbstractWorkflowResource<Workflow>
                     // If tooltablejson is missing it, retrieve it again so it has this new key.
                     // Don't need to re-retrieve tooltablejson if it's an empty array because it will just return an empty array again (since the workflow has no Docker images).
                     String existingToolTableJson = existingTag.getToolTableJson();
-                    if (existingToolTableJson != null && (existingToolTableJson.contains("\"specifier\"") || "[]".equals(existingToolTableJson))) {
+                    if (VersionJsonPrecomputer.isCurrentToolTableJson(existingToolTableJson)) {
                         toolsJSONTable = Optional.of(existingToolTableJson);
                     } else {
                         SourceFile mainDescriptor = getMainDescriptorFile(existingTag);
@@ -1481,7 +1514,7 @@ public class WorkflowResource extends AbstractWorkflowResource<Workflow>
 
     @GET
     @Timed
-    @UnitOfWork()
+    @UnitOfWork(readOnly = true)
     @Path("/{workflowId}/dag/{workflowVersionId}")
     @Operation(operationId = "getWorkflowDag", description = "Get the DAG for a given workflow version.", security = @SecurityRequirement(name = JWT_SECURITY_DEFINITION_NAME))
     @ApiOperation(value = "Get the DAG for a given workflow version.", response = String.class, notes = OPTIONAL_AUTH_MESSAGE, authorizations = {
@@ -1497,25 +1530,16 @@ public class WorkflowResource extends AbstractWorkflowResource<Workflow>
         if (workflowVersion == null) {
             throw new CustomWebApplicationException("Could not find workflow version", HttpStatus.SC_NOT_FOUND);
         }
-        SourceFile mainDescriptor = getMainDescriptorFile(workflowVersion);
 
-        // json in db cleared after a refresh
-        if (workflowVersion.getDagJson() != null) {
-            return workflowVersion.getDagJson();
+        // json is computed in the background after the version is ingested, and cleared after a refresh
+        String dagJson = workflowVersion.getDagJson();
+        if (dagJson == null && workflowVersion.isFrozen()) {
+            dagJson = Optional.ofNullable(frozenVersionJsonDAO.findByVersionId(workflowVersionId)).map(FrozenVersionJson::getDagJson).orElse(null);
         }
-
-        if (mainDescriptor != null) {
-            Set<SourceFile> secondaryDescContent = extractDescriptorAndSecondaryFiles(workflowVersion);
-
-            LanguageHandlerInterface lInterface = LanguageHandlerFactory.getInterface(workflow.getFileType());
-            final String dagJson = lInterface.getCleanDAG(workflowVersion.getWorkflowPath(), mainDescriptor.getContent(), secondaryDescContent,
-                LanguageHandlerInterface.Type.DAG, toolDAO);
-            if (!workflowVersion.isFrozen()) {
-                workflowVersion.setDagJson(dagJson);
-            }
+        if (dagJson != null) {
             return dagJson;
         }
-        return null;
+        return queueVersionJsonPrecomputation(workflowVersionId).dagJson();
     }
 
     /**
@@ -1527,7 +1551,7 @@ public class WorkflowResource extends AbstractWorkflowResource<Workflow>
      */
     @GET
     @Timed
-    @UnitOfWork()
+    @UnitOfWork(readOnly = true)
     @Path("/{workflowId}/tools/{workflowVersionId}")
     @Operation(operationId = "getTableToolContent", description = "Get the Tools for a given workflow version.", security = @SecurityRequirement(name = JWT_SECURITY_DEFINITION_NAME))
     @ApiOperation(value = "Get the Tools for a given workflow version.", notes = OPTIONAL_AUTH_MESSAGE, response = String.class, authorizations = {
@@ -1545,35 +1569,33 @@ public class WorkflowResource extends AbstractWorkflowResource<Workflow>
             throw new CustomWebApplicationException("workflow version " + workflowVersionId + " does not exist", HttpStatus.SC_BAD_REQUEST);
         }
 
-        // tooltablejson in DB cleared after a refresh
-        // Check if tooltablejson in the DB has the "specifier" key because this key was added later on, so there may be entries in the DB that are missing it.
-        // If tooltablejson is missing it, retrieve it again so it has this new key.
-        // Don't need to re-retrieve tooltablejson if it's an empty array because it will just return an empty array again (since the workflow has no Docker images).
+        // tooltablejson is computed in the background after the version is ingested, and cleared after a refresh
         String toolTableJson = workflowVersion.getToolTableJson();
-        if (toolTableJson != null && (toolTableJson.contains("\"specifier\"") || "[]".equals(toolTableJson))) {
+        if (!VersionJsonPrecomputer.isCurrentToolTableJson(toolTableJson) && workflowVersion.isFrozen()) {
+            toolTableJson = Optional.ofNullable(frozenVersionJsonDAO.findByVersionId(workflowVersionId)).map(FrozenVersionJson::getToolTableJson).orElse(null);
+        }
+        if (VersionJsonPrecomputer.isCurrentToolTableJson(toolTableJson)) {
             return toolTableJson;
         }
+        return queueVersionJsonPrecomputation(workflowVersionId).toolTableJson();
+    }
 
-        SourceFile mainDescriptor = getMainDescriptorFile(workflowVersion);
-        if (mainDescriptor != null) {
-            Set<SourceFile> secondaryDescContent = extractDescriptorAndSecondaryFiles(workflowVersion);
-            LanguageHandlerInterface lInterface = LanguageHandlerFactory.getInterface(workflow.getFileType());
-            final Optional<String> newToolTableJson = lInterface.getContent(workflowVersion.getWorkflowPath(), mainDescriptor.getContent(), secondaryDescContent,
-                LanguageHandlerInterface.Type.TOOLS, toolDAO);
-
-            final String json = newToolTableJson.orElse(null);
-
-            // Can't UPDATE workflowversion when frozen = true
-            if (workflowVersion.isFrozen()) {
-                LOG.warn("workflow version " + workflowVersionId + " is frozen without toolTableJson");
-            } else {
-                workflowVersion.setToolTableJson(json);
+    /**
+     * Handles a version whose JSON isn't stored. JSON that was computed as null can't be stored, so it is returned if this instance
+     * computed it. Otherwise the version is queued for precomputation, and the request is told to try again later, rather than computing
+     * the JSON in the request.
+     *
+     * @return the JSON of the version that was computed as null
+     */
+    private VersionJsonPrecomputer.VersionJson queueVersionJsonPrecomputation(long workflowVersionId) {
+        if (getVersionJsonPrecomputer() != null) {
+            Optional<VersionJsonPrecomputer.VersionJson> unstored = getVersionJsonPrecomputer().getUnstoredJson(workflowVersionId);
+            if (unstored.isPresent()) {
+                return unstored.get();
             }
-
-            return json;
+            getVersionJsonPrecomputer().submit(workflowVersionId);
         }
-
-        return null;
+        throw new CustomWebApplicationException("The workflow version is still being processed, try again later", HttpStatus.SC_SERVICE_UNAVAILABLE);
     }
 
     @GET
@@ -1596,9 +1618,7 @@ public class WorkflowResource extends AbstractWorkflowResource<Workflow>
      * @return secondary file map (string path -> string content)
      */
     private Set<SourceFile> extractDescriptorAndSecondaryFiles(WorkflowVersion workflowVersion) {
-        return workflowVersion.getSourceFiles().stream()
-                .filter(sf -> !sf.getPath().equals(workflowVersion.getWorkflowPath()))
-                .collect(Collectors.toSet());
+        return VersionJsonPrecomputer.getSecondaryFiles(workflowVersion);
     }
 
     /**
@@ -1643,16 +1663,7 @@ public class WorkflowResource extends AbstractWorkflowResource<Workflow>
      * @return mainDescriptor
      */
     private SourceFile getMainDescriptorFile(WorkflowVersion workflowVersion) {
-
-        SourceFile mainDescriptor = null;
-        for (SourceFile sourceFile : workflowVersion.getSourceFiles()) {
-            if (sourceFile.getPath().equals(workflowVersion.getWorkflowPath())) {
-                mainDescriptor = sourceFile;
-                break;
-            }
-        }
-
-        return mainDescriptor;
+        return VersionJsonPrecomputer.getMainDescriptorFile(workflowVersion);
     }
 
     @PUT
@@ -2172,16 +2183,22 @@ public class WorkflowResource extends AbstractWorkflowResource<Workflow>
         // Create github source code repo.
         GitHubSourceCodeRepo gitHubSourceCodeRepo = (GitHubSourceCodeRepo)SourceCodeRepoFactory.createSourceCodeRepo(tokens.get(0));
 
-        // Create FileTree.
+        // Create FileTree, which is closed to release the downloaded repository as soon as the entries are inferred.
+        // When the reference resolves to a commit, files that were read for that commit before are served from the shared cache.
+        // The commit is downloaded rather than the reference, so that the cached files are those of the commit even if the reference moves.
         String ownerAndRepo = owner + "/" + repo;
-        FileTree fileTree = new CachingFileTree(new ZipGitHubFileTree(gitHubSourceCodeRepo, ownerAndRepo, gitReference));
+        String sha = gitHubSourceCodeRepo.getCommitID(ownerAndRepo, gitReference);
+        FileTree zipFileTree = sha == null
+            ? new ZipGitHubFileTree(gitHubSourceCodeRepo, ownerAndRepo, gitReference)
+            : new CommitCachingFileTree(ownerAndRepo, sha, () -> new ZipGitHubFileTree(gitHubSourceCodeRepo, ownerAndRepo, sha));
+        try (FileTree fileTree = new CachingFileTree(zipFileTree)) {
+            // Infer entries.
+            InferrerHelper inferrerHelper = new InferrerHelper();
+            List<Inferrer.Entry> entries = inferrerHelper.infer(fileTree);
 
-        // Infer entries.
-        InferrerHelper inferrerHelper = new InferrerHelper();
-        List<Inferrer.Entry> entries = inferrerHelper.infer(fileTree);
-
-        // Create and return .dockstore.yml
-        return inferrerHelper.toDockstoreYaml(entries);
+            // Create and return .dockstore.yml
+            return inferrerHelper.toDockstoreYaml(entries);
+        }
     }
 
     /**
@@ -2216,7 +2233,7 @@ public class WorkflowResource extends AbstractWorkflowResource<Workflow>
         if (LOG.isInfoEnabled()) {
             LOG.info(String.format("Branch/tag %s pushed to %s(%s)", Utilities.cleanForLogging(gitReference), Utilities.cleanForLogging(repository), Utilities.cleanForLogging(username)));
         }
-        githubWebhookRelease(repository, gitHubUsernamesFromPushPayload(payload), gitReference, installationId, deliveryId, afterCommit, true);
+        queueGithubWebhookRelease(repository, gitHubUsernamesFromPushPayload(payload), gitReference, installationId, deliveryId, afterCommit);
     }
 
     @POST
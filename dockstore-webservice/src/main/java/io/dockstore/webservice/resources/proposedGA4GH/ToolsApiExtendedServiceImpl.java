@@ -21,7 +21,6 @@ import static io.openapi.api.impl.ToolsApiServiceImpl.BAD_DECODE_REGISTRY_RESPON
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.io.Resources;
 import io.dockstore.common.Partner;
 import io.dockstore.common.S3ClientHelper;
 import io.dockstore.common.metrics.Execution;
@@ -29,7 +28,9 @@ import io.dockstore.common.metrics.ExecutionsRequestBody;
 import io.dockstore.common.metrics.MetricsDataS3Client;
 import io.dockstore.webservice.CustomWebApplicationException;
 import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import io.dockstore.webservice.api.ReindexStatus;
 import io.dockstore.webservice.api.UpdateAITopicRequest;
+import io.dockstore.webservice.core.BackfillJob;
 import io.dockstore.webservice.core.Entry;
 import io.dockstore.webservice.core.Entry.EntryLiteAndVersionName;
 import io.dockstore.webservice.core.Entry.TopicSelection;
@@ -40,24 +41,30 @@ import io.dockstore.webservice.core.User;
 import io.dockstore.webservice.core.Version;
 import io.dockstore.webservice.core.Workflow;
 import io.dockstore.webservice.core.database.EntryLite;
+import io.dockstore.webservice.core.metrics.ExecutionMetricsSketch;
 import io.dockstore.webservice.core.metrics.ExecutionResponse;
 import io.dockstore.webservice.core.metrics.ExecutionsRequestBodyS3Handler;
 import io.dockstore.webservice.core.metrics.ExecutionsRequestBodyS3Handler.ExecutionsFromS3;
 import io.dockstore.webservice.core.metrics.ExecutionsResponseBody;
 import io.dockstore.webservice.core.metrics.Metrics;
+import io.dockstore.webservice.helpers.BackfillJobExecutor;
 import io.dockstore.webservice.helpers.ElasticSearchHelper;
+import io.dockstore.webservice.helpers.ElasticSearchReindexer;
 import io.dockstore.webservice.helpers.EntryVersionHelper;
+import io.dockstore.webservice.helpers.ExecutionMetricsAggregator;
 import io.dockstore.webservice.helpers.PublicStateManager;
+import io.dockstore.webservice.helpers.S3ClientManager;
 import io.dockstore.webservice.helpers.StateManagerMode;
 import io.dockstore.webservice.helpers.statelisteners.ElasticListener;
 import io.dockstore.webservice.jdbi.AppToolDAO;
 import io.dockstore.webservice.jdbi.BioWorkflowDAO;
-import io.dockstore.webservice.jdbi.EntryDAO;
+import io.dockstore.webservice.jdbi.ExecutionS3KeyDAO;
 import io.dockstore.webservice.jdbi.NotebookDAO;
 import io.dockstore.webservice.jdbi.ServiceDAO;
 import io.dockstore.webservice.jdbi.ToolDAO;
 import io.dockstore.webservice.jdbi.WorkflowDAO;
 import io.dockstore.webservice.jdbi.WorkflowVersionDAO;
+import io.dockstore.webservice.resources.ElasticsearchConsistencyHealthCheck;
 import io.openapi.api.impl.ToolsApiServiceImpl;
 import io.swagger.api.impl.ToolsImplCommon;
 import jakarta.ws.rs.core.MultivaluedMap;
@@ -65,33 +72,28 @@ import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.net.URISyntaxException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
-import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.client.Request;
-import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.ResponseException;
 import org.elasticsearch.client.RestClient;
-import org.elasticsearch.client.RestHighLevelClient;
-import org.elasticsearch.client.indices.CreateIndexRequest;
-import org.elasticsearch.common.xcontent.XContentType;
+import org.hibernate.SessionFactory;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -107,7 +109,6 @@ import software.amazon.awssdk.core.exception.SdkClientException;
  */
 public class ToolsApiExtendedServiceImpl extends ToolsExtendedApiService {
 
-    public static final int ES_BATCH_INSERT_SIZE = 500;
     public static final String INVALID_PLATFORM = "Invalid platform. Please select an individual platform.";
     public static final String FORBIDDEN_PLATFORM = "You do not have the credentials to access executions for this platform";
     public static final String TOOL_NOT_FOUND_ERROR = "Tool not found";
@@ -137,15 +138,25 @@ public class ToolsApiExtendedServiceImpl extends ToolsExtendedApiService {
     private static BioWorkflowDAO bioWorkflowDAO = null;
     private static ServiceDAO serviceDAO = null;
     private static WorkflowVersionDAO workflowVersionDAO = null;
+    private static ExecutionS3KeyDAO executionS3KeyDAO = null;
+    private static S3ClientManager s3ClientManager = null;
+    private static ExecutionMetricsAggregator executionMetricsAggregator = null;
     private static DockstoreWebserviceConfiguration config = null;
     private static DockstoreWebserviceConfiguration.MetricsConfig metricsConfig = null;
     private static PublicStateManager publicStateManager = null;
     private static Semaphore elasticSearchConcurrencyLimit = null;
+    private static SessionFactory sessionFactory = null;
+    private static volatile ElasticSearchReindexer currentReindexer = null;
+    private static final AtomicBoolean REINDEX_IN_PROGRESS = new AtomicBoolean(false);
 
     public static void setStateManager(PublicStateManager manager) {
         ToolsApiExtendedServiceImpl.publicStateManager = manager;
     }
 
+    public static void setSessionFactory(SessionFactory sessionFactory) {
+        ToolsApiExtendedServiceImpl.sessionFactory = sessionFactory;
+    }
+
     public static void setToolDAO(ToolDAO toolDAO) {
         ToolsApiExtendedServiceImpl.toolDAO = toolDAO;
     }
@@ -174,6 +185,18 @@ public class ToolsApiExtendedServiceImpl extends ToolsExtendedApiService {
         ToolsApiExtendedServiceImpl.workflowVersionDAO = workflowVersionDAO;
     }
 
+    public static void setExecutionS3KeyDAO(ExecutionS3KeyDAO executionS3KeyDAO) {
+        ToolsApiExtendedServiceImpl.executionS3KeyDAO = executionS3KeyDAO;
+    }
+
+    public static void setS3ClientManager(S3ClientManager s3ClientManager) {
+        ToolsApiExtendedServiceImpl.s3ClientManager = s3ClientManager;
+    }
+
+    public static void setExecutionMetricsAggregator(ExecutionMetricsAggregator executionMetricsAggregator) {
+        ToolsApiExtendedServiceImpl.executionMetricsAggregator = executionMetricsAggregator;
+    }
+
     public static void setConfig(DockstoreWebserviceConfiguration config) {
         ToolsApiExtendedServiceImpl.config = config;
         ToolsApiExtendedServiceImpl.metricsConfig = config.getMetricsConfig();
@@ -234,66 +257,93 @@ public class ToolsApiExtendedServiceImpl extends ToolsExtendedApiService {
 
     @Override
     public Response toolsIndexGet(SecurityContext securityContext) {
-        int totalProcessed = 0;
+        long totalProcessed = 0;
         if (!config.getEsConfiguration().getHostname().isEmpty()) {
-            clearElasticSearch();
-            LOG.info("Starting GA4GH batch processing");
-            totalProcessed += indexDAO(toolDAO);
-            LOG.info("Processed {} tools", totalProcessed);
-            totalProcessed += indexDAO(workflowDAO);
-            LOG.info("Processed {} tools and workflows", totalProcessed);
-            totalProcessed += indexDAO(appToolDAO);
-            LOG.info("Processed {} tools, workflows, and apptools", totalProcessed);
-            totalProcessed += indexDAO(notebookDAO);
-            LOG.info("Processed {} tools, workflows, apptools, and notebooks", totalProcessed);
-        }
-        return Response.ok().entity(totalProcessed).build();
-    }
-
-    private int indexDAO(EntryDAO entryDAO) {
-        int processed = 0;
-        List<? extends Entry> published;
-        do {
-            published = entryDAO.findAllPublished(processed, ES_BATCH_INSERT_SIZE, null, "id", "asc");
-            processed += published.size();
-            indexBatch(published);
-            published.forEach(entryDAO::evict);
-        } while (published.size() == ES_BATCH_INSERT_SIZE);
-        return processed;
-    }
-
-    private void clearElasticSearch() {
-        try {
-            // FYI. it is real tempting to use a try ... catch with resources to close this client, but it actually permanently messes up the client!
-            RestHighLevelClient client = ElasticSearchHelper.restHighLevelClient();
-            // Delete previous indexes
-            deleteIndex(TOOLS_INDEX, client);
-            deleteIndex(WORKFLOWS_INDEX, client);
-            deleteIndex(NOTEBOOKS_INDEX, client);
-            // Create new indexes
-            createIndex("queries/mapping_tool.json", TOOLS_INDEX, client);
-            createIndex("queries/mapping_workflow.json", WORKFLOWS_INDEX, client);
-            createIndex("queries/mapping_notebook.json", NOTEBOOKS_INDEX, client);
-        } catch (IOException | RuntimeException e) {
-            LOG.error("Could not clear elastic search index", e);
-            throw new CustomWebApplicationException("Search indexing failed", HttpStatus.SC_INTERNAL_SERVER_ERROR);
+            if (!REINDEX_IN_PROGRESS.compareAndSet(false, true)) {
+                throw new CustomWebApplicationException("A reindex is already in progress", HttpStatus.SC_CONFLICT);
+            }
+            ElasticListener elasticListener = publicStateManager.getElasticListener();
+            Map<String, String> newIndices = new LinkedHashMap<>();
+            boolean swapped = false;
+            try {
+                // Searches keep using the current indices through their aliases while new versions of the indices are loaded
+                newIndices.putAll(createIndexVersions());
+                ElasticSearchReindexer reindexer = new ElasticSearchReindexer(sessionFactory, elasticListener, config.getEsConfiguration(), newIndices);
+                currentReindexer = reindexer;
+                elasticListener.setReindexTargets(newIndices);
+                LOG.info("Starting GA4GH batch processing");
+                // The workflow DAO queries the Workflow superclass, so it also covers apptools and notebooks
+                totalProcessed = reindexer.reindex(List.of(toolDAO, workflowDAO));
+                LOG.info("Processed {} tools, workflows, apptools, and notebooks", totalProcessed);
+                // An entry unpublished while its batch was loading may have been written after it was deleted
+                elasticListener.replayReindexDeletions();
+                // Updates made while the new indices were loading must be written before they are counted
+                elasticListener.flushUpdates();
+                finishIndexVersions(newIndices);
+                ElasticSearchHelper.swapAliases(newIndices);
+                swapped = true;
+                // The sitemap and RSS feed are derived from the same published entries, so refresh them too
+                publicStateManager.getSitemapListener().bulkUpsert(List.of());
+                publicStateManager.getRSSListener().bulkUpsert(List.of());
+            } catch (IOException e) {
+                LOG.error("Could not swap in new elastic search indices", e);
+                throw new CustomWebApplicationException("Search indexing failed", HttpStatus.SC_INTERNAL_SERVER_ERROR);
+            } finally {
+                elasticListener.setReindexTargets(Map.of());
+                if (!swapped) {
+                    // Nothing points at the new indices, so discarding them leaves search exactly as it was before the reindex
+                    newIndices.values().forEach(ElasticSearchHelper::deleteIndexQuietly);
+                }
+                REINDEX_IN_PROGRESS.set(false);
+            }
         }
+        return Response.ok().entity(Math.toIntExact(totalProcessed)).build();
+    }
+
+    @Override
+    public Response toolsIndexStatusGet(SecurityContext securityContext) {
+        ElasticSearchReindexer reindexer = currentReindexer;
+        return Response.ok().entity(reindexer == null ? new ReindexStatus() : reindexer.getStatus()).build();
     }
 
-    private void createIndex(String resourceName, String nameOfIndex, RestHighLevelClient client) throws IOException {
-        // Get mapping for index
-        URL urlStuff = Resources.getResource(resourceName);
-        String textTools = Resources.toString(urlStuff, StandardCharsets.UTF_8);
-        // Create indices
-        CreateIndexRequest toolsRequest = new CreateIndexRequest(nameOfIndex);
-        toolsRequest.source(textTools, XContentType.JSON);
-        client.indices().create(toolsRequest, RequestOptions.DEFAULT);
+    /**
+     * Creates a new, empty, versioned index for each index alias.
+     * @return a map from index alias to the new index
+     * @throws IOException
+     */
+    private Map<String, String> createIndexVersions() throws IOException {
+        Instant version = Instant.now();
+        Map<String, String> newIndices = new LinkedHashMap<>();
+        try {
+            newIndices.put(TOOLS_INDEX, ElasticSearchHelper.createIndexVersion(TOOLS_INDEX, "queries/mapping_tool.json", version));
+            newIndices.put(WORKFLOWS_INDEX, ElasticSearchHelper.createIndexVersion(WORKFLOWS_INDEX, "queries/mapping_workflow.json", version));
+            newIndices.put(NOTEBOOKS_INDEX, ElasticSearchHelper.createIndexVersion(NOTEBOOKS_INDEX, "queries/mapping_notebook.json", version));
+        } catch (IOException | RuntimeException e) {
+            newIndices.values().forEach(ElasticSearchHelper::deleteIndexQuietly);
+            throw e;
+        }
+        return newIndices;
     }
 
-    private void indexBatch(List<? extends Entry> published) {
-        // Populate index
-        if (!published.isEmpty()) {
-            publicStateManager.bulkUpsert((List<Entry>) published);
+    /**
+     * Restores the settings that were relaxed for the bulk load, then checks that each new index holds as many documents
+     * as there are published entries in the database, so that an incomplete index is never swapped in.
+     * @param newIndices a map from index alias to the new index
+     * @throws IOException
+     */
+    private void finishIndexVersions(Map<String, String> newIndices) throws IOException {
+        ElasticSearchHelper.finishBulkLoad(newIndices.get(TOOLS_INDEX), "queries/mapping_tool.json");
+        ElasticSearchHelper.finishBulkLoad(newIndices.get(WORKFLOWS_INDEX), "queries/mapping_workflow.json");
+        ElasticSearchHelper.finishBulkLoad(newIndices.get(NOTEBOOKS_INDEX), "queries/mapping_notebook.json");
+        Map<String, Long> dbCounts = ElasticsearchConsistencyHealthCheck.countPublishedEntriesByIndex(toolDAO, bioWorkflowDAO, appToolDAO, notebookDAO);
+        for (Map.Entry<String, String> newIndex : newIndices.entrySet()) {
+            long dbCount = dbCounts.get(newIndex.getKey());
+            long esCount = ElasticSearchHelper.countDocuments(newIndex.getValue());
+            if (esCount != dbCount) {
+                LOG.error("Elasticsearch index {} has {} documents but the database has {} published entries", newIndex.getValue(), esCount, dbCount);
+                throw new CustomWebApplicationException("Search indexing failed, the new " + newIndex.getKey() + " index is not consistent with the database",
+                    HttpStatus.SC_INTERNAL_SERVER_ERROR);
+            }
         }
     }
 
@@ -517,12 +567,7 @@ public class ToolsApiExtendedServiceImpl extends ToolsExtendedApiService {
             throw new CustomWebApplicationException(VERSION_NOT_FOUND_ERROR, HttpStatus.SC_NOT_FOUND);
         }
 
-        MetricsDataS3Client metricsDataS3Client;
-        try {
-            metricsDataS3Client = new MetricsDataS3Client(metricsConfig.getS3BucketName(), metricsConfig.getS3EndpointOverride());
-        } catch (URISyntaxException e) {
-            throw new CustomWebApplicationException("Error creating S3 client, could not submit executions", HttpStatus.SC_INTERNAL_SERVER_ERROR);
-        }
+        final MetricsDataS3Client metricsDataS3Client = getMetricsDataS3Client();
 
         try {
             String metricsData = OBJECT_MAPPER.writeValueAsString(executions);
@@ -530,8 +575,16 @@ public class ToolsApiExtendedServiceImpl extends ToolsExtendedApiService {
                 throw new CustomWebApplicationException("Execution metrics data must be provided", HttpStatus.SC_BAD_REQUEST);
             }
 
-            metricsDataS3Client.createS3Object(id, versionId, platform.name(), S3ClientHelper.createFileName(), owner.getId(), description, metricsData);
+            final String fileName = S3ClientHelper.createFileName();
+            final boolean earlierSubmissions = version.get().getVersionMetadata().getLatestMetricsSubmissionDate() != null;
+            // Lock the sketch before uploading, so that a rebuild either reads this submission or runs before it is folded in
+            final ExecutionMetricsSketch sketch = metricsConfig.isAggregateOnSubmit() ? executionMetricsAggregator.lock(version.get(), platform, earlierSubmissions) : null;
+            metricsDataS3Client.createS3Object(id, versionId, platform.name(), fileName, owner.getId(), description, metricsData);
+            final Set<String> newExecutionIds = executionS3KeyDAO.saveAll(id, versionId, platform, fileName, executions.getExecutionIds());
             version.get().getVersionMetadata().setLatestMetricsSubmissionDate(Timestamp.from(Instant.now()));
+            if (sketch != null && executionMetricsAggregator.aggregate(version.get(), sketch, executions, newExecutionIds)) {
+                PublicStateManager.getInstance().handleIndexUpdate(entry, StateManagerMode.UPDATE);
+            }
             return Response.noContent().build();
         } catch (JsonProcessingException | AwsServiceException | SdkClientException e) {
             LOG.error(COULD_NOT_SUBMIT_METRICS_DATA, e);
@@ -539,6 +592,92 @@ public class ToolsApiExtendedServiceImpl extends ToolsExtendedApiService {
         }
     }
 
+    /**
+     * Registers the job that indexes the S3 file of every execution submitted before the execution_s3_key table existed, and the job that
+     * rebuilds the execution metrics sketches that are missing or incomplete.
+     * Tools and workflows are partitioned by the same id range, and only versions that have had metrics submitted are read.
+     */
+    public static void registerBackfillTasks(BackfillJobExecutor backfillJobExecutor) {
+        if (!s3ClientManager.isMetricsDataConfigured()) {
+            return;
+        }
+        backfillJobExecutor.register(BackfillJob.Type.EXECUTION_INDEX, new BackfillJobExecutor.BackfillTask() {
+            @Override
+            public long findMaxId() {
+                return Math.max(toolDAO.findMaxId(), workflowDAO.findMaxId());
+            }
+
+            @Override
+            public int process(long startId, long endId, boolean allVersions) {
+                final MetricsDataS3Client metricsDataS3Client = getMetricsDataS3Client();
+                final List<Entry<?, ?>> entries = new ArrayList<>(toolDAO.findToolsByIdRange(startId, endId));
+                entries.addAll(workflowDAO.findWorkflowsByIdRange(startId, endId));
+                entries.forEach(entry -> indexExecutions(entry, metricsDataS3Client));
+                return entries.size();
+            }
+        });
+        backfillJobExecutor.register(BackfillJob.Type.EXECUTION_METRICS, new BackfillJobExecutor.BackfillTask() {
+            @Override
+            public long findMaxId() {
+                return Math.max(toolDAO.findMaxId(), workflowDAO.findMaxId());
+            }
+
+            @Override
+            public int process(long startId, long endId, boolean allVersions) {
+                final MetricsDataS3Client metricsDataS3Client = getMetricsDataS3Client();
+                final List<Entry<?, ?>> entries = new ArrayList<>(toolDAO.findToolsByIdRange(startId, endId));
+                entries.addAll(workflowDAO.findWorkflowsByIdRange(startId, endId));
+                entries.forEach(entry -> rebuildExecutionMetrics(entry, metricsDataS3Client, allVersions));
+                return entries.size();
+            }
+        });
+    }
+
+    private static MetricsDataS3Client getMetricsDataS3Client() {
+        return s3ClientManager.requireMetricsDataS3Client();
+    }
+
+    private static void indexExecutions(Entry<?, ?> entry, MetricsDataS3Client metricsDataS3Client) {
+        final List<Partner> platforms = Stream.of(Partner.values()).filter(Partner::isActualPartner).toList();
+        for (Version<?> version : entry.getWorkflowVersions()) {
+            if (version.getVersionMetadata().getLatestMetricsSubmissionDate() == null) {
+                continue;
+            }
+            for (Partner platform : platforms) {
+                try {
+                    new ExecutionsRequestBodyS3Handler(entry.getTrsId(), version.getName(), platform, metricsDataS3Client, executionS3KeyDAO, false).indexAllExecutions();
+                } catch (AwsServiceException | SdkClientException e) {
+                    LOG.error("Could not index the {} executions of {} version {}", platform, entry.getTrsId(), version.getName(), e);
+                }
+            }
+        }
+    }
+
+    private static void rebuildExecutionMetrics(Entry<?, ?> entry, MetricsDataS3Client metricsDataS3Client, boolean allVersions) {
+        final List<Partner> platforms = Stream.of(Partner.values()).filter(Partner::isActualPartner).toList();
+        boolean updated = false;
+        for (Version<?> version : entry.getWorkflowVersions()) {
+            if (version.getVersionMetadata().getLatestMetricsSubmissionDate() == null) {
+                continue;
+            }
+            for (Partner platform : platforms) {
+                if (!allVersions && executionMetricsAggregator.isComplete(version, platform)) {
+                    continue;
+                }
+                try {
+                    final ExecutionsRequestBodyS3Handler s3Handler = new ExecutionsRequestBodyS3Handler(entry.getTrsId(), version.getName(), platform, metricsDataS3Client);
+                    updated |= executionMetricsAggregator.rebuild(version, platform,
+                        () -> s3Handler.getAllExecutionsFromS3().stream().map(ExecutionsFromS3::executionsRequestBody).toList());
+                } catch (AwsServiceException | SdkClientException e) {
+                    LOG.error("Could not rebuild the {} execution metrics of {} version {}", platform, entry.getTrsId(), version.getName(), e);
+                }
+            }
+        }
+        if (updated) {
+            PublicStateManager.getInstance().handleIndexUpdate(entry, StateManagerMode.UPDATE);
+        }
+    }
+
     @Override
     public Response getEntryVersionsToAggregate() {
         List<EntryLiteAndVersionName> entryAndVersionNames = new ArrayList<>();
@@ -566,8 +705,12 @@ public class ToolsApiExtendedServiceImpl extends ToolsExtendedApiService {
             throw new CustomWebApplicationException(VERSION_NOT_FOUND_ERROR, HttpStatus.SC_NOT_FOUND);
         }
 
+        // Execution metrics computed on submit are at least as recent as the ones the external aggregator read, so only take its
+        // validation metrics, and its execution metrics of platforms that aren't sketched yet
+        final Map<Partner, Metrics> metricsByPlatform = metricsConfig.isAggregateOnSubmit()
+            ? executionMetricsAggregator.withSketchedExecutionMetrics(version, aggregatedMetrics) : aggregatedMetrics;
         version.getMetricsByPlatform().clear();
-        version.getMetricsByPlatform().putAll(aggregatedMetrics);
+        version.getMetricsByPlatform().putAll(metricsByPlatform);
         version.getVersionMetadata().setLatestMetricsAggregationDate(Timestamp.from(Instant.now()));
         PublicStateManager.getInstance().handleIndexUpdate(entry, StateManagerMode.UPDATE);
         return Response.ok().entity(version.getMetricsByPlatform()).build();
@@ -608,14 +751,10 @@ public class ToolsApiExtendedServiceImpl extends ToolsExtendedApiService {
             throw new CustomWebApplicationException(VERSION_NOT_FOUND_ERROR, HttpStatus.SC_NOT_FOUND);
         }
 
-        MetricsDataS3Client metricsDataS3Client;
-        try {
-            metricsDataS3Client = new MetricsDataS3Client(metricsConfig.getS3BucketName(), metricsConfig.getS3EndpointOverride());
-        } catch (URISyntaxException e) {
-            throw new CustomWebApplicationException("Error creating S3 client, could not get execution", HttpStatus.SC_INTERNAL_SERVER_ERROR);
-        }
+        final MetricsDataS3Client metricsDataS3Client = getMetricsDataS3Client();
 
-        ExecutionsRequestBodyS3Handler executionsRequestBodyS3Handler = new ExecutionsRequestBodyS3Handler(id, versionId, platform, metricsDataS3Client);
+        ExecutionsRequestBodyS3Handler executionsRequestBodyS3Handler = new ExecutionsRequestBodyS3Handler(id, versionId, platform, metricsDataS3Client, executionS3KeyDAO,
+                metricsConfig.isSearchUnindexedExecutions());
         Optional<ExecutionsFromS3> executionsFromS3 = executionsRequestBodyS3Handler.searchS3ForExecutionId(executionId, true);
         if (executionsFromS3.isPresent()) {
             return Response.ok(executionsFromS3.get().executionsRequestBody()).build();
@@ -643,18 +782,16 @@ public class ToolsApiExtendedServiceImpl extends ToolsExtendedApiService {
             throw new CustomWebApplicationException(VERSION_NOT_FOUND_ERROR, HttpStatus.SC_NOT_FOUND);
         }
 
-        MetricsDataS3Client metricsDataS3Client;
-        try {
-            metricsDataS3Client = new MetricsDataS3Client(metricsConfig.getS3BucketName(), metricsConfig.getS3EndpointOverride());
-        } catch (URISyntaxException e) {
-            throw new CustomWebApplicationException("Error creating S3 client", HttpStatus.SC_INTERNAL_SERVER_ERROR);
-        }
+        final MetricsDataS3Client metricsDataS3Client = getMetricsDataS3Client();
 
-        ExecutionsRequestBodyS3Handler executionsRequestBodyS3Handler = new ExecutionsRequestBodyS3Handler(id, versionId, platform, metricsDataS3Client);
+        ExecutionsRequestBodyS3Handler executionsRequestBodyS3Handler = new ExecutionsRequestBodyS3Handler(id, versionId, platform, metricsDataS3Client, executionS3KeyDAO,
+                metricsConfig.isSearchUnindexedExecutions());
         ExecutionsResponseBody executionsResponseBody = new ExecutionsResponseBody();
         List<? extends Execution> executionsToUpdate = Stream.of(executions.getRunExecutions(), executions.getTaskExecutions(), executions.getValidationExecutions())
                 .flatMap(List::stream)
                 .toList();
+        // Look up the files of all the executions with one query
+        executionsRequestBodyS3Handler.findIndexedExecutions(executionsToUpdate.stream().map(Execution::getExecutionId).toList());
         for (Execution executionToUpdate: executionsToUpdate) {
             final String executionId = executionToUpdate.getExecutionId();
             Optional<ExecutionsFromS3> executionsFromS3 = executionsRequestBodyS3Handler.searchS3ForExecutionId(executionId, false);
@@ -677,6 +814,7 @@ public class ToolsApiExtendedServiceImpl extends ToolsExtendedApiService {
 
         if (executionsResponseBody.getExecutionResponses().stream().anyMatch(executionResponse -> executionResponse.getStatus() == HttpStatus.SC_OK)) {
             version.getVersionMetadata().setLatestMetricsSubmissionDate(Timestamp.from(Instant.now()));
+            executionMetricsAggregator.markIncomplete(version, platform);
         }
 
         return Response.status(HttpStatus.SC_MULTI_STATUS).entity(executionsResponseBody).build();
@@ -768,15 +906,6 @@ public class ToolsApiExtendedServiceImpl extends ToolsExtendedApiService {
         return versionOptional;
     }
 
-    private void deleteIndex(String index, RestHighLevelClient restClient) {
-        try {
-            DeleteIndexRequest deleteIndexRequest = new DeleteIndexRequest(index);
-            restClient.indices().delete(deleteIndexRequest, RequestOptions.DEFAULT);
-        } catch (Exception e) {
-            LOG.warn("Could not delete previous elastic search " + index + " index, not an issue if this is cold start", e);
-        }
-    }
-
     /**
      * Checks if the platform is an actual platform and not Partner.ALL
      * @param platform
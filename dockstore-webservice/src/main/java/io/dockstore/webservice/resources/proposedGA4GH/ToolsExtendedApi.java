@@ -21,6 +21,7 @@ import static io.dockstore.webservice.resources.ResourceConstants.JWT_SECURITY_D
 import io.dockstore.common.Partner;
 import io.dockstore.common.metrics.ExecutionsRequestBody;
 import io.dockstore.webservice.DockstoreWebserviceApplication;
+import io.dockstore.webservice.api.ReindexStatus;
 import io.dockstore.webservice.api.UpdateAITopicRequest;
 import io.dockstore.webservice.core.Entry.EntryLiteAndVersionName;
 import io.dockstore.webservice.core.User;
@@ -135,6 +136,21 @@ public class ToolsExtendedApi {
         return delegate.toolsIndexGet(securityContext);
     }
 
+    @GET
+    @Path("/tools/index/status")
+    @RolesAllowed({"curator", "admin"})
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(value = ToolsIndexStatusGet.SUMMARY, notes = ToolsIndexStatusGet.DESCRIPTION, authorizations = {
+        @Authorization(value = JWT_SECURITY_DEFINITION_NAME)}, response = ReindexStatus.class)
+    @ApiResponses(value = {@ApiResponse(code = HttpStatus.SC_OK, message = ToolsIndexStatusGet.OK_RESPONSE, response = ReindexStatus.class)})
+    @Operation(operationId = ToolsIndexStatusGet.OPERATION_ID, summary = ToolsIndexStatusGet.SUMMARY, description = ToolsIndexStatusGet.DESCRIPTION, security = @SecurityRequirement(name = ResourceConstants.JWT_SECURITY_DEFINITION_NAME), responses = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = HttpStatus.SC_OK
+            + "", description = ToolsIndexStatusGet.OK_RESPONSE, content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ReindexStatus.class)))
+    })
+    public Response toolsIndexStatusGet(@ApiParam(hidden = true) @Parameter(hidden = true) @Auth User user, @Context SecurityContext securityContext) {
+        return delegate.toolsIndexStatusGet(securityContext);
+    }
+
     @GET
     @Path("/workflows/{organization}")
     @UnitOfWork(readOnly = true)
@@ -503,6 +519,13 @@ public class ToolsExtendedApi {
         public static final String UNAUTHORIZED_RESPONSE = "Credentials not provided or incorrect.";
     }
 
+    private static final class ToolsIndexStatusGet {
+        public static final String OPERATION_ID = "getIndexStatus";
+        public static final String SUMMARY = "Get the progress of the most recent reindex";
+        public static final String DESCRIPTION = "This endpoint returns the progress and throughput of the most recent update of the workflows and tools indices.";
+        public static final String OK_RESPONSE = "Progress of the most recent reindex.";
+    }
+
     private static final class ToolsIndexGet {
 
         public static final String SUMMARY = "Update the workflows and tools indices";
@@ -89,6 +89,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -115,6 +116,10 @@ public class ToolsApiServiceImpl extends ToolsApiService implements Authenticate
     private static final int SEGMENTS_IN_ID = 3;
     //TODO this is also a maximum page size, may want to rename/split out the two concepts
     private static final int DEFAULT_PAGE_SIZE = 100;
+    /**
+     * An offset starting with this selects cursor paging in toolsGet, offset=cursor asks for the first page
+     */
+    private static final String CURSOR_OFFSET_PREFIX = "cursor";
     private static final Logger LOG = LoggerFactory.getLogger(ToolsApiServiceImpl.class);
 
     private static ToolDAO toolDAO = null;
@@ -365,6 +370,14 @@ public class ToolsApiServiceImpl extends ToolsApiService implements Authenticate
         final int actualLimit = Math.min(ObjectUtils.firstNonNull(limit, DEFAULT_PAGE_SIZE), DEFAULT_PAGE_SIZE);
         final String relativePath = value.getUriInfo().getRequestUri().getPath();
 
+        if (offset != null && offset.startsWith(CURSOR_OFFSET_PREFIX) && id == null && alias == null) {
+            final Optional<TrsCursor> cursor = TrsCursor.decode(offset);
+            if (cursor.isEmpty()) {
+                return Response.status(getExtendedStatus(Status.BAD_REQUEST, "Bad offset")).build();
+            }
+            return toolsGetAfterCursor(cursor.get(), toolClass, descriptorType, registry, organization, name, toolname, description, author, checker, offset, actualLimit, value);
+        }
+
         int offsetInteger = 0;
         if (offset != null) {
             try {
@@ -386,34 +399,107 @@ public class ToolsApiServiceImpl extends ToolsApiService implements Authenticate
             return BAD_DECODE_REGISTRY_RESPONSE;
         }
 
-        List<io.openapi.model.Tool> results = new ArrayList<>();
+        List<io.openapi.model.Tool> results = convertPage(all);
+
+        final String scheme = config.getExternalConfig().getScheme();
+        final String hostname = config.getExternalConfig().getHostname();
+        final int port = config.getExternalConfig().getPort() == null ? -1 : Integer.parseInt(config.getExternalConfig().getPort());
+        final String path = ObjectUtils.firstNonNull(config.getExternalConfig().getBasePath(), "") + relativePath;
+        final String encodedQuery = value.getUriInfo().getRequestUri().getRawQuery();
+
+        final Response.ResponseBuilder responseBuilder = Response.ok(results);
+        responseBuilder.header("current_offset", offset);
+        responseBuilder.header("current_limit", actualLimit);
+        responseBuilder.header("self_link", createUrlString(scheme, hostname, port, path, encodedQuery));
+        if (startIndex + actualLimit < numEntries.sum()) {
+            responseBuilder.header("next_page", createUrlString(scheme, hostname, port, path, positionQuery(encodedQuery, actualLimit, offsetInteger + 1L)));
+        }
+        final long numPages = numEntries.sum() / actualLimit;
+        responseBuilder.header("last_page", createUrlString(scheme, hostname, port, path, positionQuery(encodedQuery, actualLimit, numPages)));
+
+        return responseBuilder.build();
+    }
 
-        for (long entryId: all.stream().map(Entry::getId).toList()) {
-            sessionFactory.getCurrentSession().clear();
-            Entry<?, ?> c = toolDAO.getGenericEntryById(entryId);
+    /**
+     * Converts a page of entries to TRS tools. The entries are only used for their ids and are cleared from the list.
+     */
+    private List<io.openapi.model.Tool> convertPage(List<Entry<?, ?>> all) {
+        // start from a clean session so that the page is loaded with its collections in a handful of set-based queries
+        final List<Long> entryIds = all.stream().map(Entry::getId).toList();
+        all.clear();
+        sessionFactory.getCurrentSession().clear();
+        List<io.openapi.model.Tool> results = new ArrayList<>();
+        for (Entry<?, ?> c : toolDAO.findGenericEntriesForTrsListing(entryIds)) {
             // if passing, for each container that matches the criteria, convert to standardised format and return
             io.openapi.model.Tool tool = ToolsImplCommon.convertEntryToTool(c, config);
             if (tool != null) {
                 results.add(tool);
             }
+            // the converted tool has everything the response needs, let go of the entity as we go
+            sessionFactory.getCurrentSession().evict(c);
+        }
+        return results;
+    }
+
+    /**
+     * Lists tools with cursor (keyset) paging. Rather than skipping offset * limit rows, each page seeks past the (entry type, id) of the last
+     * entry on the previous page, so deep pages cost the same as the first one, and entries published while a client is paging do not shift the
+     * pages it has yet to read. The per-type counts are not computed, so there is no last_page link; use page numbers to get those.
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private Response toolsGetAfterCursor(TrsCursor cursor, String toolClass, DescriptorType descriptorType, String registry, String organization, String name, String toolname,
+        String description, String author, Boolean checker, String offset, int actualLimit, ContainerRequestContext value) {
+        DescriptorLanguage descriptorLanguage = null;
+        if (descriptorType != null) {
+            try {
+                descriptorLanguage = toDescriptorLanguage(descriptorType.toString());
+            } catch (UnsupportedOperationException ex) {
+                // If unable to match descriptor language, do not return any entries.
+                LOG.info(ex.getMessage());
+                return Response.ok(List.of()).header("current_offset", offset).header("current_limit", actualLimit).build();
+            }
+        }
+
+        // ask for one more entry than fits on the page to find out whether there is a next page without counting
+        final List<Entry<?, ?>> all = new ArrayList<>();
+        TrsCursor nextCursor = null;
+        // the type of the last entry on the page, which may be an earlier type than the one the next entry comes from
+        int lastEntryType = cursor.entryType();
+        final EntryTypeDAOAndStats[] typeDAOs = entryTypeDAOs(null, null, null, null, null);
+        for (int entryType = cursor.entryType(); entryType < typeDAOs.length && all.size() <= actualLimit; entryType++) {
+            if (!isCorrectToolClass(toolClass, typeDAOs[entryType].trsClassName())) {
+                continue;
+            }
+            final long afterId = entryType == cursor.entryType() ? cursor.afterId() : 0;
+            for (Entry<?, ?> entry : typeDAOs[entryType].dao()
+                .filterTrsToolsGetAfterId(descriptorLanguage, registry, organization, name, toolname, description, author, checker, afterId, actualLimit + 1 - all.size())) {
+                if (all.size() == actualLimit) {
+                    nextCursor = new TrsCursor(lastEntryType, all.get(all.size() - 1).getId());
+                    break;
+                }
+                all.add(entry);
+                lastEntryType = entryType;
+            }
+            if (nextCursor != null) {
+                break;
+            }
         }
 
+        List<io.openapi.model.Tool> results = convertPage(all);
+
         final String scheme = config.getExternalConfig().getScheme();
         final String hostname = config.getExternalConfig().getHostname();
         final int port = config.getExternalConfig().getPort() == null ? -1 : Integer.parseInt(config.getExternalConfig().getPort());
-        final String path = ObjectUtils.firstNonNull(config.getExternalConfig().getBasePath(), "") + relativePath;
+        final String path = ObjectUtils.firstNonNull(config.getExternalConfig().getBasePath(), "") + value.getUriInfo().getRequestUri().getPath();
         final String encodedQuery = value.getUriInfo().getRequestUri().getRawQuery();
 
         final Response.ResponseBuilder responseBuilder = Response.ok(results);
         responseBuilder.header("current_offset", offset);
         responseBuilder.header("current_limit", actualLimit);
         responseBuilder.header("self_link", createUrlString(scheme, hostname, port, path, encodedQuery));
-        if (startIndex + actualLimit < numEntries.sum()) {
-            responseBuilder.header("next_page", createUrlString(scheme, hostname, port, path, positionQuery(encodedQuery, actualLimit, offsetInteger + 1L)));
+        if (nextCursor != null) {
+            responseBuilder.header("next_page", createUrlString(scheme, hostname, port, path, positionQuery(encodedQuery, actualLimit, nextCursor.encode())));
         }
-        final long numPages = numEntries.sum() / actualLimit;
-        responseBuilder.header("last_page", createUrlString(scheme, hostname, port, path, positionQuery(encodedQuery, actualLimit, numPages)));
-
         return responseBuilder.build();
     }
 
@@ -434,6 +520,10 @@ public class ToolsApiServiceImpl extends ToolsApiService implements Authenticate
     }
 
     private String positionQuery(String encodedQuery, long limit, long offset) {
+        return positionQuery(encodedQuery, limit, String.valueOf(offset));
+    }
+
+    private String positionQuery(String encodedQuery, long limit, String offset) {
         // For more sophisticated query string processing, the
         // https://hc.apache.org/httpcomponents-client-5.1.x/
         // library may be of use.
@@ -502,12 +592,7 @@ public class ToolsApiServiceImpl extends ToolsApiService implements Authenticate
             DescriptorLanguage descriptorLanguage = null;
             if (descriptorType != null) {
                 try {
-                    // Tricky case for GALAXY because it doesn't match the rules of the other languages
-                    if ("galaxy".equalsIgnoreCase(descriptorType)) {
-                        descriptorType = DescriptorLanguage.GXFORMAT2.getShortName();
-                    }
-
-                    descriptorLanguage = DescriptorLanguage.convertShortStringToEnum(descriptorType);
+                    descriptorLanguage = toDescriptorLanguage(descriptorType);
                 } catch (UnsupportedOperationException ex) {
                     // If unable to match descriptor language, do not return any entries.
                     LOG.info(ex.getMessage());
@@ -527,8 +612,7 @@ public class ToolsApiServiceImpl extends ToolsApiService implements Authenticate
             long pageRemaining = actualLimit;
             long entriesConsidered = 0;
 
-            EntryTypeDAOAndStats[] typeDAOs = new EntryTypeDAOAndStats[]{new EntryTypeDAOAndStats(COMMAND_LINE_TOOL, toolDAO, numTools),
-                new EntryTypeDAOAndStats(WORKFLOW, bioWorkflowDAO, numWorkflows), new EntryTypeDAOAndStats(COMMAND_LINE_TOOL, appToolDAO, numAppTools), new EntryTypeDAOAndStats(SERVICE, serviceDAO, numServices), new EntryTypeDAOAndStats(NOTEBOOK, notebookDAO, numNotebooks)};
+            EntryTypeDAOAndStats[] typeDAOs = entryTypeDAOs(numTools, numWorkflows, numAppTools, numServices, numNotebooks);
 
             for (EntryTypeDAOAndStats typeDAO : typeDAOs) {
                 if (!all.isEmpty()) {
@@ -553,6 +637,22 @@ public class ToolsApiServiceImpl extends ToolsApiService implements Authenticate
         return new NumberOfEntityTypes(numTools, numWorkflows, numAppTools, numServices, numNotebooks);
     }
 
+    private static DescriptorLanguage toDescriptorLanguage(String descriptorType) {
+        // Tricky case for GALAXY because it doesn't match the rules of the other languages
+        if ("galaxy".equalsIgnoreCase(descriptorType)) {
+            return DescriptorLanguage.convertShortStringToEnum(DescriptorLanguage.GXFORMAT2.getShortName());
+        }
+        return DescriptorLanguage.convertShortStringToEnum(descriptorType);
+    }
+
+    /**
+     * The entry types in the order that toolsGet lists them. Cursors refer to an entry type by its position here, so only ever append to this.
+     */
+    private EntryTypeDAOAndStats[] entryTypeDAOs(Long numTools, Long numWorkflows, Long numAppTools, Long numServices, Long numNotebooks) {
+        return new EntryTypeDAOAndStats[]{new EntryTypeDAOAndStats(COMMAND_LINE_TOOL, toolDAO, numTools),
+            new EntryTypeDAOAndStats(WORKFLOW, bioWorkflowDAO, numWorkflows), new EntryTypeDAOAndStats(COMMAND_LINE_TOOL, appToolDAO, numAppTools), new EntryTypeDAOAndStats(SERVICE, serviceDAO, numServices), new EntryTypeDAOAndStats(NOTEBOOK, notebookDAO, numNotebooks)};
+    }
+
     private boolean isCorrectToolClass(String toolClass, String daoToolClass) {
         return toolClass == null || daoToolClass.equalsIgnoreCase(toolClass);
     }
@@ -1151,7 +1251,45 @@ public class ToolsApiServiceImpl extends ToolsApiService implements Authenticate
     public static class EmptyImageType implements OneOfFileWrapperImageType {
     }
 
+    /**
+     * @param numEntries the number of matching entries, null when they were not counted
+     */
     private record EntryTypeDAOAndStats(String trsClassName, EntryDAO<? extends Entry<?, ?>> dao, Long numEntries) {
 
     }
+
+    /**
+     * A position in the cursor paged tool listing: the next page starts after the entry with id afterId of the entryType'th entry type.
+     * Encoded as an opaque offset so that clients treat it as a token rather than building their own.
+     */
+    record TrsCursor(int entryType, long afterId) {
+
+        private static final String SEPARATOR = ":";
+
+        String encode() {
+            return CURSOR_OFFSET_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString((entryType + SEPARATOR + afterId).getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @param offset the offset query parameter, either just the prefix for the first page or a token from a next_page link
+         * @return the cursor, or empty if the token is malformed
+         */
+        static Optional<TrsCursor> decode(String offset) {
+            final String token = offset.substring(CURSOR_OFFSET_PREFIX.length());
+            if (token.isEmpty()) {
+                return Optional.of(new TrsCursor(0, 0));
+            }
+            try {
+                final List<String> parts = Splitter.on(SEPARATOR).splitToList(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+                if (parts.size() != 2) {
+                    return Optional.empty();
+                }
+                final int entryType = Integer.parseInt(parts.get(0));
+                final long afterId = Long.parseLong(parts.get(1));
+                return entryType < 0 || afterId < 0 ? Optional.empty() : Optional.of(new TrsCursor(entryType, afterId));
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        }
+    }
 }
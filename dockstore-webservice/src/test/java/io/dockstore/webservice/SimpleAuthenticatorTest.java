@@ -3,16 +3,24 @@ package io.dockstore.webservice;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.api.services.oauth2.model.Userinfoplus;
 import io.dockstore.webservice.core.Token;
 import io.dockstore.webservice.core.User;
+import io.dockstore.webservice.helpers.CredentialCache;
 import io.dockstore.webservice.jdbi.TokenDAO;
 import io.dockstore.webservice.jdbi.UserDAO;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,13 +36,15 @@ class SimpleAuthenticatorTest {
     private final Userinfoplus userinfoplus = Mockito.mock(Userinfoplus.class);
     private TokenDAO tokenDAO;
     private UserDAO userDAO;
+    private CredentialCache credentialCache;
     private SimpleAuthenticator simpleAuthenticator;
 
     @BeforeEach
     public void setUp() {
         tokenDAO = Mockito.mock(TokenDAO.class);
         userDAO = Mockito.mock(UserDAO.class);
-        simpleAuthenticator = spy(new SimpleAuthenticator(tokenDAO, userDAO));
+        credentialCache = new CredentialCache(new DockstoreWebserviceConfiguration.CredentialCacheConfig(), new MetricRegistry());
+        simpleAuthenticator = spy(new SimpleAuthenticator(tokenDAO, userDAO, credentialCache));
         doNothing().when(simpleAuthenticator).initializeUserProfiles(user);
     }
 
@@ -72,4 +82,50 @@ class SimpleAuthenticatorTest {
         doReturn(Optional.empty()).when(simpleAuthenticator).userinfoPlusFromToken(credentials);
         assertFalse(simpleAuthenticator.authenticate(credentials).isPresent());
     }
+
+    @Test
+    void rejectedCredentialsAreNotLookedUpAgain() {
+        doReturn(Optional.empty()).when(simpleAuthenticator).userinfoPlusFromToken(credentials);
+        assertFalse(simpleAuthenticator.authenticate(credentials).isPresent());
+        assertFalse(simpleAuthenticator.authenticate(credentials).isPresent());
+        verify(tokenDAO, times(1)).findByContent(credentials);
+        verify(simpleAuthenticator, times(1)).userinfoPlusFromToken(credentials);
+    }
+
+    @Test
+    void credentialsAreNotRejectedWhenGoogleFails() {
+        doThrow(new UncheckedIOException(new SocketTimeoutException("Read timed out"))).when(simpleAuthenticator).userinfoPlusFromToken(credentials);
+        assertFalse(simpleAuthenticator.authenticate(credentials).isPresent());
+        assertFalse(credentialCache.isRejected(credentials), "A failed lookup should not lock out a token that may be valid");
+
+        // once Google answers again, the token is accepted
+        doReturn(Optional.of(userinfoplus)).when(simpleAuthenticator).userinfoPlusFromToken(credentials);
+        when(userinfoplus.getEmail()).thenReturn(USER_EMAIL);
+        when(userDAO.findByGoogleEmail(USER_EMAIL)).thenReturn(user);
+        assertTrue(simpleAuthenticator.authenticate(credentials).isPresent());
+        verify(simpleAuthenticator, times(2)).userinfoPlusFromToken(credentials);
+    }
+
+    @Test
+    void invalidatedCredentialsAreLookedUpAgain() {
+        doReturn(Optional.empty()).when(simpleAuthenticator).userinfoPlusFromToken(credentials);
+        assertFalse(simpleAuthenticator.authenticate(credentials).isPresent());
+
+        credentialCache.invalidate(credentials);
+        when(token.getUserId()).thenReturn(USER_ID);
+        when(tokenDAO.findByContent(credentials)).thenReturn(token);
+        when(userDAO.findById(USER_ID)).thenReturn(user);
+        assertTrue(simpleAuthenticator.authenticate(credentials).isPresent());
+    }
+
+    @Test
+    void googleUserinfoIsReused() {
+        when(tokenDAO.findByContent(credentials)).thenReturn(null);
+        doReturn(Optional.of(userinfoplus)).when(simpleAuthenticator).userinfoPlusFromToken(credentials);
+        when(userinfoplus.getEmail()).thenReturn(USER_EMAIL);
+        when(userDAO.findByGoogleEmail(USER_EMAIL)).thenReturn(user);
+        assertTrue(simpleAuthenticator.authenticate(credentials).isPresent());
+        assertTrue(simpleAuthenticator.authenticate(credentials).isPresent());
+        verify(simpleAuthenticator, times(1)).userinfoPlusFromToken(credentials);
+    }
 }
@@ -1,5 +1,7 @@
 package io.dockstore.webservice.core;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import io.dockstore.webservice.CustomWebApplicationException;
@@ -76,4 +78,23 @@ class SourceFileTest {
             }
         }
     }
+
+    @Test
+    void testCopyKeepsContent() {
+        SourceFile sourceFile = new SourceFile();
+        sourceFile.setPath("/Dockstore.cwl");
+        sourceFile.setAbsolutePath("/Dockstore.cwl");
+        sourceFile.setContent("cwlVersion: v1.0");
+        SourceFile copy = SourceFile.copy(sourceFile);
+        assertEquals("cwlVersion: v1.0", copy.getContent());
+        assertEquals("/Dockstore.cwl", copy.getAbsolutePath());
+    }
+
+    @Test
+    void testSetNullContent() {
+        SourceFile sourceFile = new SourceFile();
+        sourceFile.setContent("cwlVersion: v1.0");
+        sourceFile.setContent(null);
+        assertNull(sourceFile.getContent());
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ByteBudgetTest {
+
+    @Test
+    void testReserveAndRelease() throws InterruptedException {
+        ByteBudget budget = new ByteBudget(100);
+        assertTrue(budget.reserve(60, 0, TimeUnit.SECONDS));
+        assertFalse(budget.reserve(60, 10, TimeUnit.MILLISECONDS), "A reservation beyond the budget should time out");
+        assertEquals(60, budget.getReservedBytes());
+        budget.release(60);
+        assertEquals(0, budget.getReservedBytes());
+        assertTrue(budget.reserve(250, 0, TimeUnit.SECONDS), "An oversized reservation should succeed when nothing else is reserved");
+    }
+
+    @Test
+    void testWaitingReservationProceedsAfterRelease() throws Exception {
+        ByteBudget budget = new ByteBudget(100);
+        assertTrue(budget.reserve(80, 0, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return budget.reserve(50, 10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        budget.release(80);
+        assertTrue(waiting.get(10, TimeUnit.SECONDS));
+        assertEquals(50, budget.getReservedBytes());
+    }
+}
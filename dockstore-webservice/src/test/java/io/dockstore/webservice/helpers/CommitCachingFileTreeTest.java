@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.helpers;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CommitCachingFileTreeTest {
+
+    private static final String REPOSITORY = "dockstore-testing/commit-caching-file-tree";
+
+    @Test
+    void testTreesForTheSameCommitShareContent() {
+        SyntheticFileTree syntheticFileTree = new SyntheticFileTree();
+        syntheticFileTree.addFile(path("/a/1.txt"), "one");
+        syntheticFileTree.addFile(path("/foo.bar"), "foobar");
+        String sha = "0123456789abcdef0123456789abcdef01234567";
+        AtomicInteger created = new AtomicInteger();
+
+        FileTree first = new CommitCachingFileTree(REPOSITORY, sha, () -> {
+            created.incrementAndGet();
+            return syntheticFileTree;
+        });
+        Assertions.assertEquals("one", first.readFile(path("/a/1.txt")));
+        Assertions.assertEquals(syntheticFileTree.listFiles(path("/a")), first.listFiles(path("/a")));
+        Assertions.assertEquals(syntheticFileTree.listPaths(), first.listPaths());
+        Assertions.assertNull(first.readFile(path("/missing.txt")));
+        Assertions.assertEquals(1, created.get());
+
+        FileTree second = new CommitCachingFileTree(REPOSITORY, sha, () -> {
+            throw new RuntimeException("the file tree should not be needed");
+        });
+        Assertions.assertEquals("one", second.readFile(path("/a/1.txt")));
+        Assertions.assertEquals(syntheticFileTree.listFiles(path("/a")), second.listFiles(path("/a")));
+        Assertions.assertEquals(syntheticFileTree.listPaths(), second.listPaths());
+
+        FileTree otherCommit = new CommitCachingFileTree(REPOSITORY, "fedcba9876543210fedcba9876543210fedcba98", () -> {
+            created.incrementAndGet();
+            return syntheticFileTree;
+        });
+        Assertions.assertEquals("foobar", otherCommit.readFile(path("/foo.bar")));
+        Assertions.assertEquals(2, created.get(), "Content should only be shared between trees for the same commit");
+    }
+
+    @Test
+    void testIsCommitSha() {
+        Assertions.assertTrue(CommitFileCache.isCommitSha("0123456789abcdef0123456789abcdef01234567"));
+        Assertions.assertFalse(CommitFileCache.isCommitSha("main"));
+        Assertions.assertFalse(CommitFileCache.isCommitSha("0123456"));
+        Assertions.assertFalse(CommitFileCache.isCommitSha(null));
+    }
+
+    private Path path(String stringPath) {
+        return Paths.get(stringPath);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ElasticSearchUpdateQueueTest {
+
+    private MetricRegistry metricRegistry;
+    private ElasticSearchUpdateQueue updateQueue;
+
+    @BeforeEach
+    void setup() {
+        metricRegistry = new MetricRegistry();
+        // The queue is never started, so nothing is flushed and no Elasticsearch client is needed
+        updateQueue = new ElasticSearchUpdateQueue(new DockstoreWebserviceConfiguration.ElasticSearchConfig(), metricRegistry);
+    }
+
+    @Test
+    void testUpdatesToTheSameDocumentAreCoalesced() {
+        updateQueue.upsert("workflows", "1", "{\"name\":\"first\"}");
+        updateQueue.upsert("workflows", "1", "{\"name\":\"second\"}");
+        updateQueue.delete("workflows", "1");
+        updateQueue.upsert("workflows", "2", "{}");
+        updateQueue.upsert("tools", "1", "{}");
+        assertEquals(3, updateQueue.getDepth(), "Each index and document id pair should only be queued once");
+        assertEquals(2, metricRegistry.meter(MetricRegistry.name(ElasticSearchUpdateQueue.class, "coalesced")).getCount());
+        assertEquals(3, metricRegistry.getGauges().get(MetricRegistry.name(ElasticSearchUpdateQueue.class, "depth")).getValue());
+    }
+
+    @Test
+    void testDiscard() {
+        updateQueue.upsert("workflows", "1", "{}");
+        updateQueue.upsert("workflows_20240101000000000", "1", "{}");
+        updateQueue.delete("tools_20240101000000000", "2");
+        updateQueue.discard(index -> index.contains("_"));
+        assertEquals(1, updateQueue.getDepth());
+    }
+}
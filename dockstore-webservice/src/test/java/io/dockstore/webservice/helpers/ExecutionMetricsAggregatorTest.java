@@ -0,0 +1,198 @@
+package io.dockstore.webservice.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dockstore.common.Partner;
+import io.dockstore.common.metrics.Cost;
+import io.dockstore.common.metrics.ExecutionStatus;
+import io.dockstore.common.metrics.ExecutionsRequestBody;
+import io.dockstore.common.metrics.RunExecution;
+import io.dockstore.common.metrics.TaskExecutions;
+import io.dockstore.webservice.core.Version;
+import io.dockstore.webservice.core.metrics.ExecutionMetricsSketch;
+import io.dockstore.webservice.core.metrics.ExecutionMetricsSketch.StatusSketch;
+import io.dockstore.webservice.core.metrics.ExecutionStatusCountMetric;
+import io.dockstore.webservice.core.metrics.ExecutionTimeStatisticMetric;
+import io.dockstore.webservice.core.metrics.Metrics;
+import io.dockstore.webservice.core.metrics.MetricsByStatus;
+import io.dockstore.webservice.core.metrics.ValidationStatusCountMetric;
+import io.dockstore.webservice.jdbi.ExecutionMetricsSketchDAO;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class ExecutionMetricsAggregatorTest {
+
+    private static final double DELTA = 0.001;
+
+    @Test
+    void testSketch() {
+        ExecutionsRequestBody executions = new ExecutionsRequestBody();
+        executions.setRunExecutions(List.of(
+            createRunExecution("1", ExecutionStatus.SUCCESSFUL, "PT10S", 2.0),
+            createRunExecution("2", ExecutionStatus.SUCCESSFUL, "PT30S", 4.0),
+            createRunExecution("3", ExecutionStatus.FAILED, "PT50S", null),
+            createRunExecution("4", ExecutionStatus.SUCCESSFUL, "PT5M", 8.0)));
+
+        // Execution 4 was submitted before, so it is not folded in again
+        Map<ExecutionStatus, StatusSketch> statuses = ExecutionMetricsAggregator.sketch(executions, executionId -> !"4".equals(executionId));
+        assertEquals(3, statuses.get(ExecutionStatus.ALL).getCount());
+        assertEquals(2, statuses.get(ExecutionStatus.SUCCESSFUL).getCount());
+        assertEquals(1, statuses.get(ExecutionStatus.FAILED).getCount());
+        assertEquals(2, statuses.get(ExecutionStatus.ALL).getMemory().getCount());
+        assertEquals(0, statuses.get(ExecutionStatus.FAILED).getCpu().getCount());
+
+        ExecutionStatusCountMetric executionStatusCount = ExecutionMetricsAggregator.toExecutionStatusCountMetric(statuses);
+        assertEquals(2, executionStatusCount.getNumberOfSuccessfulExecutions());
+        assertEquals(1, executionStatusCount.getNumberOfFailedExecutions());
+        MetricsByStatus all = executionStatusCount.getMetricsByStatus(ExecutionStatus.ALL);
+        assertEquals(10, all.getExecutionTime().getMinimum(), DELTA);
+        assertEquals(50, all.getExecutionTime().getMaximum(), DELTA);
+        assertEquals(30, all.getExecutionTime().getAverage(), DELTA);
+        assertEquals(3, all.getExecutionTime().getNumberOfDataPointsForAverage());
+        assertEquals(30, all.getExecutionTime().getMedian(), DELTA);
+        assertEquals(3.0, all.getMemory().getAverage(), DELTA);
+        assertNull(executionStatusCount.getMetricsByStatus(ExecutionStatus.FAILED).getMemory());
+        assertNull(executionStatusCount.getMetricsByStatus(ExecutionStatus.FAILED).getCpu());
+    }
+
+    @Test
+    void testMergeSketches() {
+        ExecutionsRequestBody first = new ExecutionsRequestBody();
+        first.setRunExecutions(List.of(createRunExecution("1", ExecutionStatus.SUCCESSFUL, "PT10S", 2.0)));
+        ExecutionsRequestBody second = new ExecutionsRequestBody();
+        second.setRunExecutions(List.of(createRunExecution("2", ExecutionStatus.SUCCESSFUL, "PT20S", 6.0),
+            createRunExecution("3", ExecutionStatus.ABORTED, "PT40S", 1.0)));
+
+        StatusSketch merged = ExecutionMetricsAggregator.sketch(first, executionId -> true).get(ExecutionStatus.ALL);
+        merged.merge(ExecutionMetricsAggregator.sketch(second, executionId -> true).get(ExecutionStatus.ALL));
+        assertEquals(3, merged.getCount());
+        assertEquals(1.0, merged.getMemory().getMinimum(), DELTA);
+        assertEquals(6.0, merged.getMemory().getMaximum(), DELTA);
+        assertEquals(70, merged.getExecutionTime().getSum(), DELTA);
+    }
+
+    @Test
+    void testSketchRoundTrip() throws JsonProcessingException {
+        ExecutionsRequestBody executions = new ExecutionsRequestBody();
+        executions.setRunExecutions(List.of(createRunExecution("1", ExecutionStatus.SUCCESSFUL, "PT10S", 2.0),
+            createRunExecution("2", ExecutionStatus.FAILED, "PT20S", 6.0)));
+        assertTrue(new ExecutionMetricsSketch().getStatuses().isEmpty());
+
+        // Sketches are saved as JSON, with the t-digests encoded in base64
+        ObjectMapper objectMapper = new ObjectMapper();
+        String json = objectMapper.writeValueAsString(ExecutionMetricsAggregator.sketch(executions, executionId -> true));
+        Map<ExecutionStatus, StatusSketch> statuses = objectMapper.readValue(json, new TypeReference<EnumMap<ExecutionStatus, StatusSketch>>() { });
+        StatusSketch all = statuses.get(ExecutionStatus.ALL);
+        assertEquals(2, all.getCount());
+        ExecutionTimeStatisticMetric executionTime = all.getExecutionTime().toMetric(new ExecutionTimeStatisticMetric());
+        assertEquals(15, executionTime.getAverage(), DELTA);
+        assertEquals(20, executionTime.getMaximum(), DELTA);
+        assertEquals(1, statuses.get(ExecutionStatus.FAILED).getCount());
+    }
+
+    @Test
+    void testToWorkflowExecution() {
+        TaskExecutions taskExecutions = new TaskExecutions();
+        taskExecutions.setExecutionId("workflow");
+        RunExecution firstTask = createRunExecution("task1", ExecutionStatus.SUCCESSFUL, "PT1M", 2.0);
+        firstTask.setDateExecuted("2023-03-31T15:06:49.888745366Z");
+        firstTask.setCpuRequirements(1);
+        firstTask.setCost(new Cost(1.5));
+        RunExecution secondTask = createRunExecution("task2", ExecutionStatus.FAILED, "PT30S", 4.0);
+        secondTask.setDateExecuted("2023-03-31T15:07:19.888745366Z");
+        secondTask.setCpuRequirements(2);
+        secondTask.setCost(new Cost(0.5));
+        taskExecutions.setTaskExecutions(List.of(firstTask, secondTask));
+
+        Optional<RunExecution> workflowExecution = ExecutionMetricsAggregator.toWorkflowExecution(taskExecutions);
+        assertTrue(workflowExecution.isPresent());
+        assertEquals("workflow", workflowExecution.get().getExecutionId());
+        assertEquals(ExecutionStatus.FAILED, workflowExecution.get().getExecutionStatus());
+        // Both tasks ended a minute after the first task started
+        assertEquals(60L, workflowExecution.get().getExecutionTimeSeconds());
+        assertEquals(4.0, workflowExecution.get().getMemoryRequirementsGB(), DELTA);
+        assertEquals(2, workflowExecution.get().getCpuRequirements());
+        assertEquals(2.0, workflowExecution.get().getCost().getValue(), DELTA);
+
+        taskExecutions.setTaskExecutions(List.of());
+        assertTrue(ExecutionMetricsAggregator.toWorkflowExecution(taskExecutions).isEmpty());
+    }
+
+    @Test
+    void testPlatformSketchesAreMergedIntoAll() {
+        final long versionId = 1L;
+        final ExecutionMetricsSketch allSketch = new ExecutionMetricsSketch(versionId, Partner.ALL, true);
+        final ExecutionMetricsSketch terraSketch = new ExecutionMetricsSketch(versionId, Partner.TERRA, true);
+        final ExecutionMetricsSketch dnaStackSketch = new ExecutionMetricsSketch(versionId, Partner.DNA_STACK, true);
+        ExecutionsRequestBody dnaStackExecutions = new ExecutionsRequestBody();
+        dnaStackExecutions.setRunExecutions(List.of(createRunExecution("1", ExecutionStatus.FAILED, "PT50S", 1.0)));
+        dnaStackSketch.setStatuses(ExecutionMetricsAggregator.sketch(dnaStackExecutions, executionId -> true));
+
+        final ExecutionMetricsSketchDAO executionMetricsSketchDAO = mock(ExecutionMetricsSketchDAO.class);
+        when(executionMetricsSketchDAO.findForUpdate(versionId, Partner.ALL, true)).thenReturn(allSketch);
+        when(executionMetricsSketchDAO.findForUpdate(versionId, Partner.TERRA, true)).thenReturn(terraSketch);
+        when(executionMetricsSketchDAO.findAllForUpdate(versionId)).thenReturn(List.of(allSketch, terraSketch, dnaStackSketch));
+        final Version<?> version = mock(Version.class);
+        final Map<Partner, Metrics> metricsByPlatform = new EnumMap<>(Partner.class);
+        when(version.getId()).thenReturn(versionId);
+        when(version.getMetricsByPlatform()).thenReturn(metricsByPlatform);
+        final ExecutionMetricsAggregator aggregator = new ExecutionMetricsAggregator(executionMetricsSketchDAO);
+
+        ExecutionsRequestBody terraExecutions = new ExecutionsRequestBody();
+        terraExecutions.setRunExecutions(List.of(createRunExecution("2", ExecutionStatus.SUCCESSFUL, "PT10S", 2.0),
+            createRunExecution("3", ExecutionStatus.SUCCESSFUL, "PT30S", 4.0)));
+        ExecutionMetricsSketch sketch = aggregator.lock(version, Partner.TERRA, false);
+        assertTrue(aggregator.aggregate(version, sketch, terraExecutions, List.of("2", "3")));
+        assertEquals(2, metricsByPlatform.get(Partner.TERRA).getExecutionStatusCount().getNumberOfSuccessfulExecutions());
+        ExecutionStatusCountMetric all = metricsByPlatform.get(Partner.ALL).getExecutionStatusCount();
+        assertEquals(2, all.getNumberOfSuccessfulExecutions());
+        assertEquals(1, all.getNumberOfFailedExecutions());
+        assertEquals(50, all.getMetricsByStatus(ExecutionStatus.ALL).getExecutionTime().getMaximum(), DELTA);
+        assertTrue(allSketch.isComplete());
+        // Merging into ALL leaves the sketches of the platforms as they are
+        assertEquals(1, dnaStackSketch.getStatuses().get(ExecutionStatus.ALL).getCount());
+
+        // A platform whose execution metrics were only aggregated externally keeps ALL from being computed
+        final Metrics externalMetrics = new Metrics();
+        externalMetrics.setExecutionStatusCount(new ExecutionStatusCountMetric());
+        metricsByPlatform.put(Partner.GALAXY, externalMetrics);
+        metricsByPlatform.remove(Partner.ALL);
+        terraExecutions.setRunExecutions(List.of(createRunExecution("4", ExecutionStatus.SUCCESSFUL, "PT20S", 2.0)));
+        assertTrue(aggregator.aggregate(version, sketch, terraExecutions, List.of("4")));
+        assertEquals(3, metricsByPlatform.get(Partner.TERRA).getExecutionStatusCount().getNumberOfSuccessfulExecutions());
+        assertNull(metricsByPlatform.get(Partner.ALL));
+        assertFalse(allSketch.isComplete());
+
+        // The external aggregator's validation metrics are kept, and its execution metrics only for platforms without a complete sketch
+        final Metrics aggregatedTerraMetrics = new Metrics();
+        aggregatedTerraMetrics.setExecutionStatusCount(new ExecutionStatusCountMetric());
+        final ValidationStatusCountMetric validationStatus = new ValidationStatusCountMetric();
+        aggregatedTerraMetrics.setValidationStatus(validationStatus);
+        Map<Partner, Metrics> saved = aggregator.withSketchedExecutionMetrics(version, Map.of(Partner.TERRA, aggregatedTerraMetrics, Partner.GALAXY, externalMetrics));
+        assertEquals(3, saved.get(Partner.TERRA).getExecutionStatusCount().getNumberOfSuccessfulExecutions());
+        assertSame(validationStatus, saved.get(Partner.TERRA).getValidationStatus());
+        assertSame(externalMetrics, saved.get(Partner.GALAXY));
+        assertEquals(1, saved.get(Partner.DNA_STACK).getExecutionStatusCount().getNumberOfFailedExecutions());
+        assertFalse(saved.containsKey(Partner.ALL));
+    }
+
+    private static RunExecution createRunExecution(String executionId, ExecutionStatus executionStatus, String executionTime, Double memoryRequirementsGB) {
+        RunExecution runExecution = new RunExecution(executionStatus);
+        runExecution.setExecutionId(executionId);
+        runExecution.setExecutionTime(executionTime);
+        runExecution.setMemoryRequirementsGB(memoryRequirementsGB);
+        return runExecution;
+    }
+}
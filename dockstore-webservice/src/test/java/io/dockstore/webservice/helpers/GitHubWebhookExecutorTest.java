@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class GitHubWebhookExecutorTest {
+
+    private MetricRegistry metricRegistry;
+    private GitHubWebhookExecutor executor;
+    private final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setup() {
+        // The deliveries in these tests don't touch the database, so the sessions they run in are mocks
+        final SessionFactory sessionFactory = Mockito.mock(SessionFactory.class);
+        final Session session = Mockito.mock(Session.class);
+        when(sessionFactory.openSession()).thenReturn(session);
+        when(session.getSessionFactory()).thenReturn(sessionFactory);
+        when(session.getTransaction()).thenReturn(Mockito.mock(Transaction.class));
+        final DockstoreWebserviceConfiguration.WebhookConfig config = new DockstoreWebserviceConfiguration.WebhookConfig();
+        config.setWorkers(1);
+        config.setMaxQueuedDeliveries(5);
+        metricRegistry = new MetricRegistry();
+        executor = new GitHubWebhookExecutor(sessionFactory, config, metricRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        executor.stop();
+    }
+
+    @Test
+    void testInstallationsTakeTurns() throws Exception {
+        CountDownLatch done = new CountDownLatch(4);
+        executor.submit(delivery(1, "org1/a", "refs/heads/main", done));
+        executor.submit(delivery(1, "org1/b", "refs/heads/main", done));
+        executor.submit(delivery(1, "org1/c", "refs/heads/main", done));
+        executor.submit(delivery(2, "org2/a", "refs/heads/main", done));
+        executor.start();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("org1/a refs/heads/main", "org2/a refs/heads/main", "org1/b refs/heads/main", "org1/c refs/heads/main"), processed);
+        assertEquals(4, metricRegistry.timer(MetricRegistry.name(GitHubWebhookExecutor.class, "processing")).getCount());
+    }
+
+    @Test
+    void testWaitingPushIsSuperseded() throws Exception {
+        CountDownLatch done = new CountDownLatch(2);
+        List<String> ignored = Collections.synchronizedList(new ArrayList<>());
+        executor.submit(new GitHubWebhookExecutor.Delivery(1, "org1/a", "refs/heads/main", "first", () -> processed.add("first"), () -> ignored.add("first")));
+        executor.submit(new GitHubWebhookExecutor.Delivery(1, "org1/a", "refs/heads/main", "second", () -> processed.add("second"), () -> ignored.add("second")));
+        executor.submit(delivery(1, "org1/a", "refs/heads/develop", done));
+        executor.submit(new GitHubWebhookExecutor.Delivery(1, "org1/a", "refs/heads/main", "third", () -> {
+            processed.add("third");
+            done.countDown();
+        }, () -> ignored.add("third")));
+        assertEquals(2, executor.getQueuedDeliveries());
+        executor.start();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("third", "org1/a refs/heads/develop"), processed, "The newest push should take the place of the waiting ones");
+        assertEquals(List.of("first", "second"), ignored);
+        assertEquals(2, metricRegistry.meter(MetricRegistry.name(GitHubWebhookExecutor.class, "superseded")).getCount());
+    }
+
+    @Test
+    void testOlderPushArrivingLastProcessesCurrentHead() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        List<String> ignored = Collections.synchronizedList(new ArrayList<>());
+        // the push of the newer commit is delivered before the push of the older one
+        executor.submit(push("newer", done, ignored));
+        executor.submit(push("older", done, ignored));
+        executor.start();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("older at the current head"), processed, "The push that replaced the newer one should not be limited to its own commit");
+        assertEquals(List.of("newer"), ignored);
+    }
+
+    @Test
+    void testQueueIsBounded() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(executor.submit(delivery(1, "org1/repo" + i, "refs/heads/main", new CountDownLatch(1))));
+        }
+        assertFalse(executor.submit(delivery(1, "org1/repo5", "refs/heads/main", new CountDownLatch(1))));
+        assertTrue(executor.submit(delivery(1, "org1/repo0", "refs/heads/main", new CountDownLatch(1))), "A superseding push does not need more room");
+        assertEquals(1, metricRegistry.meter(MetricRegistry.name(GitHubWebhookExecutor.class, "rejected")).getCount());
+    }
+
+    private GitHubWebhookExecutor.Delivery push(String deliveryId, CountDownLatch done, List<String> ignored) {
+        return new GitHubWebhookExecutor.Delivery(1, "org1/a", "refs/heads/main", deliveryId, () -> {
+            processed.add(deliveryId);
+            done.countDown();
+        }, () -> {
+            processed.add(deliveryId + " at the current head");
+            done.countDown();
+        }, () -> ignored.add(deliveryId));
+    }
+
+    private GitHubWebhookExecutor.Delivery delivery(long installationId, String repository, String gitReference, CountDownLatch done) {
+        return new GitHubWebhookExecutor.Delivery(installationId, repository, gitReference, "delivery", () -> {
+            processed.add(repository + " " + gitReference);
+            done.countDown();
+        }, () -> { });
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.dockstore.common.Registry;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import io.dockstore.webservice.core.Image;
+import io.dockstore.webservice.languages.LanguageHandlerInterface.DockerSpecifier;
+import io.dockstore.webservice.languages.WDLHandler;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Exercises {@link ImageResolver} against a local stand-in for the Docker Hub tags API, counting the requests it receives.
+ */
+class ImageResolverTest {
+
+    private static final String REPOSITORY = "library/ubuntu";
+    private static final String DIGEST = "sha256:d7bb0589725587f2f67d0340edb81fd1fcba6c5f38166639cf2a252c939aa30c";
+    private static final int MAX_LOOKUPS_PER_REGISTRY = 2;
+    private static final long RESPONSE_DELAY_MILLIS = 200;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger rateLimitedResponses = new AtomicInteger();
+    private final AtomicInteger serverErrorResponses = new AtomicInteger();
+    private HttpServer server;
+    private Function<ImageResolver.Lookup, Set<Image>> fetcher;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        final String dockerHubUrl = "http://localhost:" + server.getAddress().getPort() + "/";
+        final WDLHandler handler = new WDLHandler();
+        fetcher = lookup -> handler.getImagesFromDockerHub(dockerHubUrl, lookup.repository(), lookup.specifier(), lookup.specifierName());
+        init(new DockstoreWebserviceConfiguration.ImageResolverConfig());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        init(new DockstoreWebserviceConfiguration.ImageResolverConfig());
+    }
+
+    @Test
+    void testTagLookupsAreCached() {
+        final ImageResolver.Lookup lookup = new ImageResolver.Lookup(Registry.DOCKER_HUB, REPOSITORY, DockerSpecifier.TAG, "20.04");
+        final Set<Image> first = ImageResolver.getInstance().resolve(List.of(lookup, lookup), fetcher).get(lookup);
+        final Set<Image> second = ImageResolver.getInstance().resolve(List.of(lookup), fetcher).get(lookup);
+        assertEquals(1, requests.get());
+        assertEquals(1, first.size());
+        assertEquals("20.04", first.iterator().next().getTag());
+        assertEquals(DIGEST.split(":")[1], first.iterator().next().getChecksums().get(0).getChecksum());
+        // Every caller receives its own copy, since images are persisted with each version
+        assertNotSame(first.iterator().next(), second.iterator().next());
+    }
+
+    @Test
+    void testDigestLookupsDoNotExpire() {
+        final DockstoreWebserviceConfiguration.ImageResolverConfig config = new DockstoreWebserviceConfiguration.ImageResolverConfig();
+        config.setTagSeconds(0);
+        init(config);
+        final ImageResolver.Lookup byDigest = new ImageResolver.Lookup(Registry.DOCKER_HUB, REPOSITORY, DockerSpecifier.DIGEST, DIGEST);
+        final ImageResolver.Lookup byTag = new ImageResolver.Lookup(Registry.DOCKER_HUB, REPOSITORY, DockerSpecifier.TAG, "20.04");
+        for (int i = 0; i < 2; i++) {
+            assertEquals(1, ImageResolver.getInstance().resolve(List.of(byDigest), fetcher).get(byDigest).size());
+            assertEquals(1, ImageResolver.getInstance().resolve(List.of(byTag), fetcher).get(byTag).size());
+        }
+        // The digest was looked up once, the tag twice
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void testLookupsRunConcurrentlyWithinTheRegistryLimit() {
+        final List<ImageResolver.Lookup> lookups = IntStream.range(0, 6)
+            .mapToObj(i -> new ImageResolver.Lookup(Registry.DOCKER_HUB, REPOSITORY, DockerSpecifier.TAG, "tag" + i)).toList();
+        final long start = System.currentTimeMillis();
+        final Map<ImageResolver.Lookup, Set<Image>> resolved = ImageResolver.getInstance().resolve(lookups, fetcher);
+        final long elapsed = System.currentTimeMillis() - start;
+        assertEquals(lookups.size(), resolved.values().stream().filter(images -> images.size() == 1).count());
+        assertEquals(MAX_LOOKUPS_PER_REGISTRY, maxInFlight.get());
+        assertTrue(elapsed < lookups.size() * RESPONSE_DELAY_MILLIS, "lookups should not run one after another");
+    }
+
+    @Test
+    void testRateLimitedRegistryIsRetried() {
+        rateLimitedResponses.set(1);
+        final ImageResolver.Lookup lookup = new ImageResolver.Lookup(Registry.DOCKER_HUB, REPOSITORY, DockerSpecifier.TAG, "20.04");
+        final Set<Image> images = ImageResolver.getInstance().resolve(List.of(lookup), fetcher).get(lookup);
+        assertEquals(1, images.size());
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void testNotFoundLookupsAreEmpty() {
+        final ImageResolver.Lookup lookup = new ImageResolver.Lookup(Registry.DOCKER_HUB, "dockstore/missing", DockerSpecifier.TAG, "1.0");
+        assertTrue(ImageResolver.getInstance().resolve(List.of(lookup), fetcher).get(lookup).isEmpty());
+        assertTrue(ImageResolver.getInstance().resolve(List.of(lookup), fetcher).get(lookup).isEmpty());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void testFailedLookupsAreNotCached() {
+        serverErrorResponses.set(1);
+        final ImageResolver.Lookup lookup = new ImageResolver.Lookup(Registry.DOCKER_HUB, REPOSITORY, DockerSpecifier.TAG, "20.04");
+        assertTrue(ImageResolver.getInstance().resolve(List.of(lookup), fetcher).get(lookup).isEmpty());
+        // The error was not remembered as finding nothing, so the next lookup asks again
+        assertEquals(1, ImageResolver.getInstance().resolve(List.of(lookup), fetcher).get(lookup).size());
+        assertEquals(2, requests.get());
+    }
+
+    private void init(DockstoreWebserviceConfiguration.ImageResolverConfig config) {
+        config.setMaxLookupsPerRegistry(MAX_LOOKUPS_PER_REGISTRY);
+        ImageResolver.init(config, null, new MetricRegistry());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(RESPONSE_DELAY_MILLIS);
+            if (rateLimitedResponses.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                respond(exchange, 429, "{\"message\": \"Too Many Requests\"}");
+            } else if (serverErrorResponses.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                respond(exchange, 500, "{\"message\": \"Internal Server Error\"}");
+            } else if (!exchange.getRequestURI().getPath().equals("/repositories/" + REPOSITORY + "/tags")) {
+                respond(exchange, 404, "{\"message\": \"object not found\"}");
+            } else {
+                final String query = exchange.getRequestURI().getQuery();
+                final String tag = query == null ? "20.04" : query.replace("name=", "");
+                respond(exchange, 200, "{\"next\": null, \"results\": [" + result(tag) + "]}");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static String result(String tag) {
+        return String.format("{\"name\": \"%s\", \"last_updated\": \"2026-01-01T00:00:00Z\", "
+            + "\"images\": [{\"digest\": \"%s\", \"size\": 100, \"os\": \"linux\", \"architecture\": \"amd64\"}]}", tag, DIGEST);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -19,9 +19,15 @@ package io.dockstore.webservice.helpers;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
+import com.sun.net.httpserver.HttpServer;
 import io.dockstore.common.MuteForSuccessfulTests;
 import io.dockstore.webservice.helpers.CheckUrlInterface.UrlStatus;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import uk.org.webcompere.systemstubs.jupiter.SystemStubsExtension;
@@ -75,4 +81,39 @@ class LambdaUrlCheckerTest {
         assertEquals(url, new LambdaUrlChecker(url + "/").getCheckUrlLambdaUrl());
         assertEquals(url, new LambdaUrlChecker(url).getCheckUrlLambdaUrl());
     }
+
+    /**
+     * Tests that verdicts are shared by all checkers, so that a URL is only sent to the lambda once.
+     */
+    @Test
+    void testVerdictsAreShared() throws IOException {
+        final AtomicInteger invocations = new AtomicInteger();
+        final HttpServer lambda = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        lambda.createContext("/", exchange -> {
+            invocations.incrementAndGet();
+            final boolean open = exchange.getRequestURI().getQuery().contains("open");
+            final byte[] body = ("{\"message\": " + open + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        lambda.start();
+        try {
+            final String lambdaUrl = "http://localhost:" + lambda.getAddress().getPort();
+            final Set<String> urls = Set.of("https://example.com/shared/open-1.bam", "https://example.com/shared/open-2.bam");
+            assertEquals(UrlStatus.ALL_OPEN, new LambdaUrlChecker(lambdaUrl).checkUrls(urls));
+            assertEquals(2, invocations.get());
+            assertEquals(UrlStatus.ALL_OPEN, new LambdaUrlChecker(lambdaUrl).checkUrls(urls));
+            assertEquals(2, invocations.get());
+
+            final Set<String> someClosed = Set.of("https://example.com/shared/open-1.bam", "https://example.com/shared/closed.bam");
+            assertEquals(UrlStatus.NOT_ALL_OPEN, new LambdaUrlChecker(lambdaUrl).checkUrls(someClosed));
+            assertEquals(3, invocations.get());
+            assertEquals(UrlStatus.NOT_ALL_OPEN, new LambdaUrlChecker(lambdaUrl).checkUrls(someClosed));
+            assertEquals(3, invocations.get());
+        } finally {
+            lambda.stop(0);
+        }
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dockstore.common.metrics.MetricsDataS3Client;
+import io.dockstore.webservice.CustomWebApplicationException;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class S3ClientManagerTest {
+
+    private static final String REGION_PROPERTY = "aws.region";
+
+    private S3ClientManager s3ClientManager;
+
+    @AfterEach
+    void tearDown() {
+        if (s3ClientManager != null) {
+            s3ClientManager.stop();
+        }
+        System.clearProperty(REGION_PROPERTY);
+    }
+
+    @Test
+    void testNoMetricsBucket() {
+        s3ClientManager = new S3ClientManager(new DockstoreWebserviceConfiguration(), new MetricRegistry());
+        assertFalse(s3ClientManager.isMetricsDataConfigured());
+        assertNull(s3ClientManager.getMetricsDataS3Client());
+        assertNull(s3ClientManager.getToolTesterS3Client());
+        CustomWebApplicationException exception = assertThrows(CustomWebApplicationException.class, () -> s3ClientManager.requireMetricsDataS3Client());
+        assertEquals(HttpStatus.SC_INTERNAL_SERVER_ERROR, exception.getResponse().getStatus());
+    }
+
+    @Test
+    void testClientCreationIsRetried() {
+        final DockstoreWebserviceConfiguration configuration = new DockstoreWebserviceConfiguration();
+        configuration.getMetricsConfig().setS3BucketName("local-dockstore-metrics-data");
+        configuration.getMetricsConfig().setS3EndpointOverride("http://local host:4566");
+        s3ClientManager = new S3ClientManager(configuration, new MetricRegistry());
+
+        // A client that can't be created fails the requests that need it, rather than startup
+        assertTrue(s3ClientManager.isMetricsDataConfigured());
+        assertNull(s3ClientManager.getMetricsDataS3Client());
+        CustomWebApplicationException exception = assertThrows(CustomWebApplicationException.class, () -> s3ClientManager.requireMetricsDataS3Client());
+        assertEquals(HttpStatus.SC_INTERNAL_SERVER_ERROR, exception.getResponse().getStatus());
+
+        // Once the client can be created, it is created by the next request that needs it, and then shared
+        configuration.getMetricsConfig().setS3EndpointOverride("http://localhost:4566");
+        System.setProperty(REGION_PROPERTY, "us-east-1");
+        final MetricsDataS3Client metricsDataS3Client = s3ClientManager.requireMetricsDataS3Client();
+        assertNotNull(metricsDataS3Client);
+        assertSame(metricsDataS3Client, s3ClientManager.getMetricsDataS3Client());
+    }
+}
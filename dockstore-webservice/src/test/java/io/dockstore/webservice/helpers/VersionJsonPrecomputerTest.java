@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import io.dockstore.webservice.core.SourceFile;
+import io.dockstore.webservice.core.WorkflowVersion;
+import io.dockstore.webservice.helpers.VersionJsonPrecomputer.VersionJson;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class VersionJsonPrecomputerTest {
+
+    @Test
+    void testIsCurrentToolTableJson() {
+        assertFalse(VersionJsonPrecomputer.isCurrentToolTableJson(null));
+        assertFalse(VersionJsonPrecomputer.isCurrentToolTableJson("[{\"id\":\"align\",\"docker\":\"ubuntu\"}]"), "Tool tables without a specifier are stale");
+        assertTrue(VersionJsonPrecomputer.isCurrentToolTableJson("[{\"id\":\"align\",\"docker\":\"ubuntu\",\"specifier\":\"TAG\"}]"));
+        assertTrue(VersionJsonPrecomputer.isCurrentToolTableJson("[]"));
+    }
+
+    @Test
+    void testMainAndSecondaryFiles() {
+        WorkflowVersion version = new WorkflowVersion();
+        version.setWorkflowPath("/Dockstore.wdl");
+        assertNull(VersionJsonPrecomputer.getMainDescriptorFile(version));
+        assertNull(VersionJsonPrecomputer.computeDagJson(version, null, null), "A version without a main descriptor has no DAG");
+
+        SourceFile mainDescriptor = new SourceFile();
+        mainDescriptor.setPath("/Dockstore.wdl");
+        mainDescriptor.setAbsolutePath("/Dockstore.wdl");
+        SourceFile importedDescriptor = new SourceFile();
+        importedDescriptor.setPath("/tasks/align.wdl");
+        importedDescriptor.setAbsolutePath("/tasks/align.wdl");
+        version.addSourceFile(mainDescriptor);
+        version.addSourceFile(importedDescriptor);
+
+        assertEquals(mainDescriptor, VersionJsonPrecomputer.getMainDescriptorFile(version));
+        assertEquals(1, VersionJsonPrecomputer.getSecondaryFiles(version).size());
+        assertEquals("/tasks/align.wdl", VersionJsonPrecomputer.getSecondaryFiles(version).iterator().next().getPath());
+    }
+
+    @Test
+    void testSubmitDuringComputation() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger computations = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        VersionJsonPrecomputer precomputer = new VersionJsonPrecomputer(null, new DockstoreWebserviceConfiguration.PrecomputeConfig()) {
+            @Override
+            VersionJson precompute(long workflowVersionId) {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return new VersionJson("dag" + computations.incrementAndGet(), "[]");
+            }
+        };
+        try {
+            CompletableFuture<VersionJson> first = precomputer.submit(1L);
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            // submissions while the version is being computed wait for a single second computation, rather than running alongside the first
+            CompletableFuture<VersionJson> second = precomputer.submit(1L);
+            assertSame(second, precomputer.submit(1L));
+            assertNotSame(first, second);
+            release.countDown();
+            assertEquals("dag1", first.get(10, TimeUnit.SECONDS).dagJson());
+            assertEquals("dag2", second.get(10, TimeUnit.SECONDS).dagJson());
+            assertEquals(1, maxRunning.get());
+            assertEquals(2, computations.get());
+        } finally {
+            precomputer.stop();
+        }
+    }
+
+    @Test
+    void testJsonComputedAsNullIsRemembered() throws Exception {
+        VersionJsonPrecomputer precomputer = new VersionJsonPrecomputer(null, new DockstoreWebserviceConfiguration.PrecomputeConfig()) {
+            @Override
+            VersionJson precompute(long workflowVersionId) {
+                return workflowVersionId == 1L ? new VersionJson("dag", null) : new VersionJson("dag", "[]");
+            }
+        };
+        try {
+            assertTrue(precomputer.getUnstoredJson(1L).isEmpty());
+            precomputer.submit(1L).get(10, TimeUnit.SECONDS);
+            precomputer.submit(2L).get(10, TimeUnit.SECONDS);
+            assertNull(precomputer.getUnstoredJson(1L).get().toolTableJson(), "A tool table computed as null can't be told apart from a missing one once stored");
+            assertTrue(precomputer.getUnstoredJson(2L).isEmpty(), "Stored JSON is read from the database");
+        } finally {
+            precomputer.stop();
+        }
+    }
+}
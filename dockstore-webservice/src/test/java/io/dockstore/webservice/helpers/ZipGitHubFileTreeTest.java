@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dockstore.webservice.CustomWebApplicationException;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ZipGitHubFileTreeTest {
+
+    private static final long MEGABYTE = 1024L * 1024L;
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private GitHubSourceCodeRepo gitHubSourceCodeRepo;
+
+    @BeforeEach
+    void setup() {
+        DockstoreWebserviceConfiguration.ZipFileTreeConfig config = new DockstoreWebserviceConfiguration.ZipFileTreeConfig();
+        config.setDiskBacked(false);
+        config.setMaxTotalBytes(8 * MEGABYTE);
+        config.setMaxZipBytes(4 * MEGABYTE);
+        ZipGitHubFileTree.init(config, metricRegistry);
+        gitHubSourceCodeRepo = Mockito.mock(GitHubSourceCodeRepo.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ZipGitHubFileTree.init(new DockstoreWebserviceConfiguration.ZipFileTreeConfig(), new MetricRegistry());
+    }
+
+    @Test
+    void testUnusedReservationIsReturned() {
+        final byte[] zip = zip((int)MEGABYTE);
+        mockZip("org/small", zip);
+        try (ZipGitHubFileTree tree = new ZipGitHubFileTree(gitHubSourceCodeRepo, "org/small", "main")) {
+            assertEquals(1, tree.listPaths().size());
+            assertEquals(Path.of("/data.bin"), tree.listPaths().get(0));
+            // the up-front reservation is cut down to the size of the Zipball once it is downloaded
+            assertEquals(zip.length, reservedBytes());
+        }
+        assertEquals(0L, reservedBytes());
+    }
+
+    @Test
+    void testOutgrownReservationFailsWithoutWaiting() {
+        final byte[] small = zip((int)MEGABYTE);
+        mockZip("org/small", small);
+        mockZip("org/large", zip((int)(9 * MEGABYTE)));
+        try (ZipGitHubFileTree tree = new ZipGitHubFileTree(gitHubSourceCodeRepo, "org/small", "main")) {
+            // the large Zipball outgrows its reservation while the small tree holds part of the budget, so it fails right away
+            // rather than waiting for bytes while it holds some
+            final long start = System.nanoTime();
+            CustomWebApplicationException exception = assertThrows(CustomWebApplicationException.class,
+                () -> new ZipGitHubFileTree(gitHubSourceCodeRepo, "org/large", "main"));
+            assertEquals(HttpStatus.SC_SERVICE_UNAVAILABLE, exception.getResponse().getStatus());
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30));
+            assertEquals(small.length, reservedBytes());
+        }
+        assertEquals(0L, reservedBytes());
+    }
+
+    private long reservedBytes() {
+        return (Long)metricRegistry.getGauges().get(MetricRegistry.name(ZipGitHubFileTree.class, "reservedBytes")).getValue();
+    }
+
+    private void mockZip(String repository, byte[] zip) {
+        when(gitHubSourceCodeRepo.readZip(eq(repository), anyString(), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(2, OutputStream.class).write(zip);
+            return (long)zip.length;
+        });
+    }
+
+    /**
+     * Creates a GitHub-style Zipball with one file of incompressible content.
+     */
+    private static byte[] zip(int contentBytes) {
+        final byte[] content = new byte[contentBytes];
+        new Random(contentBytes).nextBytes(content);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(bytes)) {
+            zipOutputStream.putNextEntry(new ZipEntry("org-repo-abc123/data.bin"));
+            zipOutputStream.write(content);
+            zipOutputStream.closeEntry();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.helpers.statelisteners;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.dockstore.webservice.core.Entry;
+import io.dockstore.webservice.core.Tool;
+import io.dockstore.webservice.helpers.StateManagerMode;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EntryPathListenerTest {
+
+    private EntryPathListener entryPathListener;
+
+    @BeforeEach
+    void setup() {
+        entryPathListener = new EntryPathListener();
+    }
+
+    @Test
+    void testPathsAreCachedByLookupType() {
+        Tool tool = createTool(1, "foo", "bar");
+        entryPathListener.put(Tool.class, tool.getEntryPath(), tool);
+        assertEquals(new EntryPathListener.CachedEntry(Tool.class, 1), entryPathListener.get(Tool.class, "quay.io/potato/foo/bar").orElseThrow());
+        assertTrue(entryPathListener.get(Entry.class, "quay.io/potato/foo/bar").isEmpty());
+    }
+
+    @Test
+    void testRenamedEntryIsEvicted() {
+        Tool tool = createTool(1, "foo", "bar");
+        entryPathListener.put(Tool.class, tool.getEntryPath(), tool);
+        entryPathListener.put(Entry.class, tool.getEntryPath(), tool);
+
+        // The event only has the new path, so the old one has to be found by id
+        tool.setToolname("baz");
+        entryPathListener.handleIndexUpdate(tool, StateManagerMode.UPDATE);
+        assertTrue(entryPathListener.get(Tool.class, "quay.io/potato/foo/bar").isEmpty());
+        assertTrue(entryPathListener.get(Entry.class, "quay.io/potato/foo/bar").isEmpty());
+    }
+
+    @Test
+    void testPublishingAtACachedPathEvictsIt() {
+        // A repository with a slash and no tool name has the same path as a repository and a tool name
+        Tool withoutName = createTool(1, "foo/bar", null);
+        entryPathListener.put(Tool.class, withoutName.getEntryPath(), withoutName);
+        entryPathListener.handleIndexUpdate(createTool(2, "foo", "bar"), StateManagerMode.PUBLISH);
+        assertTrue(entryPathListener.get(Tool.class, "quay.io/potato/foo/bar").isEmpty());
+    }
+
+    @Test
+    void testUpdateKeepsThePathsOfOtherEntries() {
+        Tool tool = createTool(1, "foo", "bar");
+        Tool other = createTool(2, "foo", "baz");
+        entryPathListener.put(Tool.class, tool.getEntryPath(), tool);
+        entryPathListener.put(Tool.class, other.getEntryPath(), other);
+        entryPathListener.handleIndexUpdate(tool, StateManagerMode.UPDATE);
+        assertTrue(entryPathListener.get(Tool.class, "quay.io/potato/foo/bar").isEmpty());
+        assertEquals(new EntryPathListener.CachedEntry(Tool.class, 2), entryPathListener.get(Tool.class, "quay.io/potato/foo/baz").orElseThrow());
+    }
+
+    @Test
+    void testInvalidateOnlyEvictsTheLookupType() {
+        Tool tool = createTool(1, "foo", "bar");
+        entryPathListener.put(Tool.class, tool.getEntryPath(), tool);
+        entryPathListener.put(Entry.class, tool.getEntryPath(), tool);
+        entryPathListener.invalidate(Tool.class, tool.getEntryPath());
+        assertTrue(entryPathListener.get(Tool.class, "quay.io/potato/foo/bar").isEmpty());
+        assertEquals(new EntryPathListener.CachedEntry(Tool.class, 1), entryPathListener.get(Entry.class, "quay.io/potato/foo/bar").orElseThrow());
+    }
+
+    @Test
+    void testBulkUpsertEvictsEverything() {
+        Tool tool = createTool(1, "foo", "bar");
+        entryPathListener.put(Tool.class, tool.getEntryPath(), tool);
+        entryPathListener.bulkUpsert(List.of());
+        assertTrue(entryPathListener.get(Tool.class, "quay.io/potato/foo/bar").isEmpty());
+    }
+
+    private static Tool createTool(long id, String name, String toolname) {
+        Tool tool = new Tool();
+        tool.setId(id);
+        tool.setRegistry("quay.io");
+        tool.setNamespace("potato");
+        tool.setName(name);
+        tool.setToolname(toolname);
+        tool.setIsPublished(true);
+        return tool;
+    }
+}
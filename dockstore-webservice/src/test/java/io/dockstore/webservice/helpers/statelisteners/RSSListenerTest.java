@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.dockstore.webservice.helpers.statelisteners;
+
+import static io.dockstore.webservice.resources.MetadataResource.RSS_ENTRY_LIMIT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.dockstore.common.SourceControl;
+import io.dockstore.webservice.core.BioWorkflow;
+import io.dockstore.webservice.core.Entry;
+import io.dockstore.webservice.helpers.StateManagerMode;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RSSListenerTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private RSSListener rssListener;
+    private List<Entry<?, ?>> database;
+
+    @BeforeEach
+    void setup() {
+        rssListener = new RSSListener();
+        database = new ArrayList<>();
+        for (int i = 0; i < RSS_ENTRY_LIMIT; i++) {
+            database.add(createWorkflow("workflow" + i, i));
+        }
+    }
+
+    @Test
+    void testFeedIsMaintainedIncrementally() {
+        String feed = getFeed();
+        assertEquals(1, loads.get());
+        assertTrue(feed.contains("workflow0,"));
+
+        // A newly published workflow pushes the oldest one out of the feed
+        rssListener.handleIndexUpdate(createWorkflow("newest", RSS_ENTRY_LIMIT), StateManagerMode.PUBLISH);
+        feed = getFeed();
+        assertEquals(1, loads.get(), "Publishing should not reload the feed");
+        assertTrue(feed.contains("newest,"));
+        assertFalse(feed.contains("workflow0,"));
+        assertEquals(RSS_ENTRY_LIMIT, feed.split(";").length);
+
+        // Unchanged feeds are served without rendering again
+        assertSame(rssListener.getFeed(this::load, this::render), rssListener.getFeed(this::load, this::render));
+    }
+
+    @Test
+    void testRemovalFromFullFeedReloads() {
+        getFeed();
+        BioWorkflow unpublished = createWorkflow("workflow3", 3);
+        unpublished.setIsPublished(false);
+        rssListener.handleIndexUpdate(unpublished, StateManagerMode.DELETE);
+        getFeed();
+        assertEquals(2, loads.get(), "The feed should be reloaded so that the next newest entry takes the removed one's place");
+    }
+
+    @Test
+    void testUpdateOfRenamedEntryReloads() {
+        getFeed();
+        rssListener.handleIndexUpdate(createWorkflow("workflow3", 3), StateManagerMode.UPDATE);
+        getFeed();
+        assertEquals(1, loads.get(), "Updating an entry that is in the feed should not reload it");
+
+        database.set(3, createWorkflow("renamed", 3));
+        rssListener.handleIndexUpdate(database.get(3), StateManagerMode.UPDATE);
+        String feed = getFeed();
+        assertEquals(2, loads.get(), "The feed should be reloaded, because only the database knows the previous link of the entry");
+        assertTrue(feed.contains("renamed,"));
+        assertFalse(feed.contains("workflow3,"));
+    }
+
+    @Test
+    void testEntryWithoutLastUpdated() {
+        getFeed();
+        BioWorkflow neverRefreshed = createWorkflow("neverRefreshed", 0);
+        neverRefreshed.setLastUpdated(null);
+        rssListener.handleIndexUpdate(neverRefreshed, StateManagerMode.DELETE);
+        rssListener.handleIndexUpdate(neverRefreshed, StateManagerMode.PUBLISH);
+        assertFalse(getFeed().contains("neverRefreshed,"), "An entry without a date is older than every entry in a full feed");
+    }
+
+    private String getFeed() {
+        return rssListener.getFeed(this::load, this::render).getText();
+    }
+
+    private List<Entry<?, ?>> load() {
+        loads.incrementAndGet();
+        return database;
+    }
+
+    private String render(List<RSSListener.RSSItem> items) {
+        return items.stream().map(item -> item.title().substring(item.title().lastIndexOf('/') + 1) + ",").collect(Collectors.joining(";"));
+    }
+
+    private static BioWorkflow createWorkflow(String repository, long lastUpdated) {
+        BioWorkflow workflow = new BioWorkflow();
+        workflow.setSourceControl(SourceControl.GITHUB);
+        workflow.setOrganization("potato");
+        workflow.setRepository(repository);
+        workflow.setIsPublished(true);
+        workflow.setLastUpdated(new Date(lastUpdated));
+        return workflow;
+    }
+}
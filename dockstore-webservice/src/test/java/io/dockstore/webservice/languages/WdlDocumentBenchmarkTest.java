@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.languages;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.dockstore.common.BenchmarkTest;
+import io.dockstore.common.WdlBridge;
+import io.dropwizard.testing.ResourceHelpers;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import wdl.draft3.parser.WdlParser.SyntaxError;
+
+/**
+ * Reports the p50 and p99 latency of building the DAG and tool table of the GATK-SV clinical pipeline, a real-world workflow of 89 WDL files,
+ * by parsing it once per question from a file as before, by parsing it once in memory, and from the parse cache.
+ */
+@Tag(BenchmarkTest.NAME)
+class WdlDocumentBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WdlDocumentBenchmarkTest.class);
+    private static final String CORPUS = "gatk-sv-clinical";
+    private static final String MAIN_WDL = "/GATKSVPipelineClinical.wdl";
+    private static final int ITERATIONS = 20;
+
+    @Test
+    void testToolTableLatency() throws IOException, SyntaxError {
+        final Path corpus = Paths.get(ResourceHelpers.resourceFilePath(CORPUS));
+        final Map<String, String> files = new HashMap<>();
+        try (Stream<Path> paths = Files.walk(corpus)) {
+            for (Path path : paths.filter(path -> path.toString().endsWith(".wdl")).toList()) {
+                files.put("/" + corpus.relativize(path), Files.readString(path, StandardCharsets.UTF_8));
+            }
+        }
+        final String mainDescriptor = files.remove(MAIN_WDL);
+        final int expectedCalls = WdlDocument.parse(mainDescriptor, MAIN_WDL, files).getCallsToDockerMap().size();
+
+        final Path tempFile = Files.createTempFile("main", "descriptor");
+        try {
+            Files.writeString(tempFile, mainDescriptor);
+            final Latency perQuestion = measure(i -> {
+                final WdlBridge wdlBridge = new WdlBridge();
+                wdlBridge.setSecondaryFiles(new HashMap<>(files));
+                final int calls = wdlBridge.getCallsToDockerMap(tempFile.toString(), MAIN_WDL).size();
+                wdlBridge.getCallsToDependencies(tempFile.toString(), MAIN_WDL);
+                wdlBridge.getImportMap(tempFile.toString(), MAIN_WDL);
+                assertEquals(expectedCalls, calls, "parsing in memory should find the same calls as parsing from a file");
+                return calls;
+            });
+            final Latency parsedOnce = measure(i -> {
+                // A trailing comment makes each iteration's content new to the cache
+                final WdlDocument document = WdlDocument.parse(mainDescriptor + "\n# " + i, MAIN_WDL, files);
+                final int calls = document.getCallsToDockerMap().size();
+                document.getCallsToDependencies();
+                document.getImportMap();
+                return calls;
+            });
+            final Latency cached = measure(i -> {
+                final WdlDocument document = WdlDocument.parse(mainDescriptor, MAIN_WDL, files);
+                final int calls = document.getCallsToDockerMap().size();
+                document.getCallsToDependencies();
+                document.getImportMap();
+                return calls;
+            });
+            LOG.info("Tool table of {} calls over {} files: parsed per question p50 {} ms p99 {} ms, parsed once p50 {} ms p99 {} ms, cached p50 {} ms p99 {} ms",
+                expectedCalls, files.size() + 1, perQuestion.p50(), perQuestion.p99(), parsedOnce.p50(), parsedOnce.p99(), cached.p50(), cached.p99());
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Runs the call ITERATIONS times, after one warm up call
+     */
+    private static Latency measure(Call call) throws SyntaxError {
+        call.run(-1);
+        List<Long> nanos = new ArrayList<>(ITERATIONS);
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long startTime = System.nanoTime();
+            call.run(i);
+            nanos.add(System.nanoTime() - startTime);
+        }
+        Collections.sort(nanos);
+        return new Latency(percentileMillis(nanos, 50), percentileMillis(nanos, 99));
+    }
+
+    private static double percentileMillis(List<Long> sortedNanos, int percentile) {
+        final int index = Math.max(0, (int)Math.ceil(percentile / 100.0 * sortedNanos.size()) - 1);
+        return sortedNanos.get(index) / 1_000_000.0;
+    }
+
+    private interface Call {
+        int run(int iteration) throws SyntaxError;
+    }
+
+    private record Latency(double p50, double p99) {
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.languages;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.dockstore.common.DockerParameter;
+import io.dockstore.common.MuteForSuccessfulTests;
+import io.dropwizard.testing.ResourceHelpers;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import uk.org.webcompere.systemstubs.jupiter.SystemStub;
+import uk.org.webcompere.systemstubs.jupiter.SystemStubsExtension;
+import uk.org.webcompere.systemstubs.stream.SystemErr;
+import uk.org.webcompere.systemstubs.stream.SystemOut;
+import wdl.draft3.parser.WdlParser.SyntaxError;
+
+@ExtendWith(SystemStubsExtension.class)
+@ExtendWith(MuteForSuccessfulTests.class)
+class WdlDocumentTest {
+
+    private static final String IMPORTING_WORKFLOW = """
+        version 1.0
+        import "tasks/md5.wdl" as tasks
+
+        workflow importing {
+          call tasks.md5
+          call tasks.md5 as second { input: inputFile = md5.value }
+        }
+        """;
+    private static final String IMPORTED_TASK = """
+        version 1.0
+
+        task md5 {
+          input {
+            File inputFile
+          }
+          command {
+            md5sum ${inputFile}
+          }
+          output {
+            File value = "md5sum.txt"
+          }
+          runtime {
+            docker: "quay.io/agduncan94/my-md5sum"
+          }
+        }
+        """;
+
+    @SystemStub
+    public final SystemOut systemOut = new SystemOut();
+
+    @SystemStub
+    public final SystemErr systemErr = new SystemErr();
+
+    @Test
+    void testParsedOnceForTheSameContent() throws IOException {
+        final String md5sumWdl = getFileContent("md5sum.wdl");
+        final WdlDocument document = WdlDocument.parse(md5sumWdl, "/md5sum.wdl", Map.of());
+        assertSame(document, WdlDocument.parse(md5sumWdl, "/md5sum.wdl", Map.of()), "the same content should share one parse");
+        assertNotSame(document, WdlDocument.parse(md5sumWdl, "/other/md5sum.wdl", Map.of()), "imports resolve differently from another path");
+        assertNotSame(document, WdlDocument.parse(md5sumWdl, "/md5sum.wdl", Map.of("/unused.wdl", "version 1.0")), "the secondary files are part of the content");
+    }
+
+    @Test
+    void testAnswersFromImportsInMemory() throws SyntaxError {
+        final WdlDocument document = WdlDocument.parse(IMPORTING_WORKFLOW, "/importing.wdl", Map.of("/tasks/md5.wdl", IMPORTED_TASK));
+        document.validateWorkflow();
+        final Map<String, DockerParameter> callsToDocker = document.getCallsToDockerMap();
+        assertEquals(Set.of("dockstore_md5", "dockstore_second"), callsToDocker.keySet());
+        assertEquals("quay.io/agduncan94/my-md5sum", callsToDocker.get("dockstore_second").imageName());
+        assertTrue(document.getCallsToDependencies().get("dockstore_second").contains("dockstore_md5"));
+        assertEquals(2, document.getImportMap().size());
+        assertTrue(document.isVersionFieldValid());
+        assertThrows(SyntaxError.class, document::validateTool, "a tool can only call one task");
+    }
+
+    @Test
+    void testParseErrorReportedToEveryCaller() throws IOException {
+        final WdlDocument document = WdlDocument.parse(getFileContent("brokenWDL.wdl"), "/brokenWDL.wdl", Map.of());
+        final SyntaxError validationError = assertThrows(SyntaxError.class, document::validateWorkflow);
+        final SyntaxError dagError = assertThrows(SyntaxError.class, document::getCallsToDockerMap);
+        assertEquals(validationError.getMessage(), dagError.getMessage());
+        assertThrows(SyntaxError.class, document::getMetadata);
+        assertNotSame(document, WdlDocument.parse(getFileContent("brokenWDL.wdl"), "/brokenWDL.wdl", Map.of()), "a failed parse should not be cached");
+    }
+
+    @Test
+    void testHttpImportsNotCached() {
+        final String httpImporting = IMPORTING_WORKFLOW.replace("\"tasks/md5.wdl\"", "\"http://localhost:1/tasks/md5.wdl\"");
+        final WdlDocument document = WdlDocument.parse(httpImporting, "/importing.wdl", Map.of("/tasks/md5.wdl", IMPORTED_TASK));
+        assertNotSame(document, WdlDocument.parse(httpImporting, "/importing.wdl", Map.of("/tasks/md5.wdl", IMPORTED_TASK)),
+            "the content of an HTTP import may change, so documents that have one should be parsed again");
+    }
+
+    @Test
+    void testImportNotFoundWithoutFilesystem() {
+        final WdlDocument document = WdlDocument.parse(IMPORTING_WORKFLOW, "/importing.wdl", Map.of());
+        assertThrows(SyntaxError.class, document::validateWorkflow, "imports should only resolve from the secondary files");
+    }
+
+    private String getFileContent(String path) throws IOException {
+        final File wdlFile = new File(ResourceHelpers.resourceFilePath(path));
+        return FileUtils.readFileToString(wdlFile, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 OICR and UCSC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.dockstore.webservice.permissions.sam;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.dockstore.webservice.DockstoreWebserviceConfiguration;
+import io.dockstore.webservice.core.TokenType;
+import io.dockstore.webservice.core.User;
+import io.dockstore.webservice.core.Workflow;
+import io.dockstore.webservice.jdbi.TokenDAO;
+import io.dockstore.webservice.permissions.Role;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Exercises {@link SamPermissionsImpl} against a local stand-in SAM server, counting the round trips it makes.
+ */
+class SamPermissionsImplServerTest {
+
+    private static final String ALPHA = "github.com/dockstore/alpha";
+    private static final String BRAVO = "github.com/dockstore/bravo";
+    private static final String CHARLIE = "github.com/dockstore/charlie";
+
+    private final AtomicInteger requests = new AtomicInteger();
+    /**
+     * Workflow path to the SAM policy the user belongs to, as returned by the resource listing
+     */
+    private final Map<String, String> policies = new ConcurrentHashMap<>();
+    /**
+     * Entries of the form workflow name/SAM action that are allowed
+     */
+    private final Set<String> allowed = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+    private SamPermissionsImpl samPermissions;
+    private User user;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        final DockstoreWebserviceConfiguration configuration = Mockito.mock(DockstoreWebserviceConfiguration.class);
+        final DockstoreWebserviceConfiguration.SamConfiguration samConfiguration = new DockstoreWebserviceConfiguration.SamConfiguration();
+        samConfiguration.setBasepath("http://localhost:" + server.getAddress().getPort());
+        when(configuration.getSamConfiguration()).thenReturn(samConfiguration);
+        samPermissions = new SamPermissionsImpl(Mockito.mock(TokenDAO.class), configuration);
+
+        user = Mockito.mock(User.class);
+        final User.Profile profile = new User.Profile();
+        profile.email = "jane.doe@gmail.com";
+        when(user.getTemporaryCredential()).thenReturn("token");
+        when(user.getUserProfiles()).thenReturn(Map.of(TokenType.GOOGLE_COM.toString(), profile));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testRepeatedChecksAreCached() {
+        allowed.add("alpha/" + SamConstants.toSamAction(Role.Action.READ));
+        final Workflow alpha = workflow(ALPHA);
+        assertTrue(samPermissions.canDoAction(user, alpha, Role.Action.READ));
+        assertTrue(samPermissions.canDoAction(user, alpha, Role.Action.READ));
+        assertFalse(samPermissions.canDoAction(user, alpha, Role.Action.WRITE));
+        assertFalse(samPermissions.canDoAction(user, alpha, Role.Action.WRITE));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void testRemovePermissionInvalidatesDecisions() {
+        allowed.add("alpha/" + SamConstants.toSamAction(Role.Action.READ));
+        final Workflow alpha = workflow(ALPHA);
+        assertTrue(samPermissions.canDoAction(user, alpha, Role.Action.READ));
+
+        samPermissions.removePermission(user, alpha, "john.smith@gmail.com", Role.READER);
+        final int afterRemove = requests.get();
+        assertTrue(samPermissions.canDoAction(user, alpha, Role.Action.READ));
+        assertEquals(afterRemove + 1, requests.get(), "The decision should have been fetched again");
+    }
+
+    @Test
+    void testBatchResolvesInOneRoundTrip() {
+        policies.put(ALPHA, SamConstants.OWNER_POLICY);
+        policies.put(BRAVO, SamConstants.READ_POLICY);
+        final Workflow alpha = workflow(ALPHA);
+        final Workflow bravo = workflow(BRAVO);
+        final Workflow charlie = workflow(CHARLIE);
+
+        final Map<String, List<Role.Action>> actions = samPermissions.getActionsForWorkflows(user, List.of(alpha, bravo, charlie));
+        assertEquals(1, requests.get());
+        assertEquals(Set.copyOf(Arrays.asList(Role.Action.values())), Set.copyOf(actions.get(ALPHA)));
+        assertEquals(List.of(Role.Action.READ), actions.get(BRAVO));
+        assertEquals(List.of(), actions.get(CHARLIE));
+
+        // The batch primed the decision cache, so these are answered without going back to SAM
+        assertTrue(samPermissions.canDoAction(user, alpha, Role.Action.SHARE));
+        assertTrue(samPermissions.canDoAction(user, bravo, Role.Action.READ));
+        assertFalse(samPermissions.canDoAction(user, bravo, Role.Action.WRITE));
+        assertEquals(1, requests.get());
+    }
+
+    private Workflow workflow(String path) {
+        final Workflow workflow = Mockito.mock(Workflow.class);
+        when(workflow.getWorkflowPath()).thenReturn(path);
+        when(workflow.getUsers()).thenReturn(Set.of());
+        return workflow;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        final String path = exchange.getRequestURI().getRawPath();
+        final String body;
+        if (path.contains("/action/")) {
+            final String action = path.substring(path.lastIndexOf('/') + 1);
+            body = String.valueOf(allowed.stream().anyMatch(entry -> path.contains(entry.split("/")[0])
+                && entry.endsWith("/" + action)));
+        } else if (path.endsWith("/policies")) {
+            body = "[]";
+        } else if (path.endsWith("/" + SamConstants.RESOURCE_TYPE)) {
+            body = policies.entrySet().stream()
+                .map(entry -> String.format("{\"resourceId\":\"%s\",\"accessPolicyName\":\"%s\"}",
+                    SamConstants.ENCODED_WORKFLOW_PREFIX + URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8), entry.getValue()))
+                .collect(Collectors.joining(",", "[", "]"));
+        } else {
+            body = "";
+        }
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(body.isEmpty() ? 404 : 200, body.isEmpty() ? -1 : bytes.length);
+        if (!body.isEmpty()) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+        exchange.close();
+    }
+}
@@ -11,6 +11,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -353,20 +354,14 @@ class SamPermissionsImplTest {
 
     @Test
     void testOwnersActions() throws ApiException {
-        final String resourceId = SamConstants.WORKFLOW_PREFIX + FOO_WORKFLOW_NAME;
-        when(resourcesApiMock.resourceAction(SamConstants.RESOURCE_TYPE, resourceId, SamConstants.toSamAction(Role.Action.SHARE)))
-                .thenReturn(Boolean.TRUE);
-        final List<Role.Action> actions = samPermissionsImpl.getActionsForWorkflow(janeDoeUserMock, workflowInstance);
+        mockFooPolicy(SamConstants.OWNER_POLICY);
+        final List<Role.Action> actions = samPermissionsImpl.getActionsForWorkflow(johnSmithUserMock, workflowInstance);
         assertEquals(Action.values().length, actions.size()); // Owner can perform all actions
     }
 
     @Test
     void testWritersActions() throws ApiException {
-        final String resourceId = SamConstants.WORKFLOW_PREFIX + FOO_WORKFLOW_NAME;
-        when(resourcesApiMock.resourceAction(SamConstants.RESOURCE_TYPE, resourceId, SamConstants.toSamAction(Role.Action.SHARE)))
-                .thenReturn(Boolean.FALSE);
-        when(resourcesApiMock.resourceAction(SamConstants.RESOURCE_TYPE, resourceId, SamConstants.toSamAction(Role.Action.WRITE)))
-                .thenReturn(Boolean.TRUE);
+        mockFooPolicy(SamConstants.WRITE_POLICY);
         when(johnSmithUserMock.getTemporaryCredential()).thenReturn("whatever");
         final List<Role.Action> actions = samPermissionsImpl.getActionsForWorkflow(johnSmithUserMock, workflowInstance);
         assertEquals(2, actions.size());
@@ -375,19 +370,34 @@ class SamPermissionsImplTest {
 
     @Test
     void testReadersActions() throws ApiException {
-        final String resourceId = SamConstants.WORKFLOW_PREFIX + FOO_WORKFLOW_NAME;
-        when(resourcesApiMock.resourceAction(SamConstants.RESOURCE_TYPE, resourceId, SamConstants.toSamAction(Role.Action.SHARE)))
-                .thenReturn(Boolean.FALSE);
-        when(resourcesApiMock.resourceAction(SamConstants.RESOURCE_TYPE, resourceId, SamConstants.toSamAction(Role.Action.WRITE)))
-                .thenReturn(Boolean.FALSE);
-        when(resourcesApiMock.resourceAction(SamConstants.RESOURCE_TYPE, resourceId, SamConstants.toSamAction(Role.Action.READ)))
-                .thenReturn(Boolean.TRUE);
+        mockFooPolicy(SamConstants.READ_POLICY);
         final List<Role.Action> actions = samPermissionsImpl.getActionsForWorkflow(
             johnSmithUserMock, workflowInstance);
         assertEquals(1, actions.size());
         assertTrue(actions.contains(Action.READ));
     }
 
+    /**
+     * The actions are resolved with one call to SAM, and remembered for later checks.
+     */
+    @Test
+    void testActionsResolvedWithOneCall() throws ApiException {
+        mockFooPolicy(SamConstants.WRITE_POLICY);
+        assertEquals(2, samPermissionsImpl.getActionsForWorkflow(johnSmithUserMock, workflowInstance).size());
+        assertEquals(2, samPermissionsImpl.getActionsForWorkflow(johnSmithUserMock, workflowInstance).size());
+        assertTrue(samPermissionsImpl.canDoAction(johnSmithUserMock, workflowInstance, Action.WRITE));
+        assertFalse(samPermissionsImpl.canDoAction(johnSmithUserMock, workflowInstance, Action.SHARE));
+        verify(resourcesApiMock, times(1)).listResourcesAndPolicies(SamConstants.RESOURCE_TYPE);
+        verify(resourcesApiMock, never()).resourceAction(anyString(), anyString(), anyString());
+    }
+
+    private void mockFooPolicy(String policyName) throws ApiException {
+        ResourceAndAccessPolicy policy = new ResourceAndAccessPolicy();
+        policy.setResourceId(SamConstants.ENCODED_WORKFLOW_PREFIX + FOO_WORKFLOW_NAME);
+        policy.setAccessPolicyName(policyName);
+        when(resourcesApiMock.listResourcesAndPolicies(SamConstants.RESOURCE_TYPE)).thenReturn(List.of(policy));
+    }
+
     @Test
     void testDockstoreOwnerNoSamPermissions() {
         when(workflowInstance.getUsers()).thenReturn(new HashSet<>(Collections.singletonList(